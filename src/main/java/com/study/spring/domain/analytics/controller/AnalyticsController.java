@@ -0,0 +1,59 @@
+package com.study.spring.domain.analytics.controller;
+
+import com.study.spring.domain.analytics.dto.AnalyticsDto;
+import com.study.spring.domain.analytics.service.NutritionAnalyticsService;
+import com.study.spring.domain.member.entity.ActivityLevel;
+import com.study.spring.domain.member.entity.Gender;
+import com.study.spring.global.auth.AuthPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final NutritionAnalyticsService nutritionAnalyticsService;
+
+    // 코호트별 하루 평균 섭취량 (관리자)
+    // 예: /api/analytics/cohorts?from=2025-01-01&to=2025-03-31&groupBy=GENDER,AGE_BAND&activityLevel=HIGH
+    @GetMapping("/cohorts")
+    public ResponseEntity<AnalyticsDto.CohortResponse> getCohorts(
+            AuthPrincipal principal,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "groupBy", required = false) List<AnalyticsDto.Dimension> groupBy,
+            @RequestParam(value = "gender", required = false) Gender gender,
+            @RequestParam(value = "activityLevel", required = false) ActivityLevel activityLevel,
+            @RequestParam(value = "ageBand", required = false) AnalyticsDto.AgeBand ageBand,
+            @RequestParam(value = "bmiBand", required = false) AnalyticsDto.BmiBand bmiBand) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(nutritionAnalyticsService.query(AnalyticsDto.CohortQuery.builder()
+                .from(from)
+                .to(to)
+                .groupBy(groupBy)
+                .gender(gender)
+                .activityLevel(activityLevel)
+                .ageBand(ageBand)
+                .bmiBand(bmiBand)
+                .build()));
+    }
+
+    // 적재 상태 (행 수, 기간, 마지막 갱신 시각)
+    @GetMapping("/status")
+    public ResponseEntity<AnalyticsDto.StatusResponse> getStatus(AuthPrincipal principal) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(nutritionAnalyticsService.getStatus());
+    }
+
+    // 전체 재적재 (관리자)
+    @PostMapping("/reload")
+    public ResponseEntity<AnalyticsDto.StatusResponse> reload(AuthPrincipal principal) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(nutritionAnalyticsService.reload());
+    }
+}
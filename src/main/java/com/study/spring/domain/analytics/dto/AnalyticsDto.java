@@ -0,0 +1,112 @@
+package com.study.spring.domain.analytics.dto;
+
+import com.study.spring.domain.member.entity.ActivityLevel;
+import com.study.spring.domain.member.entity.Gender;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class AnalyticsDto {
+
+    // 코호트 구분 기준
+    public enum Dimension {
+        GENDER, ACTIVITY_LEVEL, AGE_BAND, BMI_BAND
+    }
+
+    // 해당 날짜 기준 만 나이
+    public enum AgeBand {
+        UNDER_20, AGE_20_29, AGE_30_39, AGE_40_49, AGE_50_59, AGE_60_PLUS, UNKNOWN
+    }
+
+    // 대한비만학회 기준 BMI 구간 (현재 키/몸무게 기준)
+    public enum BmiBand {
+        UNDERWEIGHT, NORMAL, PRE_OBESE, OBESE_1, OBESE_2, OBESE_3, UNKNOWN
+    }
+
+    // 적재용 프로젝션: 식사 하나의 영양 합계
+    @AllArgsConstructor
+    @Getter
+    public static class MealNutrition {
+        private Long mealId;
+        private Long memberId;
+        private LocalDateTime modifiedAt;
+        private Long calories;
+        private Double carbohydrate;
+        private Double protein;
+        private Double fat;
+    }
+
+    // 적재용 프로젝션: 회원 속성
+    @AllArgsConstructor
+    @Getter
+    public static class MemberProfile {
+        private Long memberId;
+        private Gender gender;
+        private ActivityLevel activityLevel;
+        private LocalDate birthAt;
+        private Float height;
+        private Float weight;
+    }
+
+    // 값이 null 인 조건은 적용하지 않는다
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class CohortQuery {
+        private LocalDate from;
+        private LocalDate to;
+        private List<Dimension> groupBy;
+        private Gender gender;
+        private ActivityLevel activityLevel;
+        private AgeBand ageBand;
+        private BmiBand bmiBand;
+    }
+
+    // 회원-일(한 회원의 하루 기록) 평균, 구분 값을 모르는 회원은 UNKNOWN
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class CohortRow {
+        private Map<Dimension, String> group;
+        private long memberDays;
+        private double avgCalories;
+        private double avgCarbohydrate;
+        private double avgProtein;
+        private double avgFat;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class CohortResponse {
+        private LocalDate from;
+        private LocalDate to;
+        private List<Dimension> groupBy;
+        private List<CohortRow> rows;
+        private long memberDays;
+        private LocalDateTime refreshedAt;
+        private long elapsedMicros;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class StatusResponse {
+        private int rows;
+        private int members;
+        private LocalDate firstDay;
+        private LocalDate lastDay;
+        private LocalDateTime refreshedAt;
+        private LocalDateTime fullReloadAt;
+    }
+}
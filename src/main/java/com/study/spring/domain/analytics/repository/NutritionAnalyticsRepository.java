@@ -0,0 +1,28 @@
+package com.study.spring.domain.analytics.repository;
+
+import com.study.spring.domain.analytics.dto.AnalyticsDto;
+import com.study.spring.domain.meal.entity.Meal;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 분석 엔진 적재용 읽기 전용 조회 (식사별 영양 합계, 회원 속성)
+public interface NutritionAnalyticsRepository extends Repository<Meal, Long> {
+
+    // (modifiedAt, id) 순 페이지, (afterModifiedAt, afterId) 다음부터 (foods 가 없는 식사는 합계가 null)
+    // idx_meals_modified_at_id 범위 조회라 최근 며칠만 다시 읽을 때 테이블 전체를 훑지 않는다
+    @Query("SELECT new com.study.spring.domain.analytics.dto.AnalyticsDto$MealNutrition(m.id, m.member.id, m.modifiedAt, " +
+           "SUM(f.calories), SUM(f.carbohydrate), SUM(f.protein), SUM(f.fat)) " +
+           "FROM Meal m LEFT JOIN m.foods f " +
+           "WHERE m.modifiedAt > :afterModifiedAt OR (m.modifiedAt = :afterModifiedAt AND m.id > :afterId) " +
+           "GROUP BY m.id, m.member.id, m.modifiedAt ORDER BY m.modifiedAt, m.id")
+    List<AnalyticsDto.MealNutrition> findMealNutritionAfter(@Param("afterModifiedAt") LocalDateTime afterModifiedAt,
+                                                            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.study.spring.domain.analytics.dto.AnalyticsDto$MemberProfile(m.id, m.gender, m.activityLevel, m.birthAt, m.height, m.weight) " +
+           "FROM Member m WHERE m.deletedAt IS NULL")
+    List<AnalyticsDto.MemberProfile> findMemberProfiles();
+}
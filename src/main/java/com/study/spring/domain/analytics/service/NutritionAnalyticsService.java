@@ -0,0 +1,436 @@
+package com.study.spring.domain.analytics.service;
+
+import com.study.spring.domain.analytics.dto.AnalyticsDto;
+import com.study.spring.domain.analytics.repository.NutritionAnalyticsRepository;
+import com.study.spring.domain.member.entity.ActivityLevel;
+import com.study.spring.domain.member.entity.Gender;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 성별/활동량/연령 구간/BMI 구간별 하루 평균 섭취량 통계 (관리자용).
+ * meals/foods 를 회원-일 단위로 합산해 열 배열(NutritionColumns)로 메모리에 올려 두고,
+ * 질의는 기간 범위를 잘라 fork-join 으로 나눠 집계한다. DB 는 적재할 때만 읽는다.
+ * 최근 recompute-days 일은 refresh-seconds 마다 다시 읽어 앞부분과 이어 붙이고 (증분 갱신),
+ * 그보다 오래된 날짜의 수정/삭제는 full-reload-hours 마다 전체 재적재로 반영한다.
+ * 첫 적재는 시작 직후 적재 스레드에서 하고 (실패하면 refresh-seconds 마다 다시 시도), 끝나기 전의 질의는 503 을 받는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class NutritionAnalyticsService {
+    private static final Logger log = LoggerFactory.getLogger(NutritionAnalyticsService.class);
+    private static final int SCAN_THRESHOLD = 32_768;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    private static final int GENDER_CARDINALITY = Gender.values().length + 1;
+    private static final int ACTIVITY_CARDINALITY = ActivityLevel.values().length + 1;
+    private static final int AGE_CARDINALITY = AnalyticsDto.AgeBand.values().length;
+    private static final int BMI_CARDINALITY = AnalyticsDto.BmiBand.values().length;
+
+    private final NutritionAnalyticsRepository nutritionAnalyticsRepository;
+
+    @Value("${analytics.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    @Value("${analytics.recompute-days:7}")
+    private int recomputeDays;
+
+    @Value("${analytics.full-reload-hours:24}")
+    private long fullReloadHours;
+
+    // 0 이면 CPU 수
+    @Value("${analytics.parallelism:0}")
+    private int parallelism;
+
+    @Value("${analytics.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    private volatile NutritionColumns columns;
+    private ScheduledExecutorService loader;
+    private ForkJoinPool queryPool;
+
+    @PostConstruct
+    void start() {
+        queryPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("analytics-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+        loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analytics-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loader.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        loader.shutdownNow();
+        queryPool.shutdownNow();
+        loader.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public AnalyticsDto.CohortResponse query(AnalyticsDto.CohortQuery query) {
+        if (query.getFrom() == null || query.getTo() == null || query.getFrom().isAfter(query.getTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조회 기간(from <= to)이 올바르지 않습니다.");
+        }
+        List<AnalyticsDto.Dimension> groupBy = query.getGroupBy() != null
+                ? query.getGroupBy().stream().distinct().toList()
+                : List.of();
+
+        long startedAt = System.nanoTime();
+        NutritionColumns snapshot = current();
+        int lo = snapshot.lowerBound((int) query.getFrom().toEpochDay());
+        int hi = snapshot.lowerBound((int) query.getTo().toEpochDay() + 1);
+
+        Plan plan = new Plan(snapshot, groupBy, query);
+        Totals totals = queryPool.invoke(new ScanTask(plan, lo, hi));
+
+        List<AnalyticsDto.CohortRow> rows = new ArrayList<>();
+        long memberDays = 0;
+        for (int group = 0; group < plan.groups; group++) {
+            long count = totals.count[group];
+            if (count == 0) {
+                continue;
+            }
+            memberDays += count;
+            rows.add(AnalyticsDto.CohortRow.builder()
+                    .group(plan.labels(group))
+                    .memberDays(count)
+                    .avgCalories((double) totals.calories[group] / count)
+                    .avgCarbohydrate(totals.carbohydrate[group] / count)
+                    .avgProtein(totals.protein[group] / count)
+                    .avgFat(totals.fat[group] / count)
+                    .build());
+        }
+
+        return AnalyticsDto.CohortResponse.builder()
+                .from(query.getFrom())
+                .to(query.getTo())
+                .groupBy(groupBy)
+                .rows(rows)
+                .memberDays(memberDays)
+                .refreshedAt(snapshot.refreshedAt)
+                .elapsedMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt))
+                .build();
+    }
+
+    public AnalyticsDto.StatusResponse getStatus() {
+        return status(current());
+    }
+
+    // 관리자 요청: 전체 재적재 (적재 스레드에서 실행, 끝날 때까지 대기)
+    public AnalyticsDto.StatusResponse reload() {
+        try {
+            return status(loader.submit(() -> load(null)).get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "통계 데이터 적재가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("통계 데이터 적재 실패", e.getCause());
+        }
+    }
+
+    // 첫 적재가 끝나기 전에는 요청 스레드에서 기다리지 않고 503
+    private NutritionColumns current() {
+        NutritionColumns snapshot = columns;
+        if (snapshot == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "통계 데이터를 불러오는 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        return snapshot;
+    }
+
+    private void refreshQuietly() {
+        NutritionColumns previous = columns;
+        try {
+            // 첫 적재 (또는 첫 적재가 실패한 뒤 재시도) 는 전체 적재
+            boolean full = previous == null || previous.fullReloadAt.plusHours(fullReloadHours).isBefore(LocalDateTime.now());
+            load(full ? null : previous);
+        } catch (RuntimeException e) {
+            log.warn("analytics refresh failed", e);
+        }
+    }
+
+    // previous 가 null 이면 전체 적재, 아니면 최근 recompute-days 일만 다시 읽어 이어 붙인다 (적재 스레드 전용)
+    private NutritionColumns load(NutritionColumns previous) {
+        long startedAt = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        // 회원 속성은 매번 새로 읽는다 (프로필 수정, 탈퇴 반영)
+        List<AnalyticsDto.MemberProfile> profiles = nutritionAnalyticsRepository.findMemberProfiles();
+        int memberCount = profiles.size();
+        long[] memberIds = new long[memberCount];
+        byte[] gender = new byte[memberCount];
+        byte[] activityLevel = new byte[memberCount];
+        byte[] bmiBand = new byte[memberCount];
+        int[] ageBounds = new int[memberCount * NutritionColumns.AGE_BOUNDS];
+        Map<Long, Integer> memberIndex = new HashMap<>(memberCount * 2);
+        for (int i = 0; i < memberCount; i++) {
+            AnalyticsDto.MemberProfile profile = profiles.get(i);
+            memberIds[i] = profile.getMemberId();
+            gender[i] = NutritionColumns.genderOf(profile.getGender());
+            activityLevel[i] = NutritionColumns.activityLevelOf(profile.getActivityLevel());
+            bmiBand[i] = NutritionColumns.bmiBandOf(profile.getHeight(), profile.getWeight());
+            System.arraycopy(NutritionColumns.ageBoundsOf(profile.getBirthAt()), 0, ageBounds, i * NutritionColumns.AGE_BOUNDS, NutritionColumns.AGE_BOUNDS);
+            memberIndex.put(profile.getMemberId(), i);
+        }
+
+        LocalDateTime windowStart = previous == null ? EPOCH : now.toLocalDate().minusDays(recomputeDays).atStartOfDay();
+        Map<DayMember, DayTotal> days = loadDays(windowStart);
+
+        List<DayMember> keys = new ArrayList<>(days.keySet());
+        keys.sort(null);
+        int keep = previous == null ? 0 : previous.lowerBound((int) windowStart.toLocalDate().toEpochDay());
+
+        NutritionColumns.Builder builder = new NutritionColumns.Builder(memberIds, gender, activityLevel, bmiBand, ageBounds,
+                memberIndex, keep + keys.size());
+        if (previous != null) {
+            builder.copyRows(previous, 0, keep);
+        }
+        for (DayMember key : keys) {
+            DayTotal total = days.get(key);
+            builder.add(key.memberId(), key.day(), (int) Math.min(total.calories, Integer.MAX_VALUE),
+                    (float) total.carbohydrate, (float) total.protein, (float) total.fat);
+        }
+
+        NutritionColumns next = builder.build(now, previous == null ? now : previous.fullReloadAt);
+        columns = next;
+        log.info("analytics {} load: {} member-days, {} members in {} ms", previous == null ? "full" : "incremental",
+                next.size, memberCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return next;
+    }
+
+    // start 이후 식사를 (modifiedAt, id) 순으로 나눠 읽어 회원-일 단위로 합산
+    private Map<DayMember, DayTotal> loadDays(LocalDateTime start) {
+        Map<DayMember, DayTotal> days = new HashMap<>();
+        LocalDateTime lastModifiedAt = start;
+        long lastId = 0;
+        List<AnalyticsDto.MealNutrition> page;
+        while (!(page = nutritionAnalyticsRepository.findMealNutritionAfter(lastModifiedAt, lastId, PageRequest.of(0, loadBatchSize))).isEmpty()) {
+            for (AnalyticsDto.MealNutrition meal : page) {
+                DayMember key = new DayMember((int) meal.getModifiedAt().toLocalDate().toEpochDay(), meal.getMemberId());
+                DayTotal total = days.computeIfAbsent(key, k -> new DayTotal());
+                total.calories += meal.getCalories() != null ? meal.getCalories() : 0;
+                total.carbohydrate += meal.getCarbohydrate() != null ? meal.getCarbohydrate() : 0;
+                total.protein += meal.getProtein() != null ? meal.getProtein() : 0;
+                total.fat += meal.getFat() != null ? meal.getFat() : 0;
+            }
+            AnalyticsDto.MealNutrition last = page.get(page.size() - 1);
+            lastModifiedAt = last.getModifiedAt();
+            lastId = last.getMealId();
+        }
+        return days;
+    }
+
+    private static AnalyticsDto.StatusResponse status(NutritionColumns snapshot) {
+        return AnalyticsDto.StatusResponse.builder()
+                .rows(snapshot.size)
+                .members(snapshot.memberCount())
+                .firstDay(snapshot.size > 0 ? LocalDate.ofEpochDay(snapshot.day[0]) : null)
+                .lastDay(snapshot.size > 0 ? LocalDate.ofEpochDay(snapshot.day[snapshot.size - 1]) : null)
+                .refreshedAt(snapshot.refreshedAt)
+                .fullReloadAt(snapshot.fullReloadAt)
+                .build();
+    }
+
+    private record DayMember(int day, long memberId) implements Comparable<DayMember> {
+        @Override
+        public int compareTo(DayMember other) {
+            int byDay = Integer.compare(day, other.day);
+            return byDay != 0 ? byDay : Long.compare(memberId, other.memberId);
+        }
+    }
+
+    private static final class DayTotal {
+        private long calories;
+        private double carbohydrate;
+        private double protein;
+        private double fat;
+    }
+
+    /**
+     * 질의 하나의 구분 기준/필터. 그룹 번호는 선택한 구분 값들을 자릿수로 쓰는 혼합 진법 수.
+     * 값이 없는 성별/활동량은 마지막 번호(UNKNOWN)로 센다.
+     */
+    private static final class Plan {
+        private static final int ANY = -1;
+
+        private final NutritionColumns columns;
+        private final List<AnalyticsDto.Dimension> groupBy;
+        private final int groups;
+        private final int genderStride;
+        private final int activityStride;
+        private final int ageStride;
+        private final int bmiStride;
+        private final int genderFilter;
+        private final int activityFilter;
+        private final int ageFilter;
+        private final int bmiFilter;
+
+        private Plan(NutritionColumns columns, List<AnalyticsDto.Dimension> groupBy, AnalyticsDto.CohortQuery query) {
+            this.columns = columns;
+            this.groupBy = groupBy;
+
+            int stride = 1;
+            int gender = 0;
+            int activity = 0;
+            int age = 0;
+            int bmi = 0;
+            for (AnalyticsDto.Dimension dimension : groupBy) {
+                switch (dimension) {
+                    case GENDER -> { gender = stride; stride *= GENDER_CARDINALITY; }
+                    case ACTIVITY_LEVEL -> { activity = stride; stride *= ACTIVITY_CARDINALITY; }
+                    case AGE_BAND -> { age = stride; stride *= AGE_CARDINALITY; }
+                    case BMI_BAND -> { bmi = stride; stride *= BMI_CARDINALITY; }
+                }
+            }
+            this.groups = stride;
+            this.genderStride = gender;
+            this.activityStride = activity;
+            this.ageStride = age;
+            this.bmiStride = bmi;
+
+            this.genderFilter = query.getGender() != null ? query.getGender().ordinal() : ANY;
+            this.activityFilter = query.getActivityLevel() != null ? query.getActivityLevel().ordinal() : ANY;
+            this.ageFilter = query.getAgeBand() != null ? query.getAgeBand().ordinal() : ANY;
+            this.bmiFilter = query.getBmiBand() != null ? query.getBmiBand().ordinal() : ANY;
+        }
+
+        private boolean needsAge() {
+            return ageStride > 0 || ageFilter != ANY;
+        }
+
+        private Map<AnalyticsDto.Dimension, String> labels(int group) {
+            Map<AnalyticsDto.Dimension, String> labels = new EnumMap<>(AnalyticsDto.Dimension.class);
+            for (AnalyticsDto.Dimension dimension : groupBy) {
+                switch (dimension) {
+                    case GENDER -> {
+                        int code = group / genderStride % GENDER_CARDINALITY;
+                        labels.put(dimension, code < Gender.values().length ? Gender.values()[code].name() : "UNKNOWN");
+                    }
+                    case ACTIVITY_LEVEL -> {
+                        int code = group / activityStride % ACTIVITY_CARDINALITY;
+                        labels.put(dimension, code < ActivityLevel.values().length ? ActivityLevel.values()[code].name() : "UNKNOWN");
+                    }
+                    case AGE_BAND -> labels.put(dimension, AnalyticsDto.AgeBand.values()[group / ageStride % AGE_CARDINALITY].name());
+                    case BMI_BAND -> labels.put(dimension, AnalyticsDto.BmiBand.values()[group / bmiStride % BMI_CARDINALITY].name());
+                }
+            }
+            return labels;
+        }
+    }
+
+    private static final class Totals {
+        private final long[] count;
+        private final long[] calories;
+        private final double[] carbohydrate;
+        private final double[] protein;
+        private final double[] fat;
+
+        private Totals(int groups) {
+            count = new long[groups];
+            calories = new long[groups];
+            carbohydrate = new double[groups];
+            protein = new double[groups];
+            fat = new double[groups];
+        }
+
+        private Totals merge(Totals other) {
+            for (int group = 0; group < count.length; group++) {
+                count[group] += other.count[group];
+                calories[group] += other.calories[group];
+                carbohydrate[group] += other.carbohydrate[group];
+                protein[group] += other.protein[group];
+                fat[group] += other.fat[group];
+            }
+            return this;
+        }
+    }
+
+    // 행 범위를 반씩 나눠 병렬로 집계
+    private static final class ScanTask extends RecursiveTask<Totals> {
+        private final Plan plan;
+        private final int from;
+        private final int to;
+
+        private ScanTask(Plan plan, int from, int to) {
+            this.plan = plan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= SCAN_THRESHOLD) {
+                return scan();
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(plan, from, mid);
+            left.fork();
+            Totals right = new ScanTask(plan, mid, to).compute();
+            return left.join().merge(right);
+        }
+
+        private Totals scan() {
+            NutritionColumns columns = plan.columns;
+            Totals totals = new Totals(plan.groups);
+            boolean needsAge = plan.needsAge();
+            for (int row = from; row < to; row++) {
+                int member = columns.member[row];
+
+                int gender = columns.gender[member];
+                if (gender == NutritionColumns.UNKNOWN) {
+                    gender = GENDER_CARDINALITY - 1;
+                }
+                int activity = columns.activityLevel[member];
+                if (activity == NutritionColumns.UNKNOWN) {
+                    activity = ACTIVITY_CARDINALITY - 1;
+                }
+                int bmi = columns.bmiBand[member];
+                int age = needsAge ? columns.ageBand(member, columns.day[row]) : 0;
+
+                if ((plan.genderFilter != Plan.ANY && gender != plan.genderFilter)
+                        || (plan.activityFilter != Plan.ANY && activity != plan.activityFilter)
+                        || (plan.ageFilter != Plan.ANY && age != plan.ageFilter)
+                        || (plan.bmiFilter != Plan.ANY && bmi != plan.bmiFilter)) {
+                    continue;
+                }
+
+                int group = gender * plan.genderStride + activity * plan.activityStride
+                        + age * plan.ageStride + bmi * plan.bmiStride;
+                totals.count[group]++;
+                totals.calories[group] += columns.calories[row];
+                totals.carbohydrate[group] += columns.carbohydrate[row];
+                totals.protein[group] += columns.protein[row];
+                totals.fat[group] += columns.fat[row];
+            }
+            return totals;
+        }
+    }
+}
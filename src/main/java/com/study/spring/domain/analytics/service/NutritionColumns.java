@@ -0,0 +1,204 @@
+package com.study.spring.domain.analytics.service;
+
+import com.study.spring.domain.analytics.dto.AnalyticsDto;
+import com.study.spring.domain.member.entity.ActivityLevel;
+import com.study.spring.domain.member.entity.Gender;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 회원-일 단위 영양 합계를 열(column) 별 기본형 배열로 들고 있는 불변 스냅샷.
+ * 행은 날짜 순으로 정렬돼 있어 기간 조건은 이진 탐색으로 범위를 자르고, 그 안만 순차로 읽는다.
+ * 회원 속성(성별, 활동량, 연령 구간 경계, BMI 구간)은 회원 순번으로 따로 두고 행에는 순번만 둔다.
+ */
+final class NutritionColumns {
+    static final int AGE_BOUNDS = 5; // 20, 30, 40, 50, 60 세가 되는 날
+    static final byte UNKNOWN = -1;
+
+    // 행 (day 오름차순)
+    final int size;
+    final int[] day;            // epochDay
+    final int[] member;         // 회원 순번
+    final int[] calories;
+    final float[] carbohydrate;
+    final float[] protein;
+    final float[] fat;
+
+    // 회원 속성 (회원 순번 기준)
+    final long[] memberIds;
+    final byte[] gender;
+    final byte[] activityLevel;
+    final byte[] bmiBand;
+    final int[] ageBounds;      // 회원별 AGE_BOUNDS 개, 생일을 모르면 Integer.MAX_VALUE
+
+    final LocalDateTime refreshedAt;
+    final LocalDateTime fullReloadAt;
+
+    NutritionColumns(int size, int[] day, int[] member, int[] calories, float[] carbohydrate, float[] protein, float[] fat,
+                     long[] memberIds, byte[] gender, byte[] activityLevel, byte[] bmiBand, int[] ageBounds,
+                     LocalDateTime refreshedAt, LocalDateTime fullReloadAt) {
+        this.size = size;
+        this.day = day;
+        this.member = member;
+        this.calories = calories;
+        this.carbohydrate = carbohydrate;
+        this.protein = protein;
+        this.fat = fat;
+        this.memberIds = memberIds;
+        this.gender = gender;
+        this.activityLevel = activityLevel;
+        this.bmiBand = bmiBand;
+        this.ageBounds = ageBounds;
+        this.refreshedAt = refreshedAt;
+        this.fullReloadAt = fullReloadAt;
+    }
+
+    int memberCount() {
+        return memberIds.length;
+    }
+
+    // day 이상인 첫 행
+    int lowerBound(int fromDay) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (day[mid] < fromDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 연령 구간 번호 (AgeBand 순서, 생일을 모르면 UNKNOWN)
+    int ageBand(int memberIndex, int rowDay) {
+        int base = memberIndex * AGE_BOUNDS;
+        if (ageBounds[base] == Integer.MAX_VALUE) {
+            return AnalyticsDto.AgeBand.UNKNOWN.ordinal();
+        }
+        int band = 0;
+        while (band < AGE_BOUNDS && rowDay >= ageBounds[base + band]) {
+            band++;
+        }
+        return band;
+    }
+
+    static int[] ageBoundsOf(LocalDate birthAt) {
+        int[] bounds = new int[AGE_BOUNDS];
+        for (int i = 0; i < AGE_BOUNDS; i++) {
+            bounds[i] = birthAt == null ? Integer.MAX_VALUE : (int) birthAt.plusYears(20L + 10L * i).toEpochDay();
+        }
+        return bounds;
+    }
+
+    static byte genderOf(Gender gender) {
+        return gender == null ? UNKNOWN : (byte) gender.ordinal();
+    }
+
+    static byte activityLevelOf(ActivityLevel activityLevel) {
+        return activityLevel == null ? UNKNOWN : (byte) activityLevel.ordinal();
+    }
+
+    static byte bmiBandOf(Float height, Float weight) {
+        if (height == null || weight == null || height <= 0 || weight <= 0) {
+            return (byte) AnalyticsDto.BmiBand.UNKNOWN.ordinal();
+        }
+        double meters = height / 100.0;
+        double bmi = weight / (meters * meters);
+        AnalyticsDto.BmiBand band;
+        if (bmi < 18.5) {
+            band = AnalyticsDto.BmiBand.UNDERWEIGHT;
+        } else if (bmi < 23) {
+            band = AnalyticsDto.BmiBand.NORMAL;
+        } else if (bmi < 25) {
+            band = AnalyticsDto.BmiBand.PRE_OBESE;
+        } else if (bmi < 30) {
+            band = AnalyticsDto.BmiBand.OBESE_1;
+        } else if (bmi < 35) {
+            band = AnalyticsDto.BmiBand.OBESE_2;
+        } else {
+            band = AnalyticsDto.BmiBand.OBESE_3;
+        }
+        return (byte) band.ordinal();
+    }
+
+    /**
+     * 행을 날짜 순으로 쌓는 빌더. 회원 속성은 먼저 정해 두고, 속성이 없는(탈퇴 등) 회원의 행은 버린다.
+     */
+    static final class Builder {
+        private final long[] memberIds;
+        private final byte[] gender;
+        private final byte[] activityLevel;
+        private final byte[] bmiBand;
+        private final int[] ageBounds;
+        private final Map<Long, Integer> memberIndex;
+
+        private int size;
+        private int[] day;
+        private int[] member;
+        private int[] calories;
+        private float[] carbohydrate;
+        private float[] protein;
+        private float[] fat;
+
+        Builder(long[] memberIds, byte[] gender, byte[] activityLevel, byte[] bmiBand, int[] ageBounds,
+                Map<Long, Integer> memberIndex, int expectedRows) {
+            this.memberIds = memberIds;
+            this.gender = gender;
+            this.activityLevel = activityLevel;
+            this.bmiBand = bmiBand;
+            this.ageBounds = ageBounds;
+            this.memberIndex = memberIndex;
+            int capacity = Math.max(expectedRows, 16);
+            day = new int[capacity];
+            member = new int[capacity];
+            calories = new int[capacity];
+            carbohydrate = new float[capacity];
+            protein = new float[capacity];
+            fat = new float[capacity];
+        }
+
+        // 이전 스냅샷의 행을 그대로 옮긴다 (회원 순번은 새 순번으로 바꾼다)
+        void copyRows(NutritionColumns previous, int from, int to) {
+            for (int row = from; row < to; row++) {
+                add(previous.memberIds[previous.member[row]], previous.day[row], previous.calories[row],
+                        previous.carbohydrate[row], previous.protein[row], previous.fat[row]);
+            }
+        }
+
+        // 반드시 day 오름차순으로 호출
+        void add(long memberId, int rowDay, int rowCalories, float rowCarbohydrate, float rowProtein, float rowFat) {
+            Integer index = memberIndex.get(memberId);
+            if (index == null) {
+                return;
+            }
+            if (size == day.length) {
+                int capacity = size + (size >> 1);
+                day = Arrays.copyOf(day, capacity);
+                member = Arrays.copyOf(member, capacity);
+                calories = Arrays.copyOf(calories, capacity);
+                carbohydrate = Arrays.copyOf(carbohydrate, capacity);
+                protein = Arrays.copyOf(protein, capacity);
+                fat = Arrays.copyOf(fat, capacity);
+            }
+            day[size] = rowDay;
+            member[size] = index;
+            calories[size] = rowCalories;
+            carbohydrate[size] = rowCarbohydrate;
+            protein[size] = rowProtein;
+            fat[size] = rowFat;
+            size++;
+        }
+
+        NutritionColumns build(LocalDateTime refreshedAt, LocalDateTime fullReloadAt) {
+            return new NutritionColumns(size, Arrays.copyOf(day, size), Arrays.copyOf(member, size), Arrays.copyOf(calories, size),
+                    Arrays.copyOf(carbohydrate, size), Arrays.copyOf(protein, size), Arrays.copyOf(fat, size),
+                    memberIds, gender, activityLevel, bmiBand, ageBounds, refreshedAt, fullReloadAt);
+        }
+    }
+}
@@ -1,24 +1,39 @@
 package com.study.spring.domain.board.controller;
 
 import com.study.spring.domain.board.dto.BoardDto;
+import com.study.spring.domain.board.dto.BoardJsonWriter;
+import com.study.spring.domain.board.service.BoardEventHub;
 import com.study.spring.domain.board.service.BoardService;
+import com.study.spring.global.auth.AuthPrincipal;
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/boards")
 @RequiredArgsConstructor
 public class BoardController {
     private final BoardService boardService;
+    private final BoardEventHub boardEventHub;
+    private final JsonStreamer jsonStreamer;
 
-    // 게시글 생성
+    // 게시글 생성 (작성자는 토큰의 회원)
     @PostMapping
     public ResponseEntity<BoardDto.Response> createBoard(
-            @RequestParam("memberId") Long memberId,  // 수정!
+            AuthPrincipal principal,
             @RequestBody BoardDto.Request request) {
-        return ResponseEntity.ok(boardService.createBoard(memberId, request));
+        return ResponseEntity.ok(boardService.createBoard(principal.memberId(), request));
     }
 
     // 게시글 조회
@@ -27,17 +42,48 @@ public class BoardController {
         return ResponseEntity.ok(boardService.getBoard(id));
     }
 
-    // 전체 게시글 조회
+    // 전체 게시글 조회 (JSON 은 읽는 대로 바로 씀)
     @GetMapping
-    public ResponseEntity<List<BoardDto.Response>> getAllBoards() {
-        return ResponseEntity.ok(boardService.getAllBoards());
+    public ResponseEntity<MappingJacksonValue> getAllBoards(
+            @RequestParam(value = "fields", required = false) String fields,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (jsonStreamer.accepts(request)) {
+            jsonStreamer.writeArray(response, sink -> boardService.streamAllBoards(selection, sink), new BoardJsonWriter(selection));
+            return null;
+        }
+        return ResponseEntity.ok(selection.wrap(boardService.getAllBoards(selection)));
+    }
+
+    // 게시글 검색 (제목/본문/댓글, 관련도 순)
+    @GetMapping("/search")
+    public ResponseEntity<BoardDto.SearchResponse> searchBoards(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(boardService.searchBoards(query, page, size));
+    }
+
+    // 검색 색인을 DB 에서 다시 만들기 (관리자)
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildSearchIndex(AuthPrincipal principal) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(Collections.singletonMap("indexed", boardService.rebuildSearchIndex()));
+    }
+
+    // 게시글/댓글 실시간 이벤트 구독 (SSE)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBoards() {
+        return boardEventHub.subscribe(null);
     }
 
     // 회원별 게시글 조회
     @GetMapping("/member/{memberId}")
-    public ResponseEntity<List<BoardDto.Response>> getBoardsByMemberId(
-            @PathVariable("memberId") Long memberId) {  // 수정!
-        return ResponseEntity.ok(boardService.getBoardsByMemberId(memberId));
+    public ResponseEntity<MappingJacksonValue> getBoardsByMemberId(
+            @PathVariable("memberId") Long memberId,  // 수정!
+            @RequestParam(value = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        return ResponseEntity.ok(selection.wrap(boardService.getBoardsByMemberId(memberId, selection)));
     }
 
     // 게시글 수정
@@ -55,13 +101,13 @@ public class BoardController {
         return ResponseEntity.noContent().build();
     }
 
-    // 댓글 추가
+    // 댓글 추가 (작성자는 토큰의 회원)
     @PostMapping("/{boardId}/comments")
     public ResponseEntity<BoardDto.CommentResponse> addComment(
             @PathVariable("boardId") Long boardId,  // 수정!
-            @RequestParam("memberId") Long memberId,  // 수정!
+            AuthPrincipal principal,
             @RequestBody BoardDto.CommentRequest request) {
-        return ResponseEntity.ok(boardService.addComment(boardId, memberId, request));
+        return ResponseEntity.ok(boardService.addComment(boardId, principal.memberId(), request));
     }
 
     // 특정 게시글의 댓글 목록 조회
@@ -71,6 +117,12 @@ public class BoardController {
         return ResponseEntity.ok(boardService.getCommentsByBoardId(boardId));
     }
 
+    // 특정 게시글의 댓글 실시간 이벤트 구독 (SSE)
+    @GetMapping(value = "/{boardId}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamComments(@PathVariable("boardId") Long boardId) {
+        return boardEventHub.subscribe(boardId);
+    }
+
     // 특정 댓글 조회
     @GetMapping("/comments/{commentId}")
     public ResponseEntity<BoardDto.CommentResponse> getComment(
@@ -2,6 +2,10 @@ package com.study.spring.domain.board.dto;
 
 import com.study.spring.domain.board.entity.Board;
 import com.study.spring.domain.board.entity.Comment;
+import com.study.spring.global.util.FieldSelection;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,6 +33,7 @@ public class BoardDto {
     @AllArgsConstructor
     @Getter
     @Builder
+    @JsonFilter(FieldSelection.FILTER_ID)
     public static class Response {
         private Long id;
         private Long memberId;
@@ -38,6 +43,22 @@ public class BoardDto {
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
 
+        // JPQL 프로젝션용 생성자 (content 제외 목록)
+        public Response(Long id, Long memberId, String title, LocalDateTime createdAt, LocalDateTime updatedAt) {
+            this(id, memberId, title, null, createdAt, updatedAt);
+        }
+
+        // JPQL 프로젝션용 생성자 (comments 는 별도 조회 후 채움)
+        public Response(Long id, Long memberId, String title, String content, LocalDateTime createdAt, LocalDateTime updatedAt) {
+            this.id = id;
+            this.memberId = memberId;
+            this.title = title;
+            this.content = content;
+            this.comments = new ArrayList<>();
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+        }
+
         public static Response from(Board board) {
             return Response.builder()
                     .id(board.getId())
@@ -55,6 +76,18 @@ public class BoardDto {
         }
     }
 
+    // 검색 결과 (점수 순, 댓글은 채우지 않음)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class SearchResponse {
+        private List<Response> content;
+        private int page;
+        private int size;
+        private boolean hasNext;
+    }
+
     @NoArgsConstructor
     @AllArgsConstructor
     @Getter
@@ -67,11 +100,14 @@ public class BoardDto {
     @AllArgsConstructor
     @Getter
     @Builder
+    @JsonFilter(FieldSelection.FILTER_ID)
     public static class CommentResponse {
         private Long id;
         private Long memberId;
         private String content;
         private LocalDateTime createdAt;
+        @JsonIgnore
+        private Long boardId;  // 프로젝션 조회 시 게시글별 묶음용
 
         public static CommentResponse from(Comment comment) {
             return CommentResponse.builder()
@@ -82,4 +118,21 @@ public class BoardDto {
                     .build();
         }
     }
-} 
\ No newline at end of file
+
+    public enum EventType {
+        BOARD_CREATED, BOARD_UPDATED, BOARD_DELETED, COMMENT_CREATED, COMMENT_UPDATED, COMMENT_DELETED
+    }
+
+    // 게시글/댓글 변경 이벤트 (커밋 이후 SSE 로 전달)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class Event {
+        private EventType type;
+        private Long boardId;
+        private Long commentId;
+        private Response board;
+        private CommentResponse comment;
+    }
+}
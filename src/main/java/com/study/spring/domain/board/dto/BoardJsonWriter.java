@@ -0,0 +1,121 @@
+package com.study.spring.domain.board.dto;
+
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * BoardDto.Response 를 Jackson 빈 직렬화 없이 바로 쓴다 (스트리밍 목록 응답용).
+ * 필드 순서와 값 모양은 BoardDto.Response / CommentResponse 를 Jackson 으로 쓴 결과와 같다.
+ */
+public final class BoardJsonWriter implements JsonStreamer.RowWriter<BoardDto.Response> {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString MEMBER_ID = new SerializedString("memberId");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString COMMENTS = new SerializedString("comments");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    private final boolean id;
+    private final boolean memberId;
+    private final boolean title;
+    private final boolean content;
+    private final boolean comments;
+    private final boolean createdAt;
+    private final boolean updatedAt;
+    private final boolean commentId;
+    private final boolean commentMemberId;
+    private final boolean commentContent;
+    private final boolean commentCreatedAt;
+
+    public BoardJsonWriter(FieldSelection fields) {
+        id = fields.includes("id");
+        memberId = fields.includes("memberId");
+        title = fields.includes("title");
+        content = fields.includes("content");
+        comments = fields.includes("comments");
+        createdAt = fields.includes("createdAt");
+        updatedAt = fields.includes("updatedAt");
+        commentId = fields.includes("comments.id");
+        commentMemberId = fields.includes("comments.memberId");
+        commentContent = fields.includes("comments.content");
+        commentCreatedAt = fields.includes("comments.createdAt");
+    }
+
+    @Override
+    public void write(JsonGenerator generator, SerializerProvider provider, BoardDto.Response board) throws IOException {
+        generator.writeStartObject();
+        if (id) {
+            generator.writeFieldName(ID);
+            writeNumber(generator, board.getId());
+        }
+        if (memberId) {
+            generator.writeFieldName(MEMBER_ID);
+            writeNumber(generator, board.getMemberId());
+        }
+        if (title) {
+            generator.writeFieldName(TITLE);
+            generator.writeString(board.getTitle());
+        }
+        if (content) {
+            generator.writeFieldName(CONTENT);
+            generator.writeString(board.getContent());
+        }
+        if (comments) {
+            generator.writeFieldName(COMMENTS);
+            if (board.getComments() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartArray();
+                for (BoardDto.CommentResponse comment : board.getComments()) {
+                    writeComment(generator, provider, comment);
+                }
+                generator.writeEndArray();
+            }
+        }
+        if (createdAt) {
+            generator.writeFieldName(CREATED_AT);
+            provider.defaultSerializeValue(board.getCreatedAt(), generator);
+        }
+        if (updatedAt) {
+            generator.writeFieldName(UPDATED_AT);
+            provider.defaultSerializeValue(board.getUpdatedAt(), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeComment(JsonGenerator generator, SerializerProvider provider, BoardDto.CommentResponse comment) throws IOException {
+        generator.writeStartObject();
+        if (commentId) {
+            generator.writeFieldName(ID);
+            writeNumber(generator, comment.getId());
+        }
+        if (commentMemberId) {
+            generator.writeFieldName(MEMBER_ID);
+            writeNumber(generator, comment.getMemberId());
+        }
+        if (commentContent) {
+            generator.writeFieldName(CONTENT);
+            generator.writeString(comment.getContent());
+        }
+        if (commentCreatedAt) {
+            generator.writeFieldName(CREATED_AT);
+            provider.defaultSerializeValue(comment.getCreatedAt(), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumber(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+}
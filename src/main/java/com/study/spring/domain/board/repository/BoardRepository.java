@@ -1,9 +1,57 @@
 package com.study.spring.domain.board.repository;
 
+import com.study.spring.domain.board.dto.BoardDto;
 import com.study.spring.domain.board.entity.Board;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface BoardRepository extends JpaRepository<Board, Long> {
     List<Board> findByMemberId(Long memberId);
-} 
\ No newline at end of file
+
+    String BOARD_RESPONSE = "SELECT new com.study.spring.domain.board.dto.BoardDto$Response(b.id, b.member.id, b.title, b.content, b.createdAt, b.updatedAt) FROM Board b ";
+
+    @Query(BOARD_RESPONSE + "ORDER BY b.id")
+    List<BoardDto.Response> findAllResponses();
+
+    // content(TEXT) 를 제외한 목록용 프로젝션
+    String BOARD_SUMMARY = "SELECT new com.study.spring.domain.board.dto.BoardDto$Response(b.id, b.member.id, b.title, b.createdAt, b.updatedAt) FROM Board b ";
+
+    @Query(BOARD_SUMMARY + "ORDER BY b.id")
+    List<BoardDto.Response> findAllSummaryResponses();
+
+    // 스트리밍 목록 응답용 id 키셋 페이지 (페이지마다 짧은 읽기 트랜잭션)
+    @Query(BOARD_RESPONSE + "WHERE b.id > :afterId ORDER BY b.id")
+    List<BoardDto.Response> findResponsesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOARD_SUMMARY + "WHERE b.id > :afterId ORDER BY b.id")
+    List<BoardDto.Response> findSummaryResponsesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(BOARD_SUMMARY + "WHERE b.member.id = :memberId ORDER BY b.id")
+    List<BoardDto.Response> findSummaryResponsesByMemberId(@Param("memberId") Long memberId);
+
+    @Query(BOARD_RESPONSE + "ORDER BY b.id DESC")
+    List<BoardDto.Response> findRecentResponses(Pageable pageable);
+
+    @Query(BOARD_RESPONSE + "WHERE b.member.id = :memberId ORDER BY b.id")
+    List<BoardDto.Response> findResponsesByMemberId(@Param("memberId") Long memberId);
+
+    // 검색 결과 id 로 조회 / 색인 재구성 (id 순 페이지)
+    @Query(BOARD_RESPONSE + "WHERE b.id IN :ids")
+    List<BoardDto.Response> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(BOARD_RESPONSE + "WHERE b.id > :lastId ORDER BY b.id")
+    List<BoardDto.Response> findResponsesByIdGreaterThan(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 회원 탈퇴 정리 작업용
+    @Query("SELECT b.id FROM Board b WHERE b.member.id = :memberId ORDER BY b.id")
+    List<Long> findIdsByMemberId(@Param("memberId") Long memberId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Board b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,10 +1,39 @@
 package com.study.spring.domain.board.repository;
 
+import com.study.spring.domain.board.dto.BoardDto;
 import com.study.spring.domain.board.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByBoardId(Long boardId);
     List<Comment> findByMemberId(Long memberId);
-} 
\ No newline at end of file
+
+    String COMMENT_RESPONSE = "SELECT new com.study.spring.domain.board.dto.BoardDto$CommentResponse(c.id, c.member.id, c.content, c.createdAt, c.board.id) FROM Comment c ";
+
+    @Query(COMMENT_RESPONSE + "WHERE c.board.id = :boardId ORDER BY c.id")
+    List<BoardDto.CommentResponse> findResponsesByBoardId(@Param("boardId") Long boardId);
+
+    @Query(COMMENT_RESPONSE + "WHERE c.member.id = :memberId ORDER BY c.id")
+    List<BoardDto.CommentResponse> findResponsesByMemberId(@Param("memberId") Long memberId);
+
+    @Query(COMMENT_RESPONSE + "WHERE c.board.id IN :boardIds ORDER BY c.id")
+    List<BoardDto.CommentResponse> findResponsesByBoardIdIn(@Param("boardIds") Collection<Long> boardIds);
+
+    // 회원 탈퇴 정리 작업용: 회원이 쓴 댓글 + 회원 게시글에 달린 댓글
+    @Query("SELECT c.id FROM Comment c WHERE c.member.id = :memberId OR c.board.member.id = :memberId ORDER BY c.id")
+    List<Long> findIdsByMemberIdOrBoardMemberId(@Param("memberId") Long memberId, Pageable pageable);
+
+    // 정리한 댓글이 달려 있던 게시글 (검색 색인 갱신용)
+    @Query("SELECT DISTINCT c.board.id FROM Comment c WHERE c.id IN :ids")
+    List<Long> findBoardIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
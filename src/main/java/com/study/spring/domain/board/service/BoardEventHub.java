@@ -0,0 +1,285 @@
+package com.study.spring.domain.board.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.spring.domain.board.dto.BoardDto;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글/댓글 이벤트를 SSE 구독자들에게 나눠 보내는 허브.
+ * 구독자마다 크기가 제한된 버퍼를 두고, 버퍼가 가득 찰 만큼 밀린 구독자는 연결을 끊는다 (EventSource 가 다시 연결한다).
+ * 구독자마다 보내기는 한 번에 하나만 (draining CAS) 돌고, 보내기 한 번이 send-timeout-ms 를 넘기면 그 구독자를 빼고
+ * emitter 를 completeWithError 로 닫는다 (인터럽트로는 톰캣의 쓰기가 확실히 멈추지 않는다).
+ * completeWithError 는 멈춘 send 가 쥔 emitter 잠금을 기다리므로 별도 스레드에서 부르고,
+ * 멈춘 쓰기는 컨테이너의 쓰기 시간 제한에 끝날 때까지 전송 스레드 하나를 잡는다 (나머지 구독자는 다른 전송 스레드로 받는다).
+ * 연결은 비동기 요청으로 유지되므로 대기 중인 구독자는 스레드를 점유하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardEventHub {
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${board.sse.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${board.sse.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${board.sse.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${board.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${board.sse.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    @Value("${board.sse.sender-threads:4}")
+    private int senderThreads;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    private ExecutorService sender;
+    private ExecutorService closer;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    void start() {
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "board-sse-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        closer = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "board-sse-closer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "board-sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        heartbeat.scheduleWithFixedDelay(this::evictStalled, 1, 1, TimeUnit.SECONDS);
+
+        Gauge.builder("board.sse.subscribers", subscribers, Set::size).register(meterRegistry);
+        FunctionCounter.builder("board.sse.dropped", dropped, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("board.sse.evicted", evicted, AtomicLong::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        closer.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.complete();
+        }
+        subscribers.clear();
+    }
+
+    // boardId 가 null 이면 전체 게시글/댓글 이벤트, 아니면 해당 게시글의 댓글 이벤트만 구독
+    public SseEmitter subscribe(Long boardId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "구독자가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, boardId);
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBoardEvent(BoardDto.Event event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // 구독자 수와 상관없이 직렬화는 한 번만
+        Set<DataWithMediaType> items;
+        try {
+            items = SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(event.getType().name())
+                    .data(objectMapper.writeValueAsString(event), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("이벤트 직렬화 실패", e);
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                enqueue(subscriber, items);
+            }
+        }
+    }
+
+    private void sendHeartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, ping);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> items) {
+        if (subscriber.offer(items)) {
+            drain(subscriber);
+        } else {
+            evict(subscriber); // 버퍼가 가득 찰 만큼 밀림
+        }
+    }
+
+    // 보내기 한 번이 send-timeout-ms 를 넘긴 구독자를 빼고 오류로 닫는다
+    private void evictStalled() {
+        long now = System.nanoTime();
+        long timeout = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > timeout && evict(subscriber) && subscriber.close()) {
+                closer.execute(() -> subscriber.emitter.completeWithError(new TimeoutException("SSE 전송 시간 초과")));
+            }
+        }
+    }
+
+    // 구독자 목록에서 뺀다. 보내는 중이 아니면 다음 drain 이 닫고, 보내는 중이면 전송 스레드가 빠져나오면서 닫는다
+    private boolean evict(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        evicted.incrementAndGet();
+        dropped.addAndGet(subscriber.clear());
+        drain(subscriber);
+        return true;
+    }
+
+    // 구독자당 보내기 작업은 하나만 (draining 을 CAS 로 잡은 스레드만 제출하고, 작업이 끝나면서 놓는다)
+    private void drain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return; // 이미 다른 스레드가 보내는 중
+        }
+        sender.execute(() -> {
+            try {
+                Set<DataWithMediaType> items;
+                while (subscribers.contains(subscriber) && (items = subscriber.poll()) != null) {
+                    subscriber.sendStartedNanos = System.nanoTime();
+                    try {
+                        subscriber.emitter.send(items);
+                    } finally {
+                        subscriber.sendStartedNanos = 0;
+                    }
+                }
+                if (!subscribers.contains(subscriber)) {
+                    subscriber.complete();
+                }
+            } catch (IOException | RuntimeException e) {
+                // 연결이 끊겼거나 보내는 도중 밀려난 구독자
+                subscribers.remove(subscriber);
+                subscriber.completeWithError(e);
+            } finally {
+                subscriber.draining.set(false);
+                if (subscriber.hasPending() && subscribers.contains(subscriber)) {
+                    drain(subscriber);
+                }
+            }
+        });
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long boardId;
+        private final ArrayDeque<Set<DataWithMediaType>> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long sendStartedNanos;     // 0 이면 보내는 중 아님
+
+        private Subscriber(SseEmitter emitter, Long boardId) {
+            this.emitter = emitter;
+            this.boardId = boardId;
+        }
+
+        private boolean accepts(BoardDto.Event event) {
+            if (boardId == null) {
+                return true;
+            }
+            return boardId.equals(event.getBoardId())
+                    && (event.getCommentId() != null || event.getType() == BoardDto.EventType.BOARD_DELETED);
+        }
+
+        // 버퍼가 가득 차 있으면 false
+        private synchronized boolean offer(Set<DataWithMediaType> items) {
+            if (buffer.size() >= bufferSize) {
+                return false;
+            }
+            buffer.addLast(items);
+            return true;
+        }
+
+        // 버린 이벤트 수
+        private synchronized int clear() {
+            int size = buffer.size();
+            buffer.clear();
+            return size;
+        }
+
+        private synchronized Set<DataWithMediaType> poll() {
+            return buffer.pollFirst();
+        }
+
+        private synchronized boolean hasPending() {
+            return !buffer.isEmpty();
+        }
+
+        // 시간 초과 / 전송 실패 / 정상 종료 중 먼저 닫기로 한 쪽만 emitter 를 닫는다
+        private boolean close() {
+            return closed.compareAndSet(false, true);
+        }
+
+        private void complete() {
+            if (close()) {
+                emitter.complete();
+            }
+        }
+
+        private void completeWithError(Throwable e) {
+            if (close()) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
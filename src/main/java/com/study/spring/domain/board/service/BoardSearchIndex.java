@@ -0,0 +1,339 @@
+package com.study.spring.domain.board.service;
+
+import com.study.spring.domain.board.dto.BoardDto;
+import com.study.spring.domain.board.repository.BoardRepository;
+import com.study.spring.domain.board.repository.CommentRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글 제목/본문/댓글 전문 검색 색인 (로컬 디스크의 Lucene 색인, 한국어 형태소 분석기 nori).
+ * 게시글/댓글 변경 이벤트가 커밋되면 해당 게시글 id 를 모아 두었다가 워커 스레드가 DB 에서 다시 읽어 색인하고,
+ * refresh-ms 마다 검색기를 갱신한다 (near-real-time). 색인은 DB 에서 언제든 다시 만들 수 있다.
+ */
+@Component
+@Lazy(false) // prod 프로필의 지연 초기화와 상관없이 시작 시 색인을 연다
+@RequiredArgsConstructor
+public class BoardSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(BoardSearchIndex.class);
+    private static final int BATCH_SIZE = 500;
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String COMMENTS = "comments";
+    // 정상 종료 시에만 true 로 커밋, 시작할 때 아니면 (비정상 종료로 최근 변경이 빠졌을 수 있으니) 재구성
+    private static final String CLEAN_SHUTDOWN = "clean-shutdown";
+
+    private final BoardRepository boardRepository;
+    private final CommentRepository commentRepository;
+
+    @Value("${board.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${board.search.index-dir:index/boards}")
+    private String indexDir;
+
+    @Value("${board.search.refresh-ms:1000}")
+    private long refreshMs;
+
+    @Value("${board.search.commit-seconds:60}")
+    private long commitSeconds;
+
+    // 깊은 페이지 조회 제한 (page * size 가 이 값을 넘으면 400)
+    @Value("${board.search.max-results:1000}")
+    private int maxResults;
+
+    // 다시 색인할 게시글 id (삭제된 게시글은 색인에서 지운다)
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private Analyzer analyzer;
+    private Directory directory;
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path path = Paths.get(indexDir).toAbsolutePath().normalize();
+        Files.createDirectories(path);
+        analyzer = new KoreanAnalyzer();
+        directory = FSDirectory.open(path);
+        boolean clean = DirectoryReader.indexExists(directory)
+                && Boolean.parseBoolean(SegmentInfos.readLatestCommit(directory).getUserData().get(CLEAN_SHUTDOWN));
+        open();
+
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "board-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 형태소 사전 로딩을 첫 글 색인 전에 미리 해 둔다
+        worker.execute(this::warmUp);
+        if (!clean) {
+            worker.execute(this::rebuildQuietly);
+        }
+        worker.scheduleWithFixedDelay(this::applyPending, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        worker.scheduleWithFixedDelay(() -> commit(false), commitSeconds, commitSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        worker.shutdown();
+        if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+            worker.shutdownNow();
+        }
+        applyPending();
+        commit(true);
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    @TransactionalEventListener
+    public void onBoardEvent(BoardDto.Event event) {
+        markStale(List.of(event.getBoardId()));
+    }
+
+    // 색인에 있지만 DB 에 없는 게시글 등 (회원 탈퇴 정리 작업은 BoardService 를 거치지 않는다)
+    public void markStale(Collection<Long> boardIds) {
+        if (enabled) {
+            pending.addAll(boardIds);
+        }
+    }
+
+    // 점수 순 게시글 id (page, size 는 검증된 값), 다음 페이지가 있으면 size + 1 개를 돌려준다
+    public List<Long> search(String queryText, int page, int size) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "게시글 검색을 사용할 수 없습니다.");
+        }
+        if ((long) (page + 1) * size > maxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "검색 결과는 최대 " + maxResults + "건까지 조회할 수 있습니다.");
+        }
+
+        Query query = parse(queryText);
+        if (query == null) {
+            return List.of(); // 불용어만 있는 검색어
+        }
+
+        SearcherManager manager = searcherManager;
+        try {
+            IndexSearcher searcher = manager.acquire();
+            try {
+                int from = page * size;
+                TopDocs top = searcher.search(query, from + size + 1);
+                List<Long> ids = new ArrayList<>(size + 1);
+                for (int i = from; i < top.scoreDocs.length; i++) {
+                    ScoreDoc hit = top.scoreDocs[i];
+                    ids.add(Long.valueOf(searcher.storedFields().document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                manager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 관리자 요청: DB 에서 색인을 다시 만든다 (워커 스레드에서 실행, 끝날 때까지 대기)
+    public int rebuild() {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "게시글 검색을 사용할 수 없습니다.");
+        }
+        try {
+            return worker.submit(this::reindexAll).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "색인 재구성이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("색인 재구성 실패", e.getCause());
+        }
+    }
+
+    // 제목 > 본문 > 댓글 순으로 가중치, 공백으로 나눈 단어는 모두 포함해야 한다
+    private Query parse(String queryText) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(TITLE, 3f, CONTENT, 1f, COMMENTS, 0.5f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(queryText);
+    }
+
+    private void open() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    private void applyPending() {
+        if (!pending.isEmpty()) {
+            List<Long> ids = new ArrayList<>(pending);
+            pending.removeAll(ids);
+            try {
+                for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                    index(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("board search index update failed, retrying {} boards", ids.size(), e);
+                pending.addAll(ids);
+            }
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("board search refresh failed", e);
+        }
+    }
+
+    private void index(List<Long> ids) throws IOException {
+        Map<Long, BoardDto.Response> boards = loadWithComments(boardRepository.findResponsesByIdIn(ids));
+        for (Long id : ids) {
+            BoardDto.Response board = boards.get(id);
+            if (board != null) {
+                writer.updateDocument(new Term(ID, id.toString()), toDocument(board));
+            } else {
+                writer.deleteDocuments(new Term(ID, id.toString()));
+            }
+        }
+    }
+
+    private int reindexAll() throws IOException {
+        long startedAt = System.nanoTime();
+        int count = 0;
+        try {
+            writer.deleteAll();
+            long lastId = 0;
+            List<BoardDto.Response> page;
+            while (!(page = boardRepository.findResponsesByIdGreaterThan(lastId, PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+                for (BoardDto.Response board : loadWithComments(page).values()) {
+                    writer.addDocument(toDocument(board));
+                }
+                lastId = page.get(page.size() - 1).getId();
+                count += page.size();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 반쯤 지운 색인이 검색에 보이지 않도록 마지막 커밋으로 되돌린다
+            searcherManager.close();
+            writer.rollback();
+            open();
+            throw e;
+        }
+        commit(false);
+        searcherManager.maybeRefresh();
+        log.info("board search index rebuilt: {} boards in {} ms", count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return count;
+    }
+
+    private void rebuildQuietly() {
+        try {
+            reindexAll();
+        } catch (IOException | RuntimeException e) {
+            log.error("board search index rebuild failed", e);
+        }
+    }
+
+    private void warmUp() {
+        try (TokenStream tokens = analyzer.tokenStream(CONTENT, "한국어 형태소 분석기")) {
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                // 토큰은 버린다
+            }
+            tokens.end();
+        } catch (IOException e) {
+            log.warn("board search analyzer warm-up failed", e);
+        }
+    }
+
+    private void commit(boolean clean) {
+        try {
+            writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, Boolean.toString(clean)).entrySet());
+            writer.commit();
+        } catch (IOException e) {
+            log.warn("board search index commit failed", e);
+        }
+    }
+
+    private Map<Long, BoardDto.Response> loadWithComments(List<BoardDto.Response> boards) {
+        Map<Long, BoardDto.Response> byId = new HashMap<>();
+        for (BoardDto.Response board : boards) {
+            byId.put(board.getId(), board);
+        }
+        if (!byId.isEmpty()) {
+            for (BoardDto.CommentResponse comment : commentRepository.findResponsesByBoardIdIn(byId.keySet())) {
+                byId.get(comment.getBoardId()).getComments().add(comment);
+            }
+        }
+        return byId;
+    }
+
+    private static Document toDocument(BoardDto.Response board) {
+        Document document = new Document();
+        document.add(new StringField(ID, board.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(board.getTitle()), Field.Store.NO));
+        document.add(new TextField(CONTENT, nullToEmpty(board.getContent()), Field.Store.NO));
+        for (BoardDto.CommentResponse comment : board.getComments()) {
+            document.add(new TextField(COMMENTS, nullToEmpty(comment.getContent()), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -7,13 +7,23 @@ import com.study.spring.domain.board.repository.BoardRepository;
 import com.study.spring.domain.board.repository.CommentRepository;
 import com.study.spring.domain.member.entity.Member;
 import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,12 +33,16 @@ public class BoardService {
     private final BoardRepository boardRepository;
     private final CommentRepository commentRepository;
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoardSearchIndex boardSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
 
     @Transactional
     public BoardDto.Response createBoard(Long memberId, BoardDto.Request request) {
-        // 회원 존재 확인
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+        // 토큰으로 확인된 회원이므로 조회 없이 참조만 사용
+        Member member = memberRepository.getReferenceById(memberId);
 
         // 게시글 엔티티 생성
         Board board = Board.builder()
@@ -40,7 +54,9 @@ public class BoardService {
                 .build();
 
         Board savedBoard = boardRepository.save(board);
-        return BoardDto.Response.from(savedBoard);
+        BoardDto.Response response = BoardDto.Response.from(savedBoard);
+        publish(BoardDto.EventType.BOARD_CREATED, response.getId(), null, response, null);
+        return response;
     }
 
     public BoardDto.Response getBoard(Long id) {
@@ -50,16 +66,86 @@ public class BoardService {
         return BoardDto.Response.from(board);
     }
 
-    public List<BoardDto.Response> getAllBoards() {
-        return boardRepository.findAll().stream()
-                .map(BoardDto.Response::from)
-                .collect(Collectors.toList());
+    public List<BoardDto.Response> getAllBoards(FieldSelection fields) {
+        List<BoardDto.Response> boards = fields.includes("content")
+                ? boardRepository.findAllResponses()
+                : boardRepository.findAllSummaryResponses();
+        return withComments(boards, fields);
+    }
+
+    // 스트리밍 목록 응답용: 목록을 다 모으지 않고 IN_CLAUSE_CHUNK 건씩 id 키셋 페이지로 읽어 comments 를 채운 뒤 바로 넘긴다.
+    // 페이지마다 따로 짧은 트랜잭션으로 읽고 커넥션을 돌려준 뒤 쓰므로, 느린 클라이언트가 커넥션을 잡고 있지 않는다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllBoards(FieldSelection fields, JsonStreamer.Sink<BoardDto.Response> sink) throws IOException {
+        PageRequest page = PageRequest.of(0, IN_CLAUSE_CHUNK);
+        Long afterId = 0L;
+        List<BoardDto.Response> boards;
+        do {
+            Long after = afterId;
+            boards = transactionTemplate.execute(status -> withComments(fields.includes("content")
+                    ? boardRepository.findResponsesAfter(after, page)
+                    : boardRepository.findSummaryResponsesAfter(after, page), fields));
+            for (BoardDto.Response board : boards) {
+                sink.accept(board);
+                afterId = board.getId();
+            }
+        } while (boards.size() == IN_CLAUSE_CHUNK);
+    }
+
+    // 최근 게시글 n개
+    public List<BoardDto.Response> getRecentBoards(int limit) {
+        return withComments(boardRepository.findRecentResponses(PageRequest.of(0, limit)), FieldSelection.ALL);
+    }
+
+    public List<BoardDto.Response> getBoardsByMemberId(Long memberId, FieldSelection fields) {
+        List<BoardDto.Response> boards = fields.includes("content")
+                ? boardRepository.findResponsesByMemberId(memberId)
+                : boardRepository.findSummaryResponsesByMemberId(memberId);
+        return withComments(boards, fields);
+    }
+
+    // 제목/본문/댓글 전문 검색 (색인에서 id 를 찾고 내용은 DB 에서 읽는다)
+    public BoardDto.SearchResponse searchBoards(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "검색어를 입력해주세요.");
+        }
+        if (page < 0 || size < 1 || size > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page 는 0 이상, size 는 1~100 이어야 합니다.");
+        }
+
+        List<Long> ids = boardSearchIndex.search(query, page, size);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+
+        Map<Long, BoardDto.Response> byId = new HashMap<>();
+        for (BoardDto.Response board : ids.isEmpty() ? List.<BoardDto.Response>of() : boardRepository.findResponsesByIdIn(ids)) {
+            byId.put(board.getId(), board);
+        }
+
+        List<BoardDto.Response> content = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            BoardDto.Response board = byId.get(id);
+            if (board != null) {
+                content.add(board);
+            } else {
+                missing.add(id); // 색인에만 남은 게시글은 다음 갱신 때 지운다
+            }
+        }
+        boardSearchIndex.markStale(missing);
+
+        return BoardDto.SearchResponse.builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .hasNext(hasNext)
+                .build();
     }
 
-    public List<BoardDto.Response> getBoardsByMemberId(Long memberId) {
-        return boardRepository.findByMemberId(memberId).stream()
-                .map(BoardDto.Response::from)
-                .collect(Collectors.toList());
+    public int rebuildSearchIndex() {
+        return boardSearchIndex.rebuild();
     }
 
     @Transactional
@@ -75,7 +161,9 @@ public class BoardService {
                 .build();
 
         Board savedBoard = boardRepository.save(updatedBoard);
-        return BoardDto.Response.from(savedBoard);
+        BoardDto.Response response = BoardDto.Response.from(savedBoard);
+        publish(BoardDto.EventType.BOARD_UPDATED, response.getId(), null, response, null);
+        return response;
     }
 
     @Transactional
@@ -84,6 +172,7 @@ public class BoardService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "게시글을 찾을 수 없습니다."));
 
         boardRepository.delete(board);
+        publish(BoardDto.EventType.BOARD_DELETED, id, null, null, null);
     }
 
     @Transactional
@@ -92,9 +181,8 @@ public class BoardService {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "게시글을 찾을 수 없습니다."));
 
-        // 회원 존재 확인
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+        // 토큰으로 확인된 회원이므로 조회 없이 참조만 사용
+        Member member = memberRepository.getReferenceById(memberId);
 
         // 댓글 엔티티 생성
         Comment comment = Comment.builder()
@@ -105,17 +193,18 @@ public class BoardService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
-        return BoardDto.CommentResponse.from(savedComment);
+        BoardDto.CommentResponse response = BoardDto.CommentResponse.from(savedComment);
+        publish(BoardDto.EventType.COMMENT_CREATED, boardId, response.getId(), null, response);
+        return response;
     }
 
     public List<BoardDto.CommentResponse> getCommentsByBoardId(Long boardId) {
         // 게시글 존재 확인
-        boardRepository.findById(boardId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "게시글을 찾을 수 없습니다."));
+        if (!boardRepository.existsById(boardId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "게시글을 찾을 수 없습니다.");
+        }
 
-        return commentRepository.findByBoardId(boardId).stream()
-                .map(BoardDto.CommentResponse::from)
-                .collect(Collectors.toList());
+        return commentRepository.findResponsesByBoardId(boardId);
     }
 
     public BoardDto.CommentResponse getComment(Long commentId) {
@@ -127,12 +216,11 @@ public class BoardService {
 
     public List<BoardDto.CommentResponse> getCommentsByMemberId(Long memberId) {
         // 회원 존재 확인
-        memberRepository.findById(memberId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+        if (!memberRepository.existsById(memberId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다.");
+        }
 
-        return commentRepository.findByMemberId(memberId).stream()
-                .map(BoardDto.CommentResponse::from)
-                .collect(Collectors.toList());
+        return commentRepository.findResponsesByMemberId(memberId);
     }
 
     @Transactional
@@ -146,7 +234,9 @@ public class BoardService {
                 .build();
 
         Comment savedComment = commentRepository.save(updatedComment);
-        return BoardDto.CommentResponse.from(savedComment);
+        BoardDto.CommentResponse response = BoardDto.CommentResponse.from(savedComment);
+        publish(BoardDto.EventType.COMMENT_UPDATED, comment.getBoard().getId(), commentId, null, response);
+        return response;
     }
 
     @Transactional
@@ -155,5 +245,38 @@ public class BoardService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "댓글을 찾을 수 없습니다."));
 
         commentRepository.delete(comment);
+        publish(BoardDto.EventType.COMMENT_DELETED, comment.getBoard().getId(), commentId, null, null);
+    }
+
+    // 커밋 이후 BoardEventHub 가 SSE 구독자에게 전달
+    private void publish(BoardDto.EventType type, Long boardId, Long commentId, BoardDto.Response board, BoardDto.CommentResponse comment) {
+        eventPublisher.publishEvent(BoardDto.Event.builder()
+                .type(type)
+                .boardId(boardId)
+                .commentId(commentId)
+                .board(board)
+                .comment(comment)
+                .build());
+    }
+
+    // 게시글 id 묶음으로 댓글을 한 번에 조회해서 각 응답에 채움 (N+1 방지, comments 를 요청하지 않으면 조회 생략)
+    private List<BoardDto.Response> withComments(List<BoardDto.Response> boards, FieldSelection fields) {
+        if (!fields.includes("comments")) {
+            return boards;
+        }
+
+        Map<Long, BoardDto.Response> byId = new HashMap<>();
+        for (BoardDto.Response board : boards) {
+            byId.put(board.getId(), board);
+        }
+
+        List<Long> boardIds = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < boardIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = boardIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, boardIds.size()));
+            for (BoardDto.CommentResponse comment : commentRepository.findResponsesByBoardIdIn(chunk)) {
+                byId.get(comment.getBoardId()).getComments().add(comment);
+            }
+        }
+        return boards;
     }
-} 
\ No newline at end of file
+}
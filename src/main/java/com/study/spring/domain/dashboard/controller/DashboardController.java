@@ -0,0 +1,50 @@
+package com.study.spring.domain.dashboard.controller;
+
+import com.study.spring.domain.dashboard.dto.DashboardDto;
+import com.study.spring.domain.dashboard.service.DashboardService;
+import com.study.spring.domain.dashboard.service.HeavyHitterService;
+import com.study.spring.global.auth.AuthPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    private final DashboardService dashboardService;
+    private final HeavyHitterService heavyHitterService;
+
+    // 홈 화면 묶음 조회 (회원 + 오늘 식사 + 권장 열량 + 최근 게시글)
+    @GetMapping("/{memberId}")
+    public ResponseEntity<DashboardDto.Response> getDashboard(
+            @PathVariable("memberId") Long memberId,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "boardLimit", defaultValue = "10") int boardLimit) {
+        return ResponseEntity.ok(dashboardService.getDashboard(memberId, date != null ? date : LocalDate.now(),
+                Math.min(Math.max(boardLimit, 1), 50)));
+    }
+
+    // 최근 days 일 많이 기록된 음식 (관리자, 근사값)
+    @GetMapping("/top-foods")
+    public ResponseEntity<DashboardDto.TopResponse> getTopFoods(
+            AuthPrincipal principal,
+            @RequestParam(value = "days", defaultValue = "7") int days,
+            @RequestParam(value = "k", defaultValue = "10") int k) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(heavyHitterService.top(DashboardDto.TopKind.FOOD, days, k));
+    }
+
+    // 최근 days 일 활동(식사 기록, 게시글, 댓글)이 많은 회원 (관리자, 근사값)
+    @GetMapping("/active-members")
+    public ResponseEntity<DashboardDto.TopResponse> getActiveMembers(
+            AuthPrincipal principal,
+            @RequestParam(value = "days", defaultValue = "7") int days,
+            @RequestParam(value = "k", defaultValue = "10") int k) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(heavyHitterService.top(DashboardDto.TopKind.MEMBER, days, k));
+    }
+}
@@ -0,0 +1,61 @@
+package com.study.spring.domain.dashboard.dto;
+
+import com.study.spring.domain.board.dto.BoardDto;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.member.dto.MemberDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class DashboardDto {
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class Response {
+        private LocalDate date;
+        private MemberDto.Response member;
+        private MemberDto.BudgetResponse budget;
+        private List<MealDto.Response> meals;
+        private Map<MealType, List<Long>> mealIdsByType;  // meals 의 id 를 식사 타입별로
+        private List<BoardDto.Response> boards;
+    }
+
+    public enum TopKind {
+        FOOD,   // 음식 이름 (공백 정리, 소문자)
+        MEMBER  // 회원 id, 식사 기록 + 게시글 + 댓글 작성 수
+    }
+
+    // 근사 순위 (Space-Saving). 실제 빈도는 minCount 이상 count 이하
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class TopResponse {
+        private TopKind kind;
+        private int days;
+        private LocalDate from;
+        private LocalDate to;
+        private long total;             // 구간 전체 건수
+        private long maxUnlistedCount;  // 목록에 없는 항목의 빈도 상한
+        private List<TopItem> items;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class TopItem {
+        private String key;
+        private long count;
+        private long minCount;
+        private boolean guaranteed;     // 상위 k 에 드는 것이 확실한지
+    }
+}
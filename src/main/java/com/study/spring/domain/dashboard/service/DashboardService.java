@@ -0,0 +1,143 @@
+package com.study.spring.domain.dashboard.service;
+
+import com.study.spring.domain.board.dto.BoardDto;
+import com.study.spring.domain.board.service.BoardService;
+import com.study.spring.domain.dashboard.dto.DashboardDto;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.service.MealService;
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.service.EnergyBudgetService;
+import com.study.spring.domain.member.service.MemberService;
+import com.study.spring.global.util.FieldSelection;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 홈 화면에 필요한 조회(회원, 오늘 식사, 식사타입별 묶음, 권장 열량, 최근 게시글)를 한 번의 요청으로 묶는다.
+ * 회원 조회는 한 번만 하고, 나머지는 전용 풀에서 병렬로 실행한다.
+ * 하위 조회 전체를 timeout-ms 안에 기다리고, 넘기면 남은 조회를 취소한다 (아직 시작하지 않은 작업은 실행되지 않는다).
+ * 식사타입별 묶음은 meals 에 있는 식사의 id 만 담는다.
+ */
+@Service
+public class DashboardService {
+    private final MemberService memberService;
+    private final EnergyBudgetService energyBudgetService;
+    private final MealService mealService;
+    private final BoardService boardService;
+    private final long timeoutMs;
+
+    // 하위 조회를 병렬로 실행하는 제한된 풀 (큐가 차면 요청 스레드에서 직접 실행)
+    private final ThreadPoolExecutor dashboardExecutor;
+
+    public DashboardService(MemberService memberService,
+                            EnergyBudgetService energyBudgetService,
+                            MealService mealService,
+                            BoardService boardService,
+                            @Value("${dashboard.executor.pool-size:8}") int poolSize,
+                            @Value("${dashboard.executor.queue-capacity:200}") int queueCapacity,
+                            @Value("${dashboard.timeout-ms:10000}") long timeoutMs) {
+        this.memberService = memberService;
+        this.energyBudgetService = energyBudgetService;
+        this.mealService = mealService;
+        this.boardService = boardService;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dashboardExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dashboardExecutor.shutdown();
+    }
+
+    public DashboardDto.Response getDashboard(Long memberId, LocalDate date, int boardLimit) {
+        // 회원 조회 (없으면 404) - 이후 하위 조회는 회원을 다시 읽지 않음 (권장 열량도 이 회원 정보로 계산)
+        MemberDto.Response member = memberService.getMember(memberId);
+
+        CompletableFuture<List<MealDto.Response>> meals = CompletableFuture.supplyAsync(
+                () -> mealService.getMealsByMemberIdAndModifiedDate(memberId, date, FieldSelection.ALL), dashboardExecutor);
+        CompletableFuture<MemberDto.BudgetResponse> budget = CompletableFuture.supplyAsync(
+                () -> energyBudgetService.getBudget(member, date), dashboardExecutor);
+        CompletableFuture<List<BoardDto.Response>> boards = CompletableFuture.supplyAsync(
+                () -> boardService.getRecentBoards(boardLimit), dashboardExecutor);
+
+        await(meals, budget, boards);
+
+        List<MealDto.Response> todayMeals = meals.join();
+        Map<MealType, List<Long>> mealIdsByType = new EnumMap<>(MealType.class);
+        for (MealType mealType : MealType.values()) {
+            mealIdsByType.put(mealType, todayMeals.stream()
+                    .filter(meal -> meal.getMealType() == mealType)
+                    .map(MealDto.Response::getId)
+                    .toList());
+        }
+
+        return DashboardDto.Response.builder()
+                .date(date)
+                .member(member)
+                .budget(budget.join())
+                .meals(todayMeals)
+                .mealIdsByType(mealIdsByType)
+                .boards(boards.join())
+                .build();
+    }
+
+    // 전부 끝날 때까지 기다린다. 하나라도 실패하면 바로 그 예외를 던지고, 시간 초과/중단이면 남은 조회를 취소한다
+    private void await(CompletableFuture<?>... futures) {
+        CompletableFuture<?> all = CompletableFuture.allOf(futures);
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, e) -> {
+                if (e != null) {
+                    all.completeExceptionally(e);
+                }
+            });
+        }
+        try {
+            all.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancel(futures);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "대시보드 조회가 지연되고 있습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "대시보드 조회가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("대시보드 조회 실패", e.getCause());
+        }
+    }
+
+    private static void cancel(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(false);
+        }
+    }
+}
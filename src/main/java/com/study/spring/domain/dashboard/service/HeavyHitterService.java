@@ -0,0 +1,308 @@
+package com.study.spring.domain.dashboard.service;
+
+import com.study.spring.domain.board.dto.BoardDto;
+import com.study.spring.domain.dashboard.dto.DashboardDto;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * 관리자 대시보드의 "이번 주 많이 기록된 음식" / "활동이 많은 회원" 근사 순위.
+ * 종류별로 날짜마다 Space-Saving 요약을 하나씩 두고 커밋된 쓰기만 센다 (식사 생성 시 음식 이름과 회원, 게시글/댓글 작성 시 회원).
+ * 조회는 지난 날들을 병합해 캐시해 둔 요약과 오늘 요약 하나만 병합하므로 foods 테이블을 집계하지 않는다.
+ * 요약은 checkpoint-seconds 마다 파일로 저장하고 시작할 때 다시 읽는다 (마지막 저장 이후의 카운트는 재시작 시 잃는다).
+ */
+@Service
+public class HeavyHitterService {
+    private static final Logger log = LoggerFactory.getLogger(HeavyHitterService.class);
+    private static final int CHECKPOINT_FORMAT = 1;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${dashboard.heavy-hitters.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dashboard.heavy-hitters.capacity:256}")
+    private int capacity;
+
+    @Value("${dashboard.heavy-hitters.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${dashboard.heavy-hitters.checkpoint-file:checkpoints/heavy-hitters.bin}")
+    private String checkpointFile;
+
+    @Value("${dashboard.heavy-hitters.checkpoint-seconds:60}")
+    private long checkpointSeconds;
+
+    private final Map<DashboardDto.TopKind, Tracker> trackers = new EnumMap<>(DashboardDto.TopKind.class);
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    void start() {
+        for (DashboardDto.TopKind kind : DashboardDto.TopKind.values()) {
+            trackers.put(kind, new Tracker());
+        }
+        if (!enabled) {
+            return;
+        }
+        load();
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "heavy-hitters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::checkpointQuietly, checkpointSeconds, checkpointSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        worker.shutdown();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+        checkpointQuietly();
+    }
+
+    // 식사 생성 트랜잭션 안에서 호출, 커밋된 뒤에 센다
+    public void recordMeal(Long memberId, Collection<String> foodNames) {
+        if (!enabled) {
+            return;
+        }
+        List<String> names = new ArrayList<>(foodNames);
+        afterCommit(() -> {
+            record(DashboardDto.TopKind.MEMBER, String.valueOf(memberId));
+            for (String name : names) {
+                String key = normalize(name);
+                if (key != null) {
+                    record(DashboardDto.TopKind.FOOD, key);
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onBoardEvent(BoardDto.Event event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getType() == BoardDto.EventType.BOARD_CREATED && event.getBoard() != null) {
+            record(DashboardDto.TopKind.MEMBER, String.valueOf(event.getBoard().getMemberId()));
+        } else if (event.getType() == BoardDto.EventType.COMMENT_CREATED && event.getComment() != null) {
+            record(DashboardDto.TopKind.MEMBER, String.valueOf(event.getComment().getMemberId()));
+        }
+    }
+
+    // 오늘 포함 최근 days 일의 상위 k 개 (근사값, 오차 범위 포함)
+    public DashboardDto.TopResponse top(DashboardDto.TopKind kind, int days, int k) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "순위 집계가 꺼져 있습니다.");
+        }
+        if (days < 1 || days > retentionDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "days 는 1 이상 " + retentionDays + " 이하여야 합니다.");
+        }
+        if (k < 1 || k > capacity) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "k 는 1 이상 " + capacity + " 이하여야 합니다.");
+        }
+
+        LocalDate today = LocalDate.now();
+        Tracker tracker = trackers.get(kind);
+        SpaceSaving live = tracker.days.get(today);
+        SpaceSaving.Summary merged = SpaceSaving.Summary.merge(List.of(
+                tracker.closed(today, days, capacity),
+                live != null ? live.snapshot() : SpaceSaving.Summary.EMPTY), capacity);
+
+        List<SpaceSaving.Summary.Item> items = merged.items();
+        // k+1 번째 항목 (또는 목록 밖 항목) 의 최대 빈도보다 최소 빈도가 크면 상위 k 에 드는 것이 확실하다
+        long threshold = Math.max(merged.floor(), items.size() > k ? items.get(k).count() : 0);
+        List<DashboardDto.TopItem> top = new ArrayList<>(Math.min(k, items.size()));
+        for (SpaceSaving.Summary.Item item : items.subList(0, Math.min(k, items.size()))) {
+            top.add(DashboardDto.TopItem.builder()
+                    .key(item.key())
+                    .count(item.count())
+                    .minCount(item.count() - item.error())
+                    .guaranteed(item.count() - item.error() >= threshold)
+                    .build());
+        }
+        return DashboardDto.TopResponse.builder()
+                .kind(kind)
+                .days(days)
+                .from(today.minusDays(days - 1L))
+                .to(today)
+                .total(merged.total())
+                .maxUnlistedCount(merged.floor())
+                .items(top)
+                .build();
+    }
+
+    private void record(DashboardDto.TopKind kind, String key) {
+        LocalDate today = LocalDate.now();
+        Tracker tracker = trackers.get(kind);
+        SpaceSaving bucket = tracker.days.get(today);
+        if (bucket == null) {
+            tracker.days.headMap(today.minusDays(retentionDays - 1L)).clear(); // 보관 기간이 지난 날
+            bucket = tracker.days.computeIfAbsent(today, day -> new SpaceSaving(capacity));
+        }
+        bucket.add(key, 1);
+        dirty.set(true);
+    }
+
+    private static String normalize(String foodName) {
+        if (foodName == null) {
+            return null;
+        }
+        String key = WHITESPACE.matcher(foodName.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void checkpointQuietly() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            log.warn("heavy hitter checkpoint failed", e);
+        }
+    }
+
+    // 종류별 (날짜, 합계, 항목들) 을 임시 파일에 쓰고 교체한다
+    private void checkpoint() throws IOException {
+        Path target = Paths.get(checkpointFile).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "heavy-hitters", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(CHECKPOINT_FORMAT);
+            out.writeInt(trackers.size());
+            for (Map.Entry<DashboardDto.TopKind, Tracker> tracker : trackers.entrySet()) {
+                out.writeUTF(tracker.getKey().name());
+                Map<LocalDate, SpaceSaving> days = Map.copyOf(tracker.getValue().days);
+                out.writeInt(days.size());
+                for (Map.Entry<LocalDate, SpaceSaving> day : days.entrySet()) {
+                    SpaceSaving.Summary summary = day.getValue().snapshot();
+                    out.writeLong(day.getKey().toEpochDay());
+                    out.writeLong(summary.total());
+                    out.writeInt(summary.items().size());
+                    for (SpaceSaving.Summary.Item item : summary.items()) {
+                        out.writeUTF(item.key());
+                        out.writeLong(item.count());
+                        out.writeLong(item.error());
+                    }
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() {
+        Path source = Paths.get(checkpointFile).toAbsolutePath();
+        if (!Files.exists(source)) {
+            return;
+        }
+        LocalDate oldest = LocalDate.now().minusDays(retentionDays - 1L);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != CHECKPOINT_FORMAT) {
+                log.warn("heavy hitter checkpoint format changed, starting empty: {}", source);
+                return;
+            }
+            int kinds = in.readInt();
+            for (int i = 0; i < kinds; i++) {
+                Tracker tracker = trackers.get(DashboardDto.TopKind.valueOf(in.readUTF()));
+                int days = in.readInt();
+                for (int j = 0; j < days; j++) {
+                    LocalDate day = LocalDate.ofEpochDay(in.readLong());
+                    long total = in.readLong();
+                    int size = in.readInt();
+                    List<SpaceSaving.Summary.Item> items = new ArrayList<>(size);
+                    for (int n = 0; n < size; n++) {
+                        items.add(new SpaceSaving.Summary.Item(in.readUTF(), in.readLong(), in.readLong()));
+                    }
+                    if (!day.isBefore(oldest)) {
+                        SpaceSaving summary = new SpaceSaving(capacity);
+                        summary.restore(total, items);
+                        tracker.days.put(day, summary);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("heavy hitter checkpoint unreadable, starting empty: {}", source, e);
+            trackers.values().forEach(tracker -> tracker.days.clear());
+        }
+    }
+
+    /**
+     * 한 종류의 날짜별 요약. 지난 날들의 병합 결과는 (오늘, 일수) 별로 캐시한다.
+     */
+    private static final class Tracker {
+        private final ConcurrentSkipListMap<LocalDate, SpaceSaving> days = new ConcurrentSkipListMap<>();
+        private volatile ClosedCache closedCache = new ClosedCache(LocalDate.MIN, new ConcurrentHashMap<>());
+
+        SpaceSaving.Summary closed(LocalDate today, int windowDays, int capacity) {
+            if (windowDays == 1) {
+                return SpaceSaving.Summary.EMPTY;
+            }
+            ClosedCache cache = closedCache;
+            if (!cache.today().equals(today)) {
+                cache = new ClosedCache(today, new ConcurrentHashMap<>());
+                closedCache = cache;
+            }
+            return cache.byWindow().computeIfAbsent(windowDays, window -> {
+                List<SpaceSaving.Summary> summaries = new ArrayList<>();
+                for (SpaceSaving summary : days.subMap(today.minusDays(window - 1L), today).values()) {
+                    summaries.add(summary.snapshot());
+                }
+                return SpaceSaving.Summary.merge(summaries, capacity);
+            });
+        }
+    }
+
+    private record ClosedCache(LocalDate today, Map<Integer, SpaceSaving.Summary> byWindow) {
+    }
+}
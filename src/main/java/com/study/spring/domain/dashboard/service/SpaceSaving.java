@@ -0,0 +1,134 @@
+package com.study.spring.domain.dashboard.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving 빈도 요약 (Metwally et al.). 최대 capacity 개의 카운터만 두고, 꽉 찼을 때 새 항목이 오면
+ * 가장 작은 카운터를 넘겨받는다 (count = 최소값 + 1, error = 최소값).
+ * 실제 빈도는 [count - error, count] 안에 있고, 목록에 없는 항목의 빈도는 최소 카운터 이하이다.
+ * 쓰기는 synchronized, 조회는 snapshot() 으로 떠낸 불변 Summary 를 쓴다.
+ */
+final class SpaceSaving {
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(Comparator
+            .comparingLong((Counter counter) -> counter.count)
+            .thenComparingLong(counter -> counter.order));
+    private long total;
+    private long order;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized void add(String key, long weight) {
+        total += weight;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += weight;
+            byCount.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            put(key, weight, 0);
+            return;
+        }
+        Counter min = byCount.pollFirst();
+        counters.remove(min.key);
+        put(key, min.count + weight, min.count);
+    }
+
+    // 체크포인트 복원용
+    synchronized void restore(long restoredTotal, List<Summary.Item> items) {
+        total = restoredTotal;
+        for (Summary.Item item : items) {
+            if (counters.size() < capacity) {
+                put(item.key(), item.count(), item.error());
+            }
+        }
+    }
+
+    synchronized Summary snapshot() {
+        List<Summary.Item> items = new ArrayList<>(counters.size());
+        for (Counter counter : byCount.descendingSet()) {
+            items.add(new Summary.Item(counter.key, counter.count, counter.error));
+        }
+        long floor = counters.size() < capacity || byCount.isEmpty() ? 0 : byCount.first().count;
+        return new Summary(total, floor, List.copyOf(items));
+    }
+
+    private void put(String key, long count, long error) {
+        Counter counter = new Counter(key, count, error, order++);
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    private static final class Counter {
+        private final String key;
+        private long count;
+        private final long error;
+        private final long order;
+
+        private Counter(String key, long count, long error, long order) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.order = order;
+        }
+    }
+
+    /**
+     * 요약의 불변 사본. items 는 count 내림차순, floor 는 목록에 없는 항목 빈도의 상한.
+     */
+    record Summary(long total, long floor, List<Item> items) {
+        static final Summary EMPTY = new Summary(0, 0, List.of());
+
+        record Item(String key, long count, long error) {
+        }
+
+        // 병합 가능한 요약 (Agarwal et al.): 한쪽에 없는 항목은 그쪽 floor 만큼 더하고, 상위 capacity 개만 남긴다
+        static Summary merge(List<Summary> summaries, int capacity) {
+            List<Map<String, Item>> byKey = new ArrayList<>(summaries.size());
+            Set<String> keys = new HashSet<>();
+            long total = 0;
+            long floorSum = 0;
+            for (Summary summary : summaries) {
+                Map<String, Item> items = new HashMap<>();
+                for (Item item : summary.items()) {
+                    items.put(item.key(), item);
+                }
+                byKey.add(items);
+                keys.addAll(items.keySet());
+                total += summary.total();
+                floorSum += summary.floor();
+            }
+
+            List<Item> items = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                long count = 0;
+                long error = 0;
+                for (int i = 0; i < summaries.size(); i++) {
+                    Item item = byKey.get(i).get(key);
+                    count += item != null ? item.count() : summaries.get(i).floor();
+                    error += item != null ? item.error() : summaries.get(i).floor();
+                }
+                items.add(new Item(key, count, error));
+            }
+            items.sort(Comparator.comparingLong(Item::count).reversed().thenComparing(Item::key));
+            long floor = floorSum;
+            if (items.size() > capacity) {
+                floor = Math.max(floor, items.get(capacity).count());
+                return new Summary(total, floor, List.copyOf(items.subList(0, capacity)));
+            }
+            return new Summary(total, floor, List.copyOf(items));
+        }
+    }
+}
@@ -2,9 +2,14 @@ package com.study.spring.domain.issue.controller;
 
 import com.study.spring.domain.issue.dto.IssueDto;
 import com.study.spring.domain.issue.service.IssueService;
+import com.study.spring.domain.issue.service.IssueSnapshot;
+import com.study.spring.global.auth.AuthPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -12,12 +17,29 @@ import java.util.List;
 @RequiredArgsConstructor
 public class IssueController {
     private final IssueService issueService;
+    private final IssueSnapshot issueSnapshot;
 
+    // 관리자 토큰으로만 작성
     @PostMapping
     public ResponseEntity<IssueDto.Response> createIssue(
-            @RequestParam Long adminId,
+            AuthPrincipal principal,
             @RequestBody IssueDto.Request request) {
-        return ResponseEntity.ok(issueService.createIssue(adminId, request));
+        principal.requireAdmin();
+        return ResponseEntity.ok(issueService.createIssue(principal.memberId(), request));
+    }
+
+    // 공지 목록 (앱 시작 시 모든 클라이언트가 조회) - 미리 직렬화한 스냅샷을 ETag 와 함께 그대로 응답
+    @GetMapping
+    public ResponseEntity<byte[]> getIssues(WebRequest webRequest) {
+        IssueSnapshot.Snapshot snapshot = issueSnapshot.current();
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache()) // 캐시해도 되지만 매번 ETag 로 확인
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
     }
 
     @GetMapping("/{id}")
@@ -33,12 +55,15 @@ public class IssueController {
     @PutMapping("/{id}")
     public ResponseEntity<IssueDto.Response> updateIssue(
             @PathVariable Long id,
+            AuthPrincipal principal,
             @RequestBody IssueDto.Request request) {
+        principal.requireAdmin();
         return ResponseEntity.ok(issueService.updateIssue(id, request));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteIssue(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteIssue(@PathVariable Long id, AuthPrincipal principal) {
+        principal.requireAdmin();
         issueService.deleteIssue(id);
         return ResponseEntity.noContent().build();
     }
@@ -2,12 +2,16 @@ package com.study.spring.domain.issue.dto;
 
 import com.study.spring.domain.issue.entity.Issue;
 import com.study.spring.domain.member.entity.Role;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 public class IssueDto {
 
+    @NoArgsConstructor
+    @AllArgsConstructor
     @Getter
     @Builder
     public static class Request {
@@ -16,6 +20,7 @@ public class IssueDto {
         private String reference;
     }
 
+    @AllArgsConstructor
     @Getter
     @Builder
     public static class Response {
@@ -3,10 +3,14 @@ package com.study.spring.domain.issue.entity;
 import com.study.spring.domain.member.entity.Member;
 import com.study.spring.domain.member.entity.Role;
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
+@Builder(toBuilder = true)
+@AllArgsConstructor
 @Entity
 @Table(name = "issues")
 @Getter
@@ -29,6 +33,7 @@ public class Issue {
     private Member admin;
 
     @Enumerated(EnumType.STRING)
+    @Builder.Default
     private Role role = Role.ADMIN;
 
     private LocalDateTime createdAt;
@@ -1,9 +1,32 @@
 package com.study.spring.domain.issue.repository;
 
+import com.study.spring.domain.issue.dto.IssueDto;
 import com.study.spring.domain.issue.entity.Issue;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface IssueRepository extends JpaRepository<Issue, Long> {
     List<Issue> findByAdminId(Long adminId);
-} 
\ No newline at end of file
+
+    String ISSUE_RESPONSE = "SELECT new com.study.spring.domain.issue.dto.IssueDto$Response(i.id, i.title, i.content, i.reference, i.admin.id, i.role, i.createdAt, i.updatedAt) FROM Issue i ";
+
+    @Query(ISSUE_RESPONSE + "WHERE i.admin.id = :adminId ORDER BY i.id")
+    List<IssueDto.Response> findResponsesByAdminId(@Param("adminId") Long adminId);
+
+    // 공지 스냅샷용 전체 목록 (최신순)
+    @Query(ISSUE_RESPONSE + "ORDER BY i.id DESC")
+    List<IssueDto.Response> findAllResponses();
+
+    // 회원 탈퇴 정리 작업용
+    @Query("SELECT i.id FROM Issue i WHERE i.admin.id = :adminId ORDER BY i.id")
+    List<Long> findIdsByAdminId(@Param("adminId") Long adminId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Issue i WHERE i.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
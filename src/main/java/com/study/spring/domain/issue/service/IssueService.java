@@ -3,43 +3,74 @@ package com.study.spring.domain.issue.service;
 import com.study.spring.domain.issue.dto.IssueDto;
 import com.study.spring.domain.issue.entity.Issue;
 import com.study.spring.domain.issue.repository.IssueRepository;
+import com.study.spring.domain.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class IssueService {
     private final IssueRepository issueRepository;
+    private final MemberRepository memberRepository;
+    private final IssueSnapshot issueSnapshot;
 
     @Transactional
     public IssueDto.Response createIssue(Long adminId, IssueDto.Request request) {
-        // TODO: Implement issue creation logic
-        return null;
+        // 토큰으로 확인된 관리자이므로 조회 없이 참조만 사용
+        Issue issue = Issue.builder()
+                .admin(memberRepository.getReferenceById(adminId))
+                .title(request.getTitle())
+                .content(request.getContent())
+                .reference(request.getReference())
+                .build();
+
+        Issue savedIssue = issueRepository.save(issue);
+        issueSnapshot.refreshAfterCommit();
+        return IssueDto.Response.from(savedIssue);
     }
 
+    // 공지 목록 스냅샷에서 조회 (DB/트랜잭션 없음)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public IssueDto.Response getIssue(Long id) {
-        // TODO: Implement issue retrieval logic
-        return null;
+        IssueDto.Response issue = issueSnapshot.current().byId().get(id);
+        if (issue == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "공지를 찾을 수 없습니다.");
+        }
+        return issue;
     }
 
     public List<IssueDto.Response> getIssuesByAdminId(Long adminId) {
-        return issueRepository.findByAdminId(adminId).stream()
-                .map(IssueDto.Response::from)
-                .collect(Collectors.toList());
+        return issueRepository.findResponsesByAdminId(adminId);
     }
 
     @Transactional
     public IssueDto.Response updateIssue(Long id, IssueDto.Request request) {
-        // TODO: Implement issue update logic
-        return null;
+        Issue issue = issueRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "공지를 찾을 수 없습니다."));
+
+        Issue updatedIssue = issue.toBuilder()
+                .title(request.getTitle())
+                .content(request.getContent())
+                .reference(request.getReference())
+                .build();
+
+        Issue savedIssue = issueRepository.save(updatedIssue);
+        issueSnapshot.refreshAfterCommit();
+        return IssueDto.Response.from(savedIssue);
     }
 
     @Transactional
     public void deleteIssue(Long id) {
-        // TODO: Implement issue deletion logic
+        Issue issue = issueRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "공지를 찾을 수 없습니다."));
+
+        issueRepository.delete(issue);
+        issueSnapshot.refreshAfterCommit();
     }
-} 
\ No newline at end of file
+}
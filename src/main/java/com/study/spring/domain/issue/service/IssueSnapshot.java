@@ -0,0 +1,129 @@
+package com.study.spring.domain.issue.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.spring.domain.issue.dto.IssueDto;
+import com.study.spring.domain.issue.repository.IssueRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공지(issue) 목록 스냅샷. 전체 목록을 미리 JSON 으로 직렬화해 두고 강한 ETag 와 함께 그대로 내보낸다.
+ * 읽기 경로는 volatile 참조 하나만 읽으므로 DB 도 트랜잭션도 쓰지 않는다.
+ * 관리자 쓰기가 커밋되면 새 스냅샷을 통째로 만들어 교체하고 (copy-on-write),
+ * 다른 인스턴스의 변경이나 탈퇴 정리 작업의 일괄 삭제는 refresh-seconds 주기 갱신으로 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class IssueSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(IssueSnapshot.class);
+
+    private final IssueRepository issueRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${issue.snapshot.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "issue-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::refreshQuietly, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // 첫 조회 때만 DB 에서 만든다 (시작 시 DB 를 조회하지 않도록)
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    // 관리자 쓰기 트랜잭션 안에서 호출, 커밋된 뒤 워커 스레드에서 다시 만든다
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    worker.execute(IssueSnapshot.this::refreshQuietly);
+                }
+            });
+        } else {
+            worker.execute(this::refreshQuietly);
+        }
+    }
+
+    synchronized Snapshot refresh() {
+        List<IssueDto.Response> issues = issueRepository.findAllResponses();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(issues);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("공지 목록 직렬화 실패", e);
+        }
+        String etag = etag(body);
+
+        Snapshot current = snapshot;
+        if (current != null && current.etag().equals(etag)) {
+            return current; // 내용이 같으면 ETag 도 그대로 유지
+        }
+
+        Map<Long, IssueDto.Response> byId = new LinkedHashMap<>();
+        for (IssueDto.Response issue : issues) {
+            byId.put(issue.getId(), issue);
+        }
+        Snapshot next = new Snapshot(body, etag, Map.copyOf(byId));
+        snapshot = next;
+        return next;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("issue snapshot refresh failed", e);
+        }
+    }
+
+    // 본문 SHA-256 앞 16바이트, 내용이 같으면 인스턴스/재시작과 상관없이 같은 값
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // body 는 공유되는 배열이므로 읽기만 한다
+    public record Snapshot(byte[] body, String etag, Map<Long, IssueDto.Response> byId) {
+    }
+}
@@ -1,15 +1,27 @@
 package com.study.spring.domain.meal.controller;
 
 import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.dto.MealJsonWriter;
 import com.study.spring.domain.meal.entity.Meal;
 import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.service.MealArchiveService;
 import com.study.spring.domain.meal.service.MealService;
+import com.study.spring.domain.meal.service.MealSketchService;
+import com.study.spring.domain.meal.service.MealWriteCoalescer;
+import com.study.spring.global.auth.AuthPrincipal;
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -21,13 +33,20 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class MealController {
     private final MealService mealService;
+    private final MealWriteCoalescer mealWriteCoalescer;
+    private final MealArchiveService mealArchiveService;
+    private final MealSketchService mealSketchService;
+    private final JsonStreamer jsonStreamer;
 
-    // 식사 기록 생성
+    // 식사 기록 생성 (작성자는 토큰의 회원)
     @PostMapping
     public ResponseEntity<MealDto.Response> createMeal(
-            @RequestParam("memberId") Long memberId,  // 이름 명시
+            AuthPrincipal principal,
             @RequestBody MealDto.Request request) {
-        return ResponseEntity.ok(mealService.createMeal(memberId, request));
+        if (mealWriteCoalescer.isEnabled()) {
+            return ResponseEntity.ok(mealWriteCoalescer.submit(principal.memberId(), request));
+        }
+        return ResponseEntity.ok(mealService.createMeal(principal.memberId(), request));
     }
 
     // 특정 식사 기록 조회
@@ -36,43 +55,86 @@ public class MealController {
         return ResponseEntity.ok(mealService.getMeal(id));
     }
 
-    // 전체 식사 기록 조회
+    // 전체 식사 기록 조회 (JSON 은 읽는 대로 바로 씀)
     @GetMapping
-    public ResponseEntity<List<MealDto.Response>> getAllMeals() {
-        return ResponseEntity.ok(mealService.getAllMeals());
+    public ResponseEntity<MappingJacksonValue> getAllMeals(
+            @RequestParam(value = "fields", required = false) String fields,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (jsonStreamer.accepts(request)) {
+            jsonStreamer.writeArray(response, sink -> mealService.streamAllMeals(selection, sink), new MealJsonWriter(selection));
+            return null;
+        }
+        return ResponseEntity.ok(selection.wrap(mealService.getAllMeals(selection)));
     }
 
-    // 회원별 식사 기록 조회
+    // 회원별 식사 기록 조회 (JSON 은 읽는 대로 바로 씀)
     @GetMapping("/member/{memberId}")
-    public ResponseEntity<List<MealDto.Response>> getMealsByMemberId(
-            @PathVariable("memberId") Long memberId) {  // 이름 명시
-        return ResponseEntity.ok(mealService.getMealsByMemberId(memberId));
+    public ResponseEntity<MappingJacksonValue> getMealsByMemberId(
+            @PathVariable("memberId") Long memberId,  // 이름 명시
+            @RequestParam(value = "fields", required = false) String fields,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (jsonStreamer.accepts(request)) {
+            jsonStreamer.writeArray(response, sink -> mealService.streamMealsByMemberId(memberId, selection, sink), new MealJsonWriter(selection));
+            return null;
+        }
+        return ResponseEntity.ok(selection.wrap(mealService.getMealsByMemberId(memberId, selection)));
+    }
+
+    // 회원별 칼로리 분포 (최근 weeks 주, p10 / 중앙값 / p90)
+    @GetMapping("/member/{memberId}/distribution")
+    public ResponseEntity<MealDto.DistributionResponse> getCalorieDistribution(
+            @PathVariable("memberId") Long memberId,
+            @RequestParam(value = "weeks", defaultValue = "4") int weeks) {
+        return ResponseEntity.ok(mealSketchService.getDistribution(memberId, weeks));
     }
 
     // 회원별 + 식사타입별 조회
     @GetMapping("/member/{memberId}/type/{mealType}")
-    public ResponseEntity<List<MealDto.Response>> getMealsByMemberIdAndMealType(
+    public ResponseEntity<MappingJacksonValue> getMealsByMemberIdAndMealType(
             @PathVariable("memberId") Long memberId,
-            @PathVariable("mealType") MealType mealType) {
-        return ResponseEntity.ok(mealService.getMealsByMemberIdAndMealType(memberId, mealType));
+            @PathVariable("mealType") MealType mealType,
+            @RequestParam(value = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        return ResponseEntity.ok(selection.wrap(mealService.getMealsByMemberIdAndMealType(memberId, mealType, selection)));
     }
 
     // updatedAt 날짜로 식사 기록 조회
     @GetMapping("/modified-date")
-    public ResponseEntity<List<MealDto.Response>> getMealsByModifiedDate(@RequestParam("date") String dateStr) {
+    public ResponseEntity<MappingJacksonValue> getMealsByModifiedDate(
+            @RequestParam("date") String dateStr,
+            @RequestParam(value = "fields", required = false) String fields) {
         LocalDate date = LocalDate.parse(dateStr);
-        return ResponseEntity.ok(mealService.getMealsByModifiedDate(date));
+        FieldSelection selection = FieldSelection.parse(fields);
+        return ResponseEntity.ok(selection.wrap(mealService.getMealsByModifiedDate(date, selection)));
     }
 
     // 회원별 + modifiedAt 날짜로 식사 기록 조회
     @GetMapping("/modified-date/member/{memberId}")
-    public ResponseEntity<?> getMealsByMemberIdAndModifiedDate(@PathVariable("memberId") Long memberId, @RequestParam("date") String dateStr) {
+    public ResponseEntity<?> getMealsByMemberIdAndModifiedDate(@PathVariable("memberId") Long memberId, @RequestParam("date") String dateStr,
+            @RequestParam(value = "fields", required = false) String fields) {
         LocalDate date = LocalDate.parse(dateStr);
-        List<MealDto.Response> result = mealService.getMealsByMemberIdAndModifiedDate(memberId, date);
+        FieldSelection selection = FieldSelection.parse(fields);
+        List<MealDto.Response> result = mealService.getMealsByMemberIdAndModifiedDate(memberId, date, selection);
         if (result.isEmpty()) {
             return ResponseEntity.ok(Collections.singletonMap("message", "nodata"));
         }
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(selection.wrap(result));
+    }
+
+    // 회원 + 식사타입 + 기간 조건 조회 (페이지네이션)
+    @GetMapping("/filter")
+    public ResponseEntity<MappingJacksonValue> getMealsByFilter(
+            @RequestParam("memberId") Long memberId,
+            @RequestParam(value = "mealType", required = false) MealType mealType,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        return ResponseEntity.ok(selection.wrap(mealService.getMealsByFilter(memberId, mealType, from, to, page, size, selection)));
     }
 
     // modifiedAt(문자열)로 식사 기록 조회
@@ -111,6 +173,15 @@ public class MealController {
     //     return ResponseEntity.noContent().build();
     // }
 
+    // 식사 이미지 변경 (재개 가능 업로드로 올린 파일, 완료 처리까지 함께)
+    @PatchMapping("/{id}/image/{uploadId}")
+    public ResponseEntity<Void> updateMealImageFromUpload(
+            @PathVariable("id") Long id,
+            @PathVariable("uploadId") String uploadId) {
+        mealService.updateMealImageFromUpload(id, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
     // 식사 기록 삭제
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMeal(@PathVariable("id") Long id) {
@@ -118,6 +189,13 @@ public class MealController {
         return ResponseEntity.noContent().build();
     }
 
+    // 오래된 식사 기록 보관 파일로 이동 (관리자, 보통은 스케줄러가 실행)
+    @PostMapping("/archive")
+    public ResponseEntity<Map<String, Integer>> archiveOldMeals(AuthPrincipal principal) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(Collections.singletonMap("archived", mealArchiveService.archiveOldMeals()));
+    }
+
     // 식사 이미지 저장
     // @PostMapping("/{id}/")
     // public void testCreate(@ModelAttribute MealDto.Request request) {
@@ -3,6 +3,10 @@ package com.study.spring.domain.meal.dto;
 import com.study.spring.domain.meal.entity.Food;
 import com.study.spring.domain.meal.entity.Meal;
 import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.global.util.FieldSelection;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +16,7 @@ import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class MealDto {
@@ -33,6 +38,7 @@ public class MealDto {
     @AllArgsConstructor
     @Getter
     @Builder
+    @JsonFilter(FieldSelection.FILTER_ID)
     public static class Response {
         private Long id;
         private Long memberId;
@@ -44,6 +50,20 @@ public class MealDto {
         private LocalDate updatedAt;
         private LocalDateTime modifiedAt;
 
+        // JPQL 프로젝션용 생성자 (foods 는 별도 조회 후 채움)
+        public Response(Long id, Long memberId, MealType mealType, String imageUrl, String memo,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime modifiedAt) {
+            this.id = id;
+            this.memberId = memberId;
+            this.mealType = mealType;
+            this.imageUrl = imageUrl;
+            this.memo = memo;
+            this.foods = new ArrayList<>();
+            this.createdAt = createdAt != null ? createdAt.toLocalDate() : null;
+            this.updatedAt = updatedAt != null ? updatedAt.toLocalDate() : null;
+            this.modifiedAt = modifiedAt;
+        }
+
         public static Response from(Meal meal) {
             return Response.builder()
                     .id(meal.getId())
@@ -63,6 +83,17 @@ public class MealDto {
         }
     }
 
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class SliceResponse {
+        private List<Response> content;
+        private int page;
+        private int size;
+        private boolean hasNext;
+    }
+
     @NoArgsConstructor
     @AllArgsConstructor
     @Getter
@@ -81,6 +112,7 @@ public class MealDto {
     @AllArgsConstructor
     @Getter
     @Builder
+    @JsonFilter(FieldSelection.FILTER_ID)
     public static class FoodResponse {
         private Long id;
         private String foodName;
@@ -90,6 +122,8 @@ public class MealDto {
         private Float fat;
         private Float sodium;
         private Float fiber;
+        @JsonIgnore
+        private Long mealId;  // 프로젝션 조회 시 식사별 묶음용
 
         public static FoodResponse from(Food food) {
             return FoodResponse.builder()
@@ -104,4 +138,42 @@ public class MealDto {
                     .build();
         }
     }
+
+    // 분포 스케치 적재용 프로젝션: 식사 한 건의 칼로리 합계
+    @AllArgsConstructor
+    @Getter
+    public static class MealCalories {
+        private Long mealId;        // 보관 파일에도 남은 기록과 겹치지 않게 거를 때 사용
+        private MealType mealType;
+        private LocalDateTime modifiedAt;
+        private Long calories;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class DistributionResponse {
+        private Long memberId;
+        private int weeks;
+        private LocalDate from;
+        private LocalDate to;
+        private Distribution daily;                     // 하루 총 칼로리 (오늘 제외)
+        private Map<MealType, Distribution> byMealType; // 끼니 한 번의 칼로리
+        private int staleWeeks;                         // 다시 만드는 중이라 이전 스케치로 계산한 주 수
+    }
+
+    // 분위수는 근사값 (표본이 스케치 크기 k 이하면 정확)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class Distribution {
+        private long count;
+        private Float min;
+        private Float p10;
+        private Float median;
+        private Float p90;
+        private Float max;
+    }
 } 
\ No newline at end of file
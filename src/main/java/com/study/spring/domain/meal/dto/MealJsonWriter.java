@@ -0,0 +1,178 @@
+package com.study.spring.domain.meal.dto;
+
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * MealDto.Response 를 Jackson 빈 직렬화 없이 바로 쓴다 (스트리밍 목록 응답용).
+ * 필드 순서와 값 모양은 MealDto.Response / FoodResponse 를 Jackson 으로 쓴 결과와 같고, fields 선택은 요청마다 한 번만 계산한다.
+ */
+public final class MealJsonWriter implements JsonStreamer.RowWriter<MealDto.Response> {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString MEMBER_ID = new SerializedString("memberId");
+    private static final SerializedString MEAL_TYPE = new SerializedString("mealType");
+    private static final SerializedString IMAGE_URL = new SerializedString("imageUrl");
+    private static final SerializedString MEMO = new SerializedString("memo");
+    private static final SerializedString FOODS = new SerializedString("foods");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString MODIFIED_AT = new SerializedString("modifiedAt");
+    private static final SerializedString FOOD_NAME = new SerializedString("foodName");
+    private static final SerializedString CALORIES = new SerializedString("calories");
+    private static final SerializedString CARBOHYDRATE = new SerializedString("carbohydrate");
+    private static final SerializedString PROTEIN = new SerializedString("protein");
+    private static final SerializedString FAT = new SerializedString("fat");
+    private static final SerializedString SODIUM = new SerializedString("sodium");
+    private static final SerializedString FIBER = new SerializedString("fiber");
+
+    private final boolean id;
+    private final boolean memberId;
+    private final boolean mealType;
+    private final boolean imageUrl;
+    private final boolean memo;
+    private final boolean foods;
+    private final boolean createdAt;
+    private final boolean updatedAt;
+    private final boolean modifiedAt;
+    private final boolean foodId;
+    private final boolean foodName;
+    private final boolean calories;
+    private final boolean carbohydrate;
+    private final boolean protein;
+    private final boolean fat;
+    private final boolean sodium;
+    private final boolean fiber;
+
+    public MealJsonWriter(FieldSelection fields) {
+        id = fields.includes("id");
+        memberId = fields.includes("memberId");
+        mealType = fields.includes("mealType");
+        imageUrl = fields.includes("imageUrl");
+        memo = fields.includes("memo");
+        foods = fields.includes("foods");
+        createdAt = fields.includes("createdAt");
+        updatedAt = fields.includes("updatedAt");
+        modifiedAt = fields.includes("modifiedAt");
+        foodId = fields.includes("foods.id");
+        foodName = fields.includes("foods.foodName");
+        calories = fields.includes("foods.calories");
+        carbohydrate = fields.includes("foods.carbohydrate");
+        protein = fields.includes("foods.protein");
+        fat = fields.includes("foods.fat");
+        sodium = fields.includes("foods.sodium");
+        fiber = fields.includes("foods.fiber");
+    }
+
+    @Override
+    public void write(JsonGenerator generator, SerializerProvider provider, MealDto.Response meal) throws IOException {
+        generator.writeStartObject();
+        if (id) {
+            generator.writeFieldName(ID);
+            writeNumber(generator, meal.getId());
+        }
+        if (memberId) {
+            generator.writeFieldName(MEMBER_ID);
+            writeNumber(generator, meal.getMemberId());
+        }
+        if (mealType) {
+            generator.writeFieldName(MEAL_TYPE);
+            provider.defaultSerializeValue(meal.getMealType(), generator);
+        }
+        if (imageUrl) {
+            generator.writeFieldName(IMAGE_URL);
+            generator.writeString(meal.getImageUrl());
+        }
+        if (memo) {
+            generator.writeFieldName(MEMO);
+            generator.writeString(meal.getMemo());
+        }
+        if (foods) {
+            generator.writeFieldName(FOODS);
+            if (meal.getFoods() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartArray();
+                for (MealDto.FoodResponse food : meal.getFoods()) {
+                    writeFood(generator, food);
+                }
+                generator.writeEndArray();
+            }
+        }
+        if (createdAt) {
+            generator.writeFieldName(CREATED_AT);
+            provider.defaultSerializeValue(meal.getCreatedAt(), generator);
+        }
+        if (updatedAt) {
+            generator.writeFieldName(UPDATED_AT);
+            provider.defaultSerializeValue(meal.getUpdatedAt(), generator);
+        }
+        if (modifiedAt) {
+            generator.writeFieldName(MODIFIED_AT);
+            provider.defaultSerializeValue(meal.getModifiedAt(), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeFood(JsonGenerator generator, MealDto.FoodResponse food) throws IOException {
+        generator.writeStartObject();
+        if (foodId) {
+            generator.writeFieldName(ID);
+            writeNumber(generator, food.getId());
+        }
+        if (foodName) {
+            generator.writeFieldName(FOOD_NAME);
+            generator.writeString(food.getFoodName());
+        }
+        if (calories) {
+            generator.writeFieldName(CALORIES);
+            if (food.getCalories() != null) {
+                generator.writeNumber(food.getCalories());
+            } else {
+                generator.writeNull();
+            }
+        }
+        if (carbohydrate) {
+            generator.writeFieldName(CARBOHYDRATE);
+            writeNumber(generator, food.getCarbohydrate());
+        }
+        if (protein) {
+            generator.writeFieldName(PROTEIN);
+            writeNumber(generator, food.getProtein());
+        }
+        if (fat) {
+            generator.writeFieldName(FAT);
+            writeNumber(generator, food.getFat());
+        }
+        if (sodium) {
+            generator.writeFieldName(SODIUM);
+            writeNumber(generator, food.getSodium());
+        }
+        if (fiber) {
+            generator.writeFieldName(FIBER);
+            writeNumber(generator, food.getFiber());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumber(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static void writeNumber(JsonGenerator generator, Float value) throws IOException {
+        if (value != null) {
+            generator.writeNumber(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+}
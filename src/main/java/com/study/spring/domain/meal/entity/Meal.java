@@ -13,7 +13,11 @@ import java.util.List;
 @AllArgsConstructor
 @Builder(toBuilder = true)
 @Entity
-@Table(name = "meals")
+@Table(name = "meals", indexes = {
+        @Index(name = "idx_meals_member_modified_at", columnList = "member_id, modified_at, id"),
+        @Index(name = "idx_meals_member_type_modified_at", columnList = "member_id, meal_type, modified_at"),
+        @Index(name = "idx_meals_modified_at_id", columnList = "modified_at, id")
+})
 @Getter
 @NoArgsConstructor
 public class Meal {
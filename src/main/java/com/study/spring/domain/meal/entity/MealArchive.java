@@ -0,0 +1,57 @@
+package com.study.spring.domain.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 보관 파일로 옮긴 식사 기록의 색인 (회원 + 월 단위 파일 하나)
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@Entity
+@Table(name = "meal_archive", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_meal_archive_member_month", columnNames = {"member_id", "archive_month"})
+})
+@Getter
+@NoArgsConstructor
+public class MealArchive {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    // 해당 월의 1일
+    @Column(name = "archive_month", nullable = false)
+    private LocalDate archiveMonth;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private int mealCount;
+    private int foodCount;
+
+    // 파일 안 식사들의 imageUrl (중복 없이 한 줄에 하나). 업로드 파일 정리가 파일을 풀지 않고 읽는다.
+    // null 이면 이 열이 생기기 전에 만든 보관 파일 (처음 읽을 때 채운다)
+    @Column(columnDefinition = "TEXT")
+    private String imageUrls;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
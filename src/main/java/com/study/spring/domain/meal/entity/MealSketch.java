@@ -0,0 +1,57 @@
+package com.study.spring.domain.meal.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 회원 + 주(월요일 시작) 단위 칼로리 분포 스케치 (MealSketchService 참고)
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@Entity
+@Table(name = "meal_sketch", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_meal_sketch_member_week", columnNames = {"member_id", "week_start"})
+})
+@Getter
+@NoArgsConstructor
+public class MealSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    // 해당 주의 월요일
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    // 식사 기록이 바뀔 때마다 1씩 올린다. builtVersion 과 다르면 다시 만들어야 한다
+    private long version;
+    private long builtVersion;
+
+    // 스케치를 만든 날. 일별 합계는 이 날 전까지만 들어 있다
+    @Column(nullable = false)
+    private LocalDate builtOn;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] sketches;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
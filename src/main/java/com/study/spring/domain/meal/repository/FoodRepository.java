@@ -1,10 +1,35 @@
 package com.study.spring.domain.meal.repository;
 
+import com.study.spring.domain.meal.dto.MealDto;
 import com.study.spring.domain.meal.entity.Food;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface FoodRepository extends JpaRepository<Food, Long> {
     List<Food> findByMealId(Long mealId);
     void deleteAllByMealId(Long mealId);
-} 
\ No newline at end of file
+
+    @Query("SELECT SUM(f.calories) AS calories, SUM(f.carbohydrate) AS carbohydrate, SUM(f.protein) AS protein, SUM(f.fat) AS fat " +
+           "FROM Food f WHERE f.meal.member.id = :memberId AND f.meal.modifiedAt >= :start AND f.meal.modifiedAt < :end")
+    NutritionTotal sumNutritionByMemberIdAndModifiedAtBetween(@Param("memberId") Long memberId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.study.spring.domain.meal.dto.MealDto$FoodResponse(f.id, f.foodName, f.calories, f.carbohydrate, f.protein, f.fat, f.sodium, f.fiber, f.meal.id) " +
+           "FROM Food f WHERE f.meal.id IN :mealIds ORDER BY f.id")
+    List<MealDto.FoodResponse> findResponsesByMealIdIn(@Param("mealIds") Collection<Long> mealIds);
+
+    @Modifying
+    @Query("DELETE FROM Food f WHERE f.meal.id IN :mealIds")
+    int deleteByMealIdIn(@Param("mealIds") Collection<Long> mealIds);
+
+    interface NutritionTotal {
+        Long getCalories();
+        Double getCarbohydrate();
+        Double getProtein();
+        Double getFat();
+    }
+}
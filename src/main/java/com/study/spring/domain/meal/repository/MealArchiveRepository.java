@@ -0,0 +1,39 @@
+package com.study.spring.domain.meal.repository;
+
+import com.study.spring.domain.meal.entity.MealArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface MealArchiveRepository extends JpaRepository<MealArchive, Long> {
+    Optional<MealArchive> findByMemberIdAndArchiveMonth(Long memberId, LocalDate archiveMonth);
+
+    List<MealArchive> findByMemberId(Long memberId);
+
+    // memberId 가 null 이면 전체 회원
+    @Query("SELECT a FROM MealArchive a WHERE (:memberId IS NULL OR a.memberId = :memberId) " +
+           "AND a.archiveMonth >= :fromMonth AND a.archiveMonth <= :toMonth ORDER BY a.memberId, a.archiveMonth")
+    List<MealArchive> findCovering(@Param("memberId") Long memberId, @Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+
+    // 페이지 조회용: 한 회원의 파일을 최신 월부터
+    List<MealArchive> findByMemberIdAndArchiveMonthBetweenOrderByArchiveMonthDesc(Long memberId, LocalDate fromMonth, LocalDate toMonth);
+
+    @Query("SELECT MAX(a.archiveMonth) FROM MealArchive a")
+    LocalDate findLatestArchiveMonth();
+
+    // 업로드 파일 정리용 이미지 색인
+    @Query("SELECT a.imageUrls FROM MealArchive a WHERE a.imageUrls IS NOT NULL AND a.imageUrls <> ''")
+    List<String> findImageUrlIndexes();
+
+    List<MealArchive> findByImageUrlsIsNull();
+
+    // 그 사이 archiveMonth 가 다시 쓴 색인은 덮어쓰지 않는다
+    @Modifying
+    @Query("UPDATE MealArchive a SET a.imageUrls = :imageUrls WHERE a.id = :id AND a.imageUrls IS NULL")
+    int fillImageUrls(@Param("id") Long id, @Param("imageUrls") String imageUrls);
+}
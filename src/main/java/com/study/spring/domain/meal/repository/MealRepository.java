@@ -1,10 +1,20 @@
 package com.study.spring.domain.meal.repository;
 
+import com.study.spring.domain.meal.dto.MealDto;
 import com.study.spring.domain.meal.entity.Meal;
+import com.study.spring.domain.meal.entity.MealType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 import java.time.LocalDateTime;
 
 public interface MealRepository extends JpaRepository<Meal, Long> {
@@ -23,4 +33,98 @@ public interface MealRepository extends JpaRepository<Meal, Long> {
 
     @Query("SELECT m FROM Meal m WHERE m.member.id = :memberId AND m.modifiedAt >= :start AND m.modifiedAt < :end ORDER BY m.modifiedAt DESC, m.id DESC")
     List<Meal> findByMemberIdAndModifiedAtBetween(@Param("memberId") Long memberId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-} 
\ No newline at end of file
+
+    // 읽기 전용 목록 조회: 엔티티 대신 응답 DTO 로 바로 프로젝션 (foods 는 FoodRepository 에서 한 번에 조회)
+    String MEAL_RESPONSE = "SELECT new com.study.spring.domain.meal.dto.MealDto$Response(m.id, m.member.id, m.mealType, m.imageUrl, m.memo, m.createdAt, m.updatedAt, m.modifiedAt) FROM Meal m ";
+
+    @Query(MEAL_RESPONSE + "ORDER BY m.modifiedAt DESC, m.id DESC")
+    List<MealDto.Response> findAllResponses();
+
+    @Query(MEAL_RESPONSE + "WHERE m.member.id = :memberId ORDER BY CASE WHEN m.modifiedAt IS NULL THEN 0 ELSE 1 END DESC, m.modifiedAt DESC, m.id DESC")
+    List<MealDto.Response> findResponsesByMemberId(@Param("memberId") Long memberId);
+
+    // 스트리밍 목록 응답용 (modifiedAt DESC, id DESC) 키셋 페이지, (modifiedAt, id) 앞에서부터. 페이지마다 짧은 읽기 트랜잭션
+    @Query(MEAL_RESPONSE + "WHERE m.modifiedAt < :modifiedAt OR (m.modifiedAt = :modifiedAt AND m.id < :id) ORDER BY m.modifiedAt DESC, m.id DESC")
+    List<MealDto.Response> findResponsesBefore(@Param("modifiedAt") LocalDateTime modifiedAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(MEAL_RESPONSE + "WHERE m.member.id = :memberId AND (m.modifiedAt < :modifiedAt OR (m.modifiedAt = :modifiedAt AND m.id < :id)) " +
+           "ORDER BY m.modifiedAt DESC, m.id DESC")
+    List<MealDto.Response> findResponsesByMemberIdBefore(@Param("memberId") Long memberId, @Param("modifiedAt") LocalDateTime modifiedAt,
+                                                         @Param("id") Long id, Pageable pageable);
+
+    // modifiedAt 이 없는 기록은 목록 맨 뒤에 id 역순
+    @Query(MEAL_RESPONSE + "WHERE m.modifiedAt IS NULL AND m.id < :id ORDER BY m.id DESC")
+    List<MealDto.Response> findResponsesWithoutModifiedAtBefore(@Param("id") Long id, Pageable pageable);
+
+    @Query(MEAL_RESPONSE + "WHERE m.member.id = :memberId AND m.modifiedAt IS NULL AND m.id < :id ORDER BY m.id DESC")
+    List<MealDto.Response> findResponsesByMemberIdWithoutModifiedAtBefore(@Param("memberId") Long memberId, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT m.id FROM Meal m WHERE m.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(MEAL_RESPONSE + "WHERE m.member.id = :memberId AND m.mealType = :mealType ORDER BY m.modifiedAt DESC, m.id DESC")
+    List<MealDto.Response> findResponsesByMemberIdAndMealType(@Param("memberId") Long memberId, @Param("mealType") MealType mealType);
+
+    @Query(MEAL_RESPONSE + "WHERE m.modifiedAt >= :start AND m.modifiedAt < :end ORDER BY m.modifiedAt DESC, m.id DESC")
+    List<MealDto.Response> findResponsesByModifiedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(MEAL_RESPONSE + "WHERE m.member.id = :memberId AND m.modifiedAt >= :start AND m.modifiedAt < :end ORDER BY m.modifiedAt DESC, m.id DESC")
+    List<MealDto.Response> findResponsesByMemberIdAndModifiedAtBetween(@Param("memberId") Long memberId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(MEAL_RESPONSE + "WHERE m.member.id = :memberId " +
+           "AND (:mealType IS NULL OR m.mealType = :mealType) " +
+           "AND (:start IS NULL OR m.modifiedAt >= :start) " +
+           "AND (:end IS NULL OR m.modifiedAt < :end) " +
+           "ORDER BY m.modifiedAt DESC, m.id DESC")
+    Slice<MealDto.Response> findResponsesByFilter(@Param("memberId") Long memberId, @Param("mealType") MealType mealType,
+                                                  @Param("start") LocalDateTime start, @Param("end") LocalDateTime end, Pageable pageable);
+
+    @Query("SELECT COUNT(m) FROM Meal m WHERE m.member.id = :memberId " +
+           "AND (:mealType IS NULL OR m.mealType = :mealType) " +
+           "AND (:start IS NULL OR m.modifiedAt >= :start) " +
+           "AND (:end IS NULL OR m.modifiedAt < :end)")
+    long countByFilter(@Param("memberId") Long memberId, @Param("mealType") MealType mealType,
+                       @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // 식사별 칼로리 합계 (foods 에 칼로리가 없으면 null), 분포 스케치와 연속 기록 상태용
+    @Query("SELECT new com.study.spring.domain.meal.dto.MealDto$MealCalories(m.id, m.mealType, m.modifiedAt, SUM(f.calories)) " +
+           "FROM Meal m LEFT JOIN m.foods f WHERE m.member.id = :memberId AND m.modifiedAt >= :start AND m.modifiedAt < :end " +
+           "GROUP BY m.id, m.mealType, m.modifiedAt")
+    List<MealDto.MealCalories> findCaloriesByMemberIdAndModifiedAtBetween(@Param("memberId") Long memberId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.study.spring.domain.meal.dto.MealDto$MealCalories(m.id, m.mealType, m.modifiedAt, SUM(f.calories)) " +
+           "FROM Meal m LEFT JOIN m.foods f WHERE m.member.id = :memberId GROUP BY m.id, m.mealType, m.modifiedAt")
+    List<MealDto.MealCalories> findCaloriesByMemberId(@Param("memberId") Long memberId);
+
+    // 보관(archive) 작업용
+    @Query("SELECT DISTINCT m.member.id FROM Meal m WHERE m.modifiedAt < :cutoff")
+    List<Long> findMemberIdsWithMealsBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT MIN(m.modifiedAt) FROM Meal m WHERE m.member.id = :memberId AND m.modifiedAt < :cutoff")
+    LocalDateTime findOldestModifiedAtBefore(@Param("memberId") Long memberId, @Param("cutoff") LocalDateTime cutoff);
+
+    // 회원 탈퇴 정리 작업용 (id 순으로 배치 조회 → IN 삭제)
+    @Query("SELECT m.id FROM Meal m WHERE m.member.id = :memberId ORDER BY m.id")
+    List<Long> findIdsByMemberId(@Param("memberId") Long memberId, Pageable pageable);
+
+    @Query("SELECT m.imageUrl FROM Meal m WHERE m.id IN :ids AND m.imageUrl IS NOT NULL")
+    List<String> findImageUrlsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 업로드 파일 정리 (OrphanUploadCollector)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT m.imageUrl FROM Meal m WHERE m.imageUrl IS NOT NULL")
+    Stream<String> streamImageUrls();
+
+    // 지우기 직전 재확인 (MemberRepository.findProfileImageUrlsMatching 과 같은 조건)
+    default List<String> findImageUrlsMatching(Collection<String> fileNames) {
+        return findImageUrlsMatching(fileNames, "\\");
+    }
+
+    @Query("SELECT m.imageUrl FROM Meal m WHERE m.imageUrl IN :fileNames OR LOCATE('/', m.imageUrl) > 0 " +
+           "OR LOCATE(:backslash, m.imageUrl) > 0 OR LOCATE('?', m.imageUrl) > 0 OR LOCATE('#', m.imageUrl) > 0")
+    List<String> findImageUrlsMatching(@Param("fileNames") Collection<String> fileNames, @Param("backslash") String backslash);
+
+    @Modifying
+    @Query("DELETE FROM Meal m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
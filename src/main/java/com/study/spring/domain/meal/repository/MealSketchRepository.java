@@ -0,0 +1,36 @@
+package com.study.spring.domain.meal.repository;
+
+import com.study.spring.domain.meal.entity.MealSketch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface MealSketchRepository extends JpaRepository<MealSketch, Long> {
+    Optional<MealSketch> findByMemberIdAndWeekStart(Long memberId, LocalDate weekStart);
+
+    List<MealSketch> findByMemberIdAndWeekStartBetween(Long memberId, LocalDate from, LocalDate to);
+
+    // 식사 쓰기 트랜잭션 안에서 호출 (행이 없으면 아무것도 하지 않는다)
+    @Modifying
+    @Query("UPDATE MealSketch s SET s.version = s.version + 1 WHERE s.memberId = :memberId AND s.weekStart = :weekStart")
+    int bumpVersion(@Param("memberId") Long memberId, @Param("weekStart") LocalDate weekStart);
+
+    // 읽은 뒤 다른 쓰기가 없었을 때만 저장 (version 이 바뀌었으면 0)
+    @Modifying
+    @Query("UPDATE MealSketch s SET s.sketches = :sketches, s.builtVersion = :version, s.builtOn = :builtOn, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id = :id AND s.version = :version")
+    int saveBuilt(@Param("id") Long id, @Param("version") long version, @Param("sketches") byte[] sketches, @Param("builtOn") LocalDate builtOn);
+
+    @Query("SELECT s FROM MealSketch s WHERE s.version <> s.builtVersion ORDER BY s.id")
+    List<MealSketch> findDirty(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM MealSketch s WHERE s.memberId = :memberId")
+    int deleteByMemberId(@Param("memberId") Long memberId);
+}
@@ -0,0 +1,427 @@
+package com.study.spring.domain.meal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealArchive;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.repository.FoodRepository;
+import com.study.spring.domain.meal.repository.MealArchiveRepository;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.member.repository.MemberPurgeRepository;
+import com.study.spring.domain.member.repository.MemberRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 오래된 식사 기록을 회원별/월별 압축 파일(gzip NDJSON, 한 줄에 식사 하나)로 옮기고 meals/foods 테이블에서 지운다.
+ * 파일 위치는 meal_archive 테이블에 기록하고, 조회 범위가 보관된 기간에 걸치면 MealService 가 파일을 같이 읽는다.
+ * 보관된 마지막 월을 메모리에 들고 있어서 최근 기간 조회는 색인 테이블도 보지 않는다.
+ * 한 달치 보관은 회원 행을 잠그고 탈퇴 처리 여부를 확인한 뒤 진행하므로 (탈퇴도 같은 행을 잠근다) 정리 작업과 겹치지 않는다.
+ */
+@Service
+@Lazy(false) // prod 프로필의 지연 초기화와 상관없이 시작 시 워커를 띄운다
+public class MealArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(MealArchiveService.class);
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    private static final LocalDate MIN_MONTH = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_MONTH = LocalDate.of(9999, 12, 1);
+
+    private final MealArchiveRepository mealArchiveRepository;
+    private final MealRepository mealRepository;
+    private final FoodRepository foodRepository;
+    private final MemberRepository memberRepository;
+    private final MemberPurgeRepository memberPurgeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    @Value("${meal.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${meal.archive.dir:archive/meals}")
+    private String archiveDir;
+
+    // 이번 달을 제외하고 이 개월 수보다 오래된 달을 보관
+    @Value("${meal.archive.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${meal.archive.interval-hours:24}")
+    private long intervalHours;
+
+    // 이 시각 이전의 기록은 보관 파일에 있을 수 있다 (보관된 마지막 월의 다음 달 1일)
+    private volatile LocalDateTime archivedUntil;
+    // 시작 시 DB 를 조회하지 않도록 첫 조회 때 읽는다
+    private volatile boolean archivedUntilLoaded;
+
+    private ScheduledExecutorService scheduler;
+
+    public MealArchiveService(MealArchiveRepository mealArchiveRepository, MealRepository mealRepository,
+                              FoodRepository foodRepository, MemberRepository memberRepository,
+                              MemberPurgeRepository memberPurgeRepository, TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper) {
+        this.mealArchiveRepository = mealArchiveRepository;
+        this.mealRepository = mealRepository;
+        this.foodRepository = foodRepository;
+        this.memberRepository = memberRepository;
+        this.memberPurgeRepository = memberPurgeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.writer = objectMapper.writerFor(MealDto.Response.class);
+        this.reader = objectMapper.readerFor(MealDto.Response.class);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "meal-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archiveOldMeals();
+            } catch (RuntimeException e) {
+                log.error("meal archive failed", e);
+            }
+        }, 1, intervalHours * 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // 보관 기준 이전 달의 식사 기록을 모두 파일로 옮기고 옮긴 건수를 돌려준다
+    public synchronized int archiveOldMeals() {
+        LocalDateTime cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+        int archived = 0;
+        for (Long memberId : mealRepository.findMemberIdsWithMealsBefore(cutoff)) {
+            LocalDateTime oldest = mealRepository.findOldestModifiedAtBefore(memberId, cutoff);
+            if (oldest == null) {
+                continue;
+            }
+            for (YearMonth month = YearMonth.from(oldest); month.atDay(1).atStartOfDay().isBefore(cutoff); month = month.plusMonths(1)) {
+                archived += archiveMonth(memberId, month);
+            }
+        }
+        refreshArchivedUntil();
+        log.info("meal archive: {} meals archived before {}", archived, cutoff);
+        return archived;
+    }
+
+    public boolean reaches(LocalDateTime start) {
+        if (!archivedUntilLoaded) {
+            refreshArchivedUntil();
+        }
+        LocalDateTime until = archivedUntil;
+        return until != null && (start == null || start.isBefore(until));
+    }
+
+    // [start, end) 범위의 보관된 식사 기록 (memberId, mealType, start, end 는 null 이면 조건 없음)
+    public List<MealDto.Response> findArchived(Long memberId, MealType mealType, LocalDateTime start, LocalDateTime end) {
+        return findArchived(memberId, mealType, start, end, true);
+    }
+
+    // withFoods 가 false 면 foods 는 비워서 돌려준다 (fields 에 foods 가 없는 조회)
+    public List<MealDto.Response> findArchived(Long memberId, MealType mealType, LocalDateTime start, LocalDateTime end,
+                                               boolean withFoods) {
+        if (!reaches(start)) {
+            return List.of();
+        }
+
+        List<MealDto.Response> result = new ArrayList<>();
+        for (MealArchive archive : mealArchiveRepository.findCovering(memberId, fromMonth(start), toMonth(end))) {
+            for (MealDto.Response meal : read(archive, withFoods)) {
+                if (matches(meal, mealType, start, end)) {
+                    result.add(meal);
+                }
+            }
+        }
+        return result;
+    }
+
+    // 한 회원의 보관 기록을 최신순으로 skip 건 건너뛰고 limit 건까지. 필요한 파일만 최신 월부터 연다.
+    // 식사타입 조건이 없고 월 전체가 범위 안이면 색인의 건수로 파일을 열지 않고 건너뛴다
+    public ArchivedPage findArchivedPage(Long memberId, MealType mealType, LocalDateTime start, LocalDateTime end,
+                                         long skip, int limit, boolean withFoods) {
+        if (!reaches(start)) {
+            return new ArchivedPage(List.of(), false);
+        }
+
+        List<MealDto.Response> content = new ArrayList<>(limit);
+        long remainingSkip = skip;
+        for (MealArchive archive : mealArchiveRepository.findByMemberIdAndArchiveMonthBetweenOrderByArchiveMonthDesc(
+                memberId, fromMonth(start), toMonth(end))) {
+            if (mealType == null && coversWholeMonth(archive, start, end) && remainingSkip >= archive.getMealCount()) {
+                remainingSkip -= archive.getMealCount();
+                continue;
+            }
+
+            List<MealDto.Response> meals = new ArrayList<>();
+            for (MealDto.Response meal : read(archive, withFoods)) {
+                if (matches(meal, mealType, start, end)) {
+                    meals.add(meal);
+                }
+            }
+            meals.sort(MealService.LATEST_FIRST);
+            for (MealDto.Response meal : meals) {
+                if (remainingSkip > 0) {
+                    remainingSkip--;
+                } else if (content.size() == limit) {
+                    return new ArchivedPage(content, true);
+                } else {
+                    content.add(meal);
+                }
+            }
+        }
+        return new ArchivedPage(content, false);
+    }
+
+    public record ArchivedPage(List<MealDto.Response> content, boolean hasMore) {
+    }
+
+    // 보관 파일 안의 식사 이미지 (업로드 파일 정리에서 참조 중인 파일로 표시). 파일은 풀지 않고 보관할 때 남긴 색인을 읽는다
+    public void forEachArchivedImageUrl(Consumer<String> consumer) {
+        for (MealArchive archive : mealArchiveRepository.findByImageUrlsIsNull()) {
+            String imageUrls = imageUrlsOf(read(archive, false));
+            transactionTemplate.executeWithoutResult(status -> mealArchiveRepository.fillImageUrls(archive.getId(), imageUrls));
+            forEachLine(imageUrls, consumer);
+        }
+        for (String imageUrls : mealArchiveRepository.findImageUrlIndexes()) {
+            forEachLine(imageUrls, consumer);
+        }
+    }
+
+    private static String imageUrlsOf(Collection<MealDto.Response> meals) {
+        return meals.stream()
+                .map(MealDto.Response::getImageUrl)
+                .filter(imageUrl -> imageUrl != null && !imageUrl.isBlank())
+                .distinct()
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static void forEachLine(String imageUrls, Consumer<String> consumer) {
+        if (!imageUrls.isEmpty()) {
+            imageUrls.lines().forEach(consumer);
+        }
+    }
+
+    // 회원 탈퇴 정리 작업 트랜잭션 안에서 호출, 지울 보관 파일 수.
+    // 색인 행만 지우고 파일은 커밋된 뒤에 지운다 (롤백되면 파일도 그대로)
+    public int deleteArchives(Long memberId) {
+        List<MealArchive> archives = mealArchiveRepository.findByMemberId(memberId);
+        if (archives.isEmpty()) {
+            return 0;
+        }
+        mealArchiveRepository.deleteAll(archives);
+        List<Path> files = archives.stream().map(archive -> resolve(archive.getFileName())).toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteFiles(files);
+                }
+            });
+        } else {
+            deleteFiles(files);
+        }
+        return archives.size();
+    }
+
+    private static void deleteFiles(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("보관 파일 삭제 실패: {}", file, e);
+            }
+        }
+    }
+
+    // 한 회원의 한 달치를 한 트랜잭션으로 옮긴다.
+    // 파일을 먼저 교체하고 DB 행을 지우므로, 중간에 실패해도 다음 실행에서 id 기준으로 합쳐서 다시 쓴다.
+    // 회원 행을 잠근 채로 탈퇴 처리 여부를 보므로, 탈퇴한 회원의 파일을 정리 작업 뒤에 새로 만들지 않는다
+    int archiveMonth(Long memberId, YearMonth month) {
+        Integer archived = transactionTemplate.execute(status -> {
+            if (memberRepository.findByIdForUpdate(memberId).isEmpty() || memberPurgeRepository.existsByMemberId(memberId)) {
+                return 0;
+            }
+            LocalDateTime start = month.atDay(1).atStartOfDay();
+            LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+            List<MealDto.Response> meals = mealRepository.findResponsesByMemberIdAndModifiedAtBetween(memberId, start, end);
+            if (meals.isEmpty()) {
+                return 0;
+            }
+            attachFoods(meals);
+
+            MealArchive archive = mealArchiveRepository.findByMemberIdAndArchiveMonth(memberId, month.atDay(1)).orElse(null);
+            Map<Long, MealDto.Response> merged = new LinkedHashMap<>();
+            if (archive != null) {
+                for (MealDto.Response meal : read(archive)) {
+                    merged.put(meal.getId(), meal);
+                }
+            }
+            for (MealDto.Response meal : meals) {
+                merged.put(meal.getId(), meal);
+            }
+
+            String fileName = memberId + "/" + month + ".ndjson.gz";
+            write(fileName, merged.values());
+
+            int foodCount = merged.values().stream().mapToInt(meal -> meal.getFoods().size()).sum();
+            MealArchive.MealArchiveBuilder index = archive != null
+                    ? archive.toBuilder()
+                    : MealArchive.builder().memberId(memberId).archiveMonth(month.atDay(1));
+            mealArchiveRepository.save(index
+                    .fileName(fileName)
+                    .mealCount(merged.size())
+                    .foodCount(foodCount)
+                    .imageUrls(imageUrlsOf(merged.values()))
+                    .build());
+
+            List<Long> ids = meals.stream().map(MealDto.Response::getId).toList();
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+                List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+                foodRepository.deleteByMealIdIn(chunk);
+                mealRepository.deleteByIdIn(chunk);
+            }
+            return meals.size();
+        });
+        return archived != null ? archived : 0;
+    }
+
+    private void attachFoods(List<MealDto.Response> meals) {
+        Map<Long, MealDto.Response> byId = new HashMap<>();
+        for (MealDto.Response meal : meals) {
+            byId.put(meal.getId(), meal);
+        }
+        List<Long> mealIds = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < mealIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = mealIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, mealIds.size()));
+            for (MealDto.FoodResponse food : foodRepository.findResponsesByMealIdIn(chunk)) {
+                byId.get(food.getMealId()).getFoods().add(food);
+            }
+        }
+    }
+
+    private void write(String fileName, Iterable<MealDto.Response> meals) {
+        Path target = resolve(fileName);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "meals", ".tmp");
+            try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                for (MealDto.Response meal : meals) {
+                    out.write(writer.writeValueAsString(meal));
+                    out.newLine();
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 파일 저장 실패: " + fileName, e);
+        }
+    }
+
+    private static LocalDate fromMonth(LocalDateTime start) {
+        return start != null ? YearMonth.from(start).atDay(1) : MIN_MONTH;
+    }
+
+    private static LocalDate toMonth(LocalDateTime end) {
+        return end != null ? YearMonth.from(end.minusNanos(1)).atDay(1) : MAX_MONTH;
+    }
+
+    private static boolean coversWholeMonth(MealArchive archive, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime monthStart = archive.getArchiveMonth().atStartOfDay();
+        return (start == null || !start.isAfter(monthStart))
+                && (end == null || !end.isBefore(monthStart.plusMonths(1)));
+    }
+
+    private static boolean matches(MealDto.Response meal, MealType mealType, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime modifiedAt = meal.getModifiedAt();
+        if (mealType != null && mealType != meal.getMealType()) {
+            return false;
+        }
+        if (start != null && (modifiedAt == null || modifiedAt.isBefore(start))) {
+            return false;
+        }
+        return end == null || (modifiedAt != null && modifiedAt.isBefore(end));
+    }
+
+    private List<MealDto.Response> read(MealArchive archive) {
+        return read(archive, true);
+    }
+
+    private List<MealDto.Response> read(MealArchive archive, boolean withFoods) {
+        Path source = resolve(archive.getFileName());
+        List<MealDto.Response> meals = new ArrayList<>(archive.getMealCount());
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(source)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    MealDto.Response meal = reader.readValue(line);
+                    if (!withFoods) {
+                        meal.getFoods().clear();
+                    }
+                    meals.add(meal);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 파일 읽기 실패: " + archive.getFileName(), e);
+        }
+        return meals;
+    }
+
+    private Path resolve(String fileName) {
+        return Paths.get(archiveDir).resolve(fileName);
+    }
+
+    private void refreshArchivedUntil() {
+        LocalDate latest = mealArchiveRepository.findLatestArchiveMonth();
+        archivedUntil = latest != null ? latest.plusMonths(1).atStartOfDay() : null;
+        archivedUntilLoaded = true;
+    }
+}
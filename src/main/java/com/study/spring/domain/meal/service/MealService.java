@@ -1,5 +1,6 @@
 package com.study.spring.domain.meal.service;
 
+import com.study.spring.domain.dashboard.service.HeavyHitterService;
 import com.study.spring.domain.meal.dto.MealDto;
 import com.study.spring.domain.meal.entity.Food;
 import com.study.spring.domain.meal.entity.Meal;
@@ -8,14 +9,33 @@ import com.study.spring.domain.meal.repository.MealRepository;
 import com.study.spring.domain.meal.repository.FoodRepository;
 import com.study.spring.domain.member.entity.Member;
 import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.service.MemberStreakService;
+import com.study.spring.domain.upload.service.UploadSessionService;
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
@@ -26,14 +46,52 @@ public class MealService {
     private final MealRepository mealRepository;
     private final MemberRepository memberRepository;
     private final FoodRepository foodRepository;  // 추가!
+    private final MealArchiveService mealArchiveService;
+    private final MealSketchService mealSketchService;
+    private final MemberStreakService memberStreakService;
+    private final HeavyHitterService heavyHitterService;
+    private final UploadSessionService uploadSessionService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    private static final int MAX_FUTURE_DAYS = 1;
+    private static final LocalDateTime LAST_MODIFIED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59); // 키셋 첫 페이지 기준
+
+    // 목록 조회 정렬 순서 (modifiedAt DESC, id DESC)
+    static final Comparator<MealDto.Response> LATEST_FIRST = Comparator
+            .comparing(MealDto.Response::getModifiedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(MealDto.Response::getId, Comparator.reverseOrder());
 
     @Transactional
     public MealDto.Response createMeal(Long memberId, MealDto.Request request) {
-        // 회원 존재 확인
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+        // 토큰으로 확인된 회원이므로 조회 없이 참조만 사용
+        Member member = memberRepository.getReferenceById(memberId);
+        checkModifiedAt(request.getModifiedAt());
+
+        // Meal + Food 저장 (CASCADE로 Food들도 저장)
+        Meal savedMeal = mealRepository.save(toEntity(member, request));
+        mealChanged(memberId, savedMeal.getModifiedAt());
+        heavyHitterService.recordMeal(memberId, foodNames(savedMeal));
+
+        return MealDto.Response.from(savedMeal);
+    }
+
+    static List<String> foodNames(Meal meal) {
+        return meal.getFoods().stream()
+                .map(Food::getFoodName)
+                .toList();
+    }
+
+    // 기록 날짜는 내일까지만 허용 (시간대 차이). 연속 기록 창(MemberStreakService) 이후 날짜는 반영되지 않는다
+    static void checkModifiedAt(LocalDateTime modifiedAt) {
+        if (modifiedAt != null && modifiedAt.toLocalDate().isAfter(LocalDate.now().plusDays(MAX_FUTURE_DAYS))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "미래 날짜의 식사는 기록할 수 없습니다.");
+        }
+    }
 
-        // 1. Meal 저장
+    // 요청 -> Meal 엔티티 (Food 양방향 연관관계 포함)
+    static Meal toEntity(Member member, MealDto.Request request) {
         Meal meal = Meal.builder()
                 .member(member)
                 .mealType(request.getMealType())
@@ -43,10 +101,7 @@ public class MealService {
                 .totalCalories(request.getTotalCalories())
                 .build();
 
-        Meal savedMeal = mealRepository.save(meal);
-
-        // 2. Food들 생성 및 연관관계 설정
-        if (request.getFoods() != null && !request.getFoods().isEmpty()) {
+        if (request.getFoods() != null) {
             for (MealDto.FoodRequest foodRequest : request.getFoods()) {
                 Food food = Food.builder()
                         .foodName(foodRequest.getFoodName())
@@ -57,17 +112,13 @@ public class MealService {
                         .sodium(foodRequest.getSodium())
                         .fiber(foodRequest.getFiber())
                         .build();
-                
+
                 // 양방향 연관관계 설정
-                food.setMeal(savedMeal);
-                savedMeal.getFoods().add(food);
+                food.setMeal(meal);
+                meal.getFoods().add(food);
             }
-            
-            // 다시 저장 (CASCADE로 Food들도 저장)
-            savedMeal = mealRepository.save(savedMeal);
         }
-
-        return MealDto.Response.from(savedMeal);
+        return meal;
     }
 
     public MealDto.Response getMeal(Long id) {
@@ -77,41 +128,52 @@ public class MealService {
         return MealDto.Response.from(meal);
     }
 
-    public List<MealDto.Response> getAllMeals() {
-        List<Meal> meals = mealRepository.findAllOrderByModifiedAtDesc();
-        System.out.println("Found " + meals.size() + " meals");
-        System.out.println("=== Sorted Meals ===");
-        for (Meal meal : meals) {
-            System.out.println("Meal ID: " + meal.getId() + 
-                             ", ModifiedAt: " + meal.getModifiedAt() + 
-                             ", CreatedAt: " + meal.getCreatedAt() + 
-                             ", MealType: " + meal.getMealType());
-        }
-        System.out.println("=== End Sorted Meals ===");
-        return meals.stream()
-                .map(MealDto.Response::from)
-                .collect(Collectors.toList());
+    public List<MealDto.Response> getAllMeals(FieldSelection fields) {
+        List<MealDto.Response> meals = mealRepository.findAllResponses();
+        return withFoods(meals, fields);
     }
 
-    public List<MealDto.Response> getMealsByMemberId(Long memberId) {
+    public List<MealDto.Response> getMealsByMemberId(Long memberId, FieldSelection fields) {
         // 회원 존재 확인
-        memberRepository.findById(memberId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+        checkMemberExists(memberId);
+
+        List<MealDto.Response> meals = mealRepository.findResponsesByMemberId(memberId);
+        return withArchived(withFoods(meals, fields), mealArchiveService.findArchived(memberId, null, null, null, fields.includes("foods")));
+    }
+
+    // 스트리밍 목록 응답용: 목록을 다 모으지 않고 IN_CLAUSE_CHUNK 건씩 키셋 페이지로 읽어 foods 를 채운 뒤 바로 넘긴다.
+    // 페이지마다 따로 짧은 트랜잭션으로 읽고 커넥션을 돌려준 뒤 쓰므로, 느린 클라이언트가 커넥션을 잡고 있지 않는다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllMeals(FieldSelection fields, JsonStreamer.Sink<MealDto.Response> sink) throws IOException {
+        forEachPage(mealRepository::findResponsesBefore, mealRepository::findResponsesWithoutModifiedAtBefore, fields, sink);
+    }
 
-        List<Meal> meals = mealRepository.findByMemberIdOrderByModifiedAtDescQuery(memberId);
-        System.out.println("Found " + meals.size() + " meals for member " + memberId);
-        for (Meal meal : meals) {
-            System.out.println("Meal ID: " + meal.getId() + ", ModifiedAt: " + meal.getModifiedAt());
+    // getMealsByMemberId 와 같은 순서로, 보관 파일의 기록은 DB 기록 사이에 정렬 순서대로 끼워 넣는다.
+    // 회원 확인과 보관 기록 읽기는 첫 행을 넘기기 전에 끝나므로, 없는 회원은 응답을 쓰기 전에 404 로 나간다 (JsonStreamer 가 '[' 를 늦게 씀)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamMealsByMemberId(Long memberId, FieldSelection fields, JsonStreamer.Sink<MealDto.Response> sink) throws IOException {
+        Deque<MealDto.Response> archived = transactionTemplate.execute(status -> {
+            checkMemberExists(memberId);
+            return new ArrayDeque<>(withoutStored(mealArchiveService.findArchived(memberId, null, null, null, fields.includes("foods"))));
+        });
+        forEachPage((modifiedAt, id, page) -> mealRepository.findResponsesByMemberIdBefore(memberId, modifiedAt, id, page),
+                (id, page) -> mealRepository.findResponsesByMemberIdWithoutModifiedAtBefore(memberId, id, page),
+                fields, meal -> {
+                    while (!archived.isEmpty() && LATEST_FIRST.compare(archived.peekFirst(), meal) < 0) {
+                        sink.accept(archived.pollFirst());
+                    }
+                    sink.accept(meal);
+                });
+        for (MealDto.Response meal : archived) {
+            sink.accept(meal);
         }
-        return meals.stream()
-                .map(MealDto.Response::from)
-                .collect(Collectors.toList());
     }
 
     @Transactional
     public MealDto.Response updateMeal(Long id, MealDto.Request request) {
         Meal meal = mealRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "식사 기록을 찾을 수 없습니다."));
+        checkModifiedAt(request.getModifiedAt());
 
         // Meal 정보 업데이트
         Meal updatedMeal = Meal.builder()
@@ -126,7 +188,10 @@ public class MealService {
                 .modifiedAt(request.getModifiedAt() != null ? request.getModifiedAt() : LocalDateTime.now())
                 .build();
 
+        // save 가 meal 에 병합되므로 이전 날짜는 먼저 꺼내 둔다
+        LocalDateTime previousModifiedAt = meal.getModifiedAt();
         Meal savedMeal = mealRepository.save(updatedMeal);
+        mealChanged(savedMeal.getMember().getId(), previousModifiedAt, savedMeal.getModifiedAt());
         return MealDto.Response.from(savedMeal);
     }
 
@@ -136,18 +201,82 @@ public class MealService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "식사 기록을 찾을 수 없습니다."));
 
         mealRepository.delete(meal);
+        mealChanged(meal.getMember().getId(), meal.getModifiedAt());
+    }
+
+    // 식사 쓰기 트랜잭션 안에서, 저장/삭제 뒤 해당 날짜들의 파생 데이터 갱신.
+    // 잠금 순서는 항상 스케치 행 전부 -> 연속 기록 행 (MealWriteCoalescer 와 같다)
+    private void mealChanged(Long memberId, LocalDateTime... modifiedAts) {
+        Map<Long, List<LocalDateTime>> changes = Map.of(memberId, Arrays.asList(modifiedAts));
+        mealSketchService.touchAll(changes);
+        memberStreakService.touchAll(changes);
     }
 
     // 추가 편의 메서드들
-    public List<MealDto.Response> getMealsByMemberIdAndMealType(Long memberId, MealType mealType) {
-        memberRepository.findById(memberId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+    public List<MealDto.Response> getMealsByMemberIdAndMealType(Long memberId, MealType mealType, FieldSelection fields) {
+        checkMemberExists(memberId);
+
+        return withArchived(withFoods(mealRepository.findResponsesByMemberIdAndMealType(memberId, mealType), fields),
+                mealArchiveService.findArchived(memberId, mealType, null, null, fields.includes("foods")));
+    }
+
+    // 회원 + 식사타입 + 기간 조건 조회 (페이지 단위)
+    public MealDto.SliceResponse getMealsByFilter(Long memberId, MealType mealType, LocalDate from, LocalDate to, int page, int size, FieldSelection fields) {
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+
+        if (mealArchiveService.reaches(start)) {
+            return getMealsByFilterWithArchive(memberId, mealType, start, end, pageNumber, pageSize, fields);
+        }
+
+        Slice<MealDto.Response> meals = mealRepository.findResponsesByFilter(memberId, mealType, start, end, PageRequest.of(pageNumber, pageSize));
+        return MealDto.SliceResponse.builder()
+                .content(withFoods(meals.getContent(), fields))
+                .page(meals.getNumber())
+                .size(meals.getSize())
+                .hasNext(meals.hasNext())
+                .build();
+    }
+
+    // 보관 기간에 걸친 페이지 조회: DB 기록 뒤에 (더 오래된) 보관 기록이 이어지는 것으로 보고 페이지를 나눈다.
+    // 보관 기록은 이 페이지에 필요한 만큼만 최신 월부터 읽는다.
+    // 보관 중 (파일은 썼고 DB 행은 아직 안 지운) 기록은 양쪽에 다 있으므로, 아직 DB 에 있는 것은 보관 쪽에서 뺀다 (그만큼 페이지가 짧을 수 있다)
+    private MealDto.SliceResponse getMealsByFilterWithArchive(Long memberId, MealType mealType, LocalDateTime start, LocalDateTime end,
+                                                             int page, int pageSize, FieldSelection fields) {
+        long liveCount = mealRepository.countByFilter(memberId, mealType, start, end);
+
+        long offset = (long) page * pageSize;
+        List<MealDto.Response> content = new ArrayList<>(pageSize);
+        if (offset < liveCount) {
+            content.addAll(withFoods(mealRepository.findResponsesByFilter(memberId, mealType, start, end, PageRequest.of(page, pageSize)).getContent(), fields));
+        }
+        MealArchiveService.ArchivedPage archived = mealArchiveService.findArchivedPage(memberId, mealType, start, end,
+                Math.max(offset - liveCount, 0), pageSize - content.size(), fields.includes("foods"));
+        Set<Long> seen = new HashSet<>(storedIdsOf(archived.content()));
+        content.forEach(meal -> seen.add(meal.getId()));
+        for (MealDto.Response meal : archived.content()) {
+            if (seen.add(meal.getId())) {
+                content.add(meal);
+            }
+        }
 
-        // TODO: Repository에 findByMemberIdAndMealType 메서드 추가 필요
-        return mealRepository.findByMemberIdOrderByModifiedAtDescQuery(memberId).stream()
-                .filter(meal -> meal.getMealType() == mealType)
-                .map(MealDto.Response::from)
-                .collect(Collectors.toList());
+        return MealDto.SliceResponse.builder()
+                .content(content)
+                .page(page)
+                .size(pageSize)
+                .hasNext(offset + pageSize < liveCount || archived.hasMore())
+                .build();
+    }
+
+    // 재개 가능 업로드로 다 올린 이미지를 식사 이미지로
+    @Transactional
+    public void updateMealImageFromUpload(Long id, String uploadId) {
+        if (!mealRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "식사 기록을 찾을 수 없습니다.");
+        }
+        updateMealImage(id, uploadSessionService.attach(uploadId, "meal:" + id));
     }
 
     @Transactional
@@ -155,35 +284,134 @@ public class MealService {
         Meal meal = mealRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "식사 기록을 찾을 수 없습니다."));
 
-        Meal updatedMeal = Meal.builder()
-                .id(meal.getId())
-                .member(meal.getMember())
-                .mealType(meal.getMealType())
-                .imageUrl(imageUrl)  // 이미지만 업데이트
-                .memo(meal.getMemo())
-                .foods(meal.getFoods())
-                .createdAt(meal.getCreatedAt())
+        // 이미지만 바꾸고 나머지 (modifiedAt, totalCalories 등) 는 그대로 둔다
+        Meal updatedMeal = meal.toBuilder()
+                .imageUrl(imageUrl)
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        mealRepository.save(updatedMeal);
+        Meal savedMeal = mealRepository.save(updatedMeal);
+        mealChanged(savedMeal.getMember().getId(), savedMeal.getModifiedAt());
     }
 
-    public List<MealDto.Response> getMealsByModifiedDate(LocalDate date) {
+    // 전체 회원의 하루 기록은 DB 기록만 (보관 파일은 회원 단위로만 읽는다. 회원 조건 없이 읽으면 그 달의 모든 회원 파일을 연다)
+    public List<MealDto.Response> getMealsByModifiedDate(LocalDate date, FieldSelection fields) {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.plusDays(1).atStartOfDay();
-        return mealRepository.findByModifiedAtBetween(start, end)
-                .stream()
-                .map(MealDto.Response::from)
-                .collect(Collectors.toList());
+        return withFoods(mealRepository.findResponsesByModifiedAtBetween(start, end), fields);
     }
 
-    public List<MealDto.Response> getMealsByMemberIdAndModifiedDate(Long memberId, LocalDate date) {
+    public List<MealDto.Response> getMealsByMemberIdAndModifiedDate(Long memberId, LocalDate date, FieldSelection fields) {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.plusDays(1).atStartOfDay();
-        return mealRepository.findByMemberIdAndModifiedAtBetween(memberId, start, end)
-                .stream()
-                .map(MealDto.Response::from)
-                .collect(Collectors.toList());
+        return withArchived(withFoods(mealRepository.findResponsesByMemberIdAndModifiedAtBetween(memberId, start, end), fields),
+                mealArchiveService.findArchived(memberId, null, start, end, fields.includes("foods")));
+    }
+
+    private void checkMemberExists(Long memberId) {
+        if (!memberRepository.existsById(memberId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다.");
+        }
+    }
+
+    // 보관 파일의 기록을 합쳐서 정렬 (보관 도중 실패로 양쪽에 남은 기록은 DB 쪽을 사용)
+    private List<MealDto.Response> withArchived(List<MealDto.Response> meals, List<MealDto.Response> archived) {
+        if (archived.isEmpty()) {
+            return meals;
+        }
+
+        Map<Long, MealDto.Response> byId = new LinkedHashMap<>();
+        for (MealDto.Response meal : archived) {
+            byId.put(meal.getId(), meal);
+        }
+        for (MealDto.Response meal : meals) {
+            byId.put(meal.getId(), meal);
+        }
+        List<MealDto.Response> merged = new ArrayList<>(byId.values());
+        merged.sort(LATEST_FIRST);
+        return merged;
+    }
+
+    // 보관 파일의 기록 중 DB 에 없는 것만, 정렬해서 (보관 도중 실패로 양쪽에 남은 기록은 DB 쪽을 사용)
+    private List<MealDto.Response> withoutStored(List<MealDto.Response> archived) {
+        if (archived.isEmpty()) {
+            return archived;
+        }
+
+        Set<Long> stored = storedIdsOf(archived);
+        return archived.stream()
+                .filter(meal -> !stored.contains(meal.getId()))
+                .sorted(LATEST_FIRST)
+                .toList();
+    }
+
+    // 보관 파일의 기록 중 아직 DB 에도 있는 id
+    private Set<Long> storedIdsOf(List<MealDto.Response> archived) {
+        List<Long> ids = archived.stream().map(MealDto.Response::getId).toList();
+        Set<Long> stored = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            stored.addAll(mealRepository.findIdsByIdIn(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()))));
+        }
+        return stored;
+    }
+
+    // LATEST_FIRST 순서: modifiedAt 이 있는 기록을 (modifiedAt, id) 키셋 페이지로 다 읽은 뒤, 없는 기록을 id 역순으로 읽는다
+    private void forEachPage(DatedPage dated, UndatedPage undated, FieldSelection fields,
+                             JsonStreamer.Sink<MealDto.Response> sink) throws IOException {
+        PageRequest page = PageRequest.of(0, IN_CLAUSE_CHUNK);
+        LocalDateTime modifiedAt = LAST_MODIFIED_AT;
+        Long id = Long.MAX_VALUE;
+        List<MealDto.Response> meals;
+        do {
+            LocalDateTime afterModifiedAt = modifiedAt;
+            Long afterId = id;
+            meals = transactionTemplate.execute(status -> withFoods(dated.find(afterModifiedAt, afterId, page), fields));
+            for (MealDto.Response meal : meals) {
+                sink.accept(meal);
+                modifiedAt = meal.getModifiedAt();
+                id = meal.getId();
+            }
+        } while (meals.size() == IN_CLAUSE_CHUNK);
+
+        id = Long.MAX_VALUE;
+        do {
+            Long afterId = id;
+            meals = transactionTemplate.execute(status -> withFoods(undated.find(afterId, page), fields));
+            for (MealDto.Response meal : meals) {
+                sink.accept(meal);
+                id = meal.getId();
+            }
+        } while (meals.size() == IN_CLAUSE_CHUNK);
+    }
+
+    @FunctionalInterface
+    private interface DatedPage {
+        List<MealDto.Response> find(LocalDateTime modifiedAt, Long id, Pageable pageable);
+    }
+
+    @FunctionalInterface
+    private interface UndatedPage {
+        List<MealDto.Response> find(Long id, Pageable pageable);
+    }
+
+    // 식사 id 묶음으로 음식 목록을 한 번에 조회해서 각 응답에 채움 (N+1 방지, foods 를 요청하지 않으면 조회 생략)
+    private List<MealDto.Response> withFoods(List<MealDto.Response> meals, FieldSelection fields) {
+        if (!fields.includes("foods")) {
+            return meals;
+        }
+
+        Map<Long, MealDto.Response> byId = new HashMap<>();
+        for (MealDto.Response meal : meals) {
+            byId.put(meal.getId(), meal);
+        }
+
+        List<Long> mealIds = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < mealIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = mealIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, mealIds.size()));
+            for (MealDto.FoodResponse food : foodRepository.findResponsesByMealIdIn(chunk)) {
+                byId.get(food.getMealId()).getFoods().add(food);
+            }
+        }
+        return meals;
     }
 } 
\ No newline at end of file
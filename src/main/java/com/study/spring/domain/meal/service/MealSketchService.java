@@ -0,0 +1,359 @@
+package com.study.spring.domain.meal.service;
+
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealSketch;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.meal.repository.MealSketchRepository;
+import com.study.spring.domain.member.repository.MemberRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.datasketches.kll.KllFloatsSketch;
+import org.apache.datasketches.memory.Memory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원별 칼로리 분포 (p10 / 중앙값 / p90).
+ * 회원 + 주 단위로 KLL 분위수 스케치를 만들어 meal_sketch 에 저장해 두고, 조회 때는 구간에 걸친 주(최대 max-weeks 개)의
+ * 스케치만 합친다. 그래서 조회 비용은 식사 기록이 얼마나 쌓였는지와 상관없이 주 수에만 비례한다.
+ * 식사 쓰기는 같은 트랜잭션에서 해당 주의 version 만 올리고, 커밋 뒤 워커가 그 주를 다시 만든다.
+ * 조회 시점에 아직 못 만든 주(없음, version 불일치, 날짜가 바뀜)는 워커에 맡기고, 그동안은 저장된 이전 스케치로 응답한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MealSketchService {
+    private static final Logger log = LoggerFactory.getLogger(MealSketchService.class);
+
+    private static final byte FORMAT = 1;
+    private static final int DAILY = 0;                          // 나머지는 1 + MealType 순서
+    private static final int KINDS = 1 + MealType.values().length;
+    private static final int SWEEP_BATCH = 100;
+    private static final Comparator<Bucket> BUCKET_ORDER = Comparator.comparing(Bucket::memberId).thenComparing(Bucket::weekStart);
+
+    private final MealSketchRepository mealSketchRepository;
+    private final MealRepository mealRepository;
+    private final MemberRepository memberRepository;
+    private final MealArchiveService mealArchiveService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${meal.sketch.k:200}")
+    private int k;
+
+    @Value("${meal.sketch.max-weeks:52}")
+    private int maxWeeks;
+
+    @Value("${meal.sketch.sweep-seconds:60}")
+    private long sweepSeconds;
+
+    private final Set<Bucket> pending = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "meal-sketch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 커밋 직후 재생성이 유실된 주 (재시작, 다른 인스턴스) 를 주기적으로 다시 만든다
+        worker.scheduleWithFixedDelay(this::sweepQuietly, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // 식사 쓰기 트랜잭션 안에서 호출 (회원 id -> 바뀐 식사의 modifiedAt 들이 속한 주).
+    // 행 잠금은 항상 (회원 id, 주) 순서로 잡아서, 여러 행을 건드리는 쓰기끼리 교착되지 않게 한다
+    public void touchAll(Map<Long, ? extends Collection<LocalDateTime>> changes) {
+        SortedSet<Bucket> buckets = new TreeSet<>(BUCKET_ORDER);
+        changes.forEach((memberId, modifiedAts) -> {
+            for (LocalDateTime modifiedAt : modifiedAts) {
+                if (memberId != null && modifiedAt != null) {
+                    buckets.add(new Bucket(memberId, weekOf(modifiedAt.toLocalDate())));
+                }
+            }
+        });
+        if (buckets.isEmpty()) {
+            return;
+        }
+        for (Bucket bucket : buckets) {
+            mealSketchRepository.bumpVersion(bucket.memberId(), bucket.weekStart());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buckets.forEach(MealSketchService.this::enqueue);
+                }
+            });
+        } else {
+            buckets.forEach(this::enqueue);
+        }
+    }
+
+    // 회원 탈퇴 정리 작업에서 호출
+    public int deleteSketches(Long memberId) {
+        return mealSketchRepository.deleteByMemberId(memberId);
+    }
+
+    // 이번 주를 포함한 최근 weeks 주. 하루 합계는 오늘을 빼고, 끼니별 분포는 오늘까지 포함한다
+    public MealDto.DistributionResponse getDistribution(Long memberId, int weeks) {
+        if (weeks < 1 || weeks > maxWeeks) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "weeks 는 1 이상 " + maxWeeks + " 이하여야 합니다.");
+        }
+        memberRepository.findById(memberId)
+                .filter(member -> !member.isDeleted())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+
+        LocalDate today = LocalDate.now();
+        LocalDate thisWeek = weekOf(today);
+        LocalDate firstWeek = thisWeek.minusWeeks(weeks - 1L);
+
+        Map<LocalDate, MealSketch> rows = new HashMap<>();
+        for (MealSketch row : mealSketchRepository.findByMemberIdAndWeekStartBetween(memberId, firstWeek, thisWeek)) {
+            rows.put(row.getWeekStart(), row);
+        }
+
+        KllFloatsSketch[] merged = newSketches();
+        int staleWeeks = 0;
+        for (LocalDate week = firstWeek; !week.isAfter(thisWeek); week = week.plusWeeks(1)) {
+            MealSketch row = rows.get(week);
+            if (!isFresh(row, today)) {
+                // 요청 스레드에서 식사 기록을 다시 읽지 않는다
+                enqueue(new Bucket(memberId, week));
+                staleWeeks++;
+            }
+            if (isReadable(row)) {
+                mergeInto(row.getSketches(), merged);
+            }
+        }
+
+        Map<MealType, MealDto.Distribution> byMealType = new EnumMap<>(MealType.class);
+        for (MealType mealType : MealType.values()) {
+            byMealType.put(mealType, distribution(merged[1 + mealType.ordinal()]));
+        }
+        return MealDto.DistributionResponse.builder()
+                .memberId(memberId)
+                .weeks(weeks)
+                .from(firstWeek)
+                .to(today)
+                .daily(distribution(merged[DAILY]))
+                .byMealType(byMealType)
+                .staleWeeks(staleWeeks)
+                .build();
+    }
+
+    private static boolean isReadable(MealSketch row) {
+        return row != null && row.getSketches().length > 0 && row.getSketches()[0] == FORMAT;
+    }
+
+    private static boolean isFresh(MealSketch row, LocalDate today) {
+        if (!isReadable(row) || row.getVersion() != row.getBuiltVersion()) {
+            return false;
+        }
+        // 만든 날 이후로 이 주에 지나간 날이 있으면 그날의 하루 합계가 빠져 있다
+        return !row.getBuiltOn().isBefore(today) || !row.getWeekStart().plusWeeks(1).isAfter(row.getBuiltOn());
+    }
+
+    private void enqueue(Bucket bucket) {
+        if (pending.add(bucket)) {
+            worker.execute(() -> {
+                pending.remove(bucket);
+                rebuildQuietly(bucket);
+            });
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            List<MealSketch> dirty = mealSketchRepository.findDirty(PageRequest.of(0, SWEEP_BATCH));
+            for (MealSketch row : dirty) {
+                rebuildQuietly(new Bucket(row.getMemberId(), row.getWeekStart()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("meal sketch sweep failed", e);
+        }
+    }
+
+    private void rebuildQuietly(Bucket bucket) {
+        try {
+            rebuild(bucket);
+        } catch (RuntimeException e) {
+            log.warn("meal sketch rebuild failed: member {}, week {}", bucket.memberId(), bucket.weekStart(), e);
+        }
+    }
+
+    // 한 주치 식사 기록 (DB + 보관 파일) 으로 스케치를 다시 만든다.
+    // version 을 먼저 읽고 저장할 때 그대로인지 확인하므로, 그 사이에 커밋된 쓰기는 다음 재생성에서 반영된다.
+    byte[] rebuild(Bucket bucket) {
+        LocalDate today = LocalDate.now();
+        MealSketch row = transactionTemplate.execute(status ->
+                mealSketchRepository.findByMemberIdAndWeekStart(bucket.memberId(), bucket.weekStart()).orElse(null));
+        long version = row != null ? row.getVersion() : 0;
+
+        byte[] sketches = transactionTemplate.execute(status -> encode(build(bucket, today)));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (row == null) {
+                    mealSketchRepository.save(MealSketch.builder()
+                            .memberId(bucket.memberId())
+                            .weekStart(bucket.weekStart())
+                            .builtOn(today)
+                            .sketches(sketches)
+                            .build());
+                } else {
+                    mealSketchRepository.saveBuilt(row.getId(), version, sketches, today);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 같은 주를 동시에 처음 만든 경우, 먼저 저장된 쪽을 둔다
+        }
+        return sketches;
+    }
+
+    KllFloatsSketch[] build(Bucket bucket, LocalDate today) {
+        LocalDateTime start = bucket.weekStart().atStartOfDay();
+        LocalDateTime end = start.plusWeeks(1);
+        KllFloatsSketch[] sketches = newSketches();
+        long[] dayTotals = new long[7];
+        boolean[] hasDay = new boolean[7];
+
+        Set<Long> stored = new HashSet<>();
+        for (MealDto.MealCalories meal : mealRepository.findCaloriesByMemberIdAndModifiedAtBetween(bucket.memberId(), start, end)) {
+            stored.add(meal.getMealId());
+            add(sketches, dayTotals, hasDay, bucket.weekStart(), meal.getMealType(), meal.getModifiedAt(), meal.getCalories());
+        }
+        for (MealDto.Response meal : mealArchiveService.findArchived(bucket.memberId(), null, start, end)) {
+            if (stored.contains(meal.getId())) {
+                continue; // 보관 도중 실패로 DB 에도 남은 기록은 DB 쪽만 센다
+            }
+            Long calories = null;
+            for (MealDto.FoodResponse food : meal.getFoods()) {
+                if (food.getCalories() != null) {
+                    calories = (calories != null ? calories : 0) + food.getCalories();
+                }
+            }
+            add(sketches, dayTotals, hasDay, bucket.weekStart(), meal.getMealType(), meal.getModifiedAt(), calories);
+        }
+
+        // 하루 합계는 끝난 날만 (칼로리가 하나도 없는 날은 기록이 없는 것으로 본다)
+        for (int day = 0; day < 7; day++) {
+            if (hasDay[day] && bucket.weekStart().plusDays(day).isBefore(today)) {
+                sketches[DAILY].update(dayTotals[day]);
+            }
+        }
+        return sketches;
+    }
+
+    private static void add(KllFloatsSketch[] sketches, long[] dayTotals, boolean[] hasDay, LocalDate weekStart,
+                            MealType mealType, LocalDateTime modifiedAt, Long calories) {
+        if (calories == null || mealType == null || modifiedAt == null) {
+            return;
+        }
+        int day = (int) (modifiedAt.toLocalDate().toEpochDay() - weekStart.toEpochDay());
+        dayTotals[day] += calories;
+        hasDay[day] = true;
+        sketches[1 + mealType.ordinal()].update(calories);
+    }
+
+    private KllFloatsSketch[] newSketches() {
+        KllFloatsSketch[] sketches = new KllFloatsSketch[KINDS];
+        for (int kind = 0; kind < KINDS; kind++) {
+            sketches[kind] = KllFloatsSketch.newHeapInstance(k);
+        }
+        return sketches;
+    }
+
+    // FORMAT, 그리고 비어 있지 않은 스케치마다 (종류 1바이트, 길이 4바이트, KLL 직렬화)
+    static byte[] encode(KllFloatsSketch[] sketches) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            for (int kind = 0; kind < KINDS; kind++) {
+                if (!sketches[kind].isEmpty()) {
+                    byte[] sketch = sketches[kind].toByteArray();
+                    out.writeByte(kind);
+                    out.writeInt(sketch.length);
+                    out.write(sketch);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void mergeInto(byte[] encoded, KllFloatsSketch[] targets) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        buffer.get(); // FORMAT
+        while (buffer.hasRemaining()) {
+            int kind = buffer.get();
+            int length = buffer.getInt();
+            byte[] sketch = new byte[length];
+            buffer.get(sketch);
+            if (kind < KINDS) {
+                targets[kind].merge(KllFloatsSketch.heapify(Memory.wrap(sketch)));
+            }
+        }
+    }
+
+    private static MealDto.Distribution distribution(KllFloatsSketch sketch) {
+        if (sketch.isEmpty()) {
+            return MealDto.Distribution.builder().count(0).build();
+        }
+        return MealDto.Distribution.builder()
+                .count(sketch.getN())
+                .min(sketch.getMinItem())
+                .p10(sketch.getQuantile(0.1))
+                .median(sketch.getQuantile(0.5))
+                .p90(sketch.getQuantile(0.9))
+                .max(sketch.getMaxItem())
+                .build();
+    }
+
+    static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    record Bucket(Long memberId, LocalDate weekStart) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.study.spring.domain.meal.service;
+
+import com.study.spring.domain.dashboard.service.HeavyHitterService;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.Meal;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.service.MemberStreakService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 식사 기록 생성 요청을 모아서 한 트랜잭션으로 커밋한다 (group commit).
+ * 요청은 동기로 검증한 뒤 큐에 넣고, 워커 스레드가 최대 max-batch-size 건 또는 max-wait-ms 동안 모인 요청을
+ * 한 번에 저장한다. 호출자는 자기 요청이 커밋된 뒤에 생성된 id 가 담긴 응답을 받는다.
+ * ack-timeout-ms 안에 워커가 가져가지 못한 요청은 취소하고 503 을 준다. 이미 저장 중이면 commit-timeout-ms 까지
+ * 더 기다리고, 그래도 끝나지 않으면 503 을 준다 (이 경우에는 저장됐을 수 있다).
+ */
+@Component
+public class MealWriteCoalescer {
+    private final TransactionTemplate transactionTemplate;
+    private final MealSketchService mealSketchService;
+    private final MemberStreakService memberStreakService;
+    private final HeavyHitterService heavyHitterService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${meal.write-coalescing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${meal.write-coalescing.max-batch-size:32}")
+    private int maxBatchSize;
+
+    @Value("${meal.write-coalescing.max-wait-ms:10}")
+    private long maxWaitMs;
+
+    @Value("${meal.write-coalescing.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${meal.write-coalescing.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
+
+    @Value("${meal.write-coalescing.commit-timeout-ms:30000}")
+    private long commitTimeoutMs;
+
+    private BlockingQueue<PendingMeal> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    public MealWriteCoalescer(TransactionTemplate transactionTemplate, MealSketchService mealSketchService,
+                              MemberStreakService memberStreakService, HeavyHitterService heavyHitterService) {
+        this.transactionTemplate = transactionTemplate;
+        this.mealSketchService = mealSketchService;
+        this.memberStreakService = memberStreakService;
+        this.heavyHitterService = heavyHitterService;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::runLoop, "meal-write-coalescer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public MealDto.Response submit(Long memberId, MealDto.Request request) {
+        // 동기 검증: 배치 안의 한 건 때문에 다른 요청까지 롤백되지 않도록 미리 거른다
+        // (회원은 토큰으로 확인됐으므로 DB 조회 없음)
+        if (request.getMealType() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "식사 타입은 필수입니다.");
+        }
+        MealService.checkModifiedAt(request.getModifiedAt());
+
+        PendingMeal pending = new PendingMeal(memberId, request, new CompletableFuture<>(), new AtomicBoolean());
+        if (!running || !queue.offer(pending)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "식사 기록 저장 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return pending.result().get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return cancelOrAwait(pending, "식사 기록 저장이 지연되고 있습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return cancelOrAwait(pending, "식사 기록 저장이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    // 워커가 아직 가져가지 않았으면 취소하고 503 (절대 저장되지 않으므로 다시 보내도 중복이 생기지 않는다).
+    // 이미 가져갔으면 (저장 중) commit-timeout-ms 까지 결과를 기다리고, 넘기면 저장 여부를 모르는 채로 503 을 준다
+    private MealDto.Response cancelOrAwait(PendingMeal pending, String message) {
+        if (pending.claim()) {
+            queue.remove(pending);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, message);
+        }
+        boolean interrupted = Thread.interrupted();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(commitTimeoutMs);
+        try {
+            while (true) {
+                try {
+                    return pending.result().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (TimeoutException e) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "식사 기록 저장 결과를 확인하지 못했습니다. 기록 목록을 확인한 뒤 다시 시도해주세요.");
+                } catch (ExecutionException e) {
+                    throw unwrap(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new RuntimeException("식사 기록 저장 실패", e.getCause());
+    }
+
+    private void runLoop() {
+        List<PendingMeal> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMeal first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null || !first.claim()) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingMeal next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next.claim()) {
+                        batch.add(next);
+                    }
+                }
+
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingMeal> batch) {
+        try {
+            List<MealDto.Response> responses = transactionTemplate.execute(status -> persistAll(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(responses.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // 배치 실패 시 한 건씩 다시 저장해서 실패한 요청만 에러를 받게 한다
+            for (PendingMeal pending : batch) {
+                commit(List.of(pending));
+            }
+        }
+    }
+
+    private List<MealDto.Response> persistAll(List<PendingMeal> batch) {
+        List<Meal> meals = new ArrayList<>(batch.size());
+        for (PendingMeal pending : batch) {
+            Member member = entityManager.getReference(Member.class, pending.memberId());
+            Meal meal = MealService.toEntity(member, pending.request());
+            entityManager.persist(meal);
+            meals.add(meal);
+        }
+        entityManager.flush();
+        // 파생 데이터 행은 배치 전체를 모아 정해진 순서 (스케치 -> 연속 기록, 각각 회원 id 순) 로 잠근다
+        Map<Long, List<LocalDateTime>> changes = new HashMap<>();
+        for (Meal meal : meals) {
+            changes.computeIfAbsent(meal.getMember().getId(), id -> new ArrayList<>()).add(meal.getModifiedAt());
+            heavyHitterService.recordMeal(meal.getMember().getId(), MealService.foodNames(meal));
+        }
+        mealSketchService.touchAll(changes);
+        memberStreakService.touchAll(changes);
+
+        return meals.stream()
+                .map(MealDto.Response::from)
+                .toList();
+    }
+
+    // claimed: 워커가 저장하려고 가져갔거나 요청 스레드가 시간 초과로 취소했음 (먼저 CAS 한 쪽이 이긴다)
+    private record PendingMeal(Long memberId, MealDto.Request request, CompletableFuture<MealDto.Response> result,
+                               AtomicBoolean claimed) {
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
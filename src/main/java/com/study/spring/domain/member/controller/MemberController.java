@@ -1,14 +1,22 @@
 package com.study.spring.domain.member.controller;
 
 import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.service.EnergyBudgetService;
+import com.study.spring.domain.member.service.MemberPurgeService;
 import com.study.spring.domain.member.service.MemberService;
+import com.study.spring.domain.member.service.MemberStreakService;
+import com.study.spring.global.auth.AuthPrincipal;
+import com.study.spring.global.auth.TokenProvider;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,6 +24,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MemberController {
     private final MemberService memberService;
+    private final EnergyBudgetService energyBudgetService;
+    private final TokenProvider tokenProvider;
+    private final MemberPurgeService memberPurgeService;
+    private final MemberStreakService memberStreakService;
 
     // 회원 가입+프로필 이미지 생성
     @PostMapping(value = "/multipart", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -25,10 +37,13 @@ public class MemberController {
     	return ResponseEntity.ok(memberService.createMemberWithImage(request, profileImage));
     }
    
-    // 로그인 (닉네임 기반)
+    // 로그인 (닉네임 기반), 액세스 토큰은 Authorization 헤더로 내려준다
     @PostMapping("/login")
     public ResponseEntity<MemberDto.Response> login(@RequestBody MemberDto.LoginRequest request) {
-        return ResponseEntity.ok(memberService.authenticateByNickname(request.getNickname(), request.getPassword()));
+        MemberDto.Response member = memberService.authenticateByNickname(request.getNickname(), request.getPassword());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.issue(member.getId(), member.getRole()))
+                .body(member);
     }
 
     // ID로 회원 조회
@@ -37,6 +52,27 @@ public class MemberController {
         return ResponseEntity.ok(memberService.getMember(id));
     }
 
+    // 하루 권장 열량 대비 섭취량 조회
+    @GetMapping("/{id}/budget")
+    public ResponseEntity<MemberDto.BudgetResponse> getBudget(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(energyBudgetService.getBudget(id, date != null ? date : LocalDate.now()));
+    }
+
+    // 연속 기록 일수와 이번 달 목표 달성 일수
+    @GetMapping("/{id}/streak")
+    public ResponseEntity<MemberDto.StreakResponse> getStreak(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(memberStreakService.getStreak(id));
+    }
+
+    // 연속 기록 상태를 식사 기록 이력에서 다시 만들기 (관리자)
+    @PostMapping("/{id}/streak/rebuild")
+    public ResponseEntity<MemberDto.StreakResponse> rebuildStreak(AuthPrincipal principal, @PathVariable("id") Long id) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(memberStreakService.rebuildStreak(id));
+    }
+
     // 닉네임으로 회원 조회
     @GetMapping("/nickname/{nickname}")
     public ResponseEntity<MemberDto.Response> getMemberByNickname(@PathVariable("nickname") String nickname) {
@@ -78,13 +114,30 @@ public class MemberController {
         memberService.updateProfileImage(id, profileImage);
         return ResponseEntity.noContent().build();
     }
-    // 회원 탈퇴
+
+    // 프로필 이미지 변경 (재개 가능 업로드로 올린 파일, 완료 처리까지 함께)
+    @PatchMapping("/{id}/profile-image/{uploadId}")
+    public ResponseEntity<Void> updateProfileImageFromUpload(
+            @PathVariable("id") Long id,
+            @PathVariable("uploadId") String uploadId) {
+        memberService.updateProfileImageFromUpload(id, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 회원 탈퇴 (연관 데이터는 백그라운드에서 정리)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMember(@PathVariable("id") Long id) {
         memberService.deleteMember(id);
         return ResponseEntity.noContent().build();
     }
 
+    // 탈퇴 회원 데이터 정리 진행 상황 (관리자, 탈퇴한 회원의 토큰은 이미 거부된다)
+    @GetMapping("/{id}/purge")
+    public ResponseEntity<MemberDto.PurgeResponse> getPurgeProgress(AuthPrincipal principal, @PathVariable("id") Long id) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(memberPurgeService.getProgress(id));
+    }
+
     // 이메일 중복 확인
     @GetMapping("/check-email")
     public ResponseEntity<Boolean> checkEmailExists(@RequestParam("email") String email) {
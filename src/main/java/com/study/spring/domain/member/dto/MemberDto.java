@@ -3,6 +3,8 @@ package com.study.spring.domain.member.dto;
 import com.study.spring.domain.member.entity.ActivityLevel;
 import com.study.spring.domain.member.entity.Gender;
 import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.entity.MemberPurge;
+import com.study.spring.domain.member.entity.PurgePhase;
 import com.study.spring.domain.member.entity.Role;
 
 import lombok.AllArgsConstructor;
@@ -12,6 +14,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import org.springframework.web.multipart.MultipartFile;
 
@@ -41,6 +44,7 @@ public class MemberDto {
         private Float height;
         private Float weight;
         private ActivityLevel activityLevel;
+        private String profileImageUploadId;  // profileImage 파트 대신 재개 가능 업로드(/api/uploads)로 올린 이미지
 //        private String role;
 //        private MultipartFile profileImage;
         
@@ -80,4 +84,77 @@ public class MemberDto {
                     .build();
         }
     }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class BudgetResponse {
+        private Long memberId;
+        private LocalDate date;
+        private Integer bmr;
+        private Integer targetCalories;
+        private Float targetCarbohydrate;
+        private Float targetProtein;
+        private Float targetFat;
+        private Integer consumedCalories;
+        private Float consumedCarbohydrate;
+        private Float consumedProtein;
+        private Float consumedFat;
+        private Integer remainingCalories;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class StreakResponse {
+        private Long memberId;
+        private LocalDate date;
+        private int currentStreak;        // 오늘(기록 전이면 어제) 까지 연속 기록 일수
+        private int longestStreak;
+        private boolean loggedToday;
+        private LocalDate monthStart;
+        private int loggedDays;           // 이번 달 기록한 날 (오늘 포함)
+        private int elapsedDays;          // 이번 달 지나간 날 (오늘 제외)
+        private int withinBudgetDays;     // 지나간 날 중 권장 열량 이하로 기록한 날
+        private Integer targetCalories;
+        private boolean rebuilding;       // 기록 이력에서 다시 만드는 중 (그동안은 이전 값, 없으면 0)
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class PurgeResponse {
+        private Long memberId;
+        private PurgePhase phase;
+        private long deletedMeals;
+        private long deletedFoods;
+        private long deletedComments;
+        private long deletedBoards;
+        private long deletedIssues;
+        private long deletedFiles;
+        private int attempts;
+        private String lastError;
+        private LocalDateTime createdAt;
+        private LocalDateTime completedAt;
+
+        public static PurgeResponse from(MemberPurge purge) {
+            return PurgeResponse.builder()
+                    .memberId(purge.getMemberId())
+                    .phase(purge.getPhase())
+                    .deletedMeals(purge.getDeletedMeals())
+                    .deletedFoods(purge.getDeletedFoods())
+                    .deletedComments(purge.getDeletedComments())
+                    .deletedBoards(purge.getDeletedBoards())
+                    .deletedIssues(purge.getDeletedIssues())
+                    .deletedFiles(purge.getDeletedFiles())
+                    .attempts(purge.getAttempts())
+                    .lastError(purge.getLastError())
+                    .createdAt(purge.getCreatedAt())
+                    .completedAt(purge.getCompletedAt())
+                    .build();
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.study.spring.domain.member.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 탈퇴 회원 데이터 정리 작업의 진행 상황 (배치마다 같은 트랜잭션에서 갱신되므로 재시작 후 이어서 진행)
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@Entity
+@Table(name = "member_purge")
+@Getter
+@NoArgsConstructor
+public class MemberPurge {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PurgePhase phase;
+
+    private String profileImageUrl;
+
+    private long deletedMeals;
+    private long deletedFoods;
+    private long deletedComments;
+    private long deletedBoards;
+    private long deletedIssues;
+    private long deletedFiles;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
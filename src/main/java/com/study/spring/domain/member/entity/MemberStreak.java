@@ -0,0 +1,63 @@
+package com.study.spring.domain.member.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 회원별 연속 기록 / 목표 달성 상태 (MemberStreakService 참고)
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@Entity
+@Table(name = "member_streak", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_member_streak_member", columnNames = {"member_id"})
+})
+@Getter
+@NoArgsConstructor
+public class MemberStreak {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    // logged, calories 의 첫째 날
+    @Column(nullable = false)
+    private LocalDate baseDay;
+
+    // 날짜별 기록 여부 비트맵
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] logged;
+
+    // 날짜별 섭취 칼로리 (int 배열)
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] calories;
+
+    // baseDay 전날에서 끝나는 연속 기록 일수
+    private int carry;
+
+    // baseDay 전에 끝난 가장 긴 연속 기록 일수
+    private int longestBefore;
+
+    // true 면 기록 이력에서 다시 만들어야 한다 (증분 반영 불가)
+    private boolean rebuildNeeded;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,11 @@
+package com.study.spring.domain.member.entity;
+
+// 탈퇴 회원 데이터 정리 단계 (FK 순서대로 진행)
+public enum PurgePhase {
+    MEALS,      // 식사 + 음식 + 식사 이미지 + 식사 보관 파일
+    COMMENTS,   // 회원이 쓴 댓글 + 회원 게시글의 댓글
+    BOARDS,
+    ISSUES,
+    MEMBER,     // 회원 행 + 프로필 이미지
+    DONE
+}
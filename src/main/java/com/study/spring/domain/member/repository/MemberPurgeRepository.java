@@ -0,0 +1,24 @@
+package com.study.spring.domain.member.repository;
+
+import com.study.spring.domain.member.entity.MemberPurge;
+import com.study.spring.domain.member.entity.PurgePhase;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MemberPurgeRepository extends JpaRepository<MemberPurge, Long> {
+    Optional<MemberPurge> findByMemberId(Long memberId);
+
+    boolean existsByMemberId(Long memberId);
+
+    // 끝나지 않았고 max-attempts 번 실패하지 않은 작업
+    List<MemberPurge> findByPhaseNotAndAttemptsLessThanOrderById(PurgePhase phase, int attempts);
+
+    // 토큰 유효기간 안에 탈퇴한 회원 (RevokedMembers)
+    @Query("SELECT p.memberId FROM MemberPurge p WHERE p.createdAt >= :since")
+    List<Long> findMemberIdsStartedSince(@Param("since") LocalDateTime since);
+}
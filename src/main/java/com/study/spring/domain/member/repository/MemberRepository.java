@@ -1,15 +1,75 @@
 package com.study.spring.domain.member.repository;
 
+import com.study.spring.domain.member.dto.MemberDto;
 import com.study.spring.domain.member.entity.Member;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface MemberRepository extends JpaRepository<Member, Long> {
-    Optional<Member> findByEmail(String email);
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+    // 쿼리 캐시 (member 테이블 변경 시 자동 무효화)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "member-query")})
     Optional<Member> findByNickname(String nickname);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "member-query")})
     boolean existsByEmail(String email);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "member-query")})
     boolean existsByNickname(String nickname);
+
+    // 연속 기록 다시 만들기 (MemberStreakService.rebuild): 탈퇴한 회원이면 행을 만들지 않는다.
+    // 잠금을 잡은 뒤 커밋된 최신 상태를 봐야 하고 자주 불리지 않으므로 쿼리 캐시를 쓰지 않는다
+    boolean existsByIdAndDeletedAtIsNull(Long id);
+
+    // 탈퇴 처리와 식사 기록 보관이 같은 회원을 동시에 다루지 않도록 회원 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Member m WHERE m.id = :id")
+    Optional<Member> findByIdForUpdate(@Param("id") Long id);
+
     List<Member> findByNicknameContainingIgnoreCaseOrEmailContainingIgnoreCase(String nickname, String email);
-} 
\ No newline at end of file
+
+    // query 는 MemberService.escapeLike 로 %, _, ! 를 이스케이프해서 넘긴다 (MySQL 문자열 리터럴에서는 \ 자체가 이스케이프 문자라 ! 를 쓴다)
+    @Query("SELECT new com.study.spring.domain.member.dto.MemberDto$Response(m.id, m.email, m.nickname, m.name, m.birthAt, m.gender, m.height, m.weight, m.activityLevel, m.profileImageUrl, m.role) " +
+           "FROM Member m WHERE m.deletedAt IS NULL AND (LOWER(m.nickname) LIKE LOWER(CONCAT('%', :query, '%')) ESCAPE '!' OR LOWER(m.email) LIKE LOWER(CONCAT('%', :query, '%')) ESCAPE '!')")
+    List<MemberDto.Response> searchResponses(@Param("query") String query);
+
+    // 업로드 파일 정리 (OrphanUploadCollector): 참조 중인 프로필 이미지. 탈퇴 처리 중인 회원 것도 포함 (정리 작업이 지운다)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT m.profileImageUrl FROM Member m WHERE m.profileImageUrl IS NOT NULL")
+    Stream<String> streamProfileImageUrls();
+
+    // 지우기 직전 재확인: 파일명 그대로인 값과, 경로/URL 이라 마지막 조각으로 비교해야 하는 값 (호출하는 쪽에서 파일명으로 맞춘다)
+    default List<String> findProfileImageUrlsMatching(Collection<String> fileNames) {
+        return findProfileImageUrlsMatching(fileNames, "\\");
+    }
+
+    @Query("SELECT m.profileImageUrl FROM Member m WHERE m.profileImageUrl IN :fileNames OR LOCATE('/', m.profileImageUrl) > 0 " +
+           "OR LOCATE(:backslash, m.profileImageUrl) > 0 OR LOCATE('?', m.profileImageUrl) > 0 OR LOCATE('#', m.profileImageUrl) > 0")
+    List<String> findProfileImageUrlsMatching(@Param("fileNames") Collection<String> fileNames, @Param("backslash") String backslash);
+
+    // 로그인 시 평문 비밀번호를 해시로 교체. 그사이 비밀번호가 바뀌었으면 (old 와 다르면) 0 건
+    @Transactional
+    @Modifying
+    @Query("UPDATE Member m SET m.password = :hash WHERE m.id = :id AND m.password = :old")
+    int upgradePassword(@Param("id") Long id, @Param("old") String old, @Param("hash") String hash);
+
+    // 정리 작업 마지막 단계 (연관 데이터 삭제 후)
+    @Modifying
+    @Query("DELETE FROM Member m WHERE m.id = :id")
+    int hardDeleteById(@Param("id") Long id);
+}
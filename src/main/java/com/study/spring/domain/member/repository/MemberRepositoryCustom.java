@@ -0,0 +1,13 @@
+package com.study.spring.domain.member.repository;
+
+import com.study.spring.domain.member.entity.Member;
+
+import java.util.Optional;
+
+public interface MemberRepositoryCustom {
+    // 이메일(natural-id) 조회 - 2차 캐시 사용
+    Optional<Member> findByEmail(String email);
+
+    // 벌크 UPDATE 로 바꾼 회원을 2차 캐시 (member 영역) 에서 제거
+    void evictFromCache(Long id);
+}
@@ -0,0 +1,26 @@
+package com.study.spring.domain.member.repository;
+
+import com.study.spring.domain.member.entity.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class MemberRepositoryImpl implements MemberRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Member> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Member.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    public void evictFromCache(Long id) {
+        entityManager.getEntityManagerFactory().getCache().evict(Member.class, id);
+    }
+}
@@ -0,0 +1,24 @@
+package com.study.spring.domain.member.repository;
+
+import com.study.spring.domain.member.entity.MemberStreak;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface MemberStreakRepository extends JpaRepository<MemberStreak, Long> {
+    Optional<MemberStreak> findByMemberId(Long memberId);
+
+    // 같은 회원의 식사 쓰기끼리 순서대로 반영되도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM MemberStreak s WHERE s.memberId = :memberId")
+    Optional<MemberStreak> findByMemberIdForUpdate(@Param("memberId") Long memberId);
+
+    @Modifying
+    @Query("DELETE FROM MemberStreak s WHERE s.memberId = :memberId")
+    int deleteByMemberId(@Param("memberId") Long memberId);
+}
@@ -0,0 +1,191 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.meal.repository.FoodRepository;
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.entity.ActivityLevel;
+import com.study.spring.domain.member.entity.Gender;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.repository.MemberRepository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Objects;
+
+/**
+ * 회원 프로필(키, 몸무게, 생년월일, 성별, 활동량)로 하루 권장 열량(BMR/TDEE)과 탄단지 목표를 계산한다.
+ * 계산 결과는 회원별로 캐시하고 (공유 JCache CacheManager 의 energy-budget 캐시, 크기/만료는 ehcache.xml), 프로필이 바뀌면 커밋 이후 무효화한다.
+ * 회원을 읽는 동안 무효화가 끼어들면 읽은 값은 캐시에 넣지 않는다 (evict 가 올리는 generation 으로 확인).
+ */
+@Service
+@Transactional(readOnly = true)
+public class EnergyBudgetService {
+    // 탄수화물 50%, 단백질 20%, 지방 30% (kcal 기준)
+    private static final double CARBOHYDRATE_RATIO = 0.5;
+    private static final double PROTEIN_RATIO = 0.2;
+    private static final double FAT_RATIO = 0.3;
+
+    static final String CACHE_NAME = "energy-budget";
+
+    private final MemberRepository memberRepository;
+    private final FoodRepository foodRepository;
+    private final Cache<Long, Target> targets;
+    private final Object generationLock = new Object();
+    private long generation; // evict 마다 1 증가 (generationLock)
+
+    public EnergyBudgetService(MemberRepository memberRepository, FoodRepository foodRepository, CacheManager cacheManager) {
+        this.memberRepository = memberRepository;
+        this.foodRepository = foodRepository;
+        this.targets = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "ehcache.xml 에 " + CACHE_NAME + " 캐시가 없습니다.");
+    }
+
+    public MemberDto.BudgetResponse getBudget(Long memberId, LocalDate date) {
+        return toBudget(memberId, date, getTarget(memberId, date));
+    }
+
+    // 이미 조회한 회원으로 계산 (대시보드처럼 회원을 먼저 읽은 경우 캐시가 비어 있어도 회원을 다시 읽지 않는다).
+    // 언제 읽은 회원인지 알 수 없으므로 이렇게 계산한 값은 캐시에 넣지 않는다
+    public MemberDto.BudgetResponse getBudget(MemberDto.Response member, LocalDate date) {
+        Long memberId = member.getId();
+        Target target = cachedTarget(memberId, date);
+        if (target == null) {
+            target = calculate(member.getBirthAt(), member.getHeight(), member.getWeight(),
+                    member.getGender(), member.getActivityLevel(), date);
+        }
+        return toBudget(memberId, date, target);
+    }
+
+    private MemberDto.BudgetResponse toBudget(Long memberId, LocalDate date, Target target) {
+        FoodRepository.NutritionTotal consumed = foodRepository.sumNutritionByMemberIdAndModifiedAtBetween(
+                memberId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+
+        int consumedCalories = consumed.getCalories() != null ? consumed.getCalories().intValue() : 0;
+
+        return MemberDto.BudgetResponse.builder()
+                .memberId(memberId)
+                .date(date)
+                .bmr(target.bmr())
+                .targetCalories(target.calories())
+                .targetCarbohydrate(target.carbohydrate())
+                .targetProtein(target.protein())
+                .targetFat(target.fat())
+                .consumedCalories(consumedCalories)
+                .consumedCarbohydrate(toFloat(consumed.getCarbohydrate()))
+                .consumedProtein(toFloat(consumed.getProtein()))
+                .consumedFat(toFloat(consumed.getFat()))
+                .remainingCalories(target.calories() - consumedCalories)
+                .build();
+    }
+
+    public int getTargetCalories(Long memberId, LocalDate date) {
+        return getTarget(memberId, date).calories();
+    }
+
+    // 프로필 변경 시 호출 (트랜잭션 안이면 커밋 이후에 제거)
+    public void evict(Long memberId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(memberId);
+                }
+            });
+        }
+        remove(memberId);
+    }
+
+    private void remove(Long memberId) {
+        synchronized (generationLock) {
+            generation++;
+            targets.remove(memberId);
+        }
+    }
+
+    private Target getTarget(Long memberId, LocalDate date) {
+        Target cached = cachedTarget(memberId, date);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt;
+        synchronized (generationLock) {
+            loadedAt = generation;
+        }
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+
+        Target target = calculate(member, date);
+        synchronized (generationLock) {
+            if (generation == loadedAt) {
+                targets.put(memberId, target);
+            }
+        }
+        return target;
+    }
+
+    // 생일이 지나 나이가 바뀌었으면 null
+    private Target cachedTarget(Long memberId, LocalDate date) {
+        Target cached = targets.get(memberId);
+        if (cached != null && cached.age() == ageAt(cached.birthAt(), date)) {
+            return cached;
+        }
+        return null;
+    }
+
+    static Target calculate(Member member, LocalDate date) {
+        return calculate(member.getBirthAt(), member.getHeight(), member.getWeight(),
+                member.getGender(), member.getActivityLevel(), date);
+    }
+
+    static Target calculate(LocalDate birthAt, Float height, Float weight, Gender gender,
+                            ActivityLevel activityLevel, LocalDate date) {
+        int age = ageAt(birthAt, date);
+
+        // Mifflin-St Jeor 공식
+        double bmr = 10 * weight + 6.25 * height - 5 * age + genderOffset(gender);
+        double tdee = bmr * activityFactor(activityLevel);
+
+        return new Target(
+                birthAt,
+                age,
+                (int) Math.round(bmr),
+                (int) Math.round(tdee),
+                (float) (tdee * CARBOHYDRATE_RATIO / 4),
+                (float) (tdee * PROTEIN_RATIO / 4),
+                (float) (tdee * FAT_RATIO / 9));
+    }
+
+    private static int ageAt(LocalDate birthAt, LocalDate date) {
+        return Math.max(Period.between(birthAt, date).getYears(), 0);
+    }
+
+    private static double genderOffset(Gender gender) {
+        if (gender == null) {
+            return -78; // 성별 미입력 시 남녀 평균값
+        }
+        return gender == Gender.MALE ? 5 : -161;
+    }
+
+    private static double activityFactor(ActivityLevel activityLevel) {
+        return switch (activityLevel) {
+            case LOW -> 1.2;
+            case MODERATE -> 1.55;
+            case HIGH -> 1.725;
+        };
+    }
+
+    private static Float toFloat(Double value) {
+        return value != null ? value.floatValue() : 0f;
+    }
+
+    record Target(LocalDate birthAt, int age, int bmr, int calories, float carbohydrate, float protein, float fat) {
+    }
+}
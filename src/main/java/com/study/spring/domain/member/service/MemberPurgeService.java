@@ -0,0 +1,289 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.board.repository.BoardRepository;
+import com.study.spring.domain.board.repository.CommentRepository;
+import com.study.spring.domain.board.service.BoardSearchIndex;
+import com.study.spring.domain.issue.repository.IssueRepository;
+import com.study.spring.domain.meal.repository.FoodRepository;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.meal.service.MealArchiveService;
+import com.study.spring.domain.meal.service.MealSketchService;
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.entity.MemberPurge;
+import com.study.spring.domain.member.entity.PurgePhase;
+import com.study.spring.domain.member.repository.MemberPurgeRepository;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.util.FileUploadUtil;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 탈퇴 회원의 식사/음식/댓글/게시글/공지/업로드 파일을 백그라운드에서 정리한다.
+ * 한 배치(batch-size 건)마다 id 를 조회해서 IN 조건 DELETE 로 지우고, 진행 상황을 같은 트랜잭션에서 기록한다.
+ * 트랜잭션이 짧아 테이블을 오래 잠그지 않고, 서버가 재시작돼도 남은 단계부터 이어서 진행한다.
+ * 업로드/보관 파일은 배치가 커밋된 뒤에 지운다. 실패한 작업은 실패 횟수만큼 간격을 늘려 (poll-seconds 의 2배씩, 최대 max-backoff-seconds)
+ * 다시 시도하고, max-attempts 번 실패하면 멈추고 에러 로그를 남긴다 (원인을 고친 뒤 attempts 를 0 으로 돌리면 다시 진행).
+ */
+@Service
+@Lazy(false) // prod 프로필의 지연 초기화와 상관없이 시작 시 워커를 띄운다
+@RequiredArgsConstructor
+public class MemberPurgeService {
+    private static final Logger log = LoggerFactory.getLogger(MemberPurgeService.class);
+
+    private final MemberPurgeRepository memberPurgeRepository;
+    private final MemberRepository memberRepository;
+    private final MealRepository mealRepository;
+    private final FoodRepository foodRepository;
+    private final CommentRepository commentRepository;
+    private final BoardRepository boardRepository;
+    private final IssueRepository issueRepository;
+    private final BoardSearchIndex boardSearchIndex;
+    private final FileUploadUtil fileUploadUtil;
+    private final MealArchiveService mealArchiveService;
+    private final MealSketchService mealSketchService;
+    private final MemberStreakService memberStreakService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${member.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${member.purge.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    @Value("${member.purge.poll-seconds:60}")
+    private long pollSeconds;
+
+    @Value("${member.purge.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${member.purge.max-backoff-seconds:21600}")
+    private long maxBackoffSeconds;
+
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "member-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 재시작 시 남아 있던 작업 재개 + 실패한 작업 재시도
+        worker.scheduleWithFixedDelay(this::runPending, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // MemberService.deleteMember 트랜잭션 안에서 호출, 커밋 이후 바로 정리 시작
+    public void schedule(Member member) {
+        memberPurgeRepository.save(MemberPurge.builder()
+                .memberId(member.getId())
+                .phase(PurgePhase.MEALS)
+                .profileImageUrl(member.getProfileImageUrl())
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    worker.execute(MemberPurgeService.this::runPending);
+                }
+            });
+        } else {
+            worker.execute(this::runPending);
+        }
+    }
+
+    public MemberDto.PurgeResponse getProgress(Long memberId) {
+        MemberPurge purge = memberPurgeRepository.findByMemberId(memberId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "탈퇴 처리 내역이 없습니다."));
+        return MemberDto.PurgeResponse.from(purge);
+    }
+
+    void runPending() {
+        LocalDateTime now = LocalDateTime.now();
+        for (MemberPurge purge : memberPurgeRepository.findByPhaseNotAndAttemptsLessThanOrderById(PurgePhase.DONE, maxAttempts)) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (purge.getAttempts() > 0 && purge.getUpdatedAt() != null && purge.getUpdatedAt().plusSeconds(backoffSeconds(purge.getAttempts())).isAfter(now)) {
+                continue; // 최근에 실패한 작업은 조금 더 기다린다
+            }
+            try {
+                run(purge.getId());
+            } catch (DataIntegrityViolationException e) {
+                // 정리 도중 새로 들어온 데이터가 FK 로 남아 있으면 처음 단계부터 다시
+                log.warn("member {} purge restarted: {}", purge.getMemberId(), e.getMostSpecificCause().getMessage());
+                recordFailure(purge.getId(), e, PurgePhase.MEALS);
+            } catch (RuntimeException e) {
+                log.error("member {} purge failed", purge.getMemberId(), e);
+                recordFailure(purge.getId(), e, null);
+            }
+        }
+    }
+
+    private void run(Long purgeId) {
+        while (!Thread.currentThread().isInterrupted()) {
+            PurgePhase phase = transactionTemplate.execute(status -> step(purgeId));
+            if (phase == PurgePhase.DONE) {
+                return;
+            }
+            if (batchPauseMs > 0) {
+                try {
+                    Thread.sleep(batchPauseMs); // 다른 요청이 락을 잡을 틈을 준다
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    // 한 배치 처리 후 현재 단계를 돌려준다
+    private PurgePhase step(Long purgeId) {
+        MemberPurge purge = memberPurgeRepository.findById(purgeId).orElseThrow();
+        Long memberId = purge.getMemberId();
+        Pageable batch = PageRequest.of(0, batchSize);
+        MemberPurge.MemberPurgeBuilder next = purge.toBuilder();
+
+        switch (purge.getPhase()) {
+            case MEALS -> {
+                List<Long> ids = mealRepository.findIdsByMemberId(memberId, batch);
+                if (ids.isEmpty()) {
+                    // 보관 파일로 옮겨진 식사 기록과 식사에서 파생된 데이터도 함께 삭제
+                    mealSketchService.deleteSketches(memberId);
+                    memberStreakService.deleteStreak(memberId);
+                    next.phase(PurgePhase.COMMENTS)
+                            .deletedFiles(purge.getDeletedFiles() + mealArchiveService.deleteArchives(memberId));
+                    break;
+                }
+                List<String> images = mealRepository.findImageUrlsByIdIn(ids);
+                int foods = foodRepository.deleteByMealIdIn(ids);
+                int meals = mealRepository.deleteByIdIn(ids);
+                next.deletedFoods(purge.getDeletedFoods() + foods)
+                        .deletedMeals(purge.getDeletedMeals() + meals)
+                        .deletedFiles(purge.getDeletedFiles() + deleteFilesAfterCommit(images));
+            }
+            case COMMENTS -> {
+                List<Long> ids = commentRepository.findIdsByMemberIdOrBoardMemberId(memberId, batch);
+                if (ids.isEmpty()) {
+                    next.phase(PurgePhase.BOARDS);
+                    break;
+                }
+                // 다른 회원 게시글에 달린 댓글도 지우므로 그 게시글들은 커밋 후 다시 색인
+                markStaleAfterCommit(commentRepository.findBoardIdsByIdIn(ids));
+                next.deletedComments(purge.getDeletedComments() + commentRepository.deleteByIdIn(ids));
+            }
+            case BOARDS -> {
+                List<Long> ids = boardRepository.findIdsByMemberId(memberId, batch);
+                if (ids.isEmpty()) {
+                    next.phase(PurgePhase.ISSUES);
+                    break;
+                }
+                markStaleAfterCommit(ids);
+                next.deletedBoards(purge.getDeletedBoards() + boardRepository.deleteByIdIn(ids));
+            }
+            case ISSUES -> {
+                List<Long> ids = issueRepository.findIdsByAdminId(memberId, batch);
+                if (ids.isEmpty()) {
+                    next.phase(PurgePhase.MEMBER);
+                    break;
+                }
+                next.deletedIssues(purge.getDeletedIssues() + issueRepository.deleteByIdIn(ids));
+            }
+            case MEMBER -> {
+                memberRepository.hardDeleteById(memberId);
+                next.phase(PurgePhase.DONE)
+                        .deletedFiles(purge.getDeletedFiles() + deleteFilesAfterCommit(List.of(nullToEmpty(purge.getProfileImageUrl()))))
+                        .completedAt(LocalDateTime.now())
+                        .lastError(null);
+            }
+            case DONE -> {
+            }
+        }
+
+        return memberPurgeRepository.save(next.build()).getPhase();
+    }
+
+    // 검색 색인은 배치가 커밋된 뒤에 갱신 (롤백되면 색인도 그대로)
+    private void markStaleAfterCommit(List<Long> boardIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                boardSearchIndex.markStale(boardIds);
+            }
+        });
+    }
+
+    // 배치가 커밋된 뒤에 파일을 지운다 (롤백되면 행도 파일도 그대로 남아 다음 시도에서 다시 지운다). 지울 파일 수
+    private int deleteFilesAfterCommit(List<String> storedFilenames) {
+        List<String> files = storedFilenames.stream()
+                .filter(storedFilename -> storedFilename != null && !storedFilename.isBlank())
+                .toList();
+        if (files.isEmpty()) {
+            return 0;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                files.forEach(fileUploadUtil::deleteFile);
+            }
+        });
+        return files.size();
+    }
+
+    // 실패 횟수에 따른 재시도 간격: poll-seconds, 2배, 4배 ... (최대 max-backoff-seconds)
+    long backoffSeconds(int attempts) {
+        long backoff = pollSeconds << Math.min(attempts - 1, 30);
+        return Math.min(backoff, maxBackoffSeconds);
+    }
+
+    private void recordFailure(Long purgeId, RuntimeException e, PurgePhase restartPhase) {
+        transactionTemplate.executeWithoutResult(status -> memberPurgeRepository.findById(purgeId).ifPresent(purge -> {
+            MemberPurge.MemberPurgeBuilder next = purge.toBuilder()
+                    .attempts(purge.getAttempts() + 1)
+                    .lastError(truncate(String.valueOf(e.getMessage())));
+            if (restartPhase != null) {
+                next.phase(restartPhase);
+            }
+            if (purge.getAttempts() + 1 >= maxAttempts) {
+                log.error("member {} purge stopped after {} attempts, phase {}: {}",
+                        purge.getMemberId(), purge.getAttempts() + 1, purge.getPhase(), e.getMessage());
+            }
+            memberPurgeRepository.save(next.build());
+        }));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -6,11 +6,16 @@ import com.study.spring.domain.member.entity.Member;
 import com.study.spring.domain.member.entity.Role;
 import com.study.spring.domain.member.repository.MemberRepository;
 import com.study.spring.domain.member.util.FileUploadUtil;
+import com.study.spring.domain.member.util.PasswordHasher;
+import com.study.spring.domain.upload.service.UploadSessionService;
+import com.study.spring.global.auth.RevokedMembers;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDateTime;
@@ -23,9 +28,21 @@ import java.util.List;
 public class MemberService {
     private final MemberRepository memberRepository;
     private final FileUploadUtil fileUploadUtil;
-    
-    	@Transactional
+    private final EnergyBudgetService energyBudgetService;
+    private final PasswordHasher passwordHasher;
+    private final MemberPurgeService memberPurgeService;
+    private final UploadSessionService uploadSessionService;
+    private final RevokedMembers revokedMembers;
+    private final TransactionTemplate transactionTemplate;
+
+    // 비밀번호 해시는 DB 커넥션을 잡기 전에 계산하고, 저장만 트랜잭션 안에서
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MemberDto.Response createMemberWithImage(MemberDto.MultipartRequest request, MultipartFile profileImage) {
+        String passwordHash = passwordHasher.hash(request.getPassword());
+        return transactionTemplate.execute(status -> createMember(request, profileImage, passwordHash));
+    }
+
+    private MemberDto.Response createMember(MemberDto.MultipartRequest request, MultipartFile profileImage, String passwordHash) {
        // 이메일 중복 확인
        if (memberRepository.existsByEmail(request.getEmail())) {
         throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 존재하는 이메일입니다.");
@@ -41,6 +58,8 @@ public class MemberService {
     
     if (profileImage != null && !profileImage.isEmpty()) {
         profileImageUrl = fileUploadUtil.saveFile(profileImage); // <- save image
+    } else if (request.getProfileImageUploadId() != null) {
+        profileImageUrl = uploadSessionService.attach(request.getProfileImageUploadId(), "signup:" + request.getEmail());
     }
     
     System.out.println("프로필 이미지 업로드 완료: " + profileImageUrl);
@@ -48,7 +67,7 @@ public class MemberService {
     // Member 엔티티 생성 (편의 메서드 사용)
         Member member = Member.createMember()
                 .email(request.getEmail())
-                .password(request.getPassword()) // 실제로는 암호화 필요
+                .password(passwordHash)
                 .nickname(request.getNickname())
                 .name(request.getName())
                 .birthAt(request.getBirthAt())
@@ -66,6 +85,7 @@ public class MemberService {
 
     public MemberDto.Response getMember(Long id) {
         Member member = memberRepository.findById(id)
+                .filter(m -> !m.isDeleted())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
         
         return MemberDto.Response.from(member);
@@ -73,6 +93,7 @@ public class MemberService {
 
     public MemberDto.Response getMemberByEmail(String email) {
         Member member = memberRepository.findByEmail(email)
+                .filter(m -> !m.isDeleted())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
         
         return MemberDto.Response.from(member);
@@ -80,24 +101,32 @@ public class MemberService {
 
     public MemberDto.Response getMemberByNickname(String nickname) {
         Member member = memberRepository.findByNickname(nickname)
+                .filter(m -> !m.isDeleted())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
         
         return MemberDto.Response.from(member);
     }
 
+    // 해시 계산 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 실행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MemberDto.Response authenticateByNickname(String nickname, String password) {
         try {
             Member member = memberRepository.findByNickname(nickname)
+                    .filter(m -> !m.isDeleted())
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
 
-            // Debug log
-            System.out.println("입력된 비밀번호: " + password);
-            System.out.println("DB 비밀번호: " + member.getPassword());
-
-            if (!member.getPassword().equals(password)) {
+            if (!passwordHasher.matches(password, member.getPassword())) {
                 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "비밀번호가 일치하지 않습니다.");
             }
 
+            // 평문으로 저장돼 있던 비밀번호는 로그인 성공 시 해시로 바꿔 저장.
+            // 엔티티 전체를 merge 하지 않고 비밀번호 컬럼만, 읽은 값 그대로일 때만 바꾼다 (그사이 변경된 값은 덮어쓰지 않음)
+            if (passwordHasher.needsUpgrade(member.getPassword())) {
+                if (memberRepository.upgradePassword(member.getId(), member.getPassword(), passwordHasher.hash(password)) > 0) {
+                    memberRepository.evictFromCache(member.getId());
+                }
+            }
+
             return MemberDto.Response.from(member);
         } catch (Exception e) {
             e.printStackTrace();  // This will print the actual cause to the server logs
@@ -105,9 +134,16 @@ public class MemberService {
         }
     }
 
-    @Transactional
+    // 비밀번호를 바꾸는 경우 해시는 트랜잭션 밖에서 미리 계산
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MemberDto.Response updateMemberWithImage(Long id, MemberDto.MultipartRequest request, MultipartFile imageFile) {
+        String passwordHash = request.getPassword() != null ? passwordHasher.hash(request.getPassword()) : null;
+        return transactionTemplate.execute(status -> updateMember(id, request, imageFile, passwordHash));
+    }
+
+    private MemberDto.Response updateMember(Long id, MemberDto.MultipartRequest request, MultipartFile imageFile, String passwordHash) {
         Member member = memberRepository.findById(id)
+                .filter(m -> !m.isDeleted())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
 
         // 이메일 변경 시 중복 확인
@@ -124,6 +160,8 @@ public class MemberService {
         
         if (imageFile != null && !imageFile.isEmpty()) {
         	imageUrl = fileUploadUtil.saveFile(imageFile);
+        } else if (request.getProfileImageUploadId() != null) {
+        	imageUrl = uploadSessionService.attach(request.getProfileImageUploadId(), "member:" + id);
         }
 
         System.out.println("프로필 이미지 업로드 완료: " + imageUrl);
@@ -131,7 +169,7 @@ public class MemberService {
        // Member 엔티티 업데이트 (편의 메서드 사용)
        Member updateMember = member.toBuilder()
        .email(request.getEmail())
-       .password(request.getPassword()) // 실제로는 암호화 필요
+       .password(passwordHash != null ? passwordHash : member.getPassword())
        .nickname(request.getNickname())
        .name(request.getName())
        .birthAt(request.getBirthAt())
@@ -143,30 +181,53 @@ public class MemberService {
        .build();
 
 		//Member updatedMember = memberRepository.save(member);
-		return MemberDto.Response.from(memberRepository.save(updateMember));
+		Member savedMember = memberRepository.save(updateMember);
+		energyBudgetService.evict(id); // 권장 열량 캐시 무효화
+		return MemberDto.Response.from(savedMember);
 }
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updatePassword(Long id, String newPassword) {
+        String passwordHash = passwordHasher.hash(newPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = memberRepository.findById(id)
+                    .filter(m -> !m.isDeleted())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "존재하지 않는 회원입니다."));
+
+            // toBuilder() 사용으로 통일
+            Member updatedMember = member.toBuilder()
+                    .password(passwordHash)
+                    .build();
+
+            memberRepository.save(updatedMember);
+        });
+    }
+
+    @Transactional
+    public void updateProfileImage(Long id, MultipartFile profileImage) {
         Member member = memberRepository.findById(id)
+                .filter(m -> !m.isDeleted())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "존재하지 않는 회원입니다."));
 
+        String imageUrl = fileUploadUtil.saveFile(profileImage);
+        
         // toBuilder() 사용으로 통일
         Member updatedMember = member.toBuilder()
-                .password(newPassword) // 실제로는 암호화 필요
+                .profileImageUrl(imageUrl)
                 .build();
 
         memberRepository.save(updatedMember);
     }
 
+    // 재개 가능 업로드로 다 올린 이미지를 프로필 이미지로
     @Transactional
-    public void updateProfileImage(Long id, MultipartFile profileImage) {
+    public void updateProfileImageFromUpload(Long id, String uploadId) {
         Member member = memberRepository.findById(id)
+                .filter(m -> !m.isDeleted())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "존재하지 않는 회원입니다."));
 
-        String imageUrl = fileUploadUtil.saveFile(profileImage);
-        
-        // toBuilder() 사용으로 통일
+        String imageUrl = uploadSessionService.attach(uploadId, "member:" + id);
+
         Member updatedMember = member.toBuilder()
                 .profileImageUrl(imageUrl)
                 .build();
@@ -176,10 +237,19 @@ public class MemberService {
 
     @Transactional
     public void deleteMember(Long id) {
-        Member member = memberRepository.findById(id)
+        // 행 잠금: 동시에 들어온 탈퇴 요청은 앞 요청이 커밋된 뒤 탈퇴한 회원으로 보고 404 (member_purge 중복 저장으로 500 이 나지 않는다).
+        // 식사 기록 보관 (MealArchiveService.archiveMonth) 도 같은 행을 잠그고 탈퇴 여부를 본다
+        Member member = memberRepository.findByIdForUpdate(id)
+                .filter(m -> !m.isDeleted())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
 
-        memberRepository.delete(member);
+        // 소프트 삭제 후 식사/게시글 등은 백그라운드에서 배치로 정리
+        memberRepository.save(member.toBuilder()
+                .deletedAt(LocalDateTime.now())
+                .build());
+        memberPurgeService.schedule(member);
+        energyBudgetService.evict(id);
+        revokedMembers.revokeAfterCommit(id); // 이 회원의 토큰은 커밋 이후 거부
     }
 
     // 추가 편의 메서드들
@@ -192,8 +262,12 @@ public class MemberService {
     }
 
     public List<MemberDto.Response> searchMembers(String query) {
-        List<Member> members = memberRepository.findByNicknameContainingIgnoreCaseOrEmailContainingIgnoreCase(query, query);
-        return members.stream().map(MemberDto.Response::from).toList();
+        return memberRepository.searchResponses(escapeLike(query));
+    }
+
+    // 검색어의 LIKE 와일드카드를 글자 그대로 찾도록 (searchResponses 의 ESCAPE '!')
+    static String escapeLike(String query) {
+        return query.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
 
 
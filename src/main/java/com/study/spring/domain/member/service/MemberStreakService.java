@@ -0,0 +1,280 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.meal.service.MealArchiveService;
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.entity.MemberStreak;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.repository.MemberStreakRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 연속 기록 일수와 이번 달 목표(권장 열량) 달성 일수.
+ * 회원마다 member_streak 한 행에 최근 날짜별 기록 여부와 칼로리를 두고 (StreakState),
+ * 식사 쓰기 트랜잭션 안에서 바뀐 날 하루만 다시 집계해 그 행에 반영한다 (행 잠금으로 같은 회원의 쓰기끼리 순서를 맞춘다).
+ * 행이 없거나 창보다 오래된 날이 바뀌어 증분 반영이 안 되면 커밋 뒤 기록 이력에서 다시 만든다.
+ * 조회는 이 행만 읽으므로 식사 기록을 훑지 않는다 (다시 만드는 중이면 워커에 맡기고 이전 값이나 빈 값으로 응답한다).
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberStreakService {
+    private static final Logger log = LoggerFactory.getLogger(MemberStreakService.class);
+
+    private final MemberStreakRepository memberStreakRepository;
+    private final MemberRepository memberRepository;
+    private final MealRepository mealRepository;
+    private final MealArchiveService mealArchiveService;
+    private final EnergyBudgetService energyBudgetService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private ExecutorService worker;
+
+    @PostConstruct
+    void start() {
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "member-streak");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // 식사 쓰기 트랜잭션 안에서, 식사를 저장/삭제한 뒤 호출 (회원 id -> 바뀐 식사의 modifiedAt 들이 속한 날을 다시 집계).
+    // 행 잠금은 항상 회원 id 순서로 잡아서, 여러 회원을 건드리는 쓰기 (식사 묶음 저장) 끼리 교착되지 않게 한다
+    public void touchAll(Map<Long, ? extends Collection<LocalDateTime>> changes) {
+        SortedMap<Long, SortedSet<LocalDate>> days = new TreeMap<>();
+        changes.forEach((memberId, modifiedAts) -> {
+            for (LocalDateTime modifiedAt : modifiedAts) {
+                if (memberId != null && modifiedAt != null) {
+                    days.computeIfAbsent(memberId, id -> new TreeSet<>()).add(modifiedAt.toLocalDate());
+                }
+            }
+        });
+        days.forEach(this::touch);
+    }
+
+    private void touch(Long memberId, SortedSet<LocalDate> days) {
+        Optional<MemberStreak> row = memberStreakRepository.findByMemberIdForUpdate(memberId);
+        if (row.isEmpty() || row.get().isRebuildNeeded()) {
+            rebuildAfterCommit(memberId);
+            return;
+        }
+
+        StreakState state = StreakState.of(row.get());
+        state.slideTo(LocalDate.now());
+        for (LocalDate day : days) {
+            DayTotal total = dayTotal(memberId, day);
+            if (!state.put(day, total.meals() > 0, total.calories())) {
+                memberStreakRepository.save(row.get().toBuilder().rebuildNeeded(true).build());
+                rebuildAfterCommit(memberId);
+                return;
+            }
+        }
+        memberStreakRepository.save(state.writeTo(row.get().toBuilder()).build());
+    }
+
+    // 회원 탈퇴 정리 작업에서 호출
+    public int deleteStreak(Long memberId) {
+        return memberStreakRepository.deleteByMemberId(memberId);
+    }
+
+    public MemberDto.StreakResponse getStreak(Long memberId) {
+        requireMember(memberId);
+        LocalDate today = LocalDate.now();
+        Optional<MemberStreak> row = memberStreakRepository.findByMemberId(memberId);
+        boolean rebuilding = row.isEmpty() || row.get().isRebuildNeeded();
+        if (rebuilding) {
+            // 요청 스레드에서 기록 이력을 읽지 않는다
+            rebuildAfterCommit(memberId);
+        }
+        StreakState state = row.map(StreakState::of).orElseGet(() -> StreakState.empty(today));
+        state.slideTo(today); // 저장하지 않고 조회용으로만 옮긴다
+
+        int target = energyBudgetService.getTargetCalories(memberId, today);
+        LocalDate monthStart = today.withDayOfMonth(1);
+        int loggedDays = 0;
+        int withinBudgetDays = 0;
+        for (LocalDate day = monthStart; !day.isAfter(today); day = day.plusDays(1)) {
+            if (state.isLogged(day)) {
+                loggedDays++;
+                if (day.isBefore(today) && state.caloriesOn(day) <= target) {
+                    withinBudgetDays++;
+                }
+            }
+        }
+
+        return MemberDto.StreakResponse.builder()
+                .memberId(memberId)
+                .date(today)
+                .currentStreak(state.currentStreak(today))
+                .longestStreak(state.longestStreak())
+                .loggedToday(state.isLogged(today))
+                .monthStart(monthStart)
+                .loggedDays(loggedDays)
+                .elapsedDays(today.getDayOfMonth() - 1)
+                .withinBudgetDays(withinBudgetDays)
+                .targetCalories(target)
+                .rebuilding(rebuilding)
+                .build();
+    }
+
+    // 관리자용, 증분 반영이 어긋났을 때 이력에서 다시 만든다
+    public MemberDto.StreakResponse rebuildStreak(Long memberId) {
+        requireMember(memberId);
+        rebuild(memberId);
+        return getStreak(memberId);
+    }
+
+    private void requireMember(Long memberId) {
+        memberRepository.findById(memberId)
+                .filter(member -> !member.isDeleted())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."));
+    }
+
+    // 기록 이력 전체 (DB + 보관 파일) 에서 다시 만든다.
+    // 빈 행을 먼저 만들어 두고 그 행을 잠근 채로 이력을 읽으므로, 동시에 들어온 쓰기는 잠금을 기다렸다가 그 위에 반영된다.
+    // 탈퇴한 회원이면 (정리 작업이 행을 지운 뒤일 수 있으므로) 행을 다시 만들지 않고 빈 값을 돌려준다.
+    Optional<MemberStreak> rebuild(Long memberId) {
+        LocalDate today = LocalDate.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (memberRepository.existsByIdAndDeletedAtIsNull(memberId)
+                        && memberStreakRepository.findByMemberId(memberId).isEmpty()) {
+                    memberStreakRepository.save(StreakState.empty(today)
+                            .writeTo(MemberStreak.builder().memberId(memberId).rebuildNeeded(true))
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 스레드가 먼저 만들었다
+        }
+
+        return transactionTemplate.execute(status -> {
+            // 잠금 조회는 커밋된 최신 행을 보므로, 정리 작업이 지운 행은 여기서 빈 값이 된다
+            Optional<MemberStreak> row = memberStreakRepository.findByMemberIdForUpdate(memberId);
+            if (row.isEmpty() || !memberRepository.existsByIdAndDeletedAtIsNull(memberId)) {
+                return Optional.<MemberStreak>empty();
+            }
+            SortedMap<LocalDate, Integer> days = new TreeMap<>();
+            Set<Long> stored = new HashSet<>();
+            for (MealDto.MealCalories meal : mealRepository.findCaloriesByMemberId(memberId)) {
+                stored.add(meal.getMealId());
+                addDay(days, meal.getModifiedAt(), meal.getCalories());
+            }
+            // 보관 도중 실패해 DB 에도 남은 기록은 한 번만 센다
+            for (MealDto.Response meal : mealArchiveService.findArchived(memberId, null, null, null)) {
+                if (!stored.contains(meal.getId())) {
+                    addDay(days, meal.getModifiedAt(), archivedCalories(meal));
+                }
+            }
+            StreakState state = StreakState.rebuild(today, days);
+            return Optional.of(memberStreakRepository.save(state.writeTo(row.get().toBuilder()).rebuildNeeded(false).build()));
+        });
+    }
+
+    private void rebuildAfterCommit(Long memberId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(memberId);
+                }
+            });
+        } else {
+            enqueue(memberId);
+        }
+    }
+
+    private void enqueue(Long memberId) {
+        if (pending.add(memberId)) {
+            worker.execute(() -> {
+                pending.remove(memberId);
+                try {
+                    rebuild(memberId);
+                } catch (RuntimeException e) {
+                    log.warn("member streak rebuild failed: member {}", memberId, e);
+                }
+            });
+        }
+    }
+
+    // 하루치 식사 수와 칼로리 합계 (회원 + 날짜 색인으로 그날만 읽는다)
+    private DayTotal dayTotal(Long memberId, LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = start.plusDays(1);
+        int meals = 0;
+        long calories = 0;
+        Set<Long> stored = new HashSet<>();
+        for (MealDto.MealCalories meal : mealRepository.findCaloriesByMemberIdAndModifiedAtBetween(memberId, start, end)) {
+            stored.add(meal.getMealId());
+            meals++;
+            calories += meal.getCalories() != null ? meal.getCalories() : 0;
+        }
+        for (MealDto.Response meal : mealArchiveService.findArchived(memberId, null, start, end)) {
+            if (stored.contains(meal.getId())) {
+                continue;
+            }
+            meals++;
+            Long mealCalories = archivedCalories(meal);
+            calories += mealCalories != null ? mealCalories : 0;
+        }
+        return new DayTotal(meals, (int) Math.min(calories, Integer.MAX_VALUE));
+    }
+
+    private static void addDay(SortedMap<LocalDate, Integer> days, LocalDateTime modifiedAt, Long calories) {
+        if (modifiedAt == null) {
+            return;
+        }
+        long add = calories != null ? calories : 0;
+        days.merge(modifiedAt.toLocalDate(), (int) Math.min(add, Integer.MAX_VALUE),
+                (a, b) -> (int) Math.min((long) a + b, Integer.MAX_VALUE));
+    }
+
+    private static Long archivedCalories(MealDto.Response meal) {
+        Long calories = null;
+        for (MealDto.FoodResponse food : meal.getFoods()) {
+            if (food.getCalories() != null) {
+                calories = (calories != null ? calories : 0) + food.getCalories();
+            }
+        }
+        return calories;
+    }
+
+    private record DayTotal(int meals, int calories) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.member.entity.MemberStreak;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * 회원 한 명의 연속 기록 상태. 최근 WINDOW 일(오늘 기준 LOOKBACK 일 전부터 며칠 뒤까지)의 기록 여부 비트와 하루 칼로리를 들고,
+ * 창 밖으로 밀려난 날들은 carry(창 직전에서 끝나는 연속 일수) 와 longestBefore(그 전의 최장 연속 일수) 로만 남긴다.
+ * 그래서 하루가 바뀌거나 하루치 기록이 바뀌어도 전체 이력을 다시 보지 않고 갱신할 수 있다.
+ */
+final class StreakState {
+    static final int WINDOW = 128;
+    static final int LOOKBACK = 120; // 오늘 이후로는 WINDOW - LOOKBACK - 1 일까지 반영 (식사 날짜는 MealService 에서 내일까지로 제한)
+    private static final int WORDS = WINDOW / Long.SIZE;
+
+    private LocalDate baseDay;
+    private final long[] logged;
+    private final int[] calories;
+    private int carry;
+    private int longestBefore;
+
+    private StreakState(LocalDate baseDay, long[] logged, int[] calories, int carry, int longestBefore) {
+        this.baseDay = baseDay;
+        this.logged = logged;
+        this.calories = calories;
+        this.carry = carry;
+        this.longestBefore = longestBefore;
+    }
+
+    static LocalDate baseFor(LocalDate today) {
+        return today.minusDays(LOOKBACK);
+    }
+
+    static StreakState empty(LocalDate today) {
+        return new StreakState(baseFor(today), new long[WORDS], new int[WINDOW], 0, 0);
+    }
+
+    static StreakState of(MemberStreak row) {
+        ByteBuffer loggedBytes = ByteBuffer.wrap(row.getLogged());
+        long[] logged = new long[WORDS];
+        for (int i = 0; i < WORDS && loggedBytes.remaining() >= Long.BYTES; i++) {
+            logged[i] = loggedBytes.getLong();
+        }
+        ByteBuffer calorieBytes = ByteBuffer.wrap(row.getCalories());
+        int[] calories = new int[WINDOW];
+        for (int i = 0; i < WINDOW && calorieBytes.remaining() >= Integer.BYTES; i++) {
+            calories[i] = calorieBytes.getInt();
+        }
+        return new StreakState(row.getBaseDay(), logged, calories, row.getCarry(), row.getLongestBefore());
+    }
+
+    // 날짜 오름차순 (날짜 -> 칼로리, 기록이 있는 날만)
+    static StreakState rebuild(LocalDate today, SortedMap<LocalDate, Integer> days) {
+        StreakState state = empty(today);
+        LocalDate previous = null;
+        int run = 0;
+        for (Map.Entry<LocalDate, Integer> day : days.entrySet()) {
+            if (!state.put(day.getKey(), true, day.getValue())) {
+                run = previous != null && previous.plusDays(1).equals(day.getKey()) ? run + 1 : 1;
+                state.longestBefore = Math.max(state.longestBefore, run);
+                previous = day.getKey();
+            }
+        }
+        state.carry = previous != null && previous.plusDays(1).equals(state.baseDay) ? run : 0;
+        return state;
+    }
+
+    MemberStreak.MemberStreakBuilder writeTo(MemberStreak.MemberStreakBuilder builder) {
+        ByteBuffer loggedBytes = ByteBuffer.allocate(WORDS * Long.BYTES);
+        for (long word : logged) {
+            loggedBytes.putLong(word);
+        }
+        ByteBuffer calorieBytes = ByteBuffer.allocate(WINDOW * Integer.BYTES);
+        for (int value : calories) {
+            calorieBytes.putInt(value);
+        }
+        return builder.baseDay(baseDay)
+                .logged(loggedBytes.array())
+                .calories(calorieBytes.array())
+                .carry(carry)
+                .longestBefore(longestBefore);
+    }
+
+    // 창을 today 기준으로 옮긴다. 밀려나는 날들은 carry / longestBefore 에 접는다
+    void slideTo(LocalDate today) {
+        LocalDate nextBase = baseFor(today);
+        long shift = nextBase.toEpochDay() - baseDay.toEpochDay();
+        if (shift <= 0) {
+            return;
+        }
+        int dropped = (int) Math.min(shift, WINDOW);
+        int run = carry;
+        for (int i = 0; i < dropped; i++) {
+            if (isLogged(i)) {
+                run++;
+                longestBefore = Math.max(longestBefore, run);
+            } else {
+                run = 0;
+            }
+        }
+        carry = shift > WINDOW ? 0 : run;
+
+        for (int i = 0; i < WINDOW; i++) {
+            int from = i + dropped;
+            boolean value = from < WINDOW && isLogged(from);
+            setBit(i, value);
+            calories[i] = from < WINDOW ? calories[from] : 0;
+        }
+        baseDay = nextBase;
+    }
+
+    // 하루치 기록 반영. 창보다 이전 날이면 false (이력에서 다시 만들어야 한다), 창 이후 날은 무시한다
+    boolean put(LocalDate day, boolean hasMeals, int dayCalories) {
+        long index = day.toEpochDay() - baseDay.toEpochDay();
+        if (index < 0) {
+            return false;
+        }
+        if (index < WINDOW) {
+            setBit((int) index, hasMeals);
+            calories[(int) index] = hasMeals ? dayCalories : 0;
+        }
+        return true;
+    }
+
+    // 오늘(아직 기록 전이면 어제) 에서 끝나는 연속 기록 일수
+    int currentStreak(LocalDate today) {
+        int index = (int) (today.toEpochDay() - baseDay.toEpochDay());
+        if (!isLogged(today)) {
+            index--;
+        }
+        if (index < 0) {
+            return carry;
+        }
+        if (index >= WINDOW || !isLogged(index)) {
+            return 0;
+        }
+        int streak = 0;
+        while (index >= 0 && isLogged(index)) {
+            streak++;
+            index--;
+        }
+        return index < 0 ? streak + carry : streak;
+    }
+
+    int longestStreak() {
+        int longest = longestBefore;
+        int run = carry;
+        for (int i = 0; i < WINDOW; i++) {
+            if (isLogged(i)) {
+                run++;
+                longest = Math.max(longest, run);
+            } else {
+                run = 0;
+            }
+        }
+        return longest;
+    }
+
+    boolean isLogged(LocalDate day) {
+        long index = day.toEpochDay() - baseDay.toEpochDay();
+        return index >= 0 && index < WINDOW && isLogged((int) index);
+    }
+
+    int caloriesOn(LocalDate day) {
+        long index = day.toEpochDay() - baseDay.toEpochDay();
+        return index >= 0 && index < WINDOW ? calories[(int) index] : 0;
+    }
+
+    private boolean isLogged(int index) {
+        return (logged[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void setBit(int index, boolean value) {
+        if (value) {
+            logged[index >>> 6] |= 1L << index;
+        } else {
+            logged[index >>> 6] &= ~(1L << index);
+        }
+    }
+}
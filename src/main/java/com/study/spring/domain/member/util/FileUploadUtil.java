@@ -6,6 +6,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.UUID;
 
 @Component
@@ -42,4 +46,47 @@ public class FileUploadUtil {
             throw new RuntimeException("이미지 저장 실패", e);
         }
     }
-}
\ No newline at end of file
+
+    // 재개 가능 업로드로 다 받은 임시 파일을 업로드 폴더로 옮긴다. 반환값은 saveFile(MultipartFile) 과 같은 저장 파일명
+    public String saveFile(Path source, String originalFilename) {
+        try {
+            Path base = Paths.get(uploadDir);
+            Files.createDirectories(base);
+            String storedFilename = UUID.randomUUID().toString() + extensionOf(originalFilename);
+            Files.move(source, base.resolve(storedFilename));
+            return storedFilename;
+        } catch (IOException e) {
+            throw new RuntimeException("이미지 저장 실패", e);
+        }
+    }
+
+    // 확장자는 영문/숫자만 받는다 (없거나 이상하면 확장자 없이 저장)
+    private static String extensionOf(String originalFilename) {
+        int dot = originalFilename != null ? originalFilename.lastIndexOf('.') : -1;
+        if (dot < 0) {
+            return "";
+        }
+        String extension = originalFilename.substring(dot);
+        return extension.matches("\\.[A-Za-z0-9]{1,10}") ? extension : "";
+    }
+
+    // saveFile 이 돌려준 파일명으로 삭제. 업로드 폴더 밖을 가리키는 값(외부 URL 등)은 무시
+    public boolean deleteFile(String storedFilename) {
+        if (storedFilename == null || storedFilename.isBlank()) {
+            return false;
+        }
+
+        try {
+            Path base = Paths.get(uploadDir).toAbsolutePath().normalize();
+            Path target = base.resolve(storedFilename).normalize();
+            if (!target.startsWith(base) || target.equals(base)) {
+                return false;
+            }
+            return Files.deleteIfExists(target);
+        } catch (InvalidPathException e) {
+            return false;
+        } catch (IOException e) {
+            throw new RuntimeException("이미지 삭제 실패", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.study.spring.domain.upload.controller;
+
+import com.study.spring.domain.upload.dto.UploadDto;
+import com.study.spring.domain.upload.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+    private final UploadSessionService uploadSessionService;
+
+    // 업로드 세션 생성. 파일을 응답의 chunkSize 단위로 잘라 PUT 한다
+    @PostMapping
+    public ResponseEntity<UploadDto.Response> createUpload(@RequestBody UploadDto.CreateRequest request) {
+        return ResponseEntity.ok(uploadSessionService.create(request));
+    }
+
+    // 진행 상황 (끊긴 뒤 어느 청크부터 다시 보낼지)
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadDto.Response> getUpload(@PathVariable("uploadId") String uploadId) {
+        return ResponseEntity.ok(uploadSessionService.getStatus(uploadId));
+    }
+
+    // 청크 업로드. 예: PUT /api/uploads/{uploadId}?offset=1048576 + "Upload-Checksum: crc32c <base64>"
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadDto.Response> putChunk(
+            @PathVariable("uploadId") String uploadId,
+            @RequestParam("offset") long offset,
+            @RequestHeader(value = "Upload-Checksum", required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(uploadSessionService.writeChunk(
+                uploadId, offset, checksum, request.getInputStream(), request.getContentLengthLong()));
+    }
+
+    // 업로드 완료. 응답의 storedFilename 을 식사 imageUrl 등으로 쓴다
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<UploadDto.Response> completeUpload(@PathVariable("uploadId") String uploadId) {
+        return ResponseEntity.ok(uploadSessionService.complete(uploadId));
+    }
+
+    // 업로드 취소 (임시 파일 삭제)
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable("uploadId") String uploadId) {
+        uploadSessionService.abort(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.study.spring.domain.upload.controller;
+
+import com.study.spring.domain.upload.dto.UploadDto;
+import com.study.spring.domain.upload.service.OrphanUploadCollector;
+import com.study.spring.global.auth.AuthPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/upload-gc")
+@RequiredArgsConstructor
+public class UploadGcController {
+    private final OrphanUploadCollector orphanUploadCollector;
+
+    // 참조 없는 업로드 파일 정리 (관리자, 보통은 스케줄러가 실행). dryRun 을 빼면 upload.gc.dry-run 설정을 따른다
+    @PostMapping
+    public ResponseEntity<UploadDto.GcReport> collect(
+            AuthPrincipal principal,
+            @RequestParam(value = "dryRun", required = false) Boolean dryRun) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(orphanUploadCollector.collect(dryRun));
+    }
+
+    // 마지막 실행 결과
+    @GetMapping
+    public ResponseEntity<UploadDto.GcReport> getLastReport(AuthPrincipal principal) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(orphanUploadCollector.getLastReport());
+    }
+}
@@ -0,0 +1,60 @@
+package com.study.spring.domain.upload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class UploadDto {
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CreateRequest {
+        private String filename;    // 원래 파일명 (확장자만 쓴다)
+        private Long size;          // 전체 바이트 수
+        private String sha256;      // 파일 전체 SHA-256 (hex, 선택). 있으면 완료 시 확인
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class Response {
+        private String uploadId;
+        private String filename;
+        private long size;
+        private int chunkSize;
+        private long receivedBytes;
+        private long nextOffset;            // 아직 안 받은 첫 청크 위치 (다 받았으면 size)
+        private List<Long> missingOffsets;  // 아직 안 받은 청크 위치들
+        private boolean completed;
+        private String storedFilename;      // 완료 후 저장된 파일명 (profileImageUrl / imageUrl 로 쓰는 값)
+        private LocalDateTime expiresAt;
+    }
+
+    // 업로드 폴더 정리 한 번의 결과
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class GcReport {
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private boolean dryRun;
+        private long referenced;        // 참조 중인 파일명 수 (회원, 식사, 보관된 식사)
+        private long scanned;           // 업로드 폴더의 파일 수
+        private long recent;            // 참조는 없지만 유예 기간 안이라 남긴 파일
+        private long orphans;           // 지울 대상 (dry-run 이면 지우지 않음)
+        private long orphanBytes;
+        private long deleted;
+        private long deletedBytes;
+        private long rescued;           // 지우기 직전 다시 확인했을 때 참조가 생긴 파일
+        private long failed;
+        private List<String> sample;    // 지울 대상 일부 (dry-run 확인용)
+    }
+}
@@ -0,0 +1,339 @@
+package com.study.spring.domain.upload.service;
+
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.meal.service.MealArchiveService;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.util.FileUploadUtil;
+import com.study.spring.domain.upload.dto.UploadDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * 업로드 폴더에서 아무도 참조하지 않는 이미지 파일을 지운다 (mark-and-sweep).
+ * mark: 회원 프로필 이미지와 식사 이미지(DB 는 스트림 조회, 보관된 식사는 보관할 때 남긴 이미지 색인)의 파일명을 모은다.
+ * DB 를 먼저 보고 보관 파일을 나중에 보므로 그 사이 보관 파일로 옮겨진 식사도 빠지지 않는다.
+ * sweep: 업로드 폴더를 NIO 로 훑어 참조가 없고 grace-hours 보다 오래된 파일만 batch-size 개씩 지운다.
+ * 지우기 직전 배치를 DB 에서 한 번 더 확인하고, 배치 사이에는 batch-pause-ms 만큼 쉰다.
+ * 유예 기간은 올린 직후 아직 회원/식사에 연결되지 않은 파일 (재개 가능 업로드 완료 직후 등) 을 보호한다.
+ * dry-run 이면 지울 대상만 세서 리포트와 메트릭으로 남긴다.
+ */
+@Service
+@Lazy(false) // prod 프로필의 지연 초기화와 상관없이 시작 시 워커를 띄운다
+public class OrphanUploadCollector {
+    private static final Logger log = LoggerFactory.getLogger(OrphanUploadCollector.class);
+    private static final int SAMPLE_SIZE = 20;
+
+    private final MemberRepository memberRepository;
+    private final MealRepository mealRepository;
+    private final MealArchiveService mealArchiveService;
+    private final FileUploadUtil fileUploadUtil;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    @Value("${upload.gc.enabled:false}")
+    private boolean enabled;
+
+    @Value("${upload.gc.dry-run:true}")
+    private boolean dryRun;
+
+    @Value("${upload.gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${upload.gc.interval-hours:24}")
+    private long intervalHours;
+
+    @Value("${upload.gc.batch-size:100}")
+    private int batchSize;
+
+    @Value("${upload.gc.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    private final ReentrantLock running = new ReentrantLock();
+    private final AtomicLong deletedFiles = new AtomicLong();
+    private final AtomicLong deletedBytes = new AtomicLong();
+    private volatile UploadDto.GcReport lastReport;
+    private ScheduledExecutorService scheduler;
+
+    public OrphanUploadCollector(MemberRepository memberRepository, MealRepository mealRepository,
+                                 MealArchiveService mealArchiveService, FileUploadUtil fileUploadUtil,
+                                 MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.mealRepository = mealRepository;
+        this.mealArchiveService = mealArchiveService;
+        this.fileUploadUtil = fileUploadUtil;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void start() {
+        FunctionCounter.builder("upload.gc.deleted", deletedFiles, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("upload.gc.deleted.bytes", deletedBytes, AtomicLong::get).baseUnit("bytes").register(meterRegistry);
+        // 마지막 실행 기준 (dry-run 이면 지웠을 파일)
+        gauge("upload.gc.orphans", UploadDto.GcReport::getOrphans);
+        gauge("upload.gc.orphan.bytes", UploadDto.GcReport::getOrphanBytes);
+        gauge("upload.gc.referenced", UploadDto.GcReport::getReferenced);
+
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                collect(null);
+            } catch (RuntimeException e) {
+                log.error("upload gc failed", e);
+            }
+        }, 1, intervalHours * 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // dryRun 이 null 이면 upload.gc.dry-run 설정을 따른다
+    public UploadDto.GcReport collect(Boolean dryRun) {
+        if (!running.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "업로드 파일 정리가 이미 실행 중입니다.");
+        }
+        try {
+            UploadDto.GcReport report = new Run(dryRun != null ? dryRun : this.dryRun).execute();
+            lastReport = report;
+            log.info("업로드 파일 정리{}: 참조 {}개, 파일 {}개, 대상 {}개 ({} bytes), 삭제 {}개, 재확인으로 보존 {}개, 실패 {}개",
+                    report.isDryRun() ? " (dry-run)" : "", report.getReferenced(), report.getScanned(),
+                    report.getOrphans(), report.getOrphanBytes(), report.getDeleted(), report.getRescued(), report.getFailed());
+            return report;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    public UploadDto.GcReport getLastReport() {
+        UploadDto.GcReport report = lastReport;
+        if (report == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "아직 실행된 적이 없습니다.");
+        }
+        return report;
+    }
+
+    private void gauge(String name, ToDoubleFunction<UploadDto.GcReport> value) {
+        Gauge.builder(name, this, collector -> {
+            UploadDto.GcReport report = collector.lastReport;
+            return report != null ? value.applyAsDouble(report) : 0;
+        }).register(meterRegistry);
+    }
+
+    // DB 에는 보통 저장 파일명이 들어 있지만, URL 이나 경로가 들어 있어도 마지막 조각으로 비교한다 (덜 지우는 쪽)
+    static String fileNameOf(String url) {
+        int end = url.length();
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            end = query;
+        }
+        int fragment = url.indexOf('#');
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        int slash = Math.max(url.lastIndexOf('/', end - 1), url.lastIndexOf('\\', end - 1));
+        return url.substring(slash + 1, end);
+    }
+
+    // 한 번의 실행 상태
+    private final class Run {
+        private final boolean dryRun;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final Set<String> referenced = new HashSet<>();
+        private final Map<String, Long> batch = new LinkedHashMap<>();
+        private final List<String> sample = new ArrayList<>();
+        private long scanned;
+        private long recent;
+        private long orphans;
+        private long orphanBytes;
+        private long deleted;
+        private long deletedBytes;
+        private long rescued;
+        private long failed;
+        private int batches;
+
+        Run(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        UploadDto.GcReport execute() {
+            mark();
+            sweep();
+            return UploadDto.GcReport.builder()
+                    .startedAt(startedAt)
+                    .finishedAt(LocalDateTime.now())
+                    .dryRun(dryRun)
+                    .referenced(referenced.size())
+                    .scanned(scanned)
+                    .recent(recent)
+                    .orphans(orphans)
+                    .orphanBytes(orphanBytes)
+                    .deleted(deleted)
+                    .deletedBytes(deletedBytes)
+                    .rescued(rescued)
+                    .failed(failed)
+                    .sample(sample)
+                    .build();
+        }
+
+        private void mark() {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> urls = memberRepository.streamProfileImageUrls()) {
+                    urls.forEach(this::markReferenced);
+                }
+                try (Stream<String> urls = mealRepository.streamImageUrls()) {
+                    urls.forEach(this::markReferenced);
+                }
+            });
+            mealArchiveService.forEachArchivedImageUrl(this::markReferenced);
+        }
+
+        private void markReferenced(String url) {
+            referenced.add(fileNameOf(url));
+        }
+
+        private void sweep() {
+            Path base = Paths.get(uploadDir).toAbsolutePath().normalize();
+            if (!Files.isDirectory(base)) {
+                return;
+            }
+            long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(graceHours);
+            try {
+                // 저장 파일은 업로드 폴더 바로 아래에만 있다 (하위 폴더는 보지 않음)
+                Files.walkFileTree(base, EnumSet.noneOf(FileVisitOption.class), 1, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        String name = file.getFileName().toString();
+                        if (!attrs.isRegularFile() || name.startsWith(".")) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        scanned++;
+                        if (referenced.contains(name)) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        if (attrs.lastModifiedTime().toMillis() >= cutoff) {
+                            recent++;
+                            return FileVisitResult.CONTINUE;
+                        }
+                        orphans++;
+                        orphanBytes += attrs.size();
+                        if (sample.size() < SAMPLE_SIZE) {
+                            sample.add(name);
+                        }
+                        if (!dryRun) {
+                            batch.put(name, attrs.size());
+                            if (batch.size() >= batchSize) {
+                                deleteBatch();
+                            }
+                        }
+                        return Thread.currentThread().isInterrupted() ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        failed++;
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("업로드 폴더 읽기 실패", e);
+            }
+            if (!batch.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                deleteBatch();
+            }
+        }
+
+        private void deleteBatch() {
+            if (batches++ > 0 && batchPauseMs > 0) {
+                try {
+                    Thread.sleep(batchPauseMs); // 디스크와 DB 를 몰아 쓰지 않도록
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    batch.clear();
+                    return;
+                }
+            }
+
+            // mark 이후에 새로 연결된 파일은 남긴다. mark 와 같이 마지막 조각(파일명)으로 비교한다
+            Set<String> nowReferenced = new HashSet<>();
+            for (String url : memberRepository.findProfileImageUrlsMatching(batch.keySet())) {
+                nowReferenced.add(fileNameOf(url));
+            }
+            for (String url : mealRepository.findImageUrlsMatching(batch.keySet())) {
+                nowReferenced.add(fileNameOf(url));
+            }
+
+            for (Map.Entry<String, Long> entry : batch.entrySet()) {
+                if (nowReferenced.contains(entry.getKey())) {
+                    rescued++;
+                    continue;
+                }
+                try {
+                    if (fileUploadUtil.deleteFile(entry.getKey())) {
+                        deleted++;
+                        deletedBytes += entry.getValue();
+                        OrphanUploadCollector.this.deletedFiles.incrementAndGet();
+                        OrphanUploadCollector.this.deletedBytes.addAndGet(entry.getValue());
+                    }
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("업로드 파일 삭제 실패: {}", entry.getKey(), e);
+                }
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.study.spring.domain.upload.service;
+
+import com.study.spring.domain.member.util.FileUploadUtil;
+import com.study.spring.domain.upload.dto.UploadDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * 재개 가능한 이미지 업로드. 세션을 만들고 chunkSize 단위 청크를 offset 과 함께 PUT 하면 임시 파일의 그 위치에 바로 쓴다 (FileChannel 위치 지정 쓰기).
+ * 청크는 Upload-Checksum (crc32c 또는 sha256, base64) 이 맞을 때만 받은 것으로 표시하므로, 연결이 끊기면 빠진 청크만 다시 보내면 된다.
+ * 다 받으면 완료 요청에서 (있으면) 파일 전체 SHA-256 을 확인하고 FileUploadUtil 저장소로 옮긴다.
+ * 세션은 메모리에만 있고 session-ttl-minutes 동안 쓰이지 않으면 임시 파일과 함께 정리한다 (재시작 전에 남은 임시 파일도 같이).
+ */
+@Service
+public class UploadSessionService {
+    private static final Logger log = LoggerFactory.getLogger(UploadSessionService.class);
+    private static final String PART_SUFFIX = ".part";
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-fA-F]{64}");
+    private static final int DIGEST_BUFFER = 64 * 1024;
+
+    private final FileUploadUtil fileUploadUtil;
+
+    @Value("${upload.temp-dir:C:/upload-partial/}")
+    private String tempDir;
+
+    @Value("${upload.chunk-size:1048576}")
+    private int chunkSize;
+
+    @Value("${upload.max-size:10485760}")
+    private long maxSize;
+
+    @Value("${upload.session-ttl-minutes:60}")
+    private long sessionTtlMinutes;
+
+    @Value("${upload.max-sessions:1000}")
+    private int maxSessions;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private Path tempPath;
+    private ScheduledExecutorService worker;
+
+    public UploadSessionService(FileUploadUtil fileUploadUtil) {
+        this.fileUploadUtil = fileUploadUtil;
+    }
+
+    @PostConstruct
+    void start() {
+        tempPath = Paths.get(tempDir).toAbsolutePath().normalize();
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::sweepQuietly, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public UploadDto.Response create(UploadDto.CreateRequest request) {
+        if (request.getFilename() == null || request.getFilename().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일명이 필요합니다.");
+        }
+        if (request.getSize() == null || request.getSize() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 크기가 필요합니다.");
+        }
+        if (request.getSize() > maxSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "파일은 " + maxSize + " 바이트까지 올릴 수 있습니다.");
+        }
+        if (request.getSha256() != null && !SHA256_HEX.matcher(request.getSha256()).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sha256 은 64자리 hex 여야 합니다.");
+        }
+        if (sessions.size() >= maxSessions) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "진행 중인 업로드가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        String id = UUID.randomUUID().toString();
+        Path file = tempPath.resolve(id + PART_SUFFIX);
+        try {
+            Files.createDirectories(tempPath);
+            Files.createFile(file);
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 세션 생성 실패", e);
+        }
+        Session session = new Session(id, request.getFilename(), request.getSize(), chunkSize,
+                request.getSha256() != null ? request.getSha256().toLowerCase(Locale.ROOT) : null, file);
+        sessions.put(id, session);
+        return toResponse(session);
+    }
+
+    public UploadDto.Response getStatus(String uploadId) {
+        return toResponse(find(uploadId));
+    }
+
+    // 청크 하나를 offset 위치에 쓴다. 같은 청크를 다시 보내도 (응답을 못 받은 재시도) 같은 자리에 덮어쓸 뿐이다
+    public UploadDto.Response writeChunk(String uploadId, long offset, String checksumHeader, InputStream body, long contentLength) {
+        Session session = find(uploadId);
+        if (offset < 0 || offset >= session.size || offset % session.chunkSize != 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset 은 " + session.size + " 보다 작은 chunkSize(" + session.chunkSize + ") 의 배수여야 합니다.");
+        }
+        int length = (int) Math.min(session.chunkSize, session.size - offset);
+        if (contentLength >= 0 && contentLength != length) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "이 offset 의 청크는 " + length + " 바이트여야 합니다.");
+        }
+        ChunkChecksum checksum = ChunkChecksum.parse(checksumHeader);
+
+        byte[] data;
+        try {
+            data = body.readNBytes(length);
+            if (data.length < length || body.read() != -1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "이 offset 의 청크는 " + length + " 바이트여야 합니다.");
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "청크를 끝까지 받지 못했습니다.");
+        }
+        if (!checksum.matches(data)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "청크 체크섬이 일치하지 않습니다.");
+        }
+
+        // 청크 쓰기끼리는 동시에, 완료/취소와는 배타적으로
+        session.lock.readLock().lock();
+        try {
+            if (session.closed) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+            }
+            if (session.storedFilename != null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 완료된 업로드입니다.");
+            }
+            try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                long position = offset;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("청크 저장 실패", e);
+            }
+            synchronized (session.received) {
+                session.received.set((int) (offset / session.chunkSize));
+            }
+            session.touch();
+        } finally {
+            session.lock.readLock().unlock();
+        }
+        return toResponse(session);
+    }
+
+    // 다 받은 파일을 저장소로 옮긴다. 완료 응답을 못 받고 다시 불러도 같은 storedFilename 을 돌려준다
+    public UploadDto.Response complete(String uploadId) {
+        Session session = find(uploadId);
+        session.lock.writeLock().lock();
+        try {
+            completeLocked(session);
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+        return toResponse(session);
+    }
+
+    // 완료 처리 후 파일을 target (예: "meal:3") 한 곳에만 연결한다. 같은 target 의 재시도는 같은 파일명을 돌려주고,
+    // 다른 target 은 거절한다 (한 파일을 두 곳이 가리키면 한쪽을 지울 때 다른 쪽 이미지도 사라진다)
+    public String attach(String uploadId, String target) {
+        Session session = find(uploadId);
+        session.lock.writeLock().lock();
+        try {
+            completeLocked(session);
+            if (session.attachedTo == null) {
+                session.attachedTo = target;
+            } else if (!session.attachedTo.equals(target)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 다른 곳에 연결된 업로드입니다.");
+            }
+            return session.storedFilename;
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    // write lock 을 잡고 부른다
+    private void completeLocked(Session session) {
+        if (session.closed) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+        if (session.storedFilename == null) {
+            int missing;
+            synchronized (session.received) {
+                missing = session.chunks - session.received.cardinality();
+            }
+            if (missing > 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "아직 받지 못한 청크가 " + missing + "개 있습니다.");
+            }
+            if (session.sha256 != null && !session.sha256.equals(sha256Hex(session.file))) {
+                close(session);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "파일 체크섬이 일치하지 않습니다. 처음부터 다시 업로드해주세요.");
+            }
+            session.storedFilename = fileUploadUtil.saveFile(session.file, session.filename);
+        }
+        session.touch();
+    }
+
+    public void abort(String uploadId) {
+        Session session = find(uploadId);
+        session.lock.writeLock().lock();
+        try {
+            close(session);
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+    private Session find(String uploadId) {
+        Session session = uploadId != null ? sessions.get(uploadId) : null;
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+        return session;
+    }
+
+    // write lock 을 잡고 부른다. 완료된 세션의 파일은 이미 옮겨졌으므로 지울 것이 없다
+    private void close(Session session) {
+        session.closed = true;
+        sessions.remove(session.id, session);
+        try {
+            Files.deleteIfExists(session.file);
+        } catch (IOException e) {
+            log.warn("업로드 임시 파일 삭제 실패: {}", session.file, e);
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            log.warn("업로드 세션 정리 실패", e);
+        }
+    }
+
+    void sweep() throws IOException {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(sessionTtlMinutes);
+        int expired = 0;
+        for (Session session : sessions.values()) {
+            if (session.touchedAt >= cutoff) {
+                continue;
+            }
+            session.lock.writeLock().lock();
+            try {
+                if (!session.closed && session.touchedAt < cutoff) {
+                    close(session);
+                    expired++;
+                }
+            } finally {
+                session.lock.writeLock().unlock();
+            }
+        }
+
+        // 세션이 없는 임시 파일 (재시작 전에 만들어진 것 등)
+        int orphans = 0;
+        if (Files.isDirectory(tempPath)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(tempPath, "*" + PART_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    String id = name.substring(0, name.length() - PART_SUFFIX.length());
+                    if (!sessions.containsKey(id) && Files.getLastModifiedTime(file).toMillis() < cutoff && Files.deleteIfExists(file)) {
+                        orphans++;
+                    }
+                }
+            }
+        }
+        if (expired > 0 || orphans > 0) {
+            log.info("업로드 세션 정리: 만료 {}건, 남은 임시 파일 {}개 삭제", expired, orphans);
+        }
+    }
+
+    private UploadDto.Response toResponse(Session session) {
+        List<Long> missingOffsets = new ArrayList<>();
+        long receivedBytes;
+        synchronized (session.received) {
+            for (int i = session.received.nextClearBit(0); i < session.chunks; i = session.received.nextClearBit(i + 1)) {
+                missingOffsets.add((long) i * session.chunkSize);
+            }
+            receivedBytes = (long) session.received.cardinality() * session.chunkSize;
+            if (session.received.get(session.chunks - 1)) {
+                receivedBytes -= (long) session.chunks * session.chunkSize - session.size;  // 마지막 청크는 짧을 수 있다
+            }
+        }
+        Instant expiresAt = Instant.ofEpochMilli(session.touchedAt + TimeUnit.MINUTES.toMillis(sessionTtlMinutes));
+        return UploadDto.Response.builder()
+                .uploadId(session.id)
+                .filename(session.filename)
+                .size(session.size)
+                .chunkSize(session.chunkSize)
+                .receivedBytes(receivedBytes)
+                .nextOffset(missingOffsets.isEmpty() ? session.size : missingOffsets.get(0))
+                .missingOffsets(missingOffsets)
+                .completed(session.storedFilename != null)
+                .storedFilename(session.storedFilename)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .build();
+    }
+
+    private static String sha256Hex(Path file) {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 파일 읽기 실패", e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Session {
+        final String id;
+        final String filename;
+        final long size;
+        final int chunkSize;
+        final int chunks;
+        final String sha256;
+        final Path file;
+        final BitSet received;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        volatile long touchedAt = System.currentTimeMillis();
+        volatile boolean closed;            // 취소/만료 (write lock)
+        volatile String storedFilename;     // 완료 후 저장 파일명 (write lock)
+        String attachedTo;                  // 연결된 대상 (write lock)
+
+        Session(String id, String filename, long size, int chunkSize, String sha256, Path file) {
+            this.id = id;
+            this.filename = filename;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.chunks = (int) ((size + chunkSize - 1) / chunkSize);
+            this.sha256 = sha256;
+            this.file = file;
+            this.received = new BitSet(chunks);
+        }
+
+        void touch() {
+            touchedAt = System.currentTimeMillis();
+        }
+    }
+
+    // Upload-Checksum 헤더: "<알고리즘> <base64 값>", 알고리즘은 crc32c (4바이트 big-endian) 또는 sha256
+    private record ChunkChecksum(String algorithm, byte[] value) {
+
+        static ChunkChecksum parse(String header) {
+            if (header == null || header.isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload-Checksum 헤더가 필요합니다. (crc32c 또는 sha256)");
+            }
+            String[] parts = header.trim().split("\\s+", 2);
+            String algorithm = parts[0].toLowerCase(Locale.ROOT);
+            if (!algorithm.equals("crc32c") && !algorithm.equals("sha256")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 체크섬 알고리즘입니다: " + parts[0]);
+            }
+            byte[] value;
+            try {
+                value = Base64.getDecoder().decode(parts.length > 1 ? parts[1] : "");
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Upload-Checksum 값은 base64 여야 합니다.");
+            }
+            return new ChunkChecksum(algorithm, value);
+        }
+
+        boolean matches(byte[] data) {
+            byte[] actual;
+            if (algorithm.equals("crc32c")) {
+                CRC32C crc = new CRC32C();
+                crc.update(data);
+                actual = ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).array();
+            } else {
+                actual = sha256().digest(data);
+            }
+            return MessageDigest.isEqual(actual, value);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.study.spring.global.auth;
+
+import com.study.spring.domain.member.entity.Role;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 토큰에서 꺼낸 로그인 회원 정보. 컨트롤러 파라미터로 받으면 DB 조회 없이 바로 쓸 수 있다.
+ */
+public record AuthPrincipal(Long memberId, Role role) {
+
+    static final String ATTRIBUTE = AuthPrincipal.class.getName();
+
+    public void requireAdmin() {
+        if (role != Role.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "관리자만 사용할 수 있습니다.");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.study.spring.global.auth;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 컨트롤러의 AuthPrincipal 파라미터를 채운다. 토큰이 없거나 탈퇴한 회원의 토큰이면 401.
+ * 탈퇴 여부는 메모리의 RevokedMembers 로 보므로 요청마다 DB 를 읽지 않는다.
+ */
+@RequiredArgsConstructor
+public class AuthPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+    private final RevokedMembers revokedMembers;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthPrincipal.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object principal = webRequest.getAttribute(AuthPrincipal.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        if (revokedMembers.isRevoked(((AuthPrincipal) principal).memberId())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "탈퇴한 회원입니다.");
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,99 @@
+package com.study.spring.global.auth;
+
+import com.study.spring.domain.member.repository.MemberPurgeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 탈퇴한 회원 id 목록. 토큰 확인(AuthPrincipalArgumentResolver)은 요청마다 DB 를 보지 않고 이 목록만 본다.
+ * 이 서버에서 탈퇴하면 커밋 직후 바로 넣고, 다른 서버의 탈퇴나 재시작 전 탈퇴는 refresh-seconds 마다
+ * member_purge 에서 토큰 유효기간 안에 탈퇴한 회원을 다시 읽어 채운다. 유효기간이 지난 항목은 뺀다 (그 전에 발급된 토큰은 이미 만료).
+ */
+@Component
+@Lazy(false) // prod 프로필의 지연 초기화와 상관없이 시작 시 목록을 읽는다
+public class RevokedMembers {
+    private static final Logger log = LoggerFactory.getLogger(RevokedMembers.class);
+
+    private final MemberPurgeRepository memberPurgeRepository;
+    private final TokenProvider tokenProvider;
+
+    @Value("${auth.revocation.refresh-seconds:60}")
+    private long refreshSeconds;
+
+    // 회원 id -> 탈퇴 시각 (epoch millis)
+    private final ConcurrentHashMap<Long, Long> revoked = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public RevokedMembers(MemberPurgeRepository memberPurgeRepository, TokenProvider tokenProvider) {
+        this.memberPurgeRepository = memberPurgeRepository;
+        this.tokenProvider = tokenProvider;
+    }
+
+    @PostConstruct
+    void start() {
+        refresh();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revoked-members");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("탈퇴 회원 목록 갱신 실패", e);
+            }
+        }, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public boolean isRevoked(Long memberId) {
+        return revoked.containsKey(memberId);
+    }
+
+    // 회원 탈퇴 트랜잭션 안에서 호출 (롤백되면 넣지 않는다)
+    public void revokeAfterCommit(Long memberId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revoked.put(memberId, System.currentTimeMillis());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revoked.put(memberId, System.currentTimeMillis());
+            }
+        });
+    }
+
+    void refresh() {
+        long ttlMillis = TimeUnit.SECONDS.toMillis(tokenProvider.getTtlSeconds());
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        revoked.values().removeIf(revokedAt -> revokedAt < cutoff);
+
+        long now = System.currentTimeMillis();
+        for (Long memberId : memberPurgeRepository.findMemberIdsStartedSince(LocalDateTime.now().minusSeconds(tokenProvider.getTtlSeconds()))) {
+            revoked.putIfAbsent(memberId, now);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.study.spring.global.auth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authorization: Bearer 토큰을 검증해서 요청 속성에 AuthPrincipal 을 넣는다.
+ * 토큰이 없으면 그대로 통과시키고(조회 API), 로그인이 필요한 API 는 AuthPrincipal 파라미터에서 401 을 낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenAuthFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+
+    private final TokenProvider tokenProvider;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 컨텍스트 경로를 뺀 경로로 비교 (WAR 로 배포해도 같은 규칙)
+        return !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            AuthPrincipal principal = tokenProvider.verify(header.substring(BEARER.length()).trim());
+            if (principal == null) {
+                response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"status\":401,\"error\":\"Unauthorized\",\"message\":\"유효하지 않은 토큰입니다.\"}");
+                return;
+            }
+            request.setAttribute(AuthPrincipal.ATTRIBUTE, principal);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
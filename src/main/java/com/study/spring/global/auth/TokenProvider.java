@@ -0,0 +1,131 @@
+package com.study.spring.global.auth;
+
+import com.study.spring.domain.member.entity.Role;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HMAC-SHA256 으로 서명한 액세스 토큰을 발급/검증한다.
+ * 토큰 형식: base64url("keyId:memberId:role:expiresAt") + "." + base64url(서명)
+ * 서명 키는 시작 시 한 번 만들어 두고 Mac 은 스레드별로 재사용하므로, 검증은 CPU 연산만 한다.
+ */
+@Component
+public class TokenProvider {
+    private static final Logger log = LoggerFactory.getLogger(TokenProvider.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${auth.token.secret:}")
+    private String secret;
+
+    // 키 교체 중에도 기존 토큰이 검증되도록 이전 키를 남겨둔다
+    @Value("${auth.token.previous-secrets:}")
+    private List<String> previousSecrets;
+
+    @Value("${auth.token.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    private String currentKeyId;
+    private final Map<String, ThreadLocal<Mac>> macs = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.isBlank()) {
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            secret = ENCODER.encodeToString(random);
+            log.warn("auth.token.secret 이 설정되지 않아 임시 키를 사용합니다. 재시작하면 발급된 토큰은 모두 무효가 됩니다.");
+        }
+        currentKeyId = register(secret);
+        for (String previous : previousSecrets) {
+            if (!previous.isBlank()) {
+                register(previous);
+            }
+        }
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    // role 이 비어 있는 예전 회원은 USER 로 발급 (Member 기본값과 같음)
+    public String issue(Long memberId, Role role) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        Role effectiveRole = role != null ? role : Role.USER;
+        String payload = currentKeyId + ":" + memberId + ":" + effectiveRole.name() + ":" + expiresAt;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(currentKeyId, payloadBytes));
+    }
+
+    // 서명이 맞지 않거나 만료된 토큰이면 null
+    public AuthPrincipal verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(":");
+            if (parts.length != 4 || !macs.containsKey(parts[0])) {
+                return null;
+            }
+            if (!MessageDigest.isEqual(signature, sign(parts[0], payloadBytes))) {
+                return null;
+            }
+            if (Long.parseLong(parts[3]) < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            return new AuthPrincipal(Long.parseLong(parts[1]), Role.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            return null; // base64/숫자/Role 형식 오류
+        }
+    }
+
+    private byte[] sign(String keyId, byte[] payload) {
+        return macs.get(keyId).get().doFinal(payload);
+    }
+
+    private String register(String keySecret) {
+        byte[] keyBytes = keySecret.getBytes(StandardCharsets.UTF_8);
+        String keyId = keyId(keyBytes);
+        SecretKeySpec key = new SecretKeySpec(keyBytes, ALGORITHM);
+        macs.put(keyId, ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("토큰 서명 키 초기화 실패", e);
+            }
+        }));
+        return keyId;
+    }
+
+    private static String keyId(byte[] keyBytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(keyBytes);
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
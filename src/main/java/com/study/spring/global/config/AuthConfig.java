@@ -0,0 +1,24 @@
+package com.study.spring.global.config;
+
+import com.study.spring.global.auth.AuthPrincipalArgumentResolver;
+import com.study.spring.global.auth.RevokedMembers;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 컨트롤러에서 AuthPrincipal 파라미터로 로그인 회원을 받을 수 있게 등록한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AuthConfig implements WebMvcConfigurer {
+    private final RevokedMembers revokedMembers;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthPrincipalArgumentResolver(revokedMembers));
+    }
+}
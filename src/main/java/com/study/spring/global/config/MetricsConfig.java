@@ -0,0 +1,18 @@
+package com.study.spring.global.config;
+
+import com.study.spring.global.metrics.SqlEndpointInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * SQL 프로파일러가 실행된 SQL 을 호출한 엔드포인트별로 묶을 수 있게 인터셉터를 등록한다.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlEndpointInterceptor());
+    }
+}
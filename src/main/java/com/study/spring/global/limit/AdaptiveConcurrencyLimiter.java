@@ -0,0 +1,80 @@
+package com.study.spring.global.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AIMD 방식 동시 처리 제한.
+ * 응답 시간이 목표 지연 이하이고 제한 근처까지 사용 중이면 제한을 1 씩 올리고(additive increase),
+ * 목표 지연을 넘거나 서버 오류가 나면 backoff 비율만큼 줄인다(multiplicative decrease).
+ * 줄이는 것은 세대(generation)당 한 번만 한다. 한 번 줄인 뒤에는 그 이후에 시작한 요청이 느릴 때만 다시 줄이므로,
+ * 같은 순간 함께 처리되던 요청들이 한꺼번에 느려져도 제한이 연달아 깎이지 않는다.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String group;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private volatile long generation;   // 제한을 줄일 때마다 1 증가
+
+    public AdaptiveConcurrencyLimiter(String group, int initialLimit, int minLimit, int maxLimit, long targetLatencyMs) {
+        this.group = group;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyMs * 1_000_000L;
+        this.limit = initialLimit;
+    }
+
+    // 성공하면 release 에 넘길 세대 번호, 제한에 걸리면 -1
+    public long tryAcquire() {
+        while (true) {
+            long acquiredGeneration = generation;
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return acquiredGeneration;
+            }
+        }
+    }
+
+    public void release(long acquiredGeneration, long latencyNanos, boolean failed) {
+        int current = inflight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > targetLatencyNanos) {
+                // 시작한 뒤 이미 한 번 줄였으면 그 감소에 포함된 것으로 본다
+                if (acquiredGeneration == generation) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    generation++;
+                }
+            } else if (current * 2 >= limit) {
+                // 제한의 절반 이상을 쓰고 있을 때만 늘려서, 한가할 때 제한이 무한정 커지지 않게 한다
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
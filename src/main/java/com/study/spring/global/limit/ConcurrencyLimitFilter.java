@@ -0,0 +1,117 @@
+package com.study.spring.global.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 엔드포인트 그룹(read / write / upload)별로 동시 처리 수를 제한한다.
+ * 제한을 넘으면 DB 커넥션 풀을 기다리게 하지 않고 바로 503 + Retry-After 로 응답한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("${concurrency-limit.read.initial:20}")
+    private int readInitial;
+    @Value("${concurrency-limit.read.max:100}")
+    private int readMax;
+    @Value("${concurrency-limit.read.target-latency-ms:500}")
+    private long readTargetLatencyMs;
+
+    @Value("${concurrency-limit.write.initial:10}")
+    private int writeInitial;
+    @Value("${concurrency-limit.write.max:50}")
+    private int writeMax;
+    @Value("${concurrency-limit.write.target-latency-ms:1000}")
+    private long writeTargetLatencyMs;
+
+    @Value("${concurrency-limit.upload.initial:4}")
+    private int uploadInitial;
+    @Value("${concurrency-limit.upload.max:16}")
+    private int uploadMax;
+    @Value("${concurrency-limit.upload.target-latency-ms:5000}")
+    private long uploadTargetLatencyMs;
+
+    private AdaptiveConcurrencyLimiter read;
+    private AdaptiveConcurrencyLimiter write;
+    private AdaptiveConcurrencyLimiter upload;
+
+    @PostConstruct
+    void init() {
+        read = new AdaptiveConcurrencyLimiter("read", readInitial, 1, readMax, readTargetLatencyMs);
+        write = new AdaptiveConcurrencyLimiter("write", writeInitial, 1, writeMax, writeTargetLatencyMs);
+        upload = new AdaptiveConcurrencyLimiter("upload", uploadInitial, 1, uploadMax, uploadTargetLatencyMs);
+
+        for (AdaptiveConcurrencyLimiter limiter : List.of(read, write, upload)) {
+            Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("group", limiter.getGroup()).register(meterRegistry);
+            Gauge.builder("http.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                    .tag("group", limiter.getGroup()).register(meterRegistry);
+            FunctionCounter.builder("http.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("group", limiter.getGroup()).register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 컨텍스트 경로를 뺀 경로로 비교 (WAR 로 배포해도 같은 규칙)
+        String path = request.getServletPath();
+        // 모니터링, 정적 이미지, SSE 구독(장시간 연결)은 제외
+        return !enabled || !path.startsWith("/api/") || path.endsWith("/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+        long generation = limiter.tryAcquire();
+        if (generation < 0) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"status\":503,\"error\":\"Service Unavailable\",\"message\":\"요청이 많습니다. 잠시 후 다시 시도해주세요.\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.release(generation, System.nanoTime() - start, failed);
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType != null && (contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)
+                || contentType.startsWith(MediaType.APPLICATION_OCTET_STREAM_VALUE))) {
+            return upload;
+        }
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()) ? read : write;
+    }
+}
@@ -0,0 +1,54 @@
+package com.study.spring.global.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JVM 시작부터 첫 요청 응답까지 걸린 시간(time-to-first-request)을 한 번 기록한다.
+ * 지연 초기화를 쓰면 컨텍스트 기동 시간만으로는 실제 준비 시간을 알 수 없어서 첫 응답 기준으로 잰다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class FirstRequestTimer extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    private final AtomicLong elapsedMs = new AtomicLong();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!recorded.get() && recorded.compareAndSet(false, true)) {
+                long startTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+                elapsedMs.set(System.currentTimeMillis() - startTime);
+                TimeGauge.builder("application.first.request.time", elapsedMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                        .register(meterRegistry);
+                log.info("first request {} {} served {} ms after JVM start",
+                        request.getMethod(), request.getRequestURI(), elapsedMs.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.study.spring.global.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 커넥션 풀 앞에 두는 DataSource. Connection / Statement / ResultSet 을 위임 클래스 (ProfilingConnection 등) 로 감싸서
+ * execute* 호출마다 걸린 시간, 결과 행 수(조회는 ResultSet.next() 횟수, 변경은 update count), 실패 여부를 SqlProfiler 에 넘긴다.
+ * execute* / next / close 밖의 호출은 리플렉션 없이 그대로 넘긴다.
+ * DelegatingDataSource 라서 unwrap 으로 풀(Hikari) 을 그대로 꺼낼 수 있다 (풀 메트릭 등).
+ */
+class ProfilingDataSource extends DelegatingDataSource {
+    private final SqlProfiler profiler;
+
+    ProfilingDataSource(DataSource target, SqlProfiler profiler) {
+        super(target);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new ProfilingConnection(super.getConnection(), profiler);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return new ProfilingConnection(super.getConnection(username, password), profiler);
+    }
+}
@@ -0,0 +1,29 @@
+package com.study.spring.global.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 커넥션 풀 DataSource 빈을 ProfilingDataSource 로 감싼다 (sql-profiler.enabled=false 면 그대로 둔다).
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfilingDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SqlProfiler> sqlProfiler;
+
+    @Value("${sql-profiler.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+            return new ProfilingDataSource(dataSource, sqlProfiler.getObject());
+        }
+        return bean;
+    }
+}
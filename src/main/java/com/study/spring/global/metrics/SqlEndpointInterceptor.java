@@ -0,0 +1,30 @@
+package com.study.spring.global.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 요청 처리 중에 실행된 SQL 을 "메서드 + URL 패턴" (예: GET /api/meals/{id}) 으로 묶을 수 있게 SqlProfiler 에 알린다.
+ * 비동기 요청 (SSE, 스트리밍) 은 afterCompletion 전에 컨테이너 스레드가 반납되므로 그때 지운다.
+ */
+public class SqlEndpointInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        SqlProfiler.enterEndpoint(request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)"));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlProfiler.exitEndpoint();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlProfiler.exitEndpoint();
+    }
+}
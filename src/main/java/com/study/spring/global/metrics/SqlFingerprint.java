@@ -0,0 +1,83 @@
+package com.study.spring.global.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL 문장을 같은 모양끼리 묶을 수 있게 정규화한다.
+ * 문자열/숫자 리터럴은 ? 로, 공백은 한 칸으로, IN (?, ?, ...) 목록과 여러 행 VALUES 는 하나로 접는다.
+ * (m1_0 같은 별칭 안의 숫자는 식별자의 일부이므로 그대로 둔다)
+ */
+final class SqlFingerprint {
+    static final int MAX_LENGTH = 2000;
+
+    private static final Pattern IN_LIST = Pattern.compile("\\bin \\((?:\\?, ?)+\\?\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(\\bvalues \\([^()]*\\))(?:, ?\\([^()]*\\))+");
+
+    private SqlFingerprint() {
+    }
+
+    static String of(String sql) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        StringBuilder out = new StringBuilder(Math.min(sql.length(), MAX_LENGTH));
+        int length = sql.length();
+        boolean space = false;
+        int i = 0;
+        while (i < length && out.length() < MAX_LENGTH) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                i++;
+                continue;
+            }
+            if (space && !out.isEmpty()) {
+                out.append(' ');
+            }
+            space = false;
+
+            if (c == '\'') {
+                i = skipString(sql, i + 1);
+                out.append('?');
+            } else if (Character.isDigit(c) && !identifierBefore(out)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+
+        String fingerprint = IN_LIST.matcher(out).replaceAll("in (?...)");
+        return VALUES_ROWS.matcher(fingerprint).replaceAll("$1, ...");
+    }
+
+    // 닫는 따옴표 다음 위치 ('' 와 \' 는 문자열 안의 따옴표)
+    private static int skipString(String sql, int i) {
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static boolean identifierBefore(StringBuilder out) {
+        if (out.isEmpty()) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$' || last == '`' || last == '"';
+    }
+}
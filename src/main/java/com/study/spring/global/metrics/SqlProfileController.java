@@ -0,0 +1,40 @@
+package com.study.spring.global.metrics;
+
+import com.study.spring.global.auth.AuthPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/sql-profile")
+@RequiredArgsConstructor
+public class SqlProfileController {
+    private final SqlProfiler sqlProfiler;
+
+    // 비용이 큰 SQL 순위 (관리자). 예: /api/admin/sql-profile?sort=TOTAL_TIME&limit=20
+    @GetMapping
+    public ResponseEntity<SqlProfileDto.Response> getTop(
+            AuthPrincipal principal,
+            @RequestParam(value = "sort", defaultValue = "TOTAL_TIME") SqlProfileDto.Sort sort,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(sqlProfiler.top(sort, limit));
+    }
+
+    // 주기 스냅샷 (구간별 증가분, 최근 구간부터)
+    @GetMapping("/snapshots")
+    public ResponseEntity<List<SqlProfileDto.Snapshot>> getSnapshots(AuthPrincipal principal) {
+        principal.requireAdmin();
+        return ResponseEntity.ok(sqlProfiler.getSnapshots());
+    }
+
+    // 누적 통계 초기화
+    @DeleteMapping
+    public ResponseEntity<Void> reset(AuthPrincipal principal) {
+        principal.requireAdmin();
+        sqlProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
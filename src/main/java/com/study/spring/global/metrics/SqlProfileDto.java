@@ -0,0 +1,59 @@
+package com.study.spring.global.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class SqlProfileDto {
+
+    public enum Sort {
+        TOTAL_TIME, COUNT, AVG_TIME, MAX_TIME, ROWS, ERRORS
+    }
+
+    // 시작(또는 초기화) 이후 누적
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class Response {
+        private LocalDateTime since;
+        private Sort sort;
+        private int statements;         // 서로 다른 fingerprint 수
+        private long count;
+        private double totalTimeMs;
+        private List<Statement> items;
+    }
+
+    // snapshot-seconds 구간 하나의 증가분
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class Snapshot {
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private long count;
+        private double totalTimeMs;
+        private List<Statement> items;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Builder
+    public static class Statement {
+        private String fingerprint;
+        private long count;
+        private double totalTimeMs;
+        private double avgTimeMs;
+        private double maxTimeMs;
+        private long rows;
+        private long errors;
+        private Map<String, Long> endpoints;  // 호출한 엔드포인트 (또는 [스레드]) 별 실행 수, 많은 순
+    }
+}
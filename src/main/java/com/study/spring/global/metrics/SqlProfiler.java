@@ -0,0 +1,326 @@
+package com.study.spring.global.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * SQL fingerprint 별 실행 통계 (횟수, 총/최대 시간, 행 수, 실패 수, 호출한 엔드포인트).
+ * ProfilingDataSource 가 실행마다 record 를 부르고, 카운터는 LongAdder 라서 요청 스레드끼리 잠금 없이 더한다.
+ * 같은 SQL 문자열은 처음 한 번만 정규화하고 그 뒤로는 맵 조회 한 번으로 통계를 찾는다.
+ * snapshot-seconds 마다 구간 증가분을 떠서 최근 snapshot-history 개를 보관하고 상위 몇 개는 로그로 남긴다.
+ * reset 은 맵을 비우지 않고 새 맵 묶음(Registry) 으로 바꿔 끼운다 (실행 중인 쿼리는 이전 묶음의 통계에 기록되고 버려진다).
+ */
+@Component
+public class SqlProfiler {
+    private static final Logger log = LoggerFactory.getLogger(SqlProfiler.class);
+    private static final String OTHER = "(other)";
+    private static final String UNKNOWN = "(unknown)";
+    private static final int MAX_ENDPOINTS = 50;
+    private static final int TOP_ENDPOINTS = 5;
+    private static final int SNAPSHOT_ITEMS = 20;
+    private static final int LOG_ITEMS = 5;
+
+    private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+    private static final ThreadLocal<String> THREAD = ThreadLocal.withInitial(() -> threadLabel(Thread.currentThread().getName()));
+
+    @Value("${sql-profiler.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sql-profiler.max-statements:1000}")
+    private int maxStatements;
+
+    @Value("${sql-profiler.snapshot-seconds:300}")
+    private long snapshotSeconds;
+
+    @Value("${sql-profiler.snapshot-history:12}")
+    private int snapshotHistory;
+
+    private volatile Registry registry = new Registry(LocalDateTime.now());
+    private final Map<String, long[]> previous = new HashMap<>();
+    private final Deque<SqlProfileDto.Snapshot> snapshots = new ArrayDeque<>();
+    private LocalDateTime snapshotFrom = registry.since();
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sql-profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::snapshotQuietly, snapshotSeconds, snapshotSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        worker.shutdownNow();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // 요청 처리 중에 실행된 SQL 을 이 엔드포인트로 기록한다 (SqlEndpointInterceptor)
+    static void enterEndpoint(String endpoint) {
+        ENDPOINT.set(endpoint);
+    }
+
+    static void exitEndpoint() {
+        ENDPOINT.remove();
+    }
+
+    Stats statsFor(String sql) {
+        Registry registry = this.registry;
+        ConcurrentHashMap<String, Stats> bySql = registry.bySql();
+        ConcurrentHashMap<String, Stats> byFingerprint = registry.byFingerprint();
+        String key = sql != null ? sql : UNKNOWN;
+        Stats stats = bySql.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        String fingerprint = SqlFingerprint.of(sql);
+        stats = byFingerprint.get(fingerprint);
+        if (stats == null) {
+            // fingerprint 가 너무 많으면 (동적 SQL 등) 나머지는 한데 모은다
+            stats = byFingerprint.computeIfAbsent(byFingerprint.size() < maxStatements ? fingerprint : OTHER, Stats::new);
+        }
+        if (bySql.size() < maxStatements * 4) {
+            bySql.put(key, stats);
+        }
+        return stats;
+    }
+
+    void record(Stats stats, long nanos, long rows, boolean failed) {
+        stats.count.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+        stats.intervalMaxNanos.accumulate(nanos);
+        if (rows > 0) {
+            stats.rows.add(rows);
+        }
+        if (failed) {
+            stats.errors.increment();
+        }
+        String endpoint = ENDPOINT.get();
+        stats.endpoint(endpoint != null ? endpoint : THREAD.get());
+    }
+
+    void addRows(Stats stats, long rows) {
+        stats.rows.add(rows);
+    }
+
+    public SqlProfileDto.Response top(SqlProfileDto.Sort sort, int limit) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "SQL 프로파일러가 꺼져 있습니다.");
+        }
+        if (limit < 1 || limit > 500) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit 은 1 이상 500 이하여야 합니다.");
+        }
+        Registry registry = this.registry;
+        List<SqlProfileDto.Statement> statements = new ArrayList<>(registry.byFingerprint().size());
+        long count = 0;
+        long totalNanos = 0;
+        for (Stats stats : registry.byFingerprint().values()) {
+            long statementCount = stats.count.sum();
+            if (statementCount == 0) {
+                continue;
+            }
+            long statementNanos = stats.totalNanos.sum();
+            count += statementCount;
+            totalNanos += statementNanos;
+            statements.add(toStatement(stats.fingerprint, statementCount, statementNanos, stats.maxNanos.get(),
+                    stats.rows.sum(), stats.errors.sum(), stats.topEndpoints()));
+        }
+        statements.sort(Comparator.comparingDouble(sortKey(sort)).reversed());
+
+        return SqlProfileDto.Response.builder()
+                .since(registry.since())
+                .sort(sort)
+                .statements(statements.size())
+                .count(count)
+                .totalTimeMs(millis(totalNanos))
+                .items(List.copyOf(statements.subList(0, Math.min(limit, statements.size()))))
+                .build();
+    }
+
+    // 최근 구간부터
+    public synchronized List<SqlProfileDto.Snapshot> getSnapshots() {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "SQL 프로파일러가 꺼져 있습니다.");
+        }
+        List<SqlProfileDto.Snapshot> result = new ArrayList<>(snapshots);
+        Collections.reverse(result);
+        return result;
+    }
+
+    public synchronized void reset() {
+        registry = new Registry(LocalDateTime.now());
+        previous.clear();
+        snapshots.clear();
+        snapshotFrom = registry.since();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("sql profile snapshot failed", e);
+        }
+    }
+
+    // 직전 스냅샷 이후 증가분
+    synchronized SqlProfileDto.Snapshot snapshot() {
+        LocalDateTime to = LocalDateTime.now();
+        List<SqlProfileDto.Statement> statements = new ArrayList<>();
+        long count = 0;
+        long totalNanos = 0;
+        for (Stats stats : registry.byFingerprint().values()) {
+            long[] current = {stats.count.sum(), stats.totalNanos.sum(), stats.rows.sum(), stats.errors.sum()};
+            long[] before = previous.getOrDefault(stats.fingerprint, new long[current.length]);
+            previous.put(stats.fingerprint, current);
+            long maxNanos = stats.intervalMaxNanos.getThenReset();
+            long deltaCount = current[0] - before[0];
+            if (deltaCount <= 0) {
+                continue;
+            }
+            count += deltaCount;
+            totalNanos += current[1] - before[1];
+            statements.add(toStatement(stats.fingerprint, deltaCount, current[1] - before[1], maxNanos,
+                    current[2] - before[2], current[3] - before[3], Map.of()));
+        }
+        statements.sort(Comparator.comparingDouble(SqlProfileDto.Statement::getTotalTimeMs).reversed());
+
+        SqlProfileDto.Snapshot snapshot = SqlProfileDto.Snapshot.builder()
+                .from(snapshotFrom)
+                .to(to)
+                .count(count)
+                .totalTimeMs(millis(totalNanos))
+                .items(List.copyOf(statements.subList(0, Math.min(SNAPSHOT_ITEMS, statements.size()))))
+                .build();
+        snapshotFrom = to;
+        snapshots.addLast(snapshot);
+        while (snapshots.size() > snapshotHistory) {
+            snapshots.removeFirst();
+        }
+
+        if (count > 0) {
+            log.info("sql profile {} ~ {}: {} statements, {} ms", snapshot.getFrom(), snapshot.getTo(), count, snapshot.getTotalTimeMs());
+            for (SqlProfileDto.Statement statement : snapshot.getItems().subList(0, Math.min(LOG_ITEMS, snapshot.getItems().size()))) {
+                log.info("  {} ms x{} (max {} ms, rows {}, errors {}) {}", statement.getTotalTimeMs(), statement.getCount(),
+                        statement.getMaxTimeMs(), statement.getRows(), statement.getErrors(), abbreviate(statement.getFingerprint()));
+            }
+        }
+        return snapshot;
+    }
+
+    private static SqlProfileDto.Statement toStatement(String fingerprint, long count, long totalNanos, long maxNanos,
+                                                       long rows, long errors, Map<String, Long> endpoints) {
+        return SqlProfileDto.Statement.builder()
+                .fingerprint(fingerprint)
+                .count(count)
+                .totalTimeMs(millis(totalNanos))
+                .avgTimeMs(millis(totalNanos / count))
+                .maxTimeMs(millis(maxNanos))
+                .rows(rows)
+                .errors(errors)
+                .endpoints(endpoints)
+                .build();
+    }
+
+    private static ToDoubleFunction<SqlProfileDto.Statement> sortKey(SqlProfileDto.Sort sort) {
+        return switch (sort) {
+            case TOTAL_TIME -> SqlProfileDto.Statement::getTotalTimeMs;
+            case COUNT -> SqlProfileDto.Statement::getCount;
+            case AVG_TIME -> SqlProfileDto.Statement::getAvgTimeMs;
+            case MAX_TIME -> SqlProfileDto.Statement::getMaxTimeMs;
+            case ROWS -> SqlProfileDto.Statement::getRows;
+            case ERRORS -> SqlProfileDto.Statement::getErrors;
+        };
+    }
+
+    // 마이크로초 단위까지
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static String abbreviate(String fingerprint) {
+        return fingerprint.length() > 200 ? fingerprint.substring(0, 200) + "..." : fingerprint;
+    }
+
+    // 요청 밖에서 실행된 SQL 은 스레드 이름(번호 제외) 으로 묶는다. 예: dashboard-3 -> [dashboard]
+    private static String threadLabel(String name) {
+        int end = name.length();
+        while (end > 0 && (Character.isDigit(name.charAt(end - 1)) || name.charAt(end - 1) == '-')) {
+            end--;
+        }
+        return "[" + (end > 0 ? name.substring(0, end) : name) + "]";
+    }
+
+    // reset 때 통째로 바꾸는 맵 묶음 (SQL 문자열 -> 통계, fingerprint -> 통계)
+    private record Registry(LocalDateTime since, ConcurrentHashMap<String, Stats> bySql,
+                            ConcurrentHashMap<String, Stats> byFingerprint) {
+        private Registry(LocalDateTime since) {
+            this(since, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    static final class Stats {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator intervalMaxNanos = new LongAccumulator(Math::max, 0);
+        private final ConcurrentHashMap<String, LongAdder> endpoints = new ConcurrentHashMap<>();
+
+        private Stats(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private void endpoint(String endpoint) {
+            LongAdder adder = endpoints.get(endpoint);
+            if (adder == null) {
+                adder = endpoints.computeIfAbsent(endpoints.size() < MAX_ENDPOINTS ? endpoint : OTHER, key -> new LongAdder());
+            }
+            adder.increment();
+        }
+
+        private Map<String, Long> topEndpoints() {
+            Map<String, Long> top = new LinkedHashMap<>();
+            endpoints.entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(TOP_ENDPOINTS)
+                    .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+            return top;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.study.spring.global.util;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 응답 필드 선택 (fields=id,mealType,foods.foodName).
+ * "foods" 처럼 하위 필드 없이 지정하면 하위 필드 전체, "foods.foodName" 처럼 지정하면 해당 하위 필드만 포함한다.
+ * 직렬화 대상은 @JsonFilter(FILTER_ID) 가 붙은 DTO 이고, 서비스는 includes() 로 조회할 컬럼/하위 목록을 줄인다.
+ */
+public class FieldSelection {
+    public static final String FILTER_ID = "fields";
+    public static final FieldSelection ALL = new FieldSelection(Set.of());
+
+    private final Set<String> paths;
+
+    private FieldSelection(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        return new FieldSelection(Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public boolean isAll() {
+        return paths.isEmpty();
+    }
+
+    public boolean includes(String path) {
+        if (isAll() || paths.contains(path)) {
+            return true;
+        }
+
+        // 선택된 하위 필드의 상위 경로 (foods.foodName -> foods)
+        String prefix = path + ".";
+        for (String selected : paths) {
+            if (selected.startsWith(prefix)) {
+                return true;
+            }
+        }
+
+        // 하위 필드 지정 없이 선택된 상위 경로 (foods -> foods.foodName)
+        int dot = path.lastIndexOf('.');
+        while (dot > 0) {
+            String parent = path.substring(0, dot);
+            if (paths.contains(parent)) {
+                return !hasSelectedChild(parent);
+            }
+            dot = parent.lastIndexOf('.');
+        }
+        return false;
+    }
+
+    private boolean hasSelectedChild(String parent) {
+        String prefix = parent + ".";
+        return paths.stream().anyMatch(selected -> selected.startsWith(prefix));
+    }
+
+    // 응답 본문에 필드 필터 적용
+    public MappingJacksonValue wrap(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!isAll()) {
+            value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID, new Filter(this)));
+        }
+        return value;
+    }
+
+    private static final class Filter extends SimpleBeanPropertyFilter {
+        private static final ClassValue<Boolean> FILTERED = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                return type.isAnnotationPresent(JsonFilter.class);
+            }
+        };
+
+        private final FieldSelection selection;
+
+        private Filter(FieldSelection selection) {
+            this.selection = selection;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer) throws Exception {
+            if (selection.includes(pathOf(gen, writer.getName()))) {
+                writer.serializeAsField(pojo, gen, provider);
+            } else if (!gen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, gen, provider);
+            }
+        }
+
+        // 필터 대상 DTO 의 필드 이름만 이어서 경로 생성 (목록/페이지 래퍼는 건너뜀)
+        private static String pathOf(JsonGenerator gen, String name) {
+            StringBuilder path = new StringBuilder(name);
+            JsonStreamContext context = gen.getOutputContext().getParent();
+            while (context != null) {
+                if (context.inObject() && context.getCurrentName() != null
+                        && context.getCurrentValue() != null && FILTERED.get(context.getCurrentValue().getClass())) {
+                    path.insert(0, context.getCurrentName() + ".");
+                }
+                context = context.getParent();
+            }
+            return path.toString();
+        }
+    }
+}
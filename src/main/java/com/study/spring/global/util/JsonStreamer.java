@@ -0,0 +1,129 @@
+package com.study.spring.global.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 큰 목록 응답을 DTO 목록으로 다 모은 뒤 직렬화하지 않고, 읽는 대로 응답 스트림의 JsonGenerator 에 바로 쓴다.
+ * 행 쓰기는 도메인별 RowWriter 가 미리 만들어 둔 필드 이름(SerializedString) 으로 직접 하고,
+ * 날짜/enum 같은 값만 스프링 부트 ObjectMapper 의 직렬화기를 그대로 써서 기존 응답과 같은 모양을 낸다.
+ * JSON 을 원하는 요청만 이 경로를 타고, CBOR/Smile 은 기존 메시지 컨버터 경로를 쓴다.
+ * 실험 기능이라 기본은 꺼 두고 (json.streaming.enabled), 측정상 지연/할당 이득이 확인되면 켠다.
+ * 첫 행 전에 실패하면 (회원 확인 등) 아무것도 쓰지 않았으므로 평소의 오류 응답이 나간다.
+ * 행을 쓰기 시작한 뒤 실패하면 열린 배열/객체를 닫지 않고 끝내므로, 클라이언트는 잘린 응답을 JSON 파싱 오류로 알 수 있다.
+ */
+@Component
+public class JsonStreamer {
+    private static final List<MediaType> ENCODINGS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, MediaType.valueOf("application/x-jackson-smile"));
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${json.streaming.enabled:false}")
+    private boolean enabled;
+
+    public JsonStreamer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // 메시지 컨버터가 JSON 을 고를 요청인지 (Accept 없음, */*, application/json 등)
+    public boolean accepts(HttpServletRequest request) {
+        if (!enabled) {
+            return false;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> types;
+        try {
+            types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : types) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType encoding : ENCODINGS) {
+                if (type.isCompatibleWith(encoding)) {
+                    return encoding == MediaType.APPLICATION_JSON;
+                }
+            }
+        }
+        return false;
+    }
+
+    public <T> void writeArray(HttpServletResponse response, RowSource<T> source, RowWriter<T> writer) throws IOException {
+        SerializerProvider provider = ((DefaultSerializerProvider) objectMapper.getSerializerProvider())
+                .createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
+        try (LazyArray array = new LazyArray(response)) {
+            source.forEach(row -> writer.write(array.generator(), provider, row));
+            array.generator().writeEndArray();
+        }
+    }
+
+    /**
+     * 첫 행을 쓸 때 (행이 없으면 끝날 때) 에야 generator 를 열고 '[' 를 쓴다.
+     * 그 전에 난 예외 (회원 없음 404 등) 는 응답에 아무것도 쓰지 않은 채로 나가므로 일반 오류 응답이 된다.
+     */
+    private final class LazyArray implements AutoCloseable {
+        private final HttpServletResponse response;
+        private JsonGenerator generator;
+
+        private LazyArray(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        private JsonGenerator generator() throws IOException {
+            if (generator == null) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                generator = objectMapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+                // 기본값이면 예외로 빠져나올 때 close() 가 배열을 닫아 잘린 목록이 정상 200 응답처럼 보인다
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.writeStartArray();
+            }
+            return generator;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (generator != null) {
+                generator.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Sink<T> {
+        void accept(T row) throws IOException;
+    }
+
+    // 행을 읽는 쪽 (보통 짧은 트랜잭션의 키셋 페이지 조회)
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEach(Sink<T> sink) throws IOException;
+    }
+
+    // 행 하나를 JSON 객체로 쓴다. provider 는 날짜/enum 값 직렬화용
+    @FunctionalInterface
+    public interface RowWriter<T> {
+        void write(JsonGenerator generator, SerializerProvider provider, T row) throws IOException;
+    }
+}
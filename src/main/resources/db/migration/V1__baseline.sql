@@ -0,0 +1,120 @@
+-- 기준 스키마 (기존 ddl-auto=update 로 만들어진 DB 는 baseline-on-migrate 로 V1 을 건너뛴다)
+
+create table member (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    nickname varchar(255) not null,
+    name varchar(255) not null,
+    birth_at date not null,
+    gender enum ('FEMALE','MALE'),
+    height float(23) not null,
+    weight float(23) not null,
+    activity_level enum ('HIGH','LOW','MODERATE') not null,
+    profile_image_url varchar(255),
+    role enum ('ADMIN','USER'),
+    created_at datetime(6),
+    updated_at datetime(6),
+    deleted_at datetime(6),
+    primary key (id),
+    constraint uk_member_email unique (email)
+) engine=InnoDB;
+
+create table meals (
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    meal_type enum ('BREAKFAST','DINNER','LUNCH','SNACK') not null,
+    image_url varchar(255),
+    memo TEXT,
+    total_calories integer,
+    created_at datetime(6),
+    updated_at datetime(6),
+    modified_at datetime(6),
+    primary key (id),
+    constraint fk_meals_member foreign key (member_id) references member (id)
+) engine=InnoDB;
+
+create index idx_meals_member_modified_at on meals (member_id, modified_at, id);
+create index idx_meals_member_type_modified_at on meals (member_id, meal_type, modified_at);
+
+create table foods (
+    id bigint not null auto_increment,
+    meals_id bigint not null,
+    food_name varchar(255) not null,
+    calories integer,
+    carbohydrate float(23),
+    protein float(23),
+    fat float(23),
+    sodium float(23),
+    fiber float(23),
+    primary key (id),
+    constraint fk_foods_meals foreign key (meals_id) references meals (id)
+) engine=InnoDB;
+
+create table boards (
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    title varchar(255) not null,
+    content TEXT not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_boards_member foreign key (member_id) references member (id)
+) engine=InnoDB;
+
+create table comments (
+    id bigint not null auto_increment,
+    boards_id bigint not null,
+    member_id bigint not null,
+    content TEXT not null,
+    created_at datetime(6),
+    primary key (id),
+    constraint fk_comments_boards foreign key (boards_id) references boards (id),
+    constraint fk_comments_member foreign key (member_id) references member (id)
+) engine=InnoDB;
+
+create table issues (
+    id bigint not null auto_increment,
+    admin_id bigint not null,
+    title varchar(255) not null,
+    content TEXT not null,
+    reference varchar(255),
+    role enum ('ADMIN','USER'),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_issues_admin foreign key (admin_id) references member (id)
+) engine=InnoDB;
+
+create table member_purge (
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    phase enum ('BOARDS','COMMENTS','DONE','ISSUES','MEALS','MEMBER') not null,
+    profile_image_url varchar(255),
+    deleted_meals bigint not null,
+    deleted_foods bigint not null,
+    deleted_comments bigint not null,
+    deleted_boards bigint not null,
+    deleted_issues bigint not null,
+    deleted_files bigint not null,
+    attempts integer not null,
+    last_error varchar(500),
+    created_at datetime(6),
+    updated_at datetime(6),
+    completed_at datetime(6),
+    primary key (id),
+    constraint uk_member_purge_member unique (member_id)
+) engine=InnoDB;
+
+create table meal_archive (
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    archive_month date not null,
+    file_name varchar(255) not null,
+    meal_count integer not null,
+    food_count integer not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_meal_archive_member_month unique (member_id, archive_month)
+) engine=InnoDB;
@@ -0,0 +1,14 @@
+-- ddl-auto=update 로 이미 만들어진 DB 에서 baseline(V1) 이후 실행될 수 있으므로 있으면 건너뛴다
+create table if not exists meal_sketch (
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    week_start date not null,
+    version bigint not null,
+    built_version bigint not null,
+    built_on date not null,
+    sketches blob not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_meal_sketch_member_week unique (member_id, week_start)
+) engine=InnoDB;
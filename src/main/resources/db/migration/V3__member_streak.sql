@@ -0,0 +1,15 @@
+-- V2 와 같이 ddl-auto=update 가 먼저 만든 테이블이면 건너뛴다
+create table if not exists member_streak (
+    id bigint not null auto_increment,
+    member_id bigint not null,
+    base_day date not null,
+    logged blob not null,
+    calories blob not null,
+    carry integer not null,
+    longest_before integer not null,
+    rebuild_needed bit not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_member_streak_member unique (member_id)
+) engine=InnoDB;
@@ -0,0 +1,8 @@
+-- 분석 적재(NutritionAnalyticsRepository.findMealNutritionAfter)의 (modified_at, id) 범위 조회용.
+-- ddl-auto=update 가 이미 만든 인덱스면 건너뛴다 (MySQL 은 create index if not exists 가 없다)
+set @index_exists := (select count(*) from information_schema.statistics
+                      where table_schema = database() and table_name = 'meals' and index_name = 'idx_meals_modified_at_id');
+set @ddl := if(@index_exists = 0, 'create index idx_meals_modified_at_id on meals (modified_at, id)', 'select 1');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
@@ -0,0 +1,8 @@
+-- 보관 파일별 이미지 색인 (업로드 파일 정리가 보관 파일을 풀지 않도록). 기존 행은 null 로 두고 처음 읽을 때 채운다.
+-- ddl-auto=update 가 이미 만든 열이면 건너뛴다 (MySQL 은 add column if not exists 가 없다)
+set @column_exists := (select count(*) from information_schema.columns
+                       where table_schema = database() and table_name = 'meal_archive' and column_name = 'image_urls');
+set @ddl := if(@column_exists = 0, 'alter table meal_archive add column image_urls text', 'select 1');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
@@ -0,0 +1,55 @@
+package com.study.spring.domain.analytics.controller;
+
+import com.study.spring.domain.analytics.dto.AnalyticsDto;
+import com.study.spring.domain.analytics.service.NutritionAnalyticsService;
+import com.study.spring.domain.member.entity.Role;
+import com.study.spring.global.auth.AuthPrincipal;
+import com.study.spring.global.auth.AuthPrincipalArgumentResolver;
+import com.study.spring.global.auth.RevokedMembers;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AnalyticsControllerTest {
+    private final NutritionAnalyticsService service = mock(NutritionAnalyticsService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AnalyticsController(service))
+            .setCustomArgumentResolvers(new AuthPrincipalArgumentResolver(mock(RevokedMembers.class)))
+            .build();
+
+    @Test
+    void bindsIsoDates() throws Exception {
+        when(service.query(any())).thenReturn(AnalyticsDto.CohortResponse.builder().build());
+
+        mockMvc.perform(get("/api/analytics/cohorts").param("from", "2025-01-01").param("to", "2025-03-31")
+                        .param("groupBy", "GENDER,AGE_BAND")
+                        .requestAttr(AuthPrincipal.class.getName(), new AuthPrincipal(1L, Role.ADMIN)))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<AnalyticsDto.CohortQuery> query = ArgumentCaptor.forClass(AnalyticsDto.CohortQuery.class);
+        verify(service).query(query.capture());
+        assertThat(query.getValue().getFrom()).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(query.getValue().getTo()).isEqualTo(LocalDate.of(2025, 3, 31));
+        assertThat(query.getValue().getGroupBy()).containsExactly(AnalyticsDto.Dimension.GENDER, AnalyticsDto.Dimension.AGE_BAND);
+    }
+
+    @Test
+    void malformedDateIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/analytics/cohorts").param("from", "2025-13-01").param("to", "yesterday")
+                        .requestAttr(AuthPrincipal.class.getName(), new AuthPrincipal(1L, Role.ADMIN)))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).query(any());
+    }
+}
@@ -0,0 +1,110 @@
+package com.study.spring.domain.analytics.service;
+
+import com.study.spring.domain.analytics.dto.AnalyticsDto;
+import com.study.spring.domain.analytics.repository.NutritionAnalyticsRepository;
+import com.study.spring.domain.member.entity.Gender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NutritionAnalyticsServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    private final NutritionAnalyticsRepository repository = mock(NutritionAnalyticsRepository.class);
+    private final NutritionAnalyticsService service = new NutritionAnalyticsService(repository);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "refreshSeconds", 300L);
+        ReflectionTestUtils.setField(service, "recomputeDays", 7);
+        ReflectionTestUtils.setField(service, "fullReloadHours", 24L);
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "loadBatchSize", 100);
+        when(repository.findMealNutritionAfter(any(), eq(0L), any())).thenReturn(List.of(
+                meal(1L, 1L, DAY, 500L), meal(2L, 1L, DAY, 300L), meal(3L, 2L, DAY, 1000L), meal(4L, 1L, DAY.plusDays(1), 400L)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        service.stop();
+    }
+
+    @Test
+    void queryAnswers503UntilStartupLoadFinishes() {
+        when(repository.findMemberProfiles()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return profiles();
+        });
+        service.start();
+
+        assertThatThrownBy(() -> service.query(byGender()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        release.countDown();
+        // 재적재는 적재 스레드에서 시작 적재 다음에 실행되므로 끝나면 시작 적재도 끝나 있다
+        service.reload();
+
+        AnalyticsDto.CohortResponse response = service.query(byGender());
+        assertThat(response.getMemberDays()).isEqualTo(3);
+        assertThat(response.getRows()).extracting(AnalyticsDto.CohortRow::getGroup)
+                .containsExactly(Map.of(AnalyticsDto.Dimension.GENDER, "MALE"), Map.of(AnalyticsDto.Dimension.GENDER, "FEMALE"));
+        assertThat(response.getRows()).extracting(AnalyticsDto.CohortRow::getAvgCalories).containsExactly(600.0, 1000.0);
+    }
+
+    @Test
+    void failedStartupLoadIsRetried() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "refreshSeconds", 1L);
+        when(repository.findMemberProfiles()).thenThrow(new IllegalStateException("db down")).thenReturn(profiles());
+        service.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        AnalyticsDto.StatusResponse status = null;
+        while (status == null && System.nanoTime() < deadline) {
+            try {
+                status = service.getStatus();
+            } catch (ResponseStatusException e) {
+                Thread.sleep(50);
+            }
+        }
+
+        assertThat(status).isNotNull();
+        assertThat(status.getRows()).isEqualTo(3);
+        assertThat(status.getFirstDay()).isEqualTo(DAY);
+    }
+
+    private static AnalyticsDto.CohortQuery byGender() {
+        return AnalyticsDto.CohortQuery.builder()
+                .from(DAY)
+                .to(DAY.plusDays(1))
+                .groupBy(List.of(AnalyticsDto.Dimension.GENDER))
+                .build();
+    }
+
+    private static List<AnalyticsDto.MemberProfile> profiles() {
+        return List.of(new AnalyticsDto.MemberProfile(1L, Gender.MALE, null, null, 175f, 70f),
+                new AnalyticsDto.MemberProfile(2L, Gender.FEMALE, null, null, 160f, 50f));
+    }
+
+    private static AnalyticsDto.MealNutrition meal(Long mealId, Long memberId, LocalDate day, Long calories) {
+        return new AnalyticsDto.MealNutrition(mealId, memberId, day.atTime(12, 0), calories, 10.0, 10.0, 10.0);
+    }
+}
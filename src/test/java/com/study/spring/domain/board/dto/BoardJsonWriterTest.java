@@ -0,0 +1,77 @@
+package com.study.spring.domain.board.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardJsonWriterTest {
+    // 부트 ObjectMapper 와 같은 설정 (날짜는 ISO 문자열, JacksonConfig 의 필터/모듈, spring.jackson.time-zone)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .timeZone("Asia/Seoul")
+            .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+    private final JsonStreamer streamer = new JsonStreamer(objectMapper);
+
+    @Test
+    void streamedBytesMatchConverterOutput() throws Exception {
+        List<BoardDto.Response> boards = List.of(
+                BoardDto.Response.builder()
+                        .id(1L).memberId(7L).title("제목 \"따옴표\"").content("본문\n둘째 줄 \\ </script> 🍚")
+                        .comments(List.of(
+                                BoardDto.CommentResponse.builder().id(10L).memberId(8L).content("댓글")
+                                        .createdAt(LocalDateTime.of(2024, 3, 10, 12, 0, 1)).boardId(1L).build(),
+                                BoardDto.CommentResponse.builder().id(11L).build()))
+                        .createdAt(LocalDateTime.of(2024, 3, 10, 12, 0))
+                        .updatedAt(LocalDateTime.of(2024, 3, 10, 12, 0, 0, 5_000_000))
+                        .build(),
+                BoardDto.Response.builder().id(2L).comments(new ArrayList<>()).build(),
+                // 값이 하나도 없는 행 (comments 도 null)
+                BoardDto.Response.builder().build());
+
+        for (String fields : Arrays.asList(null, "id,title", "comments", "comments.content,comments.createdAt,createdAt",
+                "memberId,content,updatedAt", "comments.id,id", "unknown")) {
+            FieldSelection selection = FieldSelection.parse(fields);
+            byte[] expected = converted(boards, selection);
+            assertThat(streamed(boards, selection)).as("fields=%s, expected %s", fields, new String(expected, StandardCharsets.UTF_8))
+                    .isEqualTo(expected);
+        }
+    }
+
+    private byte[] streamed(List<BoardDto.Response> boards, FieldSelection selection) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        streamer.writeArray(response, sink -> {
+            for (BoardDto.Response board : boards) {
+                sink.accept(board);
+            }
+        }, new BoardJsonWriter(selection));
+        return response.getContentAsByteArray();
+    }
+
+    // 기존 경로: 컨트롤러가 selection.wrap(list) 를 돌려주면 메시지 컨버터가 필터를 얹어 쓴다
+    private byte[] converted(List<BoardDto.Response> boards, FieldSelection selection) throws Exception {
+        MappingJacksonValue value = selection.wrap(boards);
+        ObjectWriter writer = objectMapper.writer();
+        if (value.getFilters() != null) {
+            writer = writer.with(value.getFilters());
+        }
+        return writer.writeValueAsBytes(value.getValue());
+    }
+}
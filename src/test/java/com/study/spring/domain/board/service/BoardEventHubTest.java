@@ -0,0 +1,137 @@
+package com.study.spring.domain.board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.spring.domain.board.dto.BoardDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardEventHubTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoardEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new BoardEventHub(new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(hub, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(hub, "bufferSize", 4);
+        ReflectionTestUtils.setField(hub, "heartbeatSeconds", 3600L);
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(hub, "sendTimeoutMs", 300L);
+        ReflectionTestUtils.setField(hub, "senderThreads", 2);
+        hub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void stalledSubscriberIsEvictedAndClosedWithError() throws Exception {
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch writeTimedOut = new CountDownLatch(1);
+        AtomicReference<String> slowCompletion = new AtomicReference<>();
+        attach(hub.subscribe(null), items -> {
+            stalled.countDown();
+            try {
+                writeTimedOut.await(); // 컨테이너의 쓰기 시간 제한까지 멈춘 쓰기
+            } catch (InterruptedException e) {
+                throw new IOException("interrupted", e);
+            }
+        }, slowCompletion);
+        publish(1L);
+        assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 멈춘 구독자가 전송 스레드 하나를 잡고 있어도 다른 구독자는 받는다
+        AtomicInteger received = new AtomicInteger();
+        attach(hub.subscribe(null), items -> received.incrementAndGet(), new AtomicReference<>());
+        publish(2L);
+        waitUntil(() -> received.get() == 1);
+
+        waitUntil(() -> meterRegistry.get("board.sse.evicted").functionCounter().count() == 1);
+        assertThat(meterRegistry.get("board.sse.subscribers").gauge().value()).isEqualTo(1);
+
+        // 멈춘 쓰기가 끝나면 (인터럽트 없이) 오류로 닫힌다
+        writeTimedOut.countDown();
+        waitUntil(() -> slowCompletion.get() != null);
+        assertThat(slowCompletion.get()).isEqualTo("completeWithError");
+    }
+
+    @Test
+    void backedUpSubscriberIsEvicted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> completed = new AtomicReference<>();
+        ReflectionTestUtils.setField(hub, "sendTimeoutMs", 60_000L);
+        attach(hub.subscribe(null), items -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException("interrupted", e);
+            }
+        }, completed);
+
+        // 첫 이벤트는 보내는 중, 다음 4개로 버퍼가 차고 그다음 이벤트에서 끊긴다
+        for (long i = 1; i <= 6; i++) {
+            publish(i);
+        }
+        assertThat(meterRegistry.get("board.sse.evicted").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("board.sse.dropped").functionCounter().count()).isEqualTo(4);
+
+        release.countDown();
+        waitUntil(() -> completed.get() != null);
+    }
+
+    private void publish(Long boardId) {
+        hub.onBoardEvent(BoardDto.Event.builder()
+                .type(BoardDto.EventType.BOARD_CREATED)
+                .boardId(boardId)
+                .build());
+    }
+
+    private interface Sink {
+        void send(Set<?> items) throws IOException;
+    }
+
+    // 서블릿 응답 대신 Sink 로 보내도록 emitter 를 초기화한다 (Handler 는 package-private)
+    private static void attach(SseEmitter emitter, Sink sink, AtomicReference<String> completion) throws Exception {
+        Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        Object handler = Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[]{handlerType},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "send" -> {
+                            if (args.length == 1) {
+                                sink.send((Set<?>) args[0]);
+                            }
+                        }
+                        case "complete", "completeWithError" -> completion.compareAndSet(null, method.getName());
+                        default -> { }
+                    }
+                    return null;
+                });
+        ReflectionTestUtils.invokeMethod(emitter, "initialize", handler);
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.study.spring.domain.board.service;
+
+import com.study.spring.domain.board.dto.BoardDto;
+import com.study.spring.domain.board.entity.Board;
+import com.study.spring.domain.board.repository.BoardRepository;
+import com.study.spring.domain.board.repository.CommentRepository;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoardSearchIndexTest {
+    private static final long MEMBER_ID = 1L;
+
+    // DB 대신: 게시글 id -> {제목, 본문}, 게시글 id -> 댓글 본문
+    private final Map<Long, String[]> boards = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> comments = new ConcurrentSkipListMap<>();
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private final BoardRepository boardRepository = mock(BoardRepository.class);
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+
+    @TempDir
+    Path indexDir;
+
+    private BoardSearchIndex index;
+    private BoardService boardService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        board(1L, "저녁", "오늘 저녁 메뉴", "샐러드 추천해요");
+        board(2L, "점심", "샐러드를 먹었어요");
+        board(3L, "샐러드", "오늘 점심 메뉴");
+        board(4L, "운동 기록", "스쿼트 백 개");
+
+        when(boardRepository.findResponsesByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> requested = invocation.getArgument(0);
+            return requested.stream().filter(boards::containsKey).map(this::response).toList();
+        });
+        when(boardRepository.findResponsesByIdGreaterThan(anyLong(), any())).thenAnswer(invocation -> {
+            long lastId = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return boards.keySet().stream().filter(id -> id > lastId).limit(page.getPageSize()).map(this::response).toList();
+        });
+        when(commentRepository.findResponsesByBoardIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> boardIds = invocation.getArgument(0);
+            List<BoardDto.CommentResponse> found = new ArrayList<>();
+            for (Long boardId : boardIds) {
+                for (String content : comments.getOrDefault(boardId, List.of())) {
+                    found.add(BoardDto.CommentResponse.builder().id(ids.incrementAndGet()).boardId(boardId).content(content).build());
+                }
+            }
+            return found;
+        });
+        when(boardRepository.save(any(Board.class))).thenAnswer(invocation -> {
+            Board board = invocation.getArgument(0);
+            if (board.getId() == null) {
+                ReflectionTestUtils.setField(board, "id", ids.incrementAndGet());
+            }
+            board(board.getId(), board.getTitle(), board.getContent());
+            return board;
+        });
+        when(boardRepository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(boards.get(invocation.<Long>getArgument(0)))
+                .map(row -> entity(invocation.getArgument(0), row)));
+        doAnswer(invocation -> boards.remove(invocation.<Board>getArgument(0).getId()))
+                .when(boardRepository).delete(any(Board.class));
+        when(memberRepository.getReferenceById(MEMBER_ID)).thenReturn(Member.builder().id(MEMBER_ID).build());
+
+        index = new BoardSearchIndex(boardRepository, commentRepository);
+        configure(index);
+        index.start();
+        // 커밋 시점 이벤트 전달 (@TransactionalEventListener) 대신 바로 넘긴다
+        boardService = new BoardService(boardRepository, commentRepository, memberRepository,
+                event -> index.onBoardEvent((BoardDto.Event) event), index, mock(TransactionTemplate.class));
+
+        // 첫 시작이라 색인이 없으므로 DB 에서 다시 만든다
+        await(() -> !index.search("메뉴", 0, 10).isEmpty());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (index != null) {
+            index.stop();
+        }
+    }
+
+    @Test
+    void matchesKoreanWordsRegardlessOfParticles() {
+        // 본문은 "샐러드를", 검색어는 조사 없이 / 반대로
+        assertThat(index.search("샐러드", 0, 10)).contains(2L);
+        assertThat(index.search("샐러드를", 0, 10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        // 공백으로 나눈 단어는 모두 포함해야 한다
+        assertThat(index.search("저녁 메뉴", 0, 10)).containsExactly(1L);
+        assertThat(index.search("스쿼트", 0, 10)).containsExactly(4L);
+    }
+
+    @Test
+    void ranksTitleOverContentOverCommentsAndPages() {
+        assertThat(index.search("샐러드", 0, 10)).containsExactly(3L, 2L, 1L);
+
+        // 다음 페이지가 있으면 size + 1 개
+        assertThat(index.search("샐러드", 0, 2)).containsExactly(3L, 2L, 1L);
+        assertThat(index.search("샐러드", 1, 2)).containsExactly(1L);
+
+        BoardDto.SearchResponse first = boardService.searchBoards("샐러드", 0, 2);
+        assertThat(first.getContent()).extracting(BoardDto.Response::getId).containsExactly(3L, 2L);
+        assertThat(first.isHasNext()).isTrue();
+        BoardDto.SearchResponse second = boardService.searchBoards("샐러드", 1, 2);
+        assertThat(second.getContent()).extracting(BoardDto.Response::getId).containsExactly(1L);
+        assertThat(second.isHasNext()).isFalse();
+
+        assertThatThrownBy(() -> index.search("샐러드", 10, 100))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void boardServiceWritesAreSearchableAfterRefresh() {
+        BoardDto.Response created = boardService.createBoard(MEMBER_ID,
+                BoardDto.Request.builder().title("비빔밥 레시피").content("고추장 한 숟가락").build());
+
+        await(() -> index.search("고추장", 0, 10).contains(created.getId()));
+        assertThat(boardService.searchBoards("비빔밥", 0, 10).getContent())
+                .extracting(BoardDto.Response::getId).containsExactly(created.getId());
+
+        boardService.updateBoard(created.getId(), BoardDto.Request.builder().title("비빔밥 레시피").content("된장 한 숟가락").build());
+        await(() -> index.search("된장", 0, 10).contains(created.getId()));
+        assertThat(index.search("고추장", 0, 10)).isEmpty();
+
+        boardService.deleteBoard(created.getId());
+        await(() -> index.search("비빔밥", 0, 10).isEmpty());
+    }
+
+    @Test
+    void rowsRemovedOutsideBoardServiceAreDroppedWhenMarkedStale() {
+        // 회원 탈퇴 정리 작업처럼 이벤트 없이 DB 에서 지워진 게시글
+        boards.remove(2L);
+        assertThat(index.search("샐러드", 0, 10)).contains(2L);
+
+        // 검색 결과에서 빠지고, 색인에만 남은 id 는 다시 색인하도록 표시된다
+        assertThat(boardService.searchBoards("샐러드", 0, 10).getContent())
+                .extracting(BoardDto.Response::getId).containsExactly(3L, 1L);
+        await(() -> !index.search("샐러드", 0, 10).contains(2L));
+
+        // 정리 작업이 직접 표시하는 경우
+        boards.remove(4L);
+        index.markStale(List.of(4L));
+        await(() -> index.search("스쿼트", 0, 10).isEmpty());
+    }
+
+    @Test
+    void rebuildReadsEveryBoardFromTheDatabase() {
+        // 이벤트 없이 바뀐 DB (색인 유실 등)
+        board(5L, "단백질 보충", "닭가슴살 도시락");
+        comments.put(1L, List.of("드레싱 추천"));
+        assertThat(index.search("도시락", 0, 10)).isEmpty();
+
+        assertThat(index.rebuild()).isEqualTo(5);
+
+        assertThat(index.search("도시락", 0, 10)).containsExactly(5L);
+        assertThat(index.search("드레싱", 0, 10)).containsExactly(1L);
+        assertThat(index.search("샐러드", 0, 10)).containsExactly(3L, 2L); // 1 번의 예전 댓글은 빠졌다
+    }
+
+    @Test
+    void cleanRestartReusesTheIndexWithoutRebuilding() throws Exception {
+        index.stop();
+        index = null;
+
+        BoardRepository reopenedRepository = mock(BoardRepository.class);
+        BoardSearchIndex reopened = new BoardSearchIndex(reopenedRepository, commentRepository);
+        configure(reopened);
+        reopened.start();
+        try {
+            assertThat(reopened.search("샐러드", 0, 10)).containsExactly(3L, 2L, 1L);
+            verify(reopenedRepository, never()).findResponsesByIdGreaterThan(anyLong(), any());
+        } finally {
+            reopened.stop();
+        }
+    }
+
+    private void configure(BoardSearchIndex target) {
+        ReflectionTestUtils.setField(target, "enabled", true);
+        ReflectionTestUtils.setField(target, "indexDir", indexDir.toString());
+        ReflectionTestUtils.setField(target, "refreshMs", 20L);
+        ReflectionTestUtils.setField(target, "commitSeconds", 60L);
+        ReflectionTestUtils.setField(target, "maxResults", 1000);
+    }
+
+    private void board(Long id, String title, String content, String... commentContents) {
+        boards.put(id, new String[]{title, content});
+        if (commentContents.length > 0) {
+            comments.put(id, List.of(commentContents));
+        }
+    }
+
+    private BoardDto.Response response(Long id) {
+        String[] row = boards.get(id);
+        return new BoardDto.Response(id, MEMBER_ID, row[0], row[1], null, null);
+    }
+
+    private static Board entity(Long id, String[] row) {
+        return Board.builder().id(id).member(Member.builder().id(MEMBER_ID).build()).title(row[0]).content(row[1]).build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("색인 반영 대기").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
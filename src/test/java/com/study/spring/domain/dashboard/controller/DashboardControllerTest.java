@@ -0,0 +1,48 @@
+package com.study.spring.domain.dashboard.controller;
+
+import com.study.spring.domain.dashboard.dto.DashboardDto;
+import com.study.spring.domain.dashboard.service.DashboardService;
+import com.study.spring.domain.dashboard.service.HeavyHitterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DashboardControllerTest {
+    private final DashboardService dashboardService = mock(DashboardService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+                    new DashboardController(dashboardService, mock(HeavyHitterService.class)))
+            .build();
+
+    @Test
+    void bindsIsoDateAndDefaultsToToday() throws Exception {
+        when(dashboardService.getDashboard(anyLong(), any(), anyInt())).thenReturn(DashboardDto.Response.builder().build());
+
+        mockMvc.perform(get("/api/dashboard/1").param("date", "2024-03-10"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/dashboard/1").param("boardLimit", "100"))
+                .andExpect(status().isOk());
+
+        verify(dashboardService).getDashboard(1L, LocalDate.of(2024, 3, 10), 10);
+        verify(dashboardService).getDashboard(1L, LocalDate.now(), 50);
+    }
+
+    @Test
+    void malformedDateIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/dashboard/1").param("date", "2024-3-10"))
+                .andExpect(status().isBadRequest());
+
+        verify(dashboardService, never()).getDashboard(anyLong(), any(), anyInt());
+    }
+}
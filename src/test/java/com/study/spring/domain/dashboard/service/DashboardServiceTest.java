@@ -0,0 +1,118 @@
+package com.study.spring.domain.dashboard.service;
+
+import com.study.spring.domain.board.service.BoardService;
+import com.study.spring.domain.dashboard.dto.DashboardDto;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.service.MealService;
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.service.EnergyBudgetService;
+import com.study.spring.domain.member.service.MemberService;
+import com.study.spring.global.util.FieldSelection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+    private static final long MEMBER_ID = 1L;
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 10);
+
+    private final MemberService memberService = mock(MemberService.class);
+    private final EnergyBudgetService energyBudgetService = mock(EnergyBudgetService.class);
+    private final MealService mealService = mock(MealService.class);
+    private final BoardService boardService = mock(BoardService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private DashboardService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void groupsMealIdsByType() {
+        service = service(4, 1000L);
+        when(memberService.getMember(MEMBER_ID)).thenReturn(MemberDto.Response.builder().id(MEMBER_ID).build());
+        when(mealService.getMealsByMemberIdAndModifiedDate(MEMBER_ID, DATE, FieldSelection.ALL)).thenReturn(List.of(
+                meal(1L, MealType.BREAKFAST), meal(2L, MealType.LUNCH), meal(3L, MealType.LUNCH)));
+        when(boardService.getRecentBoards(10)).thenReturn(List.of());
+
+        DashboardDto.Response response = service.getDashboard(MEMBER_ID, DATE, 10);
+
+        assertThat(response.getMeals()).hasSize(3);
+        assertThat(response.getMealIdsByType().get(MealType.BREAKFAST)).containsExactly(1L);
+        assertThat(response.getMealIdsByType().get(MealType.LUNCH)).containsExactly(2L, 3L);
+        assertThat(response.getMealIdsByType().get(MealType.DINNER)).isEmpty();
+    }
+
+    @Test
+    void timeoutCancelsSubQueriesNotStartedYet() throws InterruptedException {
+        // 스레드 하나가 느린 식사 조회에 묶여 있어 나머지는 큐에서 기다린다
+        service = service(1, 200L);
+        when(memberService.getMember(MEMBER_ID)).thenReturn(MemberDto.Response.builder().id(MEMBER_ID).build());
+        when(mealService.getMealsByMemberIdAndModifiedDate(MEMBER_ID, DATE, FieldSelection.ALL)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        assertThatThrownBy(() -> service.getDashboard(MEMBER_ID, DATE, 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        release.countDown();
+        service.shutdown();
+        assertThat(awaitTermination()).isTrue();
+        verify(energyBudgetService, never()).getBudget(any(MemberDto.Response.class), any());
+        verify(boardService, never()).getRecentBoards(anyInt());
+    }
+
+    @Test
+    void failingSubQueryFailsFastWithoutWaitingForTheRest() {
+        service = service(4, 5000L);
+        when(memberService.getMember(MEMBER_ID)).thenReturn(MemberDto.Response.builder().id(MEMBER_ID).build());
+        when(mealService.getMealsByMemberIdAndModifiedDate(MEMBER_ID, DATE, FieldSelection.ALL)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(boardService.getRecentBoards(10)).thenThrow(new ResponseStatusException(HttpStatus.BAD_GATEWAY, "boards"));
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> service.getDashboard(MEMBER_ID, DATE, 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_GATEWAY);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2000);
+    }
+
+    private DashboardService service(int poolSize, long timeoutMs) {
+        return new DashboardService(memberService, energyBudgetService, mealService, boardService, poolSize, 10, timeoutMs);
+    }
+
+    private boolean awaitTermination() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "dashboardExecutor");
+        return executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static MealDto.Response meal(Long id, MealType mealType) {
+        return MealDto.Response.builder().id(id).memberId(MEMBER_ID).mealType(mealType).build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.study.spring.domain.dashboard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsAreExactBelowCapacity() {
+        SpaceSaving summary = new SpaceSaving(4);
+        add(summary, "a", "b", "a", "c", "a", "b");
+
+        SpaceSaving.Summary snapshot = summary.snapshot();
+
+        assertThat(snapshot.items()).containsExactly(
+                new SpaceSaving.Summary.Item("a", 3, 0),
+                new SpaceSaving.Summary.Item("b", 2, 0),
+                new SpaceSaving.Summary.Item("c", 1, 0));
+        assertThat(snapshot.total()).isEqualTo(6);
+        assertThat(snapshot.floor()).isZero();
+    }
+
+    @Test
+    void evictsSmallestCounterOldestFirst() {
+        SpaceSaving summary = new SpaceSaving(3);
+        add(summary, "a", "b", "c", "c");
+
+        // a, b 가 모두 1 이면 먼저 들어온 a 를 넘겨받는다
+        add(summary, "d");
+        assertThat(keys(summary)).containsExactlyInAnyOrder("b", "c", "d");
+        assertThat(item(summary, "d")).isEqualTo(new SpaceSaving.Summary.Item("d", 2, 1));
+
+        // 이제 가장 작은 카운터는 b(1)
+        add(summary, "e");
+        assertThat(keys(summary)).containsExactlyInAnyOrder("c", "d", "e");
+        assertThat(item(summary, "e")).isEqualTo(new SpaceSaving.Summary.Item("e", 2, 1));
+
+        // c, d, e 가 모두 2 이면 그중 가장 오래된 c 가 밀려나고, 목록 밖 빈도의 상한은 2
+        add(summary, "f");
+        assertThat(keys(summary)).containsExactlyInAnyOrder("d", "e", "f");
+        assertThat(item(summary, "f")).isEqualTo(new SpaceSaving.Summary.Item("f", 3, 2));
+        assertThat(summary.snapshot().floor()).isEqualTo(2);
+        assertThat(summary.snapshot().total()).isEqualTo(7);
+    }
+
+    @Test
+    void boundsHoldOnSkewedStream() {
+        Map<String, Long> exact = new HashMap<>();
+        SpaceSaving summary = new SpaceSaving(50);
+        for (String key : zipf(new Random(1), 20_000, 2_000)) {
+            summary.add(key, 1);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        SpaceSaving.Summary snapshot = summary.snapshot();
+        assertThat(snapshot.items()).hasSize(50);
+        assertBounds(snapshot, exact);
+        // 전체의 1/capacity 보다 자주 나온 항목은 반드시 목록에 있다
+        exact.forEach((key, count) -> {
+            if (count > snapshot.total() / 50) {
+                assertThat(keys(snapshot)).contains(key);
+            }
+        });
+    }
+
+    @Test
+    void guaranteedItemsAreInTrueTopK() {
+        Map<String, Long> exact = new HashMap<>();
+        SpaceSaving summary = new SpaceSaving(64);
+        for (String key : zipf(new Random(2), 50_000, 5_000)) {
+            summary.add(key, 1);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        int k = 10;
+        List<SpaceSaving.Summary.Item> items = summary.snapshot().items();
+        // HeavyHitterService.top 과 같은 기준: 하한이 k 번째 밖 항목들의 상한 이상이면 확실
+        long threshold = Math.max(summary.snapshot().floor(), items.get(k).count());
+        int guaranteed = 0;
+        for (SpaceSaving.Summary.Item item : items.subList(0, k)) {
+            if (item.count() - item.error() < threshold) {
+                continue;
+            }
+            guaranteed++;
+            long trueCount = exact.get(item.key());
+            long higher = exact.values().stream().filter(count -> count > trueCount).count();
+            assertThat(higher).as(item.key()).isLessThan(k);
+        }
+        assertThat(guaranteed).isPositive();
+    }
+
+    @Test
+    void mergedSummaryKeepsBounds() {
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(3);
+        List<SpaceSaving.Summary> days = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            SpaceSaving summary = new SpaceSaving(30);
+            // 날마다 인기 항목이 조금씩 바뀐다
+            for (String key : zipf(random, 5_000, 800)) {
+                String shifted = key + "-" + (key.hashCode() % 3 == 0 ? day % 2 : 0);
+                summary.add(shifted, 1);
+                exact.merge(shifted, 1L, Long::sum);
+            }
+            days.add(summary.snapshot());
+        }
+
+        SpaceSaving.Summary merged = SpaceSaving.Summary.merge(days, 30);
+
+        assertThat(merged.total()).isEqualTo(35_000);
+        assertThat(merged.items()).hasSize(30);
+        assertThat(merged.items()).extracting(SpaceSaving.Summary.Item::count).isSortedAccordingTo(Comparator.reverseOrder());
+        assertBounds(merged, exact);
+    }
+
+    @Test
+    void mergeOfExactSummariesIsExact() {
+        SpaceSaving monday = new SpaceSaving(10);
+        add(monday, "a", "a", "b");
+        SpaceSaving tuesday = new SpaceSaving(10);
+        add(tuesday, "b", "b", "c");
+
+        SpaceSaving.Summary merged = SpaceSaving.Summary.merge(List.of(monday.snapshot(), tuesday.snapshot()), 10);
+
+        assertThat(merged.items()).containsExactly(
+                new SpaceSaving.Summary.Item("b", 3, 0),
+                new SpaceSaving.Summary.Item("a", 2, 0),
+                new SpaceSaving.Summary.Item("c", 1, 0));
+        assertThat(merged.floor()).isZero();
+    }
+
+    // 목록의 항목은 count - error <= 실제 <= count, 목록 밖 항목은 실제 <= floor
+    private static void assertBounds(SpaceSaving.Summary summary, Map<String, Long> exact) {
+        Map<String, SpaceSaving.Summary.Item> listed = new HashMap<>();
+        for (SpaceSaving.Summary.Item item : summary.items()) {
+            listed.put(item.key(), item);
+        }
+        exact.forEach((key, trueCount) -> {
+            SpaceSaving.Summary.Item item = listed.get(key);
+            if (item != null) {
+                assertThat(trueCount).as(key).isBetween(item.count() - item.error(), item.count());
+            } else {
+                assertThat(trueCount).as(key).isLessThanOrEqualTo(summary.floor());
+            }
+        });
+    }
+
+    // 순위 r 의 가중치가 1/r 인 분포에서 n 개를 뽑는다
+    private static List<String> zipf(Random random, int n, int distinct) {
+        double[] cumulative = new double[distinct];
+        double sum = 0;
+        for (int rank = 1; rank <= distinct; rank++) {
+            sum += 1.0 / rank;
+            cumulative[rank - 1] = sum;
+        }
+        List<String> keys = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double target = random.nextDouble() * sum;
+            int lo = 0;
+            int hi = distinct - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] < target) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            keys.add("k" + lo);
+        }
+        return keys;
+    }
+
+    private static void add(SpaceSaving summary, String... keys) {
+        for (String key : keys) {
+            summary.add(key, 1);
+        }
+    }
+
+    private static List<String> keys(SpaceSaving summary) {
+        return keys(summary.snapshot());
+    }
+
+    private static List<String> keys(SpaceSaving.Summary summary) {
+        return summary.items().stream().map(SpaceSaving.Summary.Item::key).toList();
+    }
+
+    private static SpaceSaving.Summary.Item item(SpaceSaving summary, String key) {
+        return summary.snapshot().items().stream().filter(item -> item.key().equals(key)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,86 @@
+package com.study.spring.domain.issue.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.study.spring.domain.issue.dto.IssueDto;
+import com.study.spring.domain.issue.repository.IssueRepository;
+import com.study.spring.domain.issue.service.IssueService;
+import com.study.spring.domain.issue.service.IssueSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class IssueControllerTest {
+    private final List<IssueDto.Response> issues = new ArrayList<>(List.of(issue(1L, "환영합니다")));
+    private final IssueRepository issueRepository = mock(IssueRepository.class);
+    private final IssueSnapshot issueSnapshot = new IssueSnapshot(issueRepository,
+            new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new IssueController(mock(IssueService.class), issueSnapshot))
+            .build();
+
+    IssueControllerTest() {
+        when(issueRepository.findAllResponses()).thenAnswer(invocation -> List.copyOf(issues));
+    }
+
+    @Test
+    void repeatedRequestsGetTheSameETagFromOneQuery() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/issues")).andExpect(status().isOk()).andReturn();
+        MvcResult second = mockMvc.perform(get("/api/issues")).andExpect(status().isOk()).andReturn();
+
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        assertThat(second.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(first.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(first.getResponse().getContentAsString(StandardCharsets.UTF_8)).contains("\"title\":\"환영합니다\"");
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(first.getResponse().getContentAsByteArray());
+        verify(issueRepository, times(1)).findAllResponses();
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/issues")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mockMvc.perform(get("/api/issues").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        verify(issueRepository, times(1)).findAllResponses();
+    }
+
+    @Test
+    void staleETagGetsTheNewListAfterRefresh() throws Exception {
+        String etag = mockMvc.perform(get("/api/issues")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 관리자 쓰기 커밋 후 워커가 하는 교체
+        issues.add(0, issue(2L, "점검 안내"));
+        ReflectionTestUtils.invokeMethod(issueSnapshot, "refresh");
+
+        MvcResult result = mockMvc.perform(get("/api/issues").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8)).contains("점검 안내");
+    }
+
+    private static IssueDto.Response issue(Long id, String title) {
+        return IssueDto.Response.builder().id(id).title(title).content("내용").adminId(7L).build();
+    }
+}
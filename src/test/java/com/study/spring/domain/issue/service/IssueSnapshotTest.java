@@ -0,0 +1,139 @@
+package com.study.spring.domain.issue.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.study.spring.domain.issue.dto.IssueDto;
+import com.study.spring.domain.issue.entity.Issue;
+import com.study.spring.domain.issue.repository.IssueRepository;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.entity.Role;
+import com.study.spring.domain.member.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class IssueSnapshotTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 10, 9, 0);
+
+    // DB 대신: 최신순 공지 목록 (조회할 때마다 새 DTO 를 만든다)
+    private final List<String[]> rows = new ArrayList<>();
+    private final IssueRepository issueRepository = mock(IssueRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final IssueSnapshot snapshot = snapshot();
+
+    @BeforeEach
+    void setUp() {
+        rows.add(new String[]{"2", "점검 안내", "내일 새벽 점검"});
+        rows.add(new String[]{"1", "환영합니다", "첫 공지"});
+        when(issueRepository.findAllResponses()).thenAnswer(invocation -> rows.stream()
+                .map(row -> response(Long.valueOf(row[0]), row[1], row[2]))
+                .toList());
+        snapshot.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        snapshot.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void unchangedContentKeepsTheSameETag() {
+        IssueSnapshot.Snapshot first = snapshot.current();
+
+        // 같은 내용을 다시 읽으면 스냅샷을 바꾸지 않는다
+        assertThat(snapshot.refresh()).isSameAs(first);
+
+        // 다른 인스턴스/재시작이어도 같은 값
+        IssueSnapshot other = snapshot();
+        assertThat(other.refresh().etag()).isEqualTo(first.etag());
+
+        assertThat(first.etag()).matches("\"[0-9a-f]{32}\"");
+        assertThat(first.byId().keySet()).containsExactlyInAnyOrder(2L, 1L);
+    }
+
+    @Test
+    void warmReadsDoNotTouchTheRepository() {
+        IssueService issueService = new IssueService(issueRepository, mock(MemberRepository.class), snapshot);
+        IssueSnapshot.Snapshot first = snapshot.current();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(snapshot.current()).isSameAs(first);
+            assertThat(issueService.getIssue(1L).getTitle()).isEqualTo("환영합니다");
+        }
+
+        verify(issueRepository, times(1)).findAllResponses();
+        verifyNoMoreInteractions(issueRepository);
+    }
+
+    @Test
+    void adminWriteSwapsTheSnapshotOnlyAfterCommit() throws Exception {
+        MemberRepository memberRepository = mock(MemberRepository.class);
+        when(memberRepository.getReferenceById(7L)).thenReturn(Member.builder().id(7L).build());
+        when(issueRepository.save(any(Issue.class))).thenAnswer(invocation -> {
+            Issue issue = invocation.<Issue>getArgument(0).toBuilder().id(3L).build();
+            rows.add(0, new String[]{"3", issue.getTitle(), issue.getContent()});
+            return issue;
+        });
+        IssueService issueService = new IssueService(issueRepository, memberRepository, snapshot);
+        IssueSnapshot.Snapshot before = snapshot.current();
+
+        TransactionSynchronizationManager.initSynchronization();
+        issueService.createIssue(7L, IssueDto.Request.builder().title("업데이트 안내").content("새 기능").build());
+
+        // 커밋 전에는 예전 스냅샷
+        Thread.sleep(100);
+        assertThat(snapshot.current()).isSameAs(before);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (snapshot.current() == before) {
+            assertThat(System.nanoTime()).as("스냅샷 교체 대기").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        IssueSnapshot.Snapshot after = snapshot.current();
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.byId().keySet()).containsExactlyInAnyOrder(3L, 2L, 1L);
+        assertThat(objectMapper.readTree(after.body()).get(0).get("title").asText()).isEqualTo("업데이트 안내");
+    }
+
+    private IssueSnapshot snapshot() {
+        IssueSnapshot target = new IssueSnapshot(issueRepository, objectMapper);
+        ReflectionTestUtils.setField(target, "refreshSeconds", 3600L);
+        return target;
+    }
+
+    private static IssueDto.Response response(Long id, String title, String content) {
+        return IssueDto.Response.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .adminId(7L)
+                .role(Role.ADMIN)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.study.spring.domain.meal.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.service.MealArchiveService;
+import com.study.spring.domain.meal.service.MealService;
+import com.study.spring.domain.meal.service.MealSketchService;
+import com.study.spring.domain.meal.service.MealWriteCoalescer;
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MealControllerTest {
+    private final MealService mealService = mock(MealService.class);
+    private final MockMvc mockMvc;
+
+    MealControllerTest() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+        JsonStreamer jsonStreamer = new JsonStreamer(objectMapper);
+        ReflectionTestUtils.setField(jsonStreamer, "enabled", true);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MealController(mealService, mock(MealWriteCoalescer.class),
+                        mock(MealArchiveService.class), mock(MealSketchService.class), jsonStreamer))
+                .build();
+    }
+
+    @Test
+    void streamingUnknownMemberIsNotFoundWithoutBody() throws Exception {
+        doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "회원을 찾을 수 없습니다."))
+                .when(mealService).streamMealsByMemberId(eq(9L), any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/meals/member/9"))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    void streamingWritesRowsAsArray() throws Exception {
+        doAnswer(invocation -> {
+            JsonStreamer.Sink<MealDto.Response> sink = invocation.getArgument(2);
+            sink.accept(MealDto.Response.builder().id(1L).memberId(1L).mealType(MealType.LUNCH).foods(new ArrayList<>()).build());
+            return null;
+        }).when(mealService).streamMealsByMemberId(eq(1L), any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/meals/member/1").param("fields", "id,mealType"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("[{\"id\":1,\"mealType\":\"LUNCH\"}]");
+    }
+
+    @Test
+    void streamingEmptyResultIsEmptyArray() throws Exception {
+        mockMvc.perform(get("/api/meals/member/1"))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString()).isEqualTo("[]"));
+    }
+
+    @Test
+    void filterBindsIsoDates() throws Exception {
+        when(mealService.getMealsByFilter(eq(1L), any(), any(), any(), anyInt(), anyInt(), any()))
+                .thenReturn(MealDto.SliceResponse.builder().content(List.of()).page(0).size(20).build());
+
+        mockMvc.perform(get("/api/meals/filter").param("memberId", "1").param("from", "2024-03-01").param("to", "2024-03-31"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/meals/filter").param("memberId", "1").param("to", "2024-03-31"))
+                .andExpect(status().isOk());
+
+        verify(mealService).getMealsByFilter(1L, null, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), 0, 20, FieldSelection.ALL);
+        verify(mealService).getMealsByFilter(eq(1L), isNull(), isNull(), eq(LocalDate.of(2024, 3, 31)), eq(0), eq(20), eq(FieldSelection.ALL));
+    }
+
+    @Test
+    void filterRejectsMalformedDateWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/meals/filter").param("memberId", "1").param("from", "2024/03/01"))
+                .andExpect(status().isBadRequest());
+
+        verify(mealService, never()).getMealsByFilter(any(), any(), any(), any(), anyInt(), anyInt(), any());
+    }
+}
@@ -0,0 +1,90 @@
+package com.study.spring.domain.meal.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.global.util.FieldSelection;
+import com.study.spring.global.util.JsonStreamer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MealJsonWriterTest {
+    // 부트 ObjectMapper 와 같은 설정 (날짜는 ISO 문자열, JacksonConfig 의 필터/모듈, spring.jackson.time-zone)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .timeZone("Asia/Seoul")
+            .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+    private final JsonStreamer streamer = new JsonStreamer(objectMapper);
+
+    @Test
+    void streamedBytesMatchConverterOutput() throws Exception {
+        List<MealDto.Response> meals = List.of(
+                MealDto.Response.builder()
+                        .id(1L).memberId(7L).mealType(MealType.LUNCH).imageUrl("https://cdn/a b.jpg")
+                        .memo("따옴표 \" 역슬래시 \\ 줄바꿈\n탭\t제어문자\u0001 이모지 🍚 </script>")
+                        .foods(List.of(
+                                MealDto.FoodResponse.builder().id(10L).foodName("밥").calories(300)
+                                        .carbohydrate(65.5f).protein(0.1f).fat(1.0E-5f).sodium(Float.MAX_VALUE).fiber(0f).mealId(1L).build(),
+                                MealDto.FoodResponse.builder().id(11L).foodName(null).calories(null).build()))
+                        .createdAt(LocalDate.of(2024, 3, 10))
+                        .updatedAt(LocalDate.of(2024, 12, 31))
+                        .modifiedAt(LocalDateTime.of(2024, 3, 10, 12, 0))
+                        .build(),
+                MealDto.Response.builder()
+                        .id(2L).memberId(7L).mealType(MealType.SNACK).foods(new ArrayList<>())
+                        .modifiedAt(LocalDateTime.of(2024, 3, 10, 23, 59, 59, 123_456_789))
+                        .build(),
+                // 값이 하나도 없는 행 (foods 도 null)
+                MealDto.Response.builder().build());
+
+        for (String fields : Arrays.asList(null, "", "id,modifiedAt", "mealType,foods", "foods.foodName,foods.calories",
+                "memo,imageUrl,createdAt,updatedAt", "foods.id,foods.fiber,memberId", "unknown")) {
+            FieldSelection selection = FieldSelection.parse(fields);
+            byte[] expected = converted(meals, selection);
+            assertThat(streamed(meals, selection)).as("fields=%s, expected %s", fields, new String(expected, StandardCharsets.UTF_8))
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void emptyListIsEmptyArray() throws Exception {
+        assertThat(streamed(List.of(), FieldSelection.ALL)).isEqualTo(converted(List.of(), FieldSelection.ALL))
+                .isEqualTo("[]".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] streamed(List<MealDto.Response> meals, FieldSelection selection) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        streamer.writeArray(response, sink -> {
+            for (MealDto.Response meal : meals) {
+                sink.accept(meal);
+            }
+        }, new MealJsonWriter(selection));
+        return response.getContentAsByteArray();
+    }
+
+    // 기존 경로: 컨트롤러가 selection.wrap(list) 를 돌려주면 메시지 컨버터가 필터를 얹어 쓴다
+    private byte[] converted(List<MealDto.Response> meals, FieldSelection selection) throws Exception {
+        MappingJacksonValue value = selection.wrap(meals);
+        ObjectWriter writer = objectMapper.writer();
+        if (value.getFilters() != null) {
+            writer = writer.with(value.getFilters());
+        }
+        return writer.writeValueAsBytes(value.getValue());
+    }
+}
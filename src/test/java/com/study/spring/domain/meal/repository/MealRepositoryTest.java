@@ -0,0 +1,113 @@
+package com.study.spring.domain.meal.repository;
+
+import com.study.spring.domain.dashboard.service.HeavyHitterService;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.Food;
+import com.study.spring.domain.meal.entity.Meal;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.service.MealArchiveService;
+import com.study.spring.domain.meal.service.MealService;
+import com.study.spring.domain.meal.service.MealSketchService;
+import com.study.spring.domain.member.entity.ActivityLevel;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.service.MemberStreakService;
+import com.study.spring.domain.upload.service.UploadSessionService;
+import com.study.spring.global.util.FieldSelection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 목록 조회는 엔티티를 만들지 않고 DTO 로 바로 읽고, foods 는 식사 id 로 한 번에 읽어 붙인다
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class MealRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MealRepository mealRepository;
+    @Autowired
+    private FoodRepository foodRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private Statistics statistics;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        Member member = entityManager.persist(Member.createMember()
+                .email("meal@example.com").password("p").nickname("meal").name("n")
+                .birthAt(LocalDate.of(1990, 1, 1)).height(170f).weight(60f).activityLevel(ActivityLevel.LOW)
+                .build());
+        memberId = member.getId();
+        LocalDateTime noon = LocalDateTime.of(2024, 3, 10, 12, 0);
+        for (int i = 0; i < 5; i++) {
+            Meal meal = Meal.builder().member(member).mealType(MealType.LUNCH).modifiedAt(noon.minusDays(i)).build();
+            for (int j = 0; j < i % 3; j++) {
+                meal.getFoods().add(Food.builder().meal(meal).foodName("food" + i + "-" + j).calories(100).build());
+            }
+            entityManager.persist(meal);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void listQueryProjectsWithoutLoadingEntities() {
+        List<MealDto.Response> meals = mealRepository.findResponsesByMemberId(memberId);
+
+        assertThat(meals).hasSize(5);
+        assertThat(meals).allSatisfy(meal -> assertThat(meal.getMemberId()).isEqualTo(memberId));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void foodsForManyMealsComeFromOneQuery() {
+        List<Long> mealIds = mealRepository.findResponsesByMemberId(memberId).stream().map(MealDto.Response::getId).toList();
+        statistics.clear();
+
+        List<MealDto.FoodResponse> foods = foodRepository.findResponsesByMealIdIn(mealIds);
+
+        // 식사별 음식 수 0, 1, 2, 0, 1
+        assertThat(foods).hasSize(4);
+        assertThat(foods).extracting(MealDto.FoodResponse::getMealId).isSubsetOf(mealIds);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void filterPageWithFoodsIsTwoQueries() {
+        MealService mealService = new MealService(mealRepository, memberRepository, foodRepository,
+                mock(MealArchiveService.class), mock(MealSketchService.class), mock(MemberStreakService.class),
+                mock(HeavyHitterService.class), mock(UploadSessionService.class), mock(TransactionTemplate.class));
+
+        MealDto.SliceResponse page = mealService.getMealsByFilter(memberId, null, null, null, 0, 20, FieldSelection.ALL);
+
+        // 식사 한 페이지 1번 + 그 페이지 식사들의 음식 1번
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getContent()).extracting(meal -> meal.getFoods().size()).containsExactly(0, 1, 2, 0, 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,143 @@
+package com.study.spring.domain.meal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealArchive;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.repository.FoodRepository;
+import com.study.spring.domain.meal.repository.MealArchiveRepository;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.repository.MemberPurgeRepository;
+import com.study.spring.domain.member.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MealArchiveServiceTest {
+    private static final long MEMBER_ID = 1L;
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    private final MealArchiveRepository mealArchiveRepository = mock(MealArchiveRepository.class);
+    private final MealRepository mealRepository = mock(MealRepository.class);
+    private final FoodRepository foodRepository = mock(FoodRepository.class);
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final MemberPurgeRepository memberPurgeRepository = mock(MemberPurgeRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    @TempDir
+    Path archiveDir;
+
+    private MealArchiveService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(mealArchiveRepository.save(any())).thenAnswer(returnsFirstArg());
+        when(memberRepository.findByIdForUpdate(MEMBER_ID)).thenReturn(Optional.of(Member.builder().id(MEMBER_ID).build()));
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+        service = new MealArchiveService(mealArchiveRepository, mealRepository, foodRepository, memberRepository,
+                memberPurgeRepository, transactionTemplate, objectMapper);
+        ReflectionTestUtils.setField(service, "archiveDir", archiveDir.toString());
+    }
+
+    @Test
+    void archivedMonthReadsBackWithFoods() {
+        LocalDateTime day = MONTH.atDay(10).atTime(12, 0);
+        when(mealRepository.findResponsesByMemberIdAndModifiedAtBetween(MEMBER_ID, MONTH.atDay(1).atStartOfDay(), MONTH.plusMonths(1).atDay(1).atStartOfDay()))
+                .thenReturn(List.of(meal(1L, day, "a.jpg"), meal(2L, day.plusDays(1), null)));
+        when(foodRepository.findResponsesByMealIdIn(any())).thenReturn(List.of(
+                MealDto.FoodResponse.builder().id(10L).mealId(1L).foodName("밥").calories(300).build()));
+        when(mealArchiveRepository.findByMemberIdAndArchiveMonth(MEMBER_ID, MONTH.atDay(1))).thenReturn(Optional.empty());
+
+        assertThat(service.archiveMonth(MEMBER_ID, MONTH)).isEqualTo(2);
+
+        ArgumentCaptor<MealArchive> saved = ArgumentCaptor.forClass(MealArchive.class);
+        verify(mealArchiveRepository).save(saved.capture());
+        assertThat(saved.getValue().getMealCount()).isEqualTo(2);
+        assertThat(saved.getValue().getFoodCount()).isEqualTo(1);
+        assertThat(saved.getValue().getImageUrls()).isEqualTo("a.jpg");
+        verify(mealRepository).deleteByIdIn(List.of(1L, 2L));
+
+        when(mealArchiveRepository.findLatestArchiveMonth()).thenReturn(MONTH.atDay(1));
+        when(mealArchiveRepository.findCovering(any(), any(), any())).thenReturn(List.of(saved.getValue()));
+        List<MealDto.Response> archived = service.findArchived(MEMBER_ID, null, null, null);
+
+        assertThat(archived).extracting(MealDto.Response::getId).containsExactly(1L, 2L);
+        assertThat(archived.get(0).getModifiedAt()).isEqualTo(day);
+        assertThat(archived.get(0).getFoods()).extracting(MealDto.FoodResponse::getFoodName).containsExactly("밥");
+        assertThat(service.findArchived(MEMBER_ID, MealType.DINNER, null, null)).isEmpty();
+        assertThat(service.findArchived(MEMBER_ID, null, day.plusHours(1), null)).extracting(MealDto.Response::getId).containsExactly(2L);
+    }
+
+    @Test
+    void doesNotArchiveMemberBeingPurged() throws Exception {
+        when(memberPurgeRepository.existsByMemberId(MEMBER_ID)).thenReturn(true);
+
+        assertThat(service.archiveMonth(MEMBER_ID, MONTH)).isZero();
+
+        verify(mealRepository, never()).findResponsesByMemberIdAndModifiedAtBetween(anyLong(), any(), any());
+        verify(mealArchiveRepository, never()).save(any());
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void deletesArchiveFilesOnlyAfterCommit() throws Exception {
+        Path file = Files.createDirectories(archiveDir.resolve("1")).resolve("2024-03.ndjson.gz");
+        Files.writeString(file, "x");
+        when(mealArchiveRepository.findByMemberId(MEMBER_ID)).thenReturn(List.of(MealArchive.builder()
+                .id(5L).memberId(MEMBER_ID).archiveMonth(MONTH.atDay(1)).fileName("1/2024-03.ndjson.gz").build()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(service.deleteArchives(MEMBER_ID)).isEqualTo(1);
+            assertThat(file).exists();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(file).doesNotExist();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static MealDto.Response meal(Long id, LocalDateTime modifiedAt, String imageUrl) {
+        return MealDto.Response.builder()
+                .id(id)
+                .memberId(MEMBER_ID)
+                .mealType(MealType.LUNCH)
+                .imageUrl(imageUrl)
+                .modifiedAt(modifiedAt)
+                .foods(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.study.spring.domain.meal.service;
+
+import com.study.spring.domain.dashboard.service.HeavyHitterService;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.repository.FoodRepository;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.service.MemberStreakService;
+import com.study.spring.domain.upload.service.UploadSessionService;
+import com.study.spring.global.util.FieldSelection;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MealServiceTest {
+    private static final long MEMBER_ID = 1L;
+
+    private final MealRepository mealRepository = mock(MealRepository.class);
+    private final FoodRepository foodRepository = mock(FoodRepository.class);
+    private final MealArchiveService mealArchiveService = mock(MealArchiveService.class);
+    private final MealService service = new MealService(mealRepository, mock(MemberRepository.class), foodRepository,
+            mealArchiveService, mock(MealSketchService.class), mock(MemberStreakService.class), mock(HeavyHitterService.class),
+            mock(UploadSessionService.class), mock(TransactionTemplate.class));
+
+    @Test
+    void filterAcrossArchiveReturnsMealBeingArchivedOnce() {
+        LocalDateTime day = LocalDate.of(2024, 3, 10).atTime(12, 0);
+        when(mealArchiveService.reaches(any())).thenReturn(true);
+        when(mealRepository.countByFilter(eq(MEMBER_ID), any(), any(), any())).thenReturn(2L);
+        when(mealRepository.findResponsesByFilter(eq(MEMBER_ID), any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(meal(5L, day), meal(4L, day.minusDays(1))), PageRequest.of(0, 10), false));
+        // id 4 는 보관 파일을 쓴 뒤 DB 행을 지우기 전에 읽힌 기록, id 3 은 보관만 된 기록
+        when(mealArchiveService.findArchivedPage(eq(MEMBER_ID), any(), any(), any(), anyLong(), anyInt(), anyBoolean()))
+                .thenReturn(new MealArchiveService.ArchivedPage(List.of(meal(4L, day.minusDays(1)), meal(3L, day.minusDays(2))), false));
+        when(mealRepository.findIdsByIdIn(List.of(4L, 3L))).thenReturn(List.of(4L));
+
+        MealDto.SliceResponse response = service.getMealsByFilter(MEMBER_ID, null, LocalDate.of(2024, 1, 1), null, 0, 10,
+                FieldSelection.parse("id,modifiedAt"));
+
+        assertThat(response.getContent()).extracting(MealDto.Response::getId).containsExactly(5L, 4L, 3L);
+        assertThat(response.isHasNext()).isFalse();
+    }
+
+    @Test
+    void filterAcrossArchiveDropsDuplicateEvenIfItLeftTheDb() {
+        LocalDateTime day = LocalDate.of(2024, 3, 10).atTime(12, 0);
+        when(mealArchiveService.reaches(any())).thenReturn(true);
+        when(mealRepository.countByFilter(eq(MEMBER_ID), any(), any(), any())).thenReturn(1L);
+        when(mealRepository.findResponsesByFilter(eq(MEMBER_ID), any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(meal(4L, day)), PageRequest.of(0, 10), false));
+        // DB 페이지를 읽은 뒤 보관이 커밋되어 id 4 가 이제 보관 쪽에만 있다
+        when(mealArchiveService.findArchivedPage(eq(MEMBER_ID), any(), any(), any(), anyLong(), anyInt(), anyBoolean()))
+                .thenReturn(new MealArchiveService.ArchivedPage(List.of(meal(4L, day), meal(3L, day.minusDays(1))), false));
+
+        MealDto.SliceResponse response = service.getMealsByFilter(MEMBER_ID, null, null, null, 0, 10,
+                FieldSelection.parse("id,modifiedAt"));
+
+        assertThat(response.getContent()).extracting(MealDto.Response::getId).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void foodsAreNotQueriedWhenNotSelected() {
+        LocalDateTime day = LocalDate.of(2024, 3, 10).atTime(12, 0);
+        when(mealRepository.findResponsesByFilter(eq(MEMBER_ID), any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(meal(2L, day), meal(1L, day)), PageRequest.of(0, 10), false));
+
+        MealDto.SliceResponse response = service.getMealsByFilter(MEMBER_ID, null, null, null, 0, 10,
+                FieldSelection.parse("id,mealType"));
+
+        assertThat(response.getContent()).extracting(MealDto.Response::getId).containsExactly(2L, 1L);
+        verify(foodRepository, never()).findResponsesByMealIdIn(any());
+    }
+
+    @Test
+    void selectedFoodFieldLoadsFoodsForThePageInOneQuery() {
+        LocalDateTime day = LocalDate.of(2024, 3, 10).atTime(12, 0);
+        when(mealRepository.findResponsesByFilter(eq(MEMBER_ID), any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(meal(2L, day), meal(1L, day)), PageRequest.of(0, 10), false));
+        when(foodRepository.findResponsesByMealIdIn(any())).thenReturn(List.of(
+                MealDto.FoodResponse.builder().id(20L).foodName("rice").mealId(2L).build(),
+                MealDto.FoodResponse.builder().id(10L).foodName("soup").mealId(1L).build()));
+
+        MealDto.SliceResponse response = service.getMealsByFilter(MEMBER_ID, null, null, null, 0, 10,
+                FieldSelection.parse("id,foods.foodName"));
+
+        assertThat(response.getContent()).extracting(meal -> meal.getFoods().get(0).getFoodName()).containsExactly("rice", "soup");
+        verify(foodRepository).findResponsesByMealIdIn(any());
+    }
+
+    private static MealDto.Response meal(Long id, LocalDateTime modifiedAt) {
+        return MealDto.Response.builder()
+                .id(id)
+                .memberId(MEMBER_ID)
+                .mealType(MealType.LUNCH)
+                .modifiedAt(modifiedAt)
+                .foods(new ArrayList<>())
+                .build();
+    }
+}
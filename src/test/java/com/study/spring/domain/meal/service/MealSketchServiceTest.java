@@ -0,0 +1,159 @@
+package com.study.spring.domain.meal.service;
+
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealSketch;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.meal.repository.MealSketchRepository;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.repository.MemberRepository;
+import org.apache.datasketches.kll.KllFloatsSketch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MealSketchServiceTest {
+    private static final long MEMBER_ID = 1L;
+
+    private final MealSketchRepository mealSketchRepository = mock(MealSketchRepository.class);
+    private final MealRepository mealRepository = mock(MealRepository.class);
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final MealArchiveService mealArchiveService = mock(MealArchiveService.class);
+    private final ScheduledExecutorService worker = mock(ScheduledExecutorService.class);
+    private final MealSketchService service = new MealSketchService(mealSketchRepository, mealRepository, memberRepository,
+            mealArchiveService, mock(TransactionTemplate.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "k", 200);
+        ReflectionTestUtils.setField(service, "maxWeeks", 52);
+        ReflectionTestUtils.setField(service, "worker", worker);
+        when(memberRepository.findById(MEMBER_ID)).thenReturn(Optional.of(mock(Member.class)));
+    }
+
+    @Test
+    void buildCountsMealsInBothDbAndArchiveOnce() {
+        LocalDate monday = LocalDate.of(2026, 10, 5);
+        when(mealRepository.findCaloriesByMemberIdAndModifiedAtBetween(eq(MEMBER_ID), any(), any())).thenReturn(List.of(
+                new MealDto.MealCalories(1L, MealType.LUNCH, monday.atTime(12, 0), 500L),
+                new MealDto.MealCalories(2L, MealType.DINNER, monday.atTime(19, 0), 700L)));
+        // id 1 은 보관 도중 실패로 양쪽에 남은 기록
+        when(mealArchiveService.findArchived(eq(MEMBER_ID), any(), any(), any())).thenReturn(List.of(
+                archived(1L, MealType.LUNCH, monday.atTime(12, 0), 500),
+                archived(3L, MealType.BREAKFAST, monday.plusDays(1).atTime(8, 0), 300)));
+
+        KllFloatsSketch[] sketches = service.build(new MealSketchService.Bucket(MEMBER_ID, monday), monday.plusWeeks(1));
+
+        assertThat(sketches[1 + MealType.LUNCH.ordinal()].getN()).isEqualTo(1);
+        assertThat(sketches[1 + MealType.DINNER.ordinal()].getN()).isEqualTo(1);
+        assertThat(sketches[1 + MealType.BREAKFAST.ordinal()].getN()).isEqualTo(1);
+        // 하루 합계: 월 1200, 화 300
+        KllFloatsSketch daily = sketches[0];
+        assertThat(daily.getN()).isEqualTo(2);
+        assertThat(daily.getMinItem()).isEqualTo(300f);
+        assertThat(daily.getMaxItem()).isEqualTo(1200f);
+    }
+
+    @Test
+    void buildSkipsUnfinishedDaysInDailyTotals() {
+        LocalDate monday = LocalDate.of(2026, 10, 5);
+        when(mealRepository.findCaloriesByMemberIdAndModifiedAtBetween(eq(MEMBER_ID), any(), any())).thenReturn(List.of(
+                new MealDto.MealCalories(1L, MealType.LUNCH, monday.atTime(12, 0), 500L),
+                new MealDto.MealCalories(2L, MealType.LUNCH, monday.plusDays(2).atTime(12, 0), 600L)));
+
+        // 수요일이 오늘이면 수요일 합계는 아직 넣지 않는다 (끼니 분포에는 포함)
+        KllFloatsSketch[] sketches = service.build(new MealSketchService.Bucket(MEMBER_ID, monday), monday.plusDays(2));
+
+        assertThat(sketches[0].getN()).isEqualTo(1);
+        assertThat(sketches[1 + MealType.LUNCH.ordinal()].getN()).isEqualTo(2);
+    }
+
+    @Test
+    void mergesStoredWeeklySketches() {
+        LocalDate thisWeek = MealSketchService.weekOf(LocalDate.now());
+        LocalDate lastWeek = thisWeek.minusWeeks(1);
+        List<MealSketch> rows = List.of(
+                freshRow(lastWeek, lunches(lastWeek, 1, 100)),
+                freshRow(thisWeek, lunches(thisWeek, 101, 200)));
+        when(mealSketchRepository.findByMemberIdAndWeekStartBetween(MEMBER_ID, lastWeek, thisWeek)).thenReturn(rows);
+
+        MealDto.DistributionResponse response = service.getDistribution(MEMBER_ID, 2);
+
+        MealDto.Distribution lunch = response.getByMealType().get(MealType.LUNCH);
+        assertThat(lunch.getCount()).isEqualTo(200);
+        assertThat(lunch.getMin()).isEqualTo(1f);
+        assertThat(lunch.getMax()).isEqualTo(200f);
+        // 표본 수가 k 이하라 분위수가 정확하다
+        assertThat(lunch.getMedian()).isBetween(100f, 101f);
+        assertThat(lunch.getP90()).isBetween(180f, 181f);
+        assertThat(response.getStaleWeeks()).isZero();
+        verify(worker, times(0)).execute(any());
+    }
+
+    @Test
+    void staleWeeksAreServedFromStoredSketchAndRebuiltOnWorker() {
+        LocalDate thisWeek = MealSketchService.weekOf(LocalDate.now());
+        LocalDate lastWeek = thisWeek.minusWeeks(1);
+        MealSketch stale = freshRow(thisWeek, lunches(thisWeek, 1, 10)).toBuilder().version(5).build();
+        when(mealSketchRepository.findByMemberIdAndWeekStartBetween(MEMBER_ID, lastWeek, thisWeek)).thenReturn(List.of(stale));
+
+        MealDto.DistributionResponse response = service.getDistribution(MEMBER_ID, 2);
+
+        // 이번 주는 이전 스케치로, 지난주는 행이 없어 비어 있다. 둘 다 워커에 맡긴다
+        assertThat(response.getByMealType().get(MealType.LUNCH).getCount()).isEqualTo(10);
+        assertThat(response.getStaleWeeks()).isEqualTo(2);
+        verify(worker, times(2)).execute(any());
+        verifyNoInteractions(mealRepository, mealArchiveService);
+    }
+
+    private List<MealDto.MealCalories> lunches(LocalDate week, int from, int to) {
+        List<MealDto.MealCalories> meals = new ArrayList<>();
+        for (int calories = from; calories <= to; calories++) {
+            meals.add(new MealDto.MealCalories((long) calories, MealType.LUNCH, week.atTime(12, 0), (long) calories));
+        }
+        return meals;
+    }
+
+    private MealSketch freshRow(LocalDate week, List<MealDto.MealCalories> meals) {
+        MealRepository source = mock(MealRepository.class);
+        when(source.findCaloriesByMemberIdAndModifiedAtBetween(eq(MEMBER_ID), any(), any())).thenReturn(meals);
+        MealSketchService builder = new MealSketchService(mealSketchRepository, source, memberRepository,
+                mock(MealArchiveService.class), mock(TransactionTemplate.class));
+        ReflectionTestUtils.setField(builder, "k", 200);
+
+        LocalDate today = LocalDate.now();
+        return MealSketch.builder()
+                .memberId(MEMBER_ID)
+                .weekStart(week)
+                .builtOn(today)
+                .sketches(MealSketchService.encode(builder.build(new MealSketchService.Bucket(MEMBER_ID, week), today)))
+                .build();
+    }
+
+    private static MealDto.Response archived(Long id, MealType mealType, LocalDateTime modifiedAt, int calories) {
+        return MealDto.Response.builder()
+                .id(id)
+                .memberId(MEMBER_ID)
+                .mealType(mealType)
+                .modifiedAt(modifiedAt)
+                .foods(List.of(MealDto.FoodResponse.builder().calories(calories).build()))
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.study.spring.domain.meal.service;
+
+import com.study.spring.domain.dashboard.service.HeavyHitterService;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.Meal;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.service.MemberStreakService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MealWriteCoalescerTest {
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final AtomicInteger transactions = new AtomicInteger();
+    private final AtomicLong ids = new AtomicLong();
+    private final List<String> persisted = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> inTransaction = new ArrayList<>();  // 워커 스레드 하나만 쓴다
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+    private final CountDownLatch slowEntered = new CountDownLatch(1);
+    private MealWriteCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            transactions.incrementAndGet();
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            inTransaction.clear();
+            Object result = callback.doInTransaction(null);
+            persisted.addAll(inTransaction);  // 예외로 끝나면 롤백
+            return result;
+        });
+        when(entityManager.getReference(any(), anyLong())).thenAnswer(invocation ->
+                Member.builder().id(invocation.getArgument(1)).build());
+        doAnswer(invocation -> {
+            Meal meal = invocation.getArgument(0);
+            if ("bad".equals(meal.getMemo())) {
+                throw new IllegalStateException("bad row");
+            }
+            if ("slow".equals(meal.getMemo())) {
+                slowEntered.countDown();
+                slowRelease.await(5, TimeUnit.SECONDS);
+            }
+            ReflectionTestUtils.setField(meal, "id", ids.incrementAndGet());
+            inTransaction.add(meal.getMemo());
+            return null;
+        }).when(entityManager).persist(any(Meal.class));
+
+        coalescer = new MealWriteCoalescer(transactionTemplate, mock(MealSketchService.class),
+                mock(MemberStreakService.class), mock(HeavyHitterService.class));
+        ReflectionTestUtils.setField(coalescer, "entityManager", entityManager);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 32);
+        ReflectionTestUtils.setField(coalescer, "maxWaitMs", 200L);
+        ReflectionTestUtils.setField(coalescer, "queueCapacity", 100);
+        ReflectionTestUtils.setField(coalescer, "ackTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(coalescer, "commitTimeoutMs", 5000L);
+        coalescer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        slowRelease.countDown();
+        coalescer.stop();
+    }
+
+    @Test
+    void concurrentSubmissionsShareOneTransaction() {
+        List<CompletableFuture<MealDto.Response>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String memo = "m" + i;
+            results.add(CompletableFuture.supplyAsync(() -> coalescer.submit(1L, request(memo))));
+        }
+
+        List<Long> created = results.stream().map(CompletableFuture::join).map(MealDto.Response::getId).toList();
+
+        assertThat(created).doesNotHaveDuplicates().hasSize(8);
+        assertThat(transactions.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void failingRequestDoesNotFailTheRestOfTheBatch() {
+        CompletableFuture<MealDto.Response> good1 = CompletableFuture.supplyAsync(() -> coalescer.submit(1L, request("a")));
+        CompletableFuture<MealDto.Response> bad = CompletableFuture.supplyAsync(() -> coalescer.submit(1L, request("bad")));
+        CompletableFuture<MealDto.Response> good2 = CompletableFuture.supplyAsync(() -> coalescer.submit(1L, request("b")));
+
+        assertThat(good1.join().getMemo()).isEqualTo("a");
+        assertThat(good2.join().getMemo()).isEqualTo("b");
+        assertThatThrownBy(bad::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(persisted).containsOnlyOnce("a", "b").doesNotContain("bad");
+    }
+
+    @Test
+    void timedOutQueuedRequestIsCancelledAndNeverWritten() throws Exception {
+        ReflectionTestUtils.setField(coalescer, "ackTimeoutMs", 200L);
+        // 워커가 첫 배치 저장에 묶여 있는 동안 들어온 요청
+        CompletableFuture<MealDto.Response> slow = CompletableFuture.supplyAsync(() -> coalescer.submit(1L, request("slow")));
+        assertThat(slowEntered.await(2, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> coalescer.submit(1L, request("late")))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        slowRelease.countDown();
+        // 저장 중이던 요청은 ack-timeout 이 지나도 503 이 아니라 결과를 받는다
+        assertThat(slow.get(5, TimeUnit.SECONDS).getMemo()).isEqualTo("slow");
+        assertThat(coalescer.submit(1L, request("after")).getMemo()).isEqualTo("after");
+        assertThat(persisted).containsExactly("slow", "after");
+    }
+
+    @Test
+    void stuckCommitGivesUpAfterCommitTimeout() throws Exception {
+        ReflectionTestUtils.setField(coalescer, "ackTimeoutMs", 100L);
+        ReflectionTestUtils.setField(coalescer, "commitTimeoutMs", 200L);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> coalescer.submit(1L, request("slow")))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2000);
+
+        // 워커는 저장을 마저 끝낸다 (503 을 받았어도 저장됐을 수 있음)
+        slowRelease.countDown();
+        assertThat(coalescer.submit(1L, request("after")).getMemo()).isEqualTo("after");
+        assertThat(persisted).containsExactly("slow", "after");
+    }
+
+    private static MealDto.Request request(String memo) {
+        return MealDto.Request.builder().mealType(MealType.LUNCH).memo(memo).build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.study.spring.domain.member.controller;
+
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.service.EnergyBudgetService;
+import com.study.spring.domain.member.service.MemberPurgeService;
+import com.study.spring.domain.member.service.MemberService;
+import com.study.spring.domain.member.service.MemberStreakService;
+import com.study.spring.global.auth.TokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MemberControllerTest {
+    private final EnergyBudgetService energyBudgetService = mock(EnergyBudgetService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new MemberController(mock(MemberService.class),
+                    energyBudgetService, mock(TokenProvider.class), mock(MemberPurgeService.class), mock(MemberStreakService.class)))
+            .build();
+
+    @Test
+    void budgetBindsIsoDate() throws Exception {
+        when(energyBudgetService.getBudget(anyLong(), any(LocalDate.class)))
+                .thenReturn(MemberDto.BudgetResponse.builder().memberId(1L).build());
+
+        mockMvc.perform(get("/api/members/1/budget").param("date", "2024-03-10"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/members/1/budget"))
+                .andExpect(status().isOk());
+
+        verify(energyBudgetService).getBudget(1L, LocalDate.of(2024, 3, 10));
+        // 날짜가 없으면 오늘
+        verify(energyBudgetService).getBudget(eq(1L), eq(LocalDate.now()));
+    }
+
+    @Test
+    void budgetRejectsMalformedDateWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/members/1/budget").param("date", "10/03/2024"))
+                .andExpect(status().isBadRequest());
+
+        verify(energyBudgetService, never()).getBudget(anyLong(), any(LocalDate.class));
+    }
+}
@@ -0,0 +1,130 @@
+package com.study.spring.domain.member.repository;
+
+import com.study.spring.domain.member.entity.ActivityLevel;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.global.config.CacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 회원 2차 캐시 (ehcache.xml 리전): 이메일 로그인은 natural-id 캐시, 닉네임/중복 확인은 member-query 쿼리 캐시에서 읽고
+// 회원 쓰기가 커밋되면 (정리 작업의 JPQL 일괄 삭제 포함) 쿼리 캐시 결과가 무효화된다. 단계마다 따로 커밋한다
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MemberCacheTest {
+    private static final String QUERY_REGION = "member-query";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        memberId = transactionTemplate.execute(status -> memberRepository.save(member("alice@example.com", "alice")).getId());
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> memberRepository.deleteAllInBatch());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void findByEmailIsServedFromNaturalIdCache() {
+        assertThat(findByEmail("alice@example.com")).isPresent();
+        assertThat(statistics.getNaturalIdCacheMissCount()).isEqualTo(1);
+        long statements = statistics.getPrepareStatementCount();
+
+        Optional<Member> cached = findByEmail("alice@example.com");
+
+        assertThat(cached).get().extracting(Member::getId).isEqualTo(memberId);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("member").getHitCount()).isPositive();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    void memberWritesInvalidateCachedQueries() {
+        assertThat(findByNickname("alice")).isPresent();
+        assertThat(findByNickname("alice")).isPresent();
+        assertCounts(1, 1);
+
+        // 회원 정보 수정
+        transactionTemplate.executeWithoutResult(status -> memberRepository.save(
+                memberRepository.findById(memberId).orElseThrow().toBuilder().weight(55f).build()));
+        assertThat(findByNickname("alice")).get().extracting(Member::getWeight).isEqualTo(55f);
+        assertCounts(1, 2);
+
+        // 가입 중복 확인 후 가입
+        assertThat(existsByEmail("bob@example.com")).isFalse();
+        assertThat(existsByEmail("bob@example.com")).isFalse();
+        assertCounts(2, 3);
+        Long bobId = transactionTemplate.execute(status -> memberRepository.save(member("bob@example.com", "bob")).getId());
+        assertThat(existsByEmail("bob@example.com")).isTrue();
+        assertThat(existsByEmail("bob@example.com")).isTrue();
+        assertCounts(3, 4);
+
+        // 탈퇴 정리 작업의 일괄 삭제 (엔티티를 거치지 않는다)
+        transactionTemplate.executeWithoutResult(status -> memberRepository.hardDeleteById(bobId));
+        assertThat(existsByEmail("bob@example.com")).isFalse();
+        assertCounts(3, 5);
+        assertThat(findByEmail("bob@example.com")).isEmpty();
+    }
+
+    // 리전은 처음 쓸 때 만들어지므로 매번 다시 가져온다
+    private void assertCounts(long hits, long misses) {
+        CacheRegionStatistics region = statistics.getQueryRegionStatistics(QUERY_REGION);
+        assertThat(region.getHitCount()).as("hits").isEqualTo(hits);
+        assertThat(region.getMissCount()).as("misses").isEqualTo(misses);
+    }
+
+    private Optional<Member> findByEmail(String email) {
+        return transactionTemplate.execute(status -> memberRepository.findByEmail(email));
+    }
+
+    private Optional<Member> findByNickname(String nickname) {
+        return transactionTemplate.execute(status -> memberRepository.findByNickname(nickname));
+    }
+
+    private Boolean existsByEmail(String email) {
+        return transactionTemplate.execute(status -> memberRepository.existsByEmail(email));
+    }
+
+    private static Member member(String email, String nickname) {
+        return Member.createMember()
+                .email(email).password("p").nickname(nickname).name("n")
+                .birthAt(LocalDate.of(1990, 1, 1)).height(170f).weight(60f).activityLevel(ActivityLevel.LOW)
+                .build();
+    }
+}
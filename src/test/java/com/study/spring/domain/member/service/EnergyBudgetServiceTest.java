@@ -0,0 +1,117 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.meal.repository.FoodRepository;
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.entity.ActivityLevel;
+import com.study.spring.domain.member.entity.Gender;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.repository.MemberRepository;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EnergyBudgetServiceTest {
+
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final FoodRepository foodRepository = mock(FoodRepository.class);
+    // 운영과 같은 ehcache.xml 의 energy-budget 캐시
+    private final CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+            .getCacheManager(ehcacheXml(), getClass().getClassLoader());
+    private final EnergyBudgetService service = new EnergyBudgetService(memberRepository, foodRepository, cacheManager);
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close(); // 다음 테스트는 빈 캐시로 시작
+    }
+
+    @Test
+    void budgetFromLoadedMemberDoesNotReadMemberAgain() {
+        LocalDate date = LocalDate.of(2026, 10, 19);
+        MemberDto.Response member = MemberDto.Response.builder()
+                .id(7L)
+                .birthAt(LocalDate.of(1996, 1, 1))
+                .gender(Gender.MALE)
+                .height(180f)
+                .weight(70f)
+                .activityLevel(ActivityLevel.LOW)
+                .build();
+        FoodRepository.NutritionTotal consumed = mock(FoodRepository.NutritionTotal.class);
+        when(consumed.getCalories()).thenReturn(500L);
+        when(foodRepository.sumNutritionByMemberIdAndModifiedAtBetween(eq(7L), any(), any())).thenReturn(consumed);
+
+        MemberDto.BudgetResponse budget = service.getBudget(member, date);
+
+        // 10*70 + 6.25*180 - 5*30 + 5 = 1680, * 1.2 = 2016
+        assertThat(budget.getBmr()).isEqualTo(1680);
+        assertThat(budget.getTargetCalories()).isEqualTo(2016);
+        assertThat(budget.getRemainingCalories()).isEqualTo(1516);
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    void targetIsCachedUntilEvicted() {
+        LocalDate date = LocalDate.of(2026, 10, 19);
+        when(memberRepository.findById(7L)).thenReturn(Optional.of(member(70f)));
+
+        assertThat(service.getTargetCalories(7L, date)).isEqualTo(2016);
+        assertThat(service.getTargetCalories(7L, date)).isEqualTo(2016);
+        verify(memberRepository, times(1)).findById(7L);
+
+        when(memberRepository.findById(7L)).thenReturn(Optional.of(member(80f)));
+        service.evict(7L);
+
+        // 10*80 + 6.25*180 - 5*30 + 5 = 1780, * 1.2 = 2136
+        assertThat(service.getTargetCalories(7L, date)).isEqualTo(2136);
+        verify(memberRepository, times(2)).findById(7L);
+    }
+
+    @Test
+    void targetReadDuringEvictIsNotCached() {
+        LocalDate date = LocalDate.of(2026, 10, 19);
+        // 회원을 읽은 직후 다른 요청의 프로필 변경이 커밋되어 무효화된 경우
+        when(memberRepository.findById(7L)).thenAnswer(invocation -> {
+            service.evict(7L);
+            return Optional.of(member(70f));
+        });
+
+        service.getTargetCalories(7L, date);
+        service.getTargetCalories(7L, date);
+
+        verify(memberRepository, times(2)).findById(7L);
+    }
+
+    private static URI ehcacheXml() {
+        try {
+            return EnergyBudgetServiceTest.class.getResource("/ehcache.xml").toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Member member(float weight) {
+        return Member.builder()
+                .id(7L)
+                .birthAt(LocalDate.of(1996, 1, 1))
+                .gender(Gender.MALE)
+                .height(180f)
+                .weight(weight)
+                .activityLevel(ActivityLevel.LOW)
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.board.repository.BoardRepository;
+import com.study.spring.domain.board.repository.CommentRepository;
+import com.study.spring.domain.board.service.BoardSearchIndex;
+import com.study.spring.domain.issue.repository.IssueRepository;
+import com.study.spring.domain.meal.repository.FoodRepository;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.meal.service.MealArchiveService;
+import com.study.spring.domain.meal.service.MealSketchService;
+import com.study.spring.domain.member.entity.MemberPurge;
+import com.study.spring.domain.member.entity.PurgePhase;
+import com.study.spring.domain.member.repository.MemberPurgeRepository;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.util.FileUploadUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberPurgeServiceTest {
+    private static final long PURGE_ID = 3L;
+    private static final long MEMBER_ID = 1L;
+
+    private final MemberPurgeRepository memberPurgeRepository = mock(MemberPurgeRepository.class);
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final FileUploadUtil fileUploadUtil = mock(FileUploadUtil.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final MemberPurgeService service = new MemberPurgeService(memberPurgeRepository, memberRepository,
+            mock(MealRepository.class), mock(FoodRepository.class), mock(CommentRepository.class), mock(BoardRepository.class),
+            mock(IssueRepository.class), mock(BoardSearchIndex.class), fileUploadUtil, mock(MealArchiveService.class),
+            mock(MealSketchService.class), mock(MemberStreakService.class), transactionTemplate);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "batchPauseMs", 0L);
+        ReflectionTestUtils.setField(service, "pollSeconds", 60L);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "maxBackoffSeconds", 300L);
+
+        // 콜백이 예외 없이 끝나면 커밋된 것으로 보고 afterCommit 을 부른다
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                Object result = invocation.getArgument(0, TransactionCallback.class).doInTransaction(null);
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                return result;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(memberPurgeRepository.save(any())).thenAnswer(returnsFirstArg());
+    }
+
+    @Test
+    void deletesProfileImageAfterCommit() {
+        pending(purge(PurgePhase.MEMBER, 0, null));
+
+        service.runPending();
+
+        verify(memberRepository).hardDeleteById(MEMBER_ID);
+        verify(fileUploadUtil).deleteFile("profile.jpg");
+    }
+
+    @Test
+    void rolledBackBatchKeepsFiles() {
+        pending(purge(PurgePhase.MEMBER, 0, null));
+        // 회원 행을 지운 뒤 진행 상황 저장에서 실패 (롤백)
+        when(memberPurgeRepository.save(any())).thenThrow(new IllegalStateException("db down")).thenAnswer(returnsFirstArg());
+
+        service.runPending();
+
+        verify(fileUploadUtil, never()).deleteFile(any());
+        ArgumentCaptor<MemberPurge> saved = ArgumentCaptor.forClass(MemberPurge.class);
+        verify(memberPurgeRepository, times(2)).save(saved.capture());
+        assertThat(saved.getValue().getAttempts()).isEqualTo(1);
+        assertThat(saved.getValue().getLastError()).isEqualTo("db down");
+    }
+
+    @Test
+    void recentlyFailedJobWaitsForBackoff() {
+        pending(purge(PurgePhase.MEMBER, 2, LocalDateTime.now().minusSeconds(90)));
+
+        service.runPending();
+
+        // 두 번 실패했으면 120 초를 기다린다
+        verify(memberPurgeRepository, never()).findById(anyLong());
+        verify(memberRepository, never()).hardDeleteById(anyLong());
+    }
+
+    @Test
+    void backoffDoublesUpToLimit() {
+        assertThat(service.backoffSeconds(1)).isEqualTo(60);
+        assertThat(service.backoffSeconds(2)).isEqualTo(120);
+        assertThat(service.backoffSeconds(3)).isEqualTo(240);
+        assertThat(service.backoffSeconds(4)).isEqualTo(300);
+        assertThat(service.backoffSeconds(100)).isEqualTo(300);
+    }
+
+    @Test
+    void jobsAtMaxAttemptsAreNotPicked() {
+        service.runPending();
+
+        verify(memberPurgeRepository).findByPhaseNotAndAttemptsLessThanOrderById(PurgePhase.DONE, 3);
+    }
+
+    @Test
+    void failingJobCountsAttempts() {
+        pending(purge(PurgePhase.MEMBER, 2, LocalDateTime.now().minusHours(1)));
+        doThrow(new IllegalStateException("locked")).when(memberRepository).hardDeleteById(MEMBER_ID);
+
+        service.runPending();
+
+        ArgumentCaptor<MemberPurge> saved = ArgumentCaptor.forClass(MemberPurge.class);
+        verify(memberPurgeRepository).save(saved.capture());
+        assertThat(saved.getValue().getAttempts()).isEqualTo(3); // max-attempts 에 닿아 다음부터는 고르지 않는다
+        verify(fileUploadUtil, never()).deleteFile(any());
+    }
+
+    private void pending(MemberPurge purge) {
+        when(memberPurgeRepository.findByPhaseNotAndAttemptsLessThanOrderById(PurgePhase.DONE, 3)).thenReturn(List.of(purge));
+        when(memberPurgeRepository.findById(PURGE_ID)).thenReturn(Optional.of(purge));
+    }
+
+    private static MemberPurge purge(PurgePhase phase, int attempts, LocalDateTime updatedAt) {
+        return MemberPurge.builder()
+                .id(PURGE_ID)
+                .memberId(MEMBER_ID)
+                .phase(phase)
+                .profileImageUrl("profile.jpg")
+                .attempts(attempts)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.study.spring.domain.member.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberSearchEscapeTest {
+
+    @Test
+    void escapesLikeWildcards() {
+        assertThat(MemberService.escapeLike("50%_off!")).isEqualTo("50!%!_off!!");
+    }
+
+    @Test
+    void leavesPlainTextAndBackslashAlone() {
+        assertThat(MemberService.escapeLike("nick\\name")).isEqualTo("nick\\name");
+        assertThat(MemberService.escapeLike("")).isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.entity.Role;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.util.FileUploadUtil;
+import com.study.spring.domain.member.util.PasswordHasher;
+import com.study.spring.domain.upload.service.UploadSessionService;
+import com.study.spring.global.auth.RevokedMembers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberServiceTest {
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final PasswordHasher passwordHasher = mock(PasswordHasher.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final MemberService service = new MemberService(memberRepository, mock(FileUploadUtil.class),
+            mock(EnergyBudgetService.class), passwordHasher, mock(MemberPurgeService.class),
+            mock(UploadSessionService.class), mock(RevokedMembers.class), transactionTemplate);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(passwordHasher.hash("secret")).thenReturn("$2a$04$hash");
+        when(memberRepository.save(any(Member.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void hashesBeforeOpeningTheSignupTransaction() {
+        MemberDto.MultipartRequest request = MemberDto.MultipartRequest.builder()
+                .email("a@example.com").password("secret").nickname("a").build();
+
+        service.createMemberWithImage(request, null);
+
+        InOrder order = inOrder(passwordHasher, transactionTemplate, memberRepository);
+        order.verify(passwordHasher).hash("secret");
+        order.verify(transactionTemplate).execute(any());
+        order.verify(memberRepository).save(argThat((Member m) -> "$2a$04$hash".equals(m.getPassword())));
+    }
+
+    @Test
+    void hashesBeforeOpeningThePasswordChangeTransaction() {
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(member("old-hash")));
+
+        service.updatePassword(1L, "secret");
+
+        InOrder order = inOrder(passwordHasher, transactionTemplate, memberRepository);
+        order.verify(passwordHasher).hash("secret");
+        order.verify(transactionTemplate).executeWithoutResult(any());
+        order.verify(memberRepository).save(argThat((Member m) -> "$2a$04$hash".equals(m.getPassword())));
+    }
+
+    @Test
+    void loginUpgradesLegacyPasswordWithTargetedUpdate() {
+        when(memberRepository.findByNickname("a")).thenReturn(Optional.of(member("secret")));
+        when(passwordHasher.matches("secret", "secret")).thenReturn(true);
+        when(passwordHasher.needsUpgrade("secret")).thenReturn(true);
+        when(memberRepository.upgradePassword(1L, "secret", "$2a$04$hash")).thenReturn(1);
+
+        MemberDto.Response response = service.authenticateByNickname("a", "secret");
+
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(memberRepository).upgradePassword(1L, "secret", "$2a$04$hash");
+        verify(memberRepository).evictFromCache(1L);
+        verify(memberRepository, never()).save(any(Member.class));
+    }
+
+    @Test
+    void loginDoesNotEvictWhenPasswordChangedConcurrently() {
+        when(memberRepository.findByNickname("a")).thenReturn(Optional.of(member("secret")));
+        when(passwordHasher.matches("secret", "secret")).thenReturn(true);
+        when(passwordHasher.needsUpgrade("secret")).thenReturn(true);
+        when(memberRepository.upgradePassword(1L, "secret", "$2a$04$hash")).thenReturn(0);
+
+        service.authenticateByNickname("a", "secret");
+
+        verify(memberRepository, never()).evictFromCache(any());
+        verify(memberRepository, never()).save(any(Member.class));
+    }
+
+    private static Member member(String password) {
+        return Member.builder().id(1L).email("a@example.com").nickname("a").password(password).role(Role.USER).build();
+    }
+}
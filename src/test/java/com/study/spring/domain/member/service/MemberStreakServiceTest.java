@@ -0,0 +1,154 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealType;
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.meal.service.MealArchiveService;
+import com.study.spring.domain.member.dto.MemberDto;
+import com.study.spring.domain.member.entity.Member;
+import com.study.spring.domain.member.entity.MemberStreak;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.repository.MemberStreakRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberStreakServiceTest {
+    private static final long MEMBER_ID = 1L;
+
+    private final MemberStreakRepository memberStreakRepository = mock(MemberStreakRepository.class);
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final MealRepository mealRepository = mock(MealRepository.class);
+    private final MealArchiveService mealArchiveService = mock(MealArchiveService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final MemberStreakService service = new MemberStreakService(memberStreakRepository, memberRepository,
+            mealRepository, mealArchiveService, mock(EnergyBudgetService.class), transactionTemplate);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(memberStreakRepository.save(any())).thenAnswer(returnsFirstArg());
+    }
+
+    @Test
+    void rebuildCountsMealsInBothDbAndArchiveOnce() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        when(memberRepository.existsByIdAndDeletedAtIsNull(MEMBER_ID)).thenReturn(true);
+        when(memberStreakRepository.findByMemberIdForUpdate(MEMBER_ID)).thenReturn(Optional.of(emptyRow()));
+        when(mealRepository.findCaloriesByMemberId(MEMBER_ID)).thenReturn(List.of(
+                new MealDto.MealCalories(1L, MealType.LUNCH, yesterday.atTime(12, 0), 500L)));
+        // id 1 은 보관 도중 실패로 양쪽에 남은 기록
+        when(mealArchiveService.findArchived(MEMBER_ID, null, null, null)).thenReturn(List.of(
+                archived(1L, yesterday.atTime(12, 0), 500),
+                archived(2L, yesterday.minusDays(1).atTime(8, 0), 300)));
+
+        MemberStreak row = service.rebuild(MEMBER_ID).orElseThrow();
+
+        StreakState state = StreakState.of(row);
+        assertThat(row.isRebuildNeeded()).isFalse();
+        assertThat(state.caloriesOn(yesterday)).isEqualTo(500);
+        assertThat(state.currentStreak(LocalDate.now())).isEqualTo(2);
+    }
+
+    @Test
+    void rebuildDoesNotRecreateRowOfDeletedMember() {
+        when(memberRepository.existsByIdAndDeletedAtIsNull(MEMBER_ID)).thenReturn(false);
+
+        assertThat(service.rebuild(MEMBER_ID)).isEmpty();
+        verify(memberStreakRepository, never()).save(any());
+    }
+
+    @Test
+    void rebuildStopsWhenPurgeDeletedTheRow() {
+        // 빈 행을 만든 뒤 정리 작업이 먼저 지운 경우
+        when(memberRepository.existsByIdAndDeletedAtIsNull(MEMBER_ID)).thenReturn(true, false);
+        when(memberStreakRepository.findByMemberId(MEMBER_ID)).thenReturn(Optional.of(emptyRow()));
+        when(memberStreakRepository.findByMemberIdForUpdate(MEMBER_ID)).thenReturn(Optional.empty());
+
+        assertThat(service.rebuild(MEMBER_ID)).isEmpty();
+        verify(memberStreakRepository, never()).save(any());
+    }
+
+    @Test
+    void getStreakDoesNotRebuildOnRequestThread() {
+        ExecutorService worker = mock(ExecutorService.class);
+        ReflectionTestUtils.setField(service, "worker", worker);
+        when(memberRepository.findById(MEMBER_ID)).thenReturn(Optional.of(Member.builder().id(MEMBER_ID).build()));
+        when(memberStreakRepository.findByMemberId(MEMBER_ID)).thenReturn(Optional.empty());
+
+        MemberDto.StreakResponse response = service.getStreak(MEMBER_ID);
+
+        assertThat(response.isRebuilding()).isTrue();
+        assertThat(response.getCurrentStreak()).isZero();
+        verify(worker).execute(any());
+        verify(mealRepository, never()).findCaloriesByMemberId(any());
+        verify(mealArchiveService, never()).findArchived(any(), any(), any(), any());
+    }
+
+    @Test
+    void touchAllLocksRowsInMemberIdOrder() {
+        when(memberStreakRepository.findByMemberIdForUpdate(any())).thenAnswer(invocation ->
+                Optional.of(StreakState.empty(LocalDate.now())
+                        .writeTo(MemberStreak.builder().memberId(invocation.getArgument(0))).build()));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<LocalDateTime>> changes = new LinkedHashMap<>();
+        changes.put(3L, List.of(now));
+        changes.put(1L, List.of(now, now.minusDays(1), now));
+        changes.put(2L, List.of(now));
+
+        service.touchAll(changes);
+
+        InOrder order = inOrder(memberStreakRepository);
+        order.verify(memberStreakRepository).findByMemberIdForUpdate(1L);
+        order.verify(memberStreakRepository).findByMemberIdForUpdate(2L);
+        order.verify(memberStreakRepository).findByMemberIdForUpdate(3L);
+        // 한 회원의 여러 날은 한 번 잠그고 날마다 한 번씩만 다시 집계한다
+        verify(mealRepository, times(2)).findCaloriesByMemberIdAndModifiedAtBetween(eq(1L), any(), any());
+    }
+
+    private static MemberStreak emptyRow() {
+        return StreakState.empty(LocalDate.now())
+                .writeTo(MemberStreak.builder().id(10L).memberId(MEMBER_ID).rebuildNeeded(true))
+                .build();
+    }
+
+    private static MealDto.Response archived(Long id, LocalDateTime modifiedAt, int calories) {
+        return MealDto.Response.builder()
+                .id(id)
+                .memberId(MEMBER_ID)
+                .mealType(MealType.LUNCH)
+                .modifiedAt(modifiedAt)
+                .foods(List.of(MealDto.FoodResponse.builder().calories(calories).build()))
+                .build();
+    }
+}
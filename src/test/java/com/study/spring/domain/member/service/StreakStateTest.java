@@ -0,0 +1,108 @@
+package com.study.spring.domain.member.service;
+
+import com.study.spring.domain.member.entity.MemberStreak;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreakStateTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    void runCrossingTheWindowStartIsCarried() {
+        // 창 시작(오늘 - 120) 하루 전부터 오늘까지 122일 연속
+        StreakState state = StreakState.rebuild(TODAY, days(TODAY.minusDays(StreakState.LOOKBACK + 1), TODAY));
+
+        assertThat(state.currentStreak(TODAY)).isEqualTo(StreakState.LOOKBACK + 2);
+        assertThat(state.longestStreak()).isEqualTo(StreakState.LOOKBACK + 2);
+        assertThat(state.isLogged(TODAY.minusDays(StreakState.LOOKBACK + 1))).isFalse(); // 창 밖은 carry 로만 남는다
+    }
+
+    @Test
+    void slidingFoldsDroppedDaysIntoCarryAndLongest() {
+        StreakState state = StreakState.rebuild(TODAY, days(TODAY.minusDays(StreakState.LOOKBACK + 1), TODAY));
+
+        // 다음 날 기록하면 창 밖으로 밀려난 날까지 이어진다
+        LocalDate tomorrow = TODAY.plusDays(1);
+        state.slideTo(tomorrow);
+        assertThat(state.put(tomorrow, true, 500)).isTrue();
+        assertThat(state.currentStreak(tomorrow)).isEqualTo(StreakState.LOOKBACK + 3);
+
+        // 이틀 쉬면 끊기지만 최장 기록은 남는다
+        LocalDate later = tomorrow.plusDays(2);
+        state.slideTo(later);
+        assertThat(state.currentStreak(later)).isZero();
+        assertThat(state.longestStreak()).isEqualTo(StreakState.LOOKBACK + 3);
+    }
+
+    @Test
+    void currentStreakEndsYesterdayUntilTodayIsLogged() {
+        StreakState state = StreakState.rebuild(TODAY, days(TODAY.minusDays(3), TODAY.minusDays(1)));
+
+        assertThat(state.currentStreak(TODAY)).isEqualTo(3);
+        assertThat(state.isLogged(TODAY)).isFalse();
+        assertThat(state.caloriesOn(TODAY.minusDays(2))).isEqualTo(100);
+    }
+
+    @Test
+    void runAcrossBitmapWordBoundary() {
+        // 63, 64 번째 비트는 서로 다른 long 에 있다
+        LocalDate base = StreakState.baseFor(TODAY);
+        StreakState state = StreakState.rebuild(TODAY, days(base.plusDays(60), base.plusDays(67)));
+
+        assertThat(state.isLogged(base.plusDays(63))).isTrue();
+        assertThat(state.isLogged(base.plusDays(64))).isTrue();
+        assertThat(state.longestStreak()).isEqualTo(8);
+
+        assertThat(state.put(base.plusDays(64), false, 0)).isTrue();
+        assertThat(state.isLogged(base.plusDays(63))).isTrue();
+        assertThat(state.longestStreak()).isEqualTo(4);
+    }
+
+    @Test
+    void slidePastTheWholeWindowResetsCarry() {
+        StreakState state = StreakState.rebuild(TODAY, days(TODAY.minusDays(9), TODAY));
+
+        LocalDate later = TODAY.plusDays(StreakState.WINDOW + 10);
+        state.slideTo(later);
+        assertThat(state.currentStreak(later)).isZero();
+        assertThat(state.longestStreak()).isEqualTo(10);
+        assertThat(state.isLogged(TODAY)).isFalse();
+    }
+
+    @Test
+    void daysBeforeTheWindowAreNotApplied() {
+        StreakState state = StreakState.empty(TODAY);
+
+        assertThat(state.put(StreakState.baseFor(TODAY).minusDays(1), true, 100)).isFalse();
+        assertThat(state.put(StreakState.baseFor(TODAY), true, 100)).isTrue();
+        // 내일까지는 창 안
+        assertThat(state.put(TODAY.plusDays(1), true, 100)).isTrue();
+        assertThat(state.isLogged(TODAY.plusDays(1))).isTrue();
+    }
+
+    @Test
+    void roundTripsThroughTheRow() {
+        StreakState state = StreakState.rebuild(TODAY, days(TODAY.minusDays(StreakState.LOOKBACK + 5), TODAY.minusDays(1)));
+        MemberStreak row = state.writeTo(MemberStreak.builder().memberId(1L)).build();
+
+        StreakState read = StreakState.of(row);
+
+        assertThat(read.currentStreak(TODAY)).isEqualTo(state.currentStreak(TODAY));
+        assertThat(read.longestStreak()).isEqualTo(state.longestStreak());
+        assertThat(read.caloriesOn(TODAY.minusDays(1))).isEqualTo(100);
+    }
+
+    // from ~ to 매일 100 kcal
+    private static SortedMap<LocalDate, Integer> days(LocalDate from, LocalDate to) {
+        SortedMap<LocalDate, Integer> days = new TreeMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            days.put(day, 100);
+        }
+        return days;
+    }
+}
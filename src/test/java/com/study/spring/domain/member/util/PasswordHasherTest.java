@@ -0,0 +1,105 @@
+package com.study.spring.domain.member.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hasher, "strength", 4);
+        ReflectionTestUtils.setField(hasher, "poolSize", 1);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(hasher, "timeoutMs", 5000L);
+        hasher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void hashesAndUpgradesLegacyPasswords() {
+        String hash = hasher.hash("secret");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(hasher.matches("secret", hash)).isTrue();
+        assertThat(hasher.matches("wrong", hash)).isFalse();
+        assertThat(hasher.needsUpgrade(hash)).isFalse();
+
+        // 해시 도입 전 평문
+        assertThat(hasher.matches("secret", "secret")).isTrue();
+        assertThat(hasher.needsUpgrade("secret")).isTrue();
+    }
+
+    @Test
+    void rejectsWith503WhenQueueIsFull() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "executor");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> await(release)); // 대기열 1칸을 채운다
+
+        // 스레드도 대기열도 차 있으면 기다리지 않고 바로 503
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> hasher.hash("secret"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+        release.countDown();
+        assertThat(hasher.matches("secret", hasher.hash("secret"))).isTrue();
+    }
+
+    @Test
+    void cancelsAndRejectsWith503WhenQueuedTooLong() throws Exception {
+        ReflectionTestUtils.setField(hasher, "timeoutMs", 200L);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "executor");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 대기열에는 들어가지만 제한 시간 안에 차례가 오지 않는다
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> hasher.hash("secret"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(2));
+
+        // 대기열에 남은 해시 작업은 취소되어 차례가 와도 실행되지 않는다
+        assertThat(executor.getQueue()).singleElement()
+                .satisfies(task -> assertThat(((Future<?>) task).isCancelled()).isTrue());
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
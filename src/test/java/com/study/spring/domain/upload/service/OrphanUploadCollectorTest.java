@@ -0,0 +1,127 @@
+package com.study.spring.domain.upload.service;
+
+import com.study.spring.domain.meal.repository.MealRepository;
+import com.study.spring.domain.meal.service.MealArchiveService;
+import com.study.spring.domain.member.repository.MemberRepository;
+import com.study.spring.domain.member.util.FileUploadUtil;
+import com.study.spring.domain.upload.dto.UploadDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrphanUploadCollectorTest {
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final MealRepository mealRepository = mock(MealRepository.class);
+    private final MealArchiveService mealArchiveService = mock(MealArchiveService.class);
+
+    @TempDir
+    Path uploadDir;
+
+    private OrphanUploadCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        FileUploadUtil fileUploadUtil = new FileUploadUtil();
+        ReflectionTestUtils.setField(fileUploadUtil, "uploadDir", uploadDir.toString());
+
+        collector = new OrphanUploadCollector(memberRepository, mealRepository, mealArchiveService, fileUploadUtil,
+                new SimpleMeterRegistry(), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(collector, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(collector, "graceHours", 24L);
+        ReflectionTestUtils.setField(collector, "batchSize", 2);
+        ReflectionTestUtils.setField(collector, "batchPauseMs", 0L);
+
+        when(memberRepository.streamProfileImageUrls()).thenAnswer(invocation -> Stream.of("profile.jpg"));
+        when(mealRepository.streamImageUrls()).thenAnswer(invocation -> Stream.of("https://cdn.example.com/upload/meal.jpg?v=2"));
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            consumer.accept("C:\\upload\\archived.jpg");
+            return null;
+        }).when(mealArchiveService).forEachArchivedImageUrl(any());
+    }
+
+    @Test
+    void fileNameOfTakesLastPathSegment() {
+        assertThat(OrphanUploadCollector.fileNameOf("abc.jpg")).isEqualTo("abc.jpg");
+        assertThat(OrphanUploadCollector.fileNameOf("/upload/abc.jpg")).isEqualTo("abc.jpg");
+        assertThat(OrphanUploadCollector.fileNameOf("https://cdn.example.com/upload/abc.jpg?v=2#top")).isEqualTo("abc.jpg");
+        assertThat(OrphanUploadCollector.fileNameOf("C:\\upload\\abc.jpg")).isEqualTo("abc.jpg");
+        assertThat(OrphanUploadCollector.fileNameOf("https://cdn.example.com/a/b?x=/c")).isEqualTo("b");
+    }
+
+    @Test
+    void deletesOnlyUnreferencedFilesOlderThanGracePeriod() throws Exception {
+        file("profile.jpg", 48);
+        file("meal.jpg", 48);
+        file("archived.jpg", 48);
+        file("orphan.jpg", 48);
+        file("recent.jpg", 1);
+        file(".hidden", 48);
+
+        UploadDto.GcReport report = collector.collect(false);
+
+        assertThat(report.getScanned()).isEqualTo(5);
+        assertThat(report.getRecent()).isEqualTo(1);
+        assertThat(report.getOrphans()).isEqualTo(1);
+        assertThat(report.getDeleted()).isEqualTo(1);
+        assertThat(remaining()).containsExactlyInAnyOrder("profile.jpg", "meal.jpg", "archived.jpg", "recent.jpg", ".hidden");
+    }
+
+    @Test
+    void dryRunOnlyReports() throws Exception {
+        file("orphan.jpg", 48);
+
+        UploadDto.GcReport report = collector.collect(true);
+
+        assertThat(report.getOrphans()).isEqualTo(1);
+        assertThat(report.getDeleted()).isZero();
+        assertThat(report.getSample()).containsExactly("orphan.jpg");
+        assertThat(remaining()).containsExactly("orphan.jpg");
+    }
+
+    @Test
+    void rescuesFilesReferencedAfterMarkEvenAsFullUrl() throws Exception {
+        file("late-profile.jpg", 48);
+        file("late-meal.jpg", 48);
+        file("orphan.jpg", 48);
+        when(memberRepository.findProfileImageUrlsMatching(anyCollection())).thenReturn(List.of("late-profile.jpg"));
+        when(mealRepository.findImageUrlsMatching(anyCollection())).thenReturn(List.of("https://cdn.example.com/upload/late-meal.jpg"));
+
+        UploadDto.GcReport report = collector.collect(false);
+
+        assertThat(report.getOrphans()).isEqualTo(3);
+        assertThat(report.getRescued()).isEqualTo(2);
+        assertThat(report.getDeleted()).isEqualTo(1);
+        assertThat(remaining()).containsExactlyInAnyOrder("late-profile.jpg", "late-meal.jpg");
+    }
+
+    private void file(String name, long ageHours) throws Exception {
+        Path file = Files.writeString(uploadDir.resolve(name), name);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofHours(ageHours))));
+    }
+
+    private List<String> remaining() throws Exception {
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.study.spring.domain.upload.service;
+
+import com.study.spring.domain.member.util.FileUploadUtil;
+import com.study.spring.domain.upload.dto.UploadDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadSessionServiceTest {
+    private static final int CHUNK = 4;
+    private static final byte[] FILE = "0123456789".getBytes(StandardCharsets.US_ASCII); // 청크 4 + 4 + 2
+
+    @TempDir
+    Path dir;
+
+    private UploadSessionService service;
+    private Path uploadDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadDir = Files.createDirectories(dir.resolve("upload"));
+        FileUploadUtil fileUploadUtil = new FileUploadUtil();
+        ReflectionTestUtils.setField(fileUploadUtil, "uploadDir", uploadDir.toString());
+
+        service = new UploadSessionService(fileUploadUtil);
+        ReflectionTestUtils.setField(service, "tempDir", dir.resolve("partial").toString());
+        ReflectionTestUtils.setField(service, "chunkSize", CHUNK);
+        ReflectionTestUtils.setField(service, "maxSize", 1024L);
+        ReflectionTestUtils.setField(service, "sessionTtlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "maxSessions", 10);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.stop();
+    }
+
+    @Test
+    void resumesFromMissingOffsetsInAnyOrder() throws Exception {
+        String id = create();
+
+        put(id, 8);
+        UploadDto.Response status = put(id, 0);
+        assertThat(status.getMissingOffsets()).containsExactly(4L);
+        assertThat(status.getNextOffset()).isEqualTo(4);
+        assertThat(status.getReceivedBytes()).isEqualTo(6);
+
+        // 청크 경계가 아닌 offset, 길이가 맞지 않는 청크는 받지 않는다
+        assertThatThrownBy(() -> service.writeChunk(id, 3, crc32c(chunk(0)), new ByteArrayInputStream(chunk(0)), CHUNK))
+                .satisfies(e -> assertStatus(e, HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> service.writeChunk(id, 4, crc32c(chunk(8)), new ByteArrayInputStream(chunk(8)), 2))
+                .satisfies(e -> assertStatus(e, HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> service.complete(id)).satisfies(e -> assertStatus(e, HttpStatus.CONFLICT));
+
+        put(id, 4);
+        put(id, 4); // 응답을 못 받은 재시도는 같은 자리에 덮어쓴다
+        UploadDto.Response completed = service.complete(id);
+
+        assertThat(completed.isCompleted()).isTrue();
+        assertThat(completed.getStoredFilename()).endsWith(".jpg");
+        assertThat(Files.readAllBytes(uploadDir.resolve(completed.getStoredFilename()))).isEqualTo(FILE);
+        assertThat(service.complete(id).getStoredFilename()).isEqualTo(completed.getStoredFilename());
+    }
+
+    @Test
+    void rejectsChunkWithWrongChecksum() throws Exception {
+        String id = create();
+        byte[] data = chunk(0);
+        byte[] corrupted = data.clone();
+        corrupted[0] ^= 1;
+
+        assertThatThrownBy(() -> service.writeChunk(id, 0, crc32c(data), new ByteArrayInputStream(corrupted), CHUNK))
+                .satisfies(e -> assertStatus(e, HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> service.writeChunk(id, 0, "md5 AAAA", new ByteArrayInputStream(data), CHUNK))
+                .satisfies(e -> assertStatus(e, HttpStatus.BAD_REQUEST));
+
+        // 받은 것으로 표시되지 않았으므로 다시 보내야 한다
+        assertThat(service.getStatus(id).getMissingOffsets()).containsExactly(0L, 4L, 8L);
+    }
+
+    @Test
+    void rejectsFileWithWrongSha256AndDropsSession() throws Exception {
+        String id = service.create(UploadDto.CreateRequest.builder()
+                .filename("meal.jpg").size((long) FILE.length).sha256("0".repeat(64)).build()).getUploadId();
+        put(id, 0);
+        put(id, 4);
+        put(id, 8);
+
+        assertThatThrownBy(() -> service.complete(id)).satisfies(e -> assertStatus(e, HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> service.getStatus(id)).satisfies(e -> assertStatus(e, HttpStatus.NOT_FOUND));
+        try (var files = Files.list(uploadDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void attachIsIdempotentForTheSameTarget() throws Exception {
+        String id = uploaded();
+
+        String first = service.attach(id, "meal:1");
+        String second = service.attach(id, "meal:1");
+
+        assertThat(second).isEqualTo(first);
+        try (var files = Files.list(uploadDir)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void rejectsAttachToSecondTarget() throws Exception {
+        String id = uploaded();
+        service.attach(id, "meal:1");
+
+        assertThatThrownBy(() -> service.attach(id, "member:2")).satisfies(e -> assertStatus(e, HttpStatus.CONFLICT));
+        assertThatThrownBy(() -> service.attach(id, "meal:2")).satisfies(e -> assertStatus(e, HttpStatus.CONFLICT));
+    }
+
+    private String uploaded() throws Exception {
+        String id = create();
+        put(id, 0);
+        put(id, 4);
+        put(id, 8);
+        return id;
+    }
+
+    private String create() {
+        return service.create(UploadDto.CreateRequest.builder().filename("meal.jpg").size((long) FILE.length).build()).getUploadId();
+    }
+
+    private UploadDto.Response put(String id, int offset) throws Exception {
+        byte[] data = chunk(offset);
+        return service.writeChunk(id, offset, crc32c(data), new ByteArrayInputStream(data), data.length);
+    }
+
+    private static byte[] chunk(int offset) {
+        return Arrays.copyOfRange(FILE, offset, Math.min(offset + CHUNK, FILE.length));
+    }
+
+    private static String crc32c(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return "crc32c " + Base64.getEncoder().encodeToString(ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).array());
+    }
+
+    private static void assertStatus(Throwable e, HttpStatus status) {
+        assertThat(e).isInstanceOf(ResponseStatusException.class);
+        assertThat(((ResponseStatusException) e).getStatusCode()).isEqualTo(status);
+    }
+}
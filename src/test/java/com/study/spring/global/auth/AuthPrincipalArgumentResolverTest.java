@@ -0,0 +1,48 @@
+package com.study.spring.global.auth;
+
+import com.study.spring.domain.member.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthPrincipalArgumentResolverTest {
+
+    private final RevokedMembers revokedMembers = mock(RevokedMembers.class);
+    private final AuthPrincipalArgumentResolver resolver = new AuthPrincipalArgumentResolver(revokedMembers);
+
+    @Test
+    void resolvesActiveMember() {
+        AuthPrincipal principal = new AuthPrincipal(1L, Role.USER);
+
+        assertThat(resolver.resolveArgument(null, null, request(principal), null)).isEqualTo(principal);
+    }
+
+    @Test
+    void rejectsDeletedMemberAndMissingToken() {
+        when(revokedMembers.isRevoked(2L)).thenReturn(true);
+
+        assertUnauthorized(request(new AuthPrincipal(2L, Role.USER)));
+        assertUnauthorized(request(null));
+    }
+
+    private void assertUnauthorized(ServletWebRequest request) {
+        assertThatThrownBy(() -> resolver.resolveArgument(null, null, request, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+
+    private static ServletWebRequest request(AuthPrincipal principal) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (principal != null) {
+            request.setAttribute(AuthPrincipal.ATTRIBUTE, principal);
+        }
+        return new ServletWebRequest(request);
+    }
+}
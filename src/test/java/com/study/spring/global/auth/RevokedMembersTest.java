@@ -0,0 +1,61 @@
+package com.study.spring.global.auth;
+
+import com.study.spring.domain.member.repository.MemberPurgeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevokedMembersTest {
+    private final MemberPurgeRepository memberPurgeRepository = mock(MemberPurgeRepository.class);
+    private final TokenProvider tokenProvider = mock(TokenProvider.class);
+    private final RevokedMembers revokedMembers = new RevokedMembers(memberPurgeRepository, tokenProvider);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void revokesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        revokedMembers.revokeAfterCommit(1L);
+        assertThat(revokedMembers.isRevoked(1L)).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(revokedMembers.isRevoked(1L)).isTrue();
+    }
+
+    @Test
+    void refreshLoadsRecentDeletesAndDropsExpiredEntries() {
+        when(tokenProvider.getTtlSeconds()).thenReturn(60L);
+        when(memberPurgeRepository.findMemberIdsStartedSince(any())).thenReturn(List.of(2L));
+        revokedMembers.revokeAfterCommit(1L);
+
+        revokedMembers.refresh();
+        assertThat(revokedMembers.isRevoked(1L)).isTrue();
+        assertThat(revokedMembers.isRevoked(2L)).isTrue();
+        assertThat(revokedMembers.isRevoked(3L)).isFalse();
+
+        // 토큰 유효기간이 지난 항목은 DB 에 다시 나오지 않으면 빠진다
+        @SuppressWarnings("unchecked")
+        Map<Long, Long> revoked = (Map<Long, Long>) ReflectionTestUtils.getField(revokedMembers, "revoked");
+        revoked.put(1L, 0L);
+        when(memberPurgeRepository.findMemberIdsStartedSince(any())).thenReturn(List.of());
+        revokedMembers.refresh();
+        assertThat(revokedMembers.isRevoked(1L)).isFalse();
+        assertThat(revokedMembers.isRevoked(2L)).isTrue();
+    }
+}
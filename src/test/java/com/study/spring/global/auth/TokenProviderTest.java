@@ -0,0 +1,83 @@
+package com.study.spring.global.auth;
+
+import com.study.spring.domain.member.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenProviderTest {
+
+    @Test
+    void issuedTokenVerifies() {
+        TokenProvider provider = provider("secret-a", List.of(), 60);
+
+        AuthPrincipal principal = provider.verify(provider.issue(42L, Role.ADMIN));
+
+        assertThat(principal).isEqualTo(new AuthPrincipal(42L, Role.ADMIN));
+    }
+
+    @Test
+    void nullRoleIsIssuedAsUser() {
+        TokenProvider provider = provider("secret-a", List.of(), 60);
+
+        assertThat(provider.verify(provider.issue(42L, null))).isEqualTo(new AuthPrincipal(42L, Role.USER));
+    }
+
+    @Test
+    void rejectsTamperedPayloadAndForeignKey() {
+        TokenProvider provider = provider("secret-a", List.of(), 60);
+        String token = provider.issue(42L, Role.USER);
+        String[] parts = token.split("\\.");
+
+        // 서명은 그대로 두고 payload 의 역할만 바꾼다
+        String payload = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.replace(":USER:", ":ADMIN:").getBytes(StandardCharsets.UTF_8));
+        assertThat(provider.verify(forged + "." + parts[1])).isNull();
+
+        // 다른 키로 서명한 토큰
+        assertThat(provider("secret-b", List.of(), 60).verify(token)).isNull();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        TokenProvider provider = provider("secret-a", List.of(), -1);
+
+        assertThat(provider.verify(provider.issue(42L, Role.USER))).isNull();
+    }
+
+    @Test
+    void acceptsTokensSignedWithPreviousSecret() {
+        String oldToken = provider("secret-a", List.of(), 60).issue(42L, Role.USER);
+
+        TokenProvider rotated = provider("secret-b", List.of("secret-a"), 60);
+
+        assertThat(rotated.verify(oldToken)).isEqualTo(new AuthPrincipal(42L, Role.USER));
+        assertThat(rotated.verify(rotated.issue(7L, Role.USER))).isEqualTo(new AuthPrincipal(7L, Role.USER));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        TokenProvider provider = provider("secret-a", List.of(), 60);
+
+        assertThat(provider.verify("")).isNull();
+        assertThat(provider.verify("abc")).isNull();
+        assertThat(provider.verify("abc.")).isNull();
+        assertThat(provider.verify(".abc")).isNull();
+        assertThat(provider.verify("!!!.???")).isNull();
+    }
+
+    private static TokenProvider provider(String secret, List<String> previousSecrets, long ttlSeconds) {
+        TokenProvider provider = new TokenProvider();
+        ReflectionTestUtils.setField(provider, "secret", secret);
+        ReflectionTestUtils.setField(provider, "previousSecrets", previousSecrets);
+        ReflectionTestUtils.setField(provider, "ttlSeconds", ttlSeconds);
+        provider.init();
+        return provider;
+    }
+}
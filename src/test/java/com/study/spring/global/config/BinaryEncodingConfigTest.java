@@ -0,0 +1,100 @@
+package com.study.spring.global.config;
+
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BinaryEncodingConfigTest {
+
+    @Test
+    void jsonStaysFirstAndBinaryEncodingsAreSmaller() throws Exception {
+        ObjectProvider<Jackson2ObjectMapperBuilder> builders = builderProvider();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter(builders.getObject().build()));
+        new BinaryEncodingConfig(builders).extendMessageConverters(converters);
+
+        assertThat(converters).hasSize(3);
+        assertThat(converters.get(0)).isInstanceOf(MappingJackson2HttpMessageConverter.class);
+
+        // 식사 1000개 x 음식 3개 (커밋 메시지에 적었던 비교와 같은 모양)
+        List<MealDto.Response> meals = sampleMeals(1000);
+        int json = write(converters.get(0), meals, MediaType.APPLICATION_JSON);
+        int cbor = write(find(converters, MappingJackson2CborHttpMessageConverter.class), meals, MediaType.APPLICATION_CBOR);
+        int smile = write(find(converters, MappingJackson2SmileHttpMessageConverter.class), meals,
+                MediaType.parseMediaType("application/x-jackson-smile"));
+
+        assertThat(cbor).isLessThan(json);
+        // Smile 은 반복되는 필드명을 참조로 바꾸므로 JSON 의 절반 정도
+        assertThat(smile).isLessThan(json * 6 / 10).isLessThan(cbor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<Jackson2ObjectMapperBuilder> builderProvider() {
+        ObjectProvider<Jackson2ObjectMapperBuilder> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenAnswer(invocation -> {
+            Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+            new JacksonConfig().fieldFilterCustomizer().customize(builder);
+            return builder;
+        });
+        return provider;
+    }
+
+    private static List<MealDto.Response> sampleMeals(int count) {
+        List<MealDto.Response> meals = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2026, 10, 1, 8, 0);
+        for (int i = 0; i < count; i++) {
+            List<MealDto.FoodResponse> foods = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                foods.add(MealDto.FoodResponse.builder()
+                        .id((long) i * 3 + j)
+                        .foodName("food-" + j)
+                        .calories(100 + j * 50)
+                        .carbohydrate(20.5f)
+                        .protein(8.25f)
+                        .fat(4.5f)
+                        .sodium(120f)
+                        .fiber(2f)
+                        .build());
+            }
+            meals.add(MealDto.Response.builder()
+                    .id((long) i)
+                    .memberId(1L)
+                    .mealType(MealType.values()[i % MealType.values().length])
+                    .imageUrl(i + ".jpg")
+                    .memo("memo " + i)
+                    .foods(foods)
+                    .createdAt(base.plusHours(i).toLocalDate())
+                    .updatedAt(base.plusHours(i).toLocalDate())
+                    .modifiedAt(base.plusHours(i))
+                    .build());
+        }
+        return meals;
+    }
+
+    private static HttpMessageConverter<?> find(List<HttpMessageConverter<?>> converters, Class<?> type) {
+        return converters.stream().filter(type::isInstance).findFirst().orElseThrow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int write(HttpMessageConverter<?> converter, Object body, MediaType mediaType) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        ((HttpMessageConverter<Object>) converter).write(body, mediaType, output);
+        return output.getBodyAsBytes().length;
+    }
+}
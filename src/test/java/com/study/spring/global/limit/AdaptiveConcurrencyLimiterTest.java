@@ -0,0 +1,81 @@
+package com.study.spring.global.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = 1_000_000L;      // 1ms
+    private static final long SLOW = 500_000_000L;    // 500ms
+
+    @Test
+    void rejectsAtLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 100);
+
+        assertThat(limiter.tryAcquire()).isGreaterThanOrEqualTo(0);
+        assertThat(limiter.tryAcquire()).isGreaterThanOrEqualTo(0);
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+        assertThat(limiter.getInflight()).isEqualTo(2);
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void increasesOnlyWhenBusy() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 12, 100);
+
+        // 한가할 때(제한의 절반 미만 사용)는 늘리지 않는다
+        limiter.release(limiter.tryAcquire(), FAST, false);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        List<Long> tokens = acquire(limiter, 6);
+        for (long token : tokens) {
+            limiter.release(token, FAST, false);
+        }
+        // 6개 사용 중일 때만 증가 (5개일 때는 5*2 < 11)
+        assertThat(limiter.getLimit()).isEqualTo(11);
+
+        // 최대값을 넘지 않는다
+        for (long token : acquire(limiter, 11)) {
+            limiter.release(token, FAST, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    void decreasesOncePerGeneration() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 1, 100, 100);
+
+        // 함께 처리되던 요청 10개가 모두 느려도 한 번만 줄인다 (20 -> 18)
+        for (long token : acquire(limiter, 10)) {
+            limiter.release(token, SLOW, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(18);
+
+        // 감소 이후 시작한 요청이 실패하면 다시 줄인다 (18 -> 16.2)
+        limiter.release(limiter.tryAcquire(), FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(16);
+    }
+
+    @Test
+    void neverDropsBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 2, 10, 100);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.release(limiter.tryAcquire(), SLOW, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    private static List<Long> acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<Long> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long token = limiter.tryAcquire();
+            assertThat(token).isGreaterThanOrEqualTo(0);
+            tokens.add(token);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,31 @@
+package com.study.spring.global.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void matchesApiPathsUnderContextPath() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+
+        assertThat(filter.shouldNotFilter(request("/app", "/api/meals"))).isFalse();
+        assertThat(filter.shouldNotFilter(request("", "/api/meals"))).isFalse();
+        assertThat(filter.shouldNotFilter(request("/app", "/api/boards/stream"))).isTrue();
+        assertThat(filter.shouldNotFilter(request("/app", "/actuator/health"))).isTrue();
+        // 컨텍스트 경로가 /api 라도 그 아래 경로로 판단한다
+        assertThat(filter.shouldNotFilter(request("/api", "/images/a.jpg"))).isTrue();
+    }
+
+    private static MockHttpServletRequest request(String contextPath, String servletPath) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", contextPath + servletPath);
+        request.setContextPath(contextPath);
+        request.setServletPath(servletPath);
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.study.spring.global.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfilingDataSourceTest {
+    private final DataSource pool = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private final SqlProfiler profiler = new SqlProfiler();
+    private ProfilingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ReflectionTestUtils.setField(profiler, "enabled", true);
+        ReflectionTestUtils.setField(profiler, "maxStatements", 100);
+        when(pool.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        dataSource = new ProfilingDataSource(pool, profiler);
+    }
+
+    @Test
+    void recordsQueryAndRowsReadUntilEnd() throws SQLException {
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getLong(1)).thenReturn(7L);
+
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement prepared = wrapped.prepareStatement("SELECT id FROM meals WHERE member_id = 1");
+             ResultSet rows = prepared.executeQuery()) {
+            while (rows.next()) {
+                assertThat(rows.getLong(1)).isEqualTo(7L);
+            }
+        }
+
+        SqlProfileDto.Statement recorded = only();
+        assertThat(recorded.getFingerprint()).isEqualTo(SqlFingerprint.of("SELECT id FROM meals WHERE member_id = 1"));
+        assertThat(recorded.getCount()).isEqualTo(1);
+        assertThat(recorded.getRows()).isEqualTo(2);
+        verify(resultSet).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void recordsUpdateCountAndFailures() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(3).thenThrow(new SQLException("deadlock"));
+
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement prepared = wrapped.prepareStatement("DELETE FROM foods WHERE meal_id = 1")) {
+            assertThat(prepared.executeUpdate()).isEqualTo(3);
+            assertThatThrownBy(prepared::executeUpdate).isInstanceOf(SQLException.class);
+        }
+
+        SqlProfileDto.Statement recorded = only();
+        assertThat(recorded.getCount()).isEqualTo(2);
+        assertThat(recorded.getRows()).isEqualTo(3);
+        assertThat(recorded.getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    void resetDropsStatsOfQueriesStillRunning() throws SQLException {
+        when(resultSet.next()).thenReturn(true, false);
+
+        try (Connection wrapped = dataSource.getConnection();
+             PreparedStatement prepared = wrapped.prepareStatement("SELECT 1");
+             ResultSet rows = prepared.executeQuery()) {
+            profiler.reset();
+            // reset 전에 시작한 조회의 행은 이전 통계에 더해지고 새 통계에는 나타나지 않는다
+            while (rows.next()) {
+                rows.getInt(1);
+            }
+        }
+
+        assertThat(profiler.top(SqlProfileDto.Sort.COUNT, 10).getItems()).isEmpty();
+    }
+
+    private SqlProfileDto.Statement only() {
+        SqlProfileDto.Response response = profiler.top(SqlProfileDto.Sort.COUNT, 10);
+        assertThat(response.getItems()).hasSize(1);
+        return response.getItems().get(0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.study.spring.global.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlEndpointInterceptorTest {
+
+    private final SqlEndpointInterceptor interceptor = new SqlEndpointInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        SqlProfiler.exitEndpoint();
+    }
+
+    @Test
+    void clearsEndpointWhenAsyncHandlingStarts() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/boards/events");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/boards/events");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        assertThat(currentEndpoint()).isEqualTo("GET /api/boards/events");
+
+        // 비동기 요청은 afterCompletion 전에 스레드가 반납된다
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertThat(currentEndpoint()).isNull();
+    }
+
+    @Test
+    void clearsEndpointAfterCompletion() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/meals/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        assertThat(currentEndpoint()).isEqualTo("GET (unmapped)");
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertThat(currentEndpoint()).isNull();
+    }
+
+    private static String currentEndpoint() {
+        ThreadLocal<?> endpoint = (ThreadLocal<?>) ReflectionTestUtils.getField(SqlProfiler.class, "ENDPOINT");
+        return (String) endpoint.get();
+    }
+}
@@ -0,0 +1,100 @@
+package com.study.spring.global.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.study.spring.domain.meal.dto.MealDto;
+import com.study.spring.domain.meal.entity.MealType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldSelectionTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+    @Test
+    void blankSelectsEverything() {
+        assertThat(FieldSelection.parse(null)).isSameAs(FieldSelection.ALL);
+        assertThat(FieldSelection.parse(" ")).isSameAs(FieldSelection.ALL);
+        assertThat(FieldSelection.ALL.includes("foods.foodName")).isTrue();
+        assertThat(FieldSelection.ALL.wrap(List.of()).getFilters()).isNull();
+    }
+
+    @Test
+    void parseTrimsAndSkipsEmptyPaths() {
+        FieldSelection selection = FieldSelection.parse(" id , mealType ,, ");
+
+        assertThat(selection.isAll()).isFalse();
+        assertThat(selection.includes("id")).isTrue();
+        assertThat(selection.includes("mealType")).isTrue();
+        assertThat(selection.includes("memo")).isFalse();
+        assertThat(selection.includes("")).isFalse();
+    }
+
+    @Test
+    void parentWithoutChildrenSelectsAllChildren() {
+        FieldSelection selection = FieldSelection.parse("id,foods");
+
+        assertThat(selection.includes("foods")).isTrue();
+        assertThat(selection.includes("foods.foodName")).isTrue();
+        assertThat(selection.includes("foods.calories")).isTrue();
+    }
+
+    @Test
+    void selectedChildKeepsParentAndPrunesSiblings() {
+        FieldSelection selection = FieldSelection.parse("id,foods.foodName");
+
+        assertThat(selection.includes("foods")).isTrue();
+        assertThat(selection.includes("foods.foodName")).isTrue();
+        assertThat(selection.includes("foods.calories")).isFalse();
+
+        // 상위와 하위를 같이 적으면 하위 지정이 우선
+        FieldSelection both = FieldSelection.parse("foods,foods.foodName");
+        assertThat(both.includes("foods.foodName")).isTrue();
+        assertThat(both.includes("foods.calories")).isFalse();
+    }
+
+    @Test
+    void serializesOnlySelectedNestedFields() throws Exception {
+        String json = write(FieldSelection.parse("id,foods.foodName"), List.of(meal()));
+
+        assertThat(json).isEqualTo("[{\"id\":1,\"foods\":[{\"foodName\":\"rice\"},{\"foodName\":\"soup\"}]}]");
+    }
+
+    @Test
+    void pathsInsidePageWrapperAreRelativeToTheMeal() throws Exception {
+        MealDto.SliceResponse page = MealDto.SliceResponse.builder().content(List.of(meal())).page(0).size(20).build();
+
+        String json = write(FieldSelection.parse("mealType,foods.calories"), page);
+
+        assertThat(json).isEqualTo("{\"content\":[{\"mealType\":\"LUNCH\",\"foods\":[{\"calories\":300},{\"calories\":80}]}],"
+                + "\"page\":0,\"size\":20,\"hasNext\":false}");
+    }
+
+    @Test
+    void unknownFieldsAreIgnored() throws Exception {
+        FieldSelection selection = FieldSelection.parse("id,nope,foods.nope");
+
+        assertThat(selection.includes("nope")).isTrue();
+        assertThat(write(selection, List.of(meal()))).isEqualTo("[{\"id\":1,\"foods\":[{},{}]}]");
+        assertThat(write(FieldSelection.parse("nope"), List.of(meal()))).isEqualTo("[{}]");
+    }
+
+    private String write(FieldSelection selection, Object body) throws Exception {
+        MappingJacksonValue value = selection.wrap(body);
+        return objectMapper.writer(value.getFilters()).writeValueAsString(value.getValue());
+    }
+
+    private static MealDto.Response meal() {
+        List<MealDto.FoodResponse> foods = new ArrayList<>();
+        foods.add(MealDto.FoodResponse.builder().id(10L).foodName("rice").calories(300).mealId(1L).build());
+        foods.add(MealDto.FoodResponse.builder().id(11L).foodName("soup").calories(80).mealId(1L).build());
+        return MealDto.Response.builder().id(1L).memberId(7L).mealType(MealType.LUNCH).memo("m").foods(foods).build();
+    }
+}